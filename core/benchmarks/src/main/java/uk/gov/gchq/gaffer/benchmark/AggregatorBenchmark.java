@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks ingest and query aggregation of elements with {@link AggregatorUtil}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregatorBenchmark {
+    @Param({"100", "10000"})
+    public int vertices;
+
+    @Param({"1", "10"})
+    public int duplicates;
+
+    private Schema schema;
+    private View view;
+    private List<Element> elements;
+
+    @Setup
+    public void setup() {
+        schema = BenchmarkData.createSchema();
+        view = new View.Builder()
+                .entity(BenchmarkData.ENTITY)
+                .edge(BenchmarkData.EDGE)
+                .build();
+    }
+
+    // Aggregation updates the properties of the elements in place, so the
+    // elements are recreated for each iteration to stop the counts growing.
+    @Setup(Level.Iteration)
+    public void createElements() {
+        elements = BenchmarkData.createElements(vertices, duplicates);
+    }
+
+    @Benchmark
+    public void ingestAggregate(final Blackhole blackhole) {
+        consume(AggregatorUtil.ingestAggregate(elements, schema), blackhole);
+    }
+
+    @Benchmark
+    public void streamingIngestAggregate(final Blackhole blackhole) {
+        consume(AggregatorUtil.streamingIngestAggregate(elements, schema, Integer.MAX_VALUE), blackhole);
+    }
+
+    @Benchmark
+    public void queryAggregate(final Blackhole blackhole) {
+        consume(AggregatorUtil.queryAggregate(elements, schema, view), blackhole);
+    }
+
+    private static void consume(final Iterable<Element> elements, final Blackhole blackhole) {
+        for (final Element element : elements) {
+            blackhole.consume(element);
+        }
+    }
+}
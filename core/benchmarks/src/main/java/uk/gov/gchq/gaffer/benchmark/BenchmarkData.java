@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+import uk.gov.gchq.koryphe.impl.predicate.IsTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The schema and elements shared by the benchmarks.
+ */
+public final class BenchmarkData {
+    public static final String ENTITY = "BasicEntity";
+    public static final String EDGE = "BasicEdge";
+    public static final String COUNT = "count";
+
+    private static final String VERTEX_TYPE = "vertex.string";
+    private static final String COUNT_TYPE = "count.long";
+    private static final String DIRECTED_TYPE = "true";
+
+    private BenchmarkData() {
+        // Private constructor to prevent instantiation.
+    }
+
+    public static Schema createSchema() {
+        return new Schema.Builder()
+                .entity(ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex(VERTEX_TYPE)
+                        .property(COUNT, COUNT_TYPE)
+                        .build())
+                .edge(EDGE, new SchemaEdgeDefinition.Builder()
+                        .source(VERTEX_TYPE)
+                        .destination(VERTEX_TYPE)
+                        .directed(DIRECTED_TYPE)
+                        .property(COUNT, COUNT_TYPE)
+                        .build())
+                .type(VERTEX_TYPE, new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type(COUNT_TYPE, new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .serialiser(new OrderedLongSerialiser())
+                        .aggregateFunction(new Sum())
+                        .build())
+                .type(DIRECTED_TYPE, new TypeDefinition.Builder()
+                        .clazz(Boolean.class)
+                        .validateFunctions(new IsTrue())
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+    }
+
+    public static String vertex(final int i) {
+        return "vertex" + i;
+    }
+
+    public static Entity createEntity(final int vertex) {
+        return new Entity.Builder()
+                .group(ENTITY)
+                .vertex(vertex(vertex))
+                .property(COUNT, 1L)
+                .build();
+    }
+
+    public static Edge createEdge(final int source, final int destination) {
+        return new Edge.Builder()
+                .group(EDGE)
+                .source(vertex(source))
+                .dest(vertex(destination))
+                .directed(true)
+                .property(COUNT, 1L)
+                .build();
+    }
+
+    /**
+     * Creates an entity for each vertex and an edge from each vertex to the
+     * next, repeated so that each distinct element occurs {@code duplicates} times.
+     *
+     * @param vertices   the number of distinct vertices
+     * @param duplicates the number of times each element is repeated
+     * @return the elements
+     */
+    public static List<Element> createElements(final int vertices, final int duplicates) {
+        final List<Element> elements = new ArrayList<>(2 * vertices * duplicates);
+        for (int d = 0; d < duplicates; d++) {
+            for (int i = 0; i < vertices; i++) {
+                elements.add(createEntity(i));
+                elements.add(createEdge(i, (i + 1) % vertices));
+            }
+        }
+        return elements;
+    }
+}
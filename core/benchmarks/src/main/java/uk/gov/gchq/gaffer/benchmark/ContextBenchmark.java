@@ -0,0 +1,156 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the cloning of an {@link OperationChain} and its {@link Context}
+ * which {@link uk.gov.gchq.gaffer.graph.Graph} does before executing every
+ * request, for a few typical shapes of chain:
+ * <ul>
+ * <li>{@code simple} - a seeded GetElements followed by a Limit</li>
+ * <li>{@code hops} - a chain of several GetAdjacentIds hops ending in GetElements</li>
+ * <li>{@code largeInput} - an AddElements with a large inline input</li>
+ * <li>{@code nested} - a chain containing nested operation chains</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextBenchmark {
+    private static final int HOPS = 10;
+    private static final int LARGE_INPUT_VERTICES = 10000;
+    private static final int NESTED_CHAINS = 5;
+
+    @Param({"simple", "hops", "largeInput", "nested"})
+    public String chainShape;
+
+    private OperationChain<?> opChain;
+    private Context context;
+
+    @Setup
+    public void setup() {
+        opChain = createOpChain(chainShape);
+        context = new Context(new User());
+        context.setOriginalOpChain(opChain);
+    }
+
+    @Benchmark
+    public OperationChain<?> cloneOperationChain() {
+        return opChain.shallowClone();
+    }
+
+    @Benchmark
+    public Context cloneContext() {
+        return context.shallowClone();
+    }
+
+    @Benchmark
+    public OperationChain<?> cloneContextAndGetOriginalOpChain() {
+        return context.shallowClone().getOriginalOpChain();
+    }
+
+    // Mirrors the cloning done by Graph before a request is executed.
+    @Benchmark
+    public void cloneForExecution(final Blackhole blackhole) {
+        blackhole.consume(context.shallowClone());
+        blackhole.consume(opChain.shallowClone());
+    }
+
+    private static OperationChain<?> createOpChain(final String chainShape) {
+        switch (chainShape) {
+            case "simple":
+                return createSimpleChain();
+            case "hops":
+                final List<Operation> hops = new ArrayList<>(HOPS + 1);
+                hops.add(new GetAdjacentIds.Builder()
+                        .input(new EntitySeed(BenchmarkData.vertex(0)))
+                        .view(createView())
+                        .build());
+                for (int i = 1; i < HOPS; i++) {
+                    hops.add(new GetAdjacentIds.Builder()
+                            .view(createView())
+                            .build());
+                }
+                hops.add(new GetElements.Builder()
+                        .view(createView())
+                        .build());
+                return new OperationChain<>(hops);
+            case "largeInput":
+                return new OperationChain.Builder()
+                        .first(new AddElements.Builder()
+                                .input(BenchmarkData.createElements(LARGE_INPUT_VERTICES, 1))
+                                .build())
+                        .build();
+            case "nested":
+                final List<Operation> chains = new ArrayList<>(NESTED_CHAINS);
+                for (int i = 0; i < NESTED_CHAINS; i++) {
+                    chains.add(createSimpleChain());
+                }
+                return new OperationChain<>(chains);
+            default:
+                throw new IllegalArgumentException("Unknown chain shape: " + chainShape);
+        }
+    }
+
+    private static OperationChain<?> createSimpleChain() {
+        return new OperationChain.Builder()
+                .first(new GetElements.Builder()
+                        .input(new EntitySeed(BenchmarkData.vertex(0)), new EntitySeed(BenchmarkData.vertex(1)))
+                        .view(createView())
+                        .build())
+                .then(new Limit<>(100, true))
+                .build();
+    }
+
+    private static View createView() {
+        return new View.Builder()
+                .entity(BenchmarkData.ENTITY)
+                .edge(BenchmarkData.EDGE)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link JSONSerialiser} round trips of elements and operation chains.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerialisationBenchmark {
+    private Edge edge;
+    private byte[] edgeJson;
+    private OperationChain<Iterable<? extends Element>> opChain;
+    private byte[] opChainJson;
+
+    @Setup
+    public void setup() throws SerialisationException {
+        edge = BenchmarkData.createEdge(1, 2);
+        edgeJson = JSONSerialiser.serialise(edge);
+
+        opChain = new OperationChain.Builder()
+                .first(new GetElements.Builder()
+                        .input(new EntitySeed(BenchmarkData.vertex(1)), new EntitySeed(BenchmarkData.vertex(2)))
+                        .view(new View.Builder()
+                                .entity(BenchmarkData.ENTITY)
+                                .edge(BenchmarkData.EDGE, new ViewElementDefinition.Builder()
+                                        .preAggregationFilter(new ElementFilter.Builder()
+                                                .select(BenchmarkData.COUNT)
+                                                .execute(new IsMoreThan(1L))
+                                                .build())
+                                        .build())
+                                .build())
+                        .build())
+                .then(new Limit<>(100))
+                .build();
+        opChainJson = JSONSerialiser.serialise(opChain);
+    }
+
+    @Benchmark
+    public byte[] serialiseElement() throws SerialisationException {
+        return JSONSerialiser.serialise(edge);
+    }
+
+    @Benchmark
+    public Element deserialiseElement() throws SerialisationException {
+        return JSONSerialiser.deserialise(edgeJson, Element.class);
+    }
+
+    @Benchmark
+    public byte[] serialiseOperationChain() throws SerialisationException {
+        return JSONSerialiser.serialise(opChain);
+    }
+
+    @Benchmark
+    public OperationChain deserialiseOperationChain() throws SerialisationException {
+        return JSONSerialiser.deserialise(opChainJson, OperationChain.class);
+    }
+}
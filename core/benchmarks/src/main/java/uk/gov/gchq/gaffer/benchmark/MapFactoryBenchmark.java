@@ -0,0 +1,168 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.factory.PrimitiveIndexMapFactory;
+import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link PrimitiveIndexMapFactory} with the default
+ * {@link SimpleMapFactory}, measuring the latency of seeded lookups and the
+ * heap retained per edge once the elements have been added.
+ * <p>
+ * The retained heap is reported by the {@code addElements} benchmark as the
+ * {@code heapBytes} and {@code edges} secondary results. JMH sums these over
+ * the iterations, so the heap retained per edge is {@code heapBytes / edges}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapFactoryBenchmark {
+    private static final int NUM_SEEDS = 100;
+
+    @Param({"SimpleMapFactory", "PrimitiveIndexMapFactory"})
+    public String mapFactory;
+
+    @Param({"10000", "100000"})
+    public int vertices;
+
+    private final User user = new User();
+    private Graph graph;
+    private List<Element> elements;
+    private List<EntitySeed> seeds;
+
+    @Setup
+    public void setup() throws OperationException {
+        elements = BenchmarkData.createElements(vertices, 1);
+        graph = createGraph();
+        graph.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), user);
+
+        seeds = new ArrayList<>(NUM_SEEDS);
+        for (int i = 0; i < NUM_SEEDS; i++) {
+            seeds.add(new EntitySeed(BenchmarkData.vertex(i * (vertices / NUM_SEEDS))));
+        }
+    }
+
+    @Benchmark
+    public void getElements(final Blackhole blackhole) throws OperationException {
+        final Iterable<? extends Element> results = graph.execute(new GetElements.Builder()
+                .input(seeds)
+                .build(), user);
+        for (final Element element : results) {
+            blackhole.consume(element);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public Graph addElements(final HeapUsage heapUsage) throws OperationException {
+        final long before = heapUsage.usedHeap();
+        final Graph newGraph = createGraph();
+        newGraph.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), user);
+        // The input elements are referenced before and after, so only what the new store retains is counted
+        heapUsage.heapBytes += heapUsage.usedHeap() - before;
+        heapUsage.edges += vertices;
+        return newGraph;
+    }
+
+    private Graph createGraph() {
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setMapFactory(getMapFactoryClass());
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("benchmark")
+                        .build())
+                .addSchema(BenchmarkData.createSchema())
+                .storeProperties(properties)
+                .build();
+    }
+
+    private Class<? extends SimpleMapFactory> getMapFactoryClass() {
+        switch (mapFactory) {
+            case "SimpleMapFactory":
+                return SimpleMapFactory.class;
+            case "PrimitiveIndexMapFactory":
+                return PrimitiveIndexMapFactory.class;
+            default:
+                throw new IllegalArgumentException("Unknown map factory: " + mapFactory);
+        }
+    }
+
+    /**
+     * The heap retained by the graph created in an iteration of
+     * {@link #addElements(HeapUsage)}, and the number of edges it holds.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapUsage {
+        private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+        public long heapBytes;
+        public long edges;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            heapBytes = 0;
+            edges = 0;
+        }
+
+        long usedHeap() {
+            System.gc();
+            return MEMORY.getHeapMemoryUsage().getUsed();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks adding and getting elements from a {@link Graph} backed by a MapStore.
+ * <p>
+ * The {@code concurrentAddAndGet} group measures the throughput of a MapStore in
+ * concurrent mode whilst several threads add elements and several others get
+ * them at the same time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapStoreBenchmark {
+    private static final int NUM_SEEDS = 100;
+    private static final int CONCURRENT_THREADS = 4;
+
+    @Param({"10000", "100000"})
+    public int vertices;
+
+    private final User user = new User();
+    private Graph graph;
+    private Graph concurrentGraph;
+    private List<Element> batch;
+    private List<EntitySeed> seeds;
+
+    @Setup
+    public void setup() throws OperationException {
+        graph = createGraph("benchmark", new MapStoreProperties());
+
+        final MapStoreProperties concurrentProperties = new MapStoreProperties();
+        concurrentProperties.setConcurrent(true);
+        concurrentGraph = createGraph("concurrentBenchmark", concurrentProperties);
+
+        // Re-adding existing elements aggregates them, so the size of the graph is unchanged by addElements
+        batch = BenchmarkData.createElements(NUM_SEEDS, 1);
+        seeds = new ArrayList<>(NUM_SEEDS);
+        for (int i = 0; i < NUM_SEEDS; i++) {
+            seeds.add(new EntitySeed(BenchmarkData.vertex(i * (vertices / NUM_SEEDS))));
+        }
+    }
+
+    @Benchmark
+    public void addElements() throws OperationException {
+        graph.execute(new AddElements.Builder()
+                .input(batch)
+                .build(), user);
+    }
+
+    @Benchmark
+    public void getElements(final Blackhole blackhole) throws OperationException {
+        final Iterable<? extends Element> results = graph.execute(new GetElements.Builder()
+                .input(seeds)
+                .build(), user);
+        for (final Element element : results) {
+            blackhole.consume(element);
+        }
+    }
+
+    @Benchmark
+    public void getAdjacentIds(final Blackhole blackhole) throws OperationException {
+        final Iterable<? extends EntityId> results = graph.execute(new GetAdjacentIds.Builder()
+                .input(seeds)
+                .build(), user);
+        for (final EntityId entityId : results) {
+            blackhole.consume(entityId);
+        }
+    }
+
+    @Benchmark
+    @Group("concurrentAddAndGet")
+    @GroupThreads(CONCURRENT_THREADS)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void concurrentAddElements() throws OperationException {
+        concurrentGraph.execute(new AddElements.Builder()
+                .input(batch)
+                .build(), user);
+    }
+
+    @Benchmark
+    @Group("concurrentAddAndGet")
+    @GroupThreads(CONCURRENT_THREADS)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void concurrentGetElements(final Blackhole blackhole) throws OperationException {
+        final Iterable<? extends Element> results = concurrentGraph.execute(new GetElements.Builder()
+                .input(seeds)
+                .build(), user);
+        for (final Element element : results) {
+            blackhole.consume(element);
+        }
+    }
+
+    private Graph createGraph(final String graphId, final MapStoreProperties storeProperties) throws OperationException {
+        final Graph newGraph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(graphId)
+                        .build())
+                .addSchema(BenchmarkData.createSchema())
+                .storeProperties(storeProperties)
+                .build();
+        newGraph.execute(new AddElements.Builder()
+                .input(BenchmarkData.createElements(vertices, 1))
+                .build(), user);
+        return newGraph;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.export.resultcache.GafferResultCacheExporter;
+import uk.gov.gchq.gaffer.operation.export.resultcache.ResultPageCodec;
+import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a page of results encoded with the {@link ResultPageCodec}, as
+ * stored by the {@link GafferResultCacheExporter}, with the previous format of
+ * one json value and class name per result cache edge.
+ * <p>
+ * Each benchmark encodes or decodes a full page of results, either elements
+ * or primitive values. The encoded size of each format is reported by the
+ * encode benchmarks as the {@code encodedBytes} and {@code encodedResults}
+ * secondary results, JMH sums these over the iterations so the bytes per
+ * result is {@code encodedBytes / encodedResults}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultPageCodecBenchmark {
+    @Param({"elements", "primitives"})
+    public String resultType;
+
+    private List<Object> results;
+    private List<String> resultClasses;
+    private List<byte[]> resultJson;
+    private byte[] page;
+
+    @Setup
+    public void setup() throws SerialisationException {
+        results = createResults(resultType);
+        resultClasses = new ArrayList<>(results.size());
+        resultJson = new ArrayList<>(results.size());
+        for (final Object result : results) {
+            resultClasses.add(result.getClass().getName());
+            resultJson.add(JSONSerialiser.serialise(result));
+        }
+        page = ResultPageCodec.encode(results);
+    }
+
+    @Benchmark
+    public void encodePerResultJson(final EncodedSize encodedSize, final Blackhole blackhole) throws SerialisationException {
+        for (final Object result : results) {
+            final String resultClass = result.getClass().getName();
+            final byte[] json = JSONSerialiser.serialise(result);
+            encodedSize.encodedBytes += resultClass.length() + json.length;
+            blackhole.consume(resultClass);
+            blackhole.consume(json);
+        }
+        encodedSize.encodedResults += results.size();
+    }
+
+    @Benchmark
+    public byte[] encodePage(final EncodedSize encodedSize) throws SerialisationException {
+        final byte[] encoded = ResultPageCodec.encode(results);
+        encodedSize.encodedBytes += encoded.length;
+        encodedSize.encodedResults += results.size();
+        return encoded;
+    }
+
+    @Benchmark
+    public void decodePerResultJson(final Blackhole blackhole) throws SerialisationException, ClassNotFoundException {
+        for (int i = 0; i < resultJson.size(); i++) {
+            final Class<?> resultClass = Class.forName(SimpleClassNameIdResolver.getClassName(resultClasses.get(i)));
+            blackhole.consume(JSONSerialiser.deserialise(resultJson.get(i), resultClass));
+        }
+    }
+
+    @Benchmark
+    public List<Object> decodePage() throws SerialisationException {
+        return ResultPageCodec.decode(page);
+    }
+
+    private static List<Object> createResults(final String resultType) {
+        switch (resultType) {
+            case "elements":
+                return new ArrayList<>(BenchmarkData.createElements(GafferResultCacheExporter.PAGE_SIZE / 2, 1));
+            case "primitives":
+                final List<Object> primitives = new ArrayList<>(GafferResultCacheExporter.PAGE_SIZE);
+                for (int i = 0; i < GafferResultCacheExporter.PAGE_SIZE / 2; i++) {
+                    primitives.add(BenchmarkData.vertex(i));
+                    primitives.add((long) i);
+                }
+                return primitives;
+            default:
+                throw new IllegalArgumentException("Unknown result type: " + resultType);
+        }
+    }
+
+    /**
+     * The total size of the results encoded in an iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+        public long encodedBytes;
+        public long encodedResults;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            encodedBytes = 0;
+            encodedResults = 0;
+        }
+    }
+}
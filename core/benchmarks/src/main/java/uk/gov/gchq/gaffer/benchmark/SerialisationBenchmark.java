@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedDateSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.serialiser.EdgeSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the schema based element serialisers and the ordered serialisers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerialisationBenchmark {
+    private ElementSerialiser elementSerialiser;
+    private EdgeSerialiser edgeSerialiser;
+    private OrderedLongSerialiser longSerialiser;
+    private OrderedDateSerialiser dateSerialiser;
+
+    private Edge edge;
+    private byte[] elementBytes;
+    private byte[] edgeBytes;
+    private Long longValue;
+    private byte[] longBytes;
+    private Date dateValue;
+    private byte[] dateBytes;
+
+    @Setup
+    public void setup() throws SerialisationException {
+        final Schema schema = BenchmarkData.createSchema();
+        elementSerialiser = new ElementSerialiser(schema);
+        edgeSerialiser = new EdgeSerialiser(schema);
+        longSerialiser = new OrderedLongSerialiser();
+        dateSerialiser = new OrderedDateSerialiser();
+
+        edge = BenchmarkData.createEdge(1, 2);
+        elementBytes = elementSerialiser.serialise(edge);
+        edgeBytes = edgeSerialiser.serialise(edge);
+        longValue = 1234567890L;
+        longBytes = longSerialiser.serialise(longValue);
+        dateValue = new Date(1234567890L);
+        dateBytes = dateSerialiser.serialise(dateValue);
+    }
+
+    @Benchmark
+    public byte[] serialiseElement() throws SerialisationException {
+        return elementSerialiser.serialise(edge);
+    }
+
+    @Benchmark
+    public Element deserialiseElement() throws SerialisationException {
+        return elementSerialiser.deserialise(elementBytes);
+    }
+
+    @Benchmark
+    public byte[] serialiseEdge() throws SerialisationException {
+        return edgeSerialiser.serialise(edge);
+    }
+
+    @Benchmark
+    public Edge deserialiseEdge() throws SerialisationException {
+        return edgeSerialiser.deserialise(edgeBytes);
+    }
+
+    @Benchmark
+    public byte[] serialiseOrderedLong() {
+        return longSerialiser.serialise(longValue);
+    }
+
+    @Benchmark
+    public Long deserialiseOrderedLong() throws SerialisationException {
+        return longSerialiser.deserialise(longBytes);
+    }
+
+    @Benchmark
+    public byte[] serialiseOrderedDate() {
+        return dateSerialiser.serialise(dateValue);
+    }
+
+    @Benchmark
+    public Date deserialiseOrderedDate() throws SerialisationException {
+        return dateSerialiser.deserialise(dateBytes);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.Authorisations;
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.CachingVisibilityEvaluator;
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.ElementVisibility;
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.VisibilityCache;
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.VisibilityEvaluator;
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks evaluating the visibilities of a query's worth of elements, where
+ * a few hundred expressions are used but a small number of them cover most
+ * elements. Results are reported per element, both parsing each expression
+ * and using a new {@link CachingVisibilityEvaluator} for each query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkewedVisibilityBenchmark {
+    private static final int EXPRESSIONS = 300;
+    private static final int ELEMENTS = 200000;
+    private static final int CACHE_SIZE = 1000;
+
+    private final String[] expressions = new String[EXPRESSIONS];
+    private final int[] elementExpressions = new int[ELEMENTS];
+    private Authorisations auths;
+    private VisibilityCache visibilityCache;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < EXPRESSIONS; i++) {
+            expressions[i] = "(public|private" + (i % 20) + ")&(team" + (i % 7) + "|admin)&region" + (i % 11);
+        }
+        final Random random = new Random(0);
+        for (int i = 0; i < ELEMENTS; i++) {
+            elementExpressions[i] = (int) Math.min(EXPRESSIONS - 1, Math.abs(random.nextGaussian()) * 20);
+        }
+        auths = new Authorisations("public", "team1", "admin", "region3");
+        visibilityCache = new VisibilityCache(CACHE_SIZE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public long parseAndEvaluate() throws VisibilityParseException {
+        long visible = 0;
+        for (final int index : elementExpressions) {
+            if (new VisibilityEvaluator(auths).evaluate(new ElementVisibility(expressions[index]))) {
+                visible++;
+            }
+        }
+        return visible;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public long cachedEvaluate() throws VisibilityParseException {
+        final CachingVisibilityEvaluator evaluator = new CachingVisibilityEvaluator(auths, visibilityCache, CACHE_SIZE);
+        long visible = 0;
+        for (final int index : elementExpressions) {
+            if (evaluator.evaluate(expressions[index])) {
+                visible++;
+            }
+        }
+        return visible;
+    }
+}
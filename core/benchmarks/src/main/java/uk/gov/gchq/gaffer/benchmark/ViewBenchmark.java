@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.koryphe.impl.function.ToString;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks evaluating the filters and transformer of a {@link ViewElementDefinition}
+ * against an element, and cloning the {@link View}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewBenchmark {
+    private static final String COUNT_STRING = "countString";
+
+    private View view;
+    private ViewElementDefinition elementDefinition;
+    private Edge edge;
+
+    @Setup
+    public void setup() {
+        view = new View.Builder()
+                .entity(BenchmarkData.ENTITY)
+                .edge(BenchmarkData.EDGE, new ViewElementDefinition.Builder()
+                        .transientProperty(COUNT_STRING, String.class)
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select(BenchmarkData.COUNT)
+                                .execute(new IsMoreThan(0L))
+                                .build())
+                        .transformer(new ElementTransformer.Builder()
+                                .select(BenchmarkData.COUNT)
+                                .execute(new ToString())
+                                .project(COUNT_STRING)
+                                .build())
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(COUNT_STRING)
+                                .execute(new IsMoreThan(""))
+                                .build())
+                        .build())
+                .build();
+        elementDefinition = view.getEdge(BenchmarkData.EDGE);
+        edge = BenchmarkData.createEdge(1, 2);
+    }
+
+    @Benchmark
+    public boolean preAggregationFilter() {
+        return elementDefinition.getPreAggregationFilter().test(edge);
+    }
+
+    @Benchmark
+    public Element transform() {
+        return elementDefinition.getTransformer().apply(edge);
+    }
+
+    @Benchmark
+    public boolean transformAndFilter() {
+        return elementDefinition.getPreAggregationFilter().test(edge)
+                && elementDefinition.getPostTransformFilter().test(elementDefinition.getTransformer().apply(edge));
+    }
+
+    @Benchmark
+    public View cloneView() {
+        return view.clone();
+    }
+}
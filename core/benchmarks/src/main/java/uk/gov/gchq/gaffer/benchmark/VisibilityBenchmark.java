@@ -0,0 +1,79 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.Authorisations;
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.CachingVisibilityEvaluator;
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.ElementVisibility;
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.VisibilityEvaluator;
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks evaluating visibility expressions against a user's authorisations,
+ * both parsing the expression each time and using the cached evaluator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisibilityBenchmark {
+    @Param({"public", "(private|public)&admin", "(a&b)|(c&(d|e))|(private&(public|admin))"})
+    public String expression;
+
+    private VisibilityEvaluator evaluator;
+    private CachingVisibilityEvaluator cachingEvaluator;
+    private ElementVisibility visibility;
+
+    @Setup
+    public void setup() {
+        final Authorisations auths = new Authorisations("public", "private", "admin");
+        evaluator = new VisibilityEvaluator(auths);
+        cachingEvaluator = new CachingVisibilityEvaluator(auths);
+        visibility = new ElementVisibility(expression);
+    }
+
+    @Benchmark
+    public boolean parseAndEvaluate() throws VisibilityParseException {
+        return evaluator.evaluate(new ElementVisibility(expression));
+    }
+
+    @Benchmark
+    public boolean evaluate() throws VisibilityParseException {
+        return evaluator.evaluate(visibility);
+    }
+
+    @Benchmark
+    public boolean cachedEvaluate() throws VisibilityParseException {
+        return cachingEvaluator.evaluate(expression);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.elementvisibilityutil;
+
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Evaluates visibility expressions against a fixed set of {@link Authorisations},
+ * remembering the result for each expression.
+ * <p>
+ * Expressions are compiled using a shared {@link VisibilityCache}. As the
+ * authorisations do not change, the result for each distinct expression is
+ * also memoised, up to the size of the cache, so an instance should be created
+ * per query and discarded afterwards. This class is not thread safe.
+ */
+public class CachingVisibilityEvaluator {
+    private final Authorisations auths;
+    private final VisibilityCache visibilityCache;
+    private final int maxResults;
+    private final Map<String, Boolean> results = new HashMap<>();
+
+    public CachingVisibilityEvaluator(final Authorisations auths) {
+        this(auths, VisibilityCache.getInstance(), VisibilityCache.DEFAULT_MAX_SIZE);
+    }
+
+    public CachingVisibilityEvaluator(final Authorisations auths, final VisibilityCache visibilityCache, final int maxResults) {
+        this.auths = auths;
+        this.visibilityCache = visibilityCache;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Evaluates a visibility expression.
+     *
+     * @param expression the visibility expression
+     * @return true if the expression is satisfied by the authorisations
+     * @throws VisibilityParseException if the expression cannot be compiled
+     */
+    public boolean evaluate(final String expression) throws VisibilityParseException {
+        final Boolean result = results.get(expression);
+        if (null != result) {
+            return result;
+        }
+
+        final boolean visible = visibilityCache.get(expression).test(auths);
+        if (results.size() < maxResults) {
+            results.put(expression, visible);
+        }
+        return visible;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.elementvisibilityutil;
+
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A visibility expression which has been parsed and compiled into a
+ * {@link Predicate} over {@link Authorisations}.
+ * <p>
+ * Evaluating a compiled visibility gives the same result as the
+ * {@link VisibilityEvaluator}, but the terms are extracted from the expression
+ * once at compile time rather than on every evaluation. Compiled visibilities
+ * are immutable so can be shared between threads.
+ */
+public final class CompiledVisibility implements Predicate<Authorisations> {
+    private static final CompiledVisibility EMPTY = new CompiledVisibility(new byte[0], auths -> true);
+
+    private final byte[] expression;
+    private final Predicate<Authorisations> predicate;
+
+    private CompiledVisibility(final byte[] expression, final Predicate<Authorisations> predicate) {
+        this.expression = expression;
+        this.predicate = predicate;
+    }
+
+    /**
+     * Compiles a parsed visibility expression.
+     *
+     * @param visibility the visibility to compile
+     * @return the compiled visibility
+     * @throws VisibilityParseException if the parse tree is invalid
+     */
+    public static CompiledVisibility compile(final ElementVisibility visibility) throws VisibilityParseException {
+        final byte[] expression = visibility.getExpression();
+        if (null == expression || expression.length == 0) {
+            return EMPTY;
+        }
+        return new CompiledVisibility(expression.clone(), compile(expression, visibility.getParseTree()));
+    }
+
+    @Override
+    public boolean test(final Authorisations auths) {
+        return predicate.test(auths);
+    }
+
+    public byte[] getExpression() {
+        return expression.clone();
+    }
+
+    private static Predicate<Authorisations> compile(final byte[] expression, final ElementVisibility.Node node) throws VisibilityParseException {
+        switch (node.getType()) {
+            case TERM:
+                final ArrayByteSequence term = new ArrayByteSequence(node.getTerm(expression).toArray());
+                return auths -> auths.contains(term);
+            case AND:
+                final Predicate<Authorisations>[] andChildren = compileChildren("AND", expression, node);
+                return auths -> {
+                    for (final Predicate<Authorisations> child : andChildren) {
+                        if (!child.test(auths)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            case OR:
+                final Predicate<Authorisations>[] orChildren = compileChildren("OR", expression, node);
+                return auths -> {
+                    for (final Predicate<Authorisations> child : orChildren) {
+                        if (child.test(auths)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                };
+            default:
+                throw new VisibilityParseException("No such node type", expression, node.start);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<Authorisations>[] compileChildren(final String type, final byte[] expression, final ElementVisibility.Node node) throws VisibilityParseException {
+        final List<ElementVisibility.Node> children = node.getChildren();
+        if (null == children || children.size() < 2) {
+            throw new VisibilityParseException(type + " has less than 2 children", expression, node.start);
+        }
+        final Predicate<Authorisations>[] compiled = new Predicate[children.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = compile(expression, children.get(i));
+        }
+        return compiled;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.elementvisibilityutil;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A bounded, thread safe cache of {@link CompiledVisibility}s keyed by the
+ * bytes of their expression.
+ * <p>
+ * Parsing and compiling a visibility expression is far more expensive than
+ * evaluating it, and in most graphs a small number of distinct expressions
+ * cover a very large number of elements. Once the cache is full the least
+ * recently used expression is evicted.
+ * <p>
+ * A single shared cache is available from {@link #getInstance()}.
+ */
+public class VisibilityCache {
+    public static final int DEFAULT_MAX_SIZE = 10000;
+    private static final VisibilityCache INSTANCE = new VisibilityCache(DEFAULT_MAX_SIZE);
+
+    private final Map<ArrayByteSequence, CompiledVisibility> cache;
+
+    public VisibilityCache(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be at least 1");
+        }
+        this.cache = new LruMap(maxSize);
+    }
+
+    @SuppressFBWarnings(value = "MS_EXPOSE_REP", justification = "Intended behaviour, the cache is shared")
+    public static VisibilityCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the compiled visibility for an expression, parsing and compiling
+     * it if it is not already cached.
+     *
+     * @param expression the visibility expression
+     * @return the compiled visibility
+     * @throws VisibilityParseException if the expression cannot be compiled
+     */
+    public CompiledVisibility get(final String expression) throws VisibilityParseException {
+        return get(expression.getBytes(UTF_8));
+    }
+
+    /**
+     * Gets the compiled visibility for an expression, parsing and compiling
+     * it if it is not already cached.
+     *
+     * @param expression the visibility expression
+     * @return the compiled visibility
+     * @throws VisibilityParseException if the expression cannot be compiled
+     */
+    public CompiledVisibility get(final byte[] expression) throws VisibilityParseException {
+        final ArrayByteSequence key = new ArrayByteSequence(expression);
+        CompiledVisibility compiled;
+        synchronized (cache) {
+            compiled = cache.get(key);
+        }
+        if (null == compiled) {
+            // Compile outside of the lock, a concurrent compile of the same
+            // expression just produces an equivalent value.
+            compiled = CompiledVisibility.compile(new ElementVisibility(expression));
+            synchronized (cache) {
+                cache.put(new ArrayByteSequence(expression.clone()), compiled);
+            }
+        }
+        return compiled;
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private static final class LruMap extends LinkedHashMap<ArrayByteSequence, CompiledVisibility> {
+        private static final long serialVersionUID = 8094307254373094937L;
+        private final int maxSize;
+
+        LruMap(final int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<ArrayByteSequence, CompiledVisibility> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
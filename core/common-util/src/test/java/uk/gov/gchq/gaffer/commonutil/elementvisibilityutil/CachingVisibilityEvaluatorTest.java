@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.elementvisibilityutil;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class CachingVisibilityEvaluatorTest {
+
+    @Test
+    public void shouldEvaluateExpressions() throws VisibilityParseException {
+        // Given
+        final CachingVisibilityEvaluator evaluator = new CachingVisibilityEvaluator(new Authorisations("one", "two"));
+
+        // When / Then
+        assertThat(evaluator.evaluate("")).isTrue();
+        assertThat(evaluator.evaluate("one&two")).isTrue();
+        assertThat(evaluator.evaluate("one&three")).isFalse();
+        assertThat(evaluator.evaluate("three|(one&two)")).isTrue();
+    }
+
+    @Test
+    public void shouldOnlyLookUpEachExpressionOnce() throws VisibilityParseException {
+        // Given
+        final VisibilityCache cache = spy(new VisibilityCache(10));
+        final CachingVisibilityEvaluator evaluator = new CachingVisibilityEvaluator(new Authorisations("one"), cache, 10);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            evaluator.evaluate("one|two");
+            evaluator.evaluate("two");
+        }
+
+        // Then
+        verify(cache, times(1)).get("one|two");
+        verify(cache, times(1)).get("two");
+    }
+
+    @Test
+    public void shouldStopMemoisingResultsWhenFull() throws VisibilityParseException {
+        // Given
+        final VisibilityCache cache = spy(new VisibilityCache(10));
+        final CachingVisibilityEvaluator evaluator = new CachingVisibilityEvaluator(new Authorisations("one"), cache, 1);
+
+        // When
+        evaluator.evaluate("one");
+        evaluator.evaluate("two");
+        evaluator.evaluate("two");
+
+        // Then
+        verify(cache, times(2)).get("two");
+    }
+}
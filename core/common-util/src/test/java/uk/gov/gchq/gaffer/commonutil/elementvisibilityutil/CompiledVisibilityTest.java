@@ -0,0 +1,43 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.elementvisibilityutil;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompiledVisibilityTest {
+    private static final Authorisations AUTHS = new Authorisations("one", "two", "three", "four");
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "one", "one|five", "five|one", "(one)", "(one&two)|(foo&bar)", "(one|foo)&three", "one|foo|bar",
+            "(one|foo)|bar", "((one|foo)|bar)&two", "five", "one&five", "five&one", "((one|foo)|bar)&goober", "\"one\"&two"})
+    public void shouldMatchVisibilityEvaluator(final String marking) throws VisibilityParseException {
+        // Given
+        final ElementVisibility visibility = new ElementVisibility(marking);
+        final boolean expected = new VisibilityEvaluator(AUTHS).evaluate(visibility);
+
+        // When
+        final CompiledVisibility compiled = CompiledVisibility.compile(visibility);
+
+        // Then
+        assertThat(compiled.test(AUTHS)).as(marking).isEqualTo(expected);
+    }
+}
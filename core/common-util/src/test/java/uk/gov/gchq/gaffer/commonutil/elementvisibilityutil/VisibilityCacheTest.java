@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.elementvisibilityutil;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+
+import java.util.Random;
+import java.util.regex.PatternSyntaxException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class VisibilityCacheTest {
+    @Test
+    public void shouldReturnCachedVisibilityForSameExpressionBytes() throws VisibilityParseException {
+        // Given
+        final VisibilityCache cache = new VisibilityCache(10);
+
+        // When
+        final CompiledVisibility first = cache.get("one&two");
+        final CompiledVisibility second = cache.get("one&two".getBytes(UTF_8));
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedExpressionWhenFull() throws VisibilityParseException {
+        // Given
+        final VisibilityCache cache = new VisibilityCache(2);
+        final CompiledVisibility one = cache.get("one");
+        cache.get("two");
+        cache.get("one");
+
+        // When
+        cache.get("three");
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("one")).isSameAs(one);
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidExpression() {
+        final VisibilityCache cache = new VisibilityCache(10);
+
+        assertThatExceptionOfType(PatternSyntaxException.class).isThrownBy(() -> cache.get("one&"));
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void shouldThrowExceptionIfMaxSizeIsInvalid() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new VisibilityCache(0))
+                .withMessageContaining("Max size");
+    }
+
+    @Test
+    public void shouldEvaluateSkewedExpressionsTheSameWithAndWithoutCaching() throws VisibilityParseException {
+        // Given a few hundred expressions, where a small number cover most elements
+        final String[] expressions = new String[300];
+        for (int i = 0; i < expressions.length; i++) {
+            expressions[i] = "(public|private" + (i % 20) + ")&(team" + (i % 7) + "|admin)&region" + (i % 11);
+        }
+        final Random random = new Random(0);
+        final int[] elementExpressions = new int[5000];
+        for (int i = 0; i < elementExpressions.length; i++) {
+            elementExpressions[i] = (int) Math.min(expressions.length - 1, Math.abs(random.nextGaussian()) * 20);
+        }
+        final Authorisations auths = new Authorisations("public", "team1", "admin", "region3");
+        final CachingVisibilityEvaluator evaluator = new CachingVisibilityEvaluator(auths, new VisibilityCache(100), 100);
+
+        // When / Then
+        for (final int index : elementExpressions) {
+            assertThat(evaluator.evaluate(expressions[index]))
+                    .as(expressions[index])
+                    .isEqualTo(new VisibilityEvaluator(auths).evaluate(new ElementVisibility(expressions[index])));
+        }
+    }
+}
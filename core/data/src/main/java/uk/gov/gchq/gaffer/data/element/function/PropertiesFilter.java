@@ -40,24 +40,22 @@ import java.util.function.Predicate;
 @Since("1.21.0")
 @Summary("A Predicate which evaluates against a Properties")
 public class PropertiesFilter extends TupleAdaptedPredicateComposite<String> {
-    private final PropertiesTuple propertiesTuple = new PropertiesTuple();
     private boolean readOnly;
 
     public boolean test(final Properties properties) {
-        propertiesTuple.setProperties(properties);
-        return test(propertiesTuple);
+        return test(new PropertiesTuple(properties));
     }
 
     public ValidationResult testWithValidationResult(final Properties properties) {
         final ValidationResult result = new ValidationResult();
-        propertiesTuple.setProperties(properties);
+        final PropertiesTuple propertiesTuple = new PropertiesTuple(properties);
         components.stream()
                 .filter(predicate -> !predicate.test(propertiesTuple))
-                .forEach(predicate -> result.addError(getErrorMsg(predicate)));
+                .forEach(predicate -> result.addError(getErrorMsg(predicate, propertiesTuple)));
         return result;
     }
 
-    private String getErrorMsg(final TupleAdaptedPredicate<String, ?> predicate) {
+    private String getErrorMsg(final TupleAdaptedPredicate<String, ?> predicate, final PropertiesTuple propertiesTuple) {
         final StringBuilder builder = new StringBuilder();
         builder.append("Filter: ")
                 .append(predicate.getPredicate())
@@ -104,11 +102,8 @@ public class PropertiesFilter extends TupleAdaptedPredicateComposite<String> {
             return false;
         }
 
-        final PropertiesFilter that = (PropertiesFilter) obj;
-
         return new EqualsBuilder()
                 .appendSuper(super.equals(obj))
-                .append(propertiesTuple, that.propertiesTuple)
                 .isEquals();
     }
 
@@ -116,14 +111,13 @@ public class PropertiesFilter extends TupleAdaptedPredicateComposite<String> {
     public int hashCode() {
         return new HashCodeBuilder(19, 53)
                 .appendSuper(super.hashCode())
-                .append(propertiesTuple)
                 .toHashCode();
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this)
-                .append("propertiesTuple", propertiesTuple)
+                .appendSuper(super.toString())
                 .toString();
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 Crown Copyright
+ * Copyright 2019-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,11 +37,8 @@ import java.util.function.Function;
 @Since("1.21.0")
 @Summary("A Function which applies a series of transformations to a Properties object")
 public class PropertiesTransformer extends TupleAdaptedFunctionComposite<String> implements Serializable {
-    private final PropertiesTuple propertiesTuple = new PropertiesTuple();
-
     public Properties apply(final Properties properties) {
-        propertiesTuple.setProperties(properties);
-        apply(propertiesTuple);
+        apply(new PropertiesTuple(properties));
         return properties;
     }
 
@@ -55,11 +52,8 @@ public class PropertiesTransformer extends TupleAdaptedFunctionComposite<String>
             return false;
         }
 
-        final PropertiesTransformer that = (PropertiesTransformer) obj;
-
         return new EqualsBuilder()
                 .appendSuper(super.equals(obj))
-                .append(propertiesTuple, that.propertiesTuple)
                 .isEquals();
     }
 
@@ -67,14 +61,13 @@ public class PropertiesTransformer extends TupleAdaptedFunctionComposite<String>
     public int hashCode() {
         return new HashCodeBuilder(47, 13)
                 .appendSuper(super.hashCode())
-                .append(propertiesTuple)
                 .toHashCode();
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this)
-                .append("propertiesTuple", propertiesTuple)
+                .appendSuper(super.toString())
                 .toString();
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2020 Crown Copyright
+ * Copyright 2016-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -87,7 +87,18 @@ public class GlobalViewElementDefinition extends ViewElementDefinition {
     @SuppressFBWarnings(value = "CN_IDIOM_NO_SUPER_CALL", justification = "Only inherits from Object")
     @Override
     public GlobalViewElementDefinition clone() {
-        return new GlobalViewElementDefinition.Builder().json(toJson(false)).build();
+        final GlobalViewElementDefinition clone = new GlobalViewElementDefinition();
+        copyTo(clone);
+        clone.lock();
+        return clone;
+    }
+
+    @Override
+    protected void copyTo(final ViewElementDefinition elementDef) {
+        super.copyTo(elementDef);
+        if (elementDef instanceof GlobalViewElementDefinition) {
+            ((GlobalViewElementDefinition) elementDef).groups = null != groups ? new LinkedHashSet<>(groups) : null;
+        }
     }
 
     public abstract static class BaseBuilder<CHILD_CLASS extends BaseBuilder<?>> extends ViewElementDefinition.BaseBuilder<CHILD_CLASS> {
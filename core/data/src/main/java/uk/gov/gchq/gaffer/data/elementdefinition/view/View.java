@@ -174,11 +174,53 @@ public class View extends ElementDefinitions<ViewElementDefinition, ViewElementD
                 || hasEdgeFilters(ViewElementDefinition::hasPreAggregationFilters);
     }
 
+    /**
+     * Creates a copy of this view without serialising it to json. The element
+     * definitions are cloned, see {@link ViewElementDefinition#clone()}, so the
+     * predicates and functions are shared with this view but the clone can be
+     * merged and expanded without changing this view.
+     * Subclasses of {@code View} are still cloned via json.
+     *
+     * @return a copy of this view
+     */
     @SuppressWarnings("CloneDoesntCallSuperClone")
     @SuppressFBWarnings(value = "CN_IDIOM_NO_SUPER_CALL", justification = "Only inherits from Object")
     @Override
     public View clone() {
-        return fromJson(toJson(false));
+        if (View.class != getClass()) {
+            return fromJson(toJson(false));
+        }
+
+        final View clone = new View();
+        cloneElementDefinitions(getEntities(), clone.getEntities());
+        cloneElementDefinitions(getEdges(), clone.getEdges());
+        clone.globalElements = cloneGlobalDefinitions(globalElements);
+        clone.globalEntities = cloneGlobalDefinitions(globalEntities);
+        clone.globalEdges = cloneGlobalDefinitions(globalEdges);
+        clone.config.putAll(config);
+        clone.allEntities = allEntities;
+        clone.allEdges = allEdges;
+        clone.lock();
+        return clone;
+    }
+
+    private static void cloneElementDefinitions(final Map<String, ViewElementDefinition> elementDefs,
+                                                final Map<String, ViewElementDefinition> clonedElementDefs) {
+        for (final Map.Entry<String, ViewElementDefinition> entry : elementDefs.entrySet()) {
+            clonedElementDefs.put(entry.getKey(), null != entry.getValue() ? entry.getValue().clone() : null);
+        }
+    }
+
+    private static List<GlobalViewElementDefinition> cloneGlobalDefinitions(final List<GlobalViewElementDefinition> globalElementDefs) {
+        if (null == globalElementDefs) {
+            return null;
+        }
+
+        final List<GlobalViewElementDefinition> clonedGlobalElementDefs = new ArrayList<>(globalElementDefs.size());
+        for (final GlobalViewElementDefinition globalElementDef : globalElementDefs) {
+            clonedGlobalElementDefs.add(globalElementDef.clone());
+        }
+        return clonedGlobalElementDefs;
     }
 
     @Override
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2022 Crown Copyright
+ * Copyright 2016-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -42,6 +42,7 @@ import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -233,11 +234,69 @@ public class ViewElementDefinition implements ElementDefinition {
         return null != transformer ? transformer.getComponents() : null;
     }
 
+    /**
+     * Creates a copy of this element definition without serialising it to json.
+     * The filters, aggregator, transformer and collections are copied, so the
+     * clone can be merged into without changing this definition, but the
+     * predicates and functions within them are shared.
+     *
+     * @return a copy of this element definition
+     */
     @SuppressWarnings("CloneDoesntCallSuperClone")
     @SuppressFBWarnings(value = "CN_IDIOM_NO_SUPER_CALL", justification = "Only inherits from Object")
     @Override
     public ViewElementDefinition clone() {
-        return new ViewElementDefinition.Builder().json(toJson(false)).build();
+        final ViewElementDefinition clone = new ViewElementDefinition();
+        copyTo(clone);
+        clone.lock();
+        return clone;
+    }
+
+    /**
+     * Copies the fields of this element definition into the given element definition.
+     *
+     * @param elementDef the element definition to copy into
+     */
+    protected void copyTo(final ViewElementDefinition elementDef) {
+        elementDef.preAggregationFilter = copy(preAggregationFilter);
+        elementDef.postAggregationFilter = copy(postAggregationFilter);
+        elementDef.postTransformFilter = copy(postTransformFilter);
+        elementDef.transformer = copy(transformer);
+        elementDef.aggregator = copy(aggregator);
+        elementDef.groupBy = null != groupBy ? new LinkedHashSet<>(groupBy) : null;
+        elementDef.properties = null != properties ? new HashSet<>(properties) : null;
+        elementDef.excludeProperties = null != excludeProperties ? new HashSet<>(excludeProperties) : null;
+        elementDef.transientProperties = new LinkedHashMap<>(transientProperties);
+    }
+
+    private static ElementFilter copy(final ElementFilter filter) {
+        if (null == filter) {
+            return null;
+        }
+
+        final ElementFilter copy = new ElementFilter();
+        copy.getComponents().addAll(filter.getComponents());
+        return copy;
+    }
+
+    private static ElementAggregator copy(final ElementAggregator aggregator) {
+        if (null == aggregator) {
+            return null;
+        }
+
+        final ElementAggregator copy = new ElementAggregator();
+        copy.getComponents().addAll(aggregator.getComponents());
+        return copy;
+    }
+
+    private static ElementTransformer copy(final ElementTransformer transformer) {
+        if (null == transformer) {
+            return null;
+        }
+
+        final ElementTransformer copy = new ElementTransformer();
+        copy.getComponents().addAll(transformer.getComponents());
+        return copy;
     }
 
     public byte[] toJson(final boolean prettyPrint, final String... fieldsToExclude) throws SchemaException {
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.graph;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Entity;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@code WalkIterable} lazily generates all of the {@link Walk}s through a
+ * {@link GraphWindow} which start at one of the provided vertices.
+ * <p>
+ * The walks are found using an iterative depth-first search, so only the path
+ * to the current vertex and an iterator over the remaining destinations at each
+ * hop are held in memory, rather than all of the walks. Walks are returned in
+ * the same order as a recursive depth-first search would find them.
+ */
+public class WalkIterable implements Iterable<Walk> {
+    private final Iterable<?> seeds;
+    private final GraphWindow graphWindow;
+    private final int hops;
+    private final boolean includePartial;
+
+    /**
+     * Constructs a new {@code WalkIterable}.
+     *
+     * @param seeds          the vertices to start the walks from
+     * @param graphWindow    the graph to walk around
+     * @param hops           the number of hops in a complete walk
+     * @param includePartial true if walks which end before the final hop
+     *                       should be included
+     */
+    public WalkIterable(final Iterable<?> seeds, final GraphWindow graphWindow, final int hops, final boolean includePartial) {
+        if (null == seeds) {
+            throw new IllegalArgumentException("Seeds are required");
+        }
+        if (null == graphWindow) {
+            throw new IllegalArgumentException("Graph window is required");
+        }
+        this.seeds = seeds;
+        this.graphWindow = graphWindow;
+        this.hops = hops;
+        this.includePartial = includePartial;
+    }
+
+    @Override
+    public Iterator<Walk> iterator() {
+        return new WalkIterator(seeds.iterator());
+    }
+
+    private final class WalkIterator implements Iterator<Walk> {
+        private final Iterator<?> seedIterator;
+        private final Deque<Hop> path = new ArrayDeque<>();
+        private final LinkedList<Set<Edge>> edgeQueue = new LinkedList<>();
+        private final LinkedList<Set<Entity>> entityQueue = new LinkedList<>();
+        private Walk next;
+
+        private WalkIterator(final Iterator<?> seedIterator) {
+            this.seedIterator = seedIterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next) {
+                if (path.isEmpty()) {
+                    if (!seedIterator.hasNext()) {
+                        return false;
+                    }
+                    visit(seedIterator.next(), null);
+                } else {
+                    final Hop hop = path.peek();
+                    if (hop.destinations.hasNext()) {
+                        visit(hop.destinations.next(), hop.vertex);
+                    } else {
+                        path.pop();
+                        backtrack();
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Walk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Walk walk = next;
+            next = null;
+            return walk;
+        }
+
+        private void visit(final Object curr, final Object prev) {
+            if (null != prev && hops != edgeQueue.size()) {
+                edgeQueue.offer(graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getEdges(prev, curr));
+            }
+
+            entityQueue.offer(graphWindow.getEntityMaps().get(entityQueue.size()).get(curr));
+
+            if (hops == edgeQueue.size()) {
+                next = buildWalk();
+                backtrack();
+                return;
+            }
+
+            final Set<Object> dests = graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getDestinations(curr);
+            if (dests.isEmpty()) {
+                if (includePartial) {
+                    next = buildWalk();
+                }
+                backtrack();
+            } else {
+                path.push(new Hop(curr, dests.iterator()));
+            }
+        }
+
+        private void backtrack() {
+            if (!edgeQueue.isEmpty()) {
+                edgeQueue.pollLast();
+            }
+
+            if (!entityQueue.isEmpty()) {
+                entityQueue.pollLast();
+            }
+        }
+
+        private Walk buildWalk() {
+            final Walk.Builder builder = new Walk.Builder();
+
+            final Iterator<Set<Edge>> edgeIterator = edgeQueue.iterator();
+            final Iterator<Set<Entity>> entityIterator = entityQueue.iterator();
+
+            while (edgeIterator.hasNext() || entityIterator.hasNext()) {
+                if (entityIterator.hasNext()) {
+                    builder.entities(entityIterator.next());
+                }
+                if (edgeIterator.hasNext()) {
+                    builder.edges(edgeIterator.next());
+                }
+            }
+
+            return builder.build();
+        }
+    }
+
+    private static final class Hop {
+        private final Object vertex;
+        private final Iterator<Object> destinations;
+
+        private Hop(final Object vertex, final Iterator<Object> destinations) {
+            this.vertex = vertex;
+            this.destinations = destinations;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,18 +25,21 @@ import java.util.Collections;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import static java.util.stream.Collectors.toSet;
-
 /**
  * An {@code AdjacencyMap} is used to store the contents of a graph in memory in
  * a format which can easily be interrogated.
+ * <p>
+ * Most pairs of vertices are joined by a single edge, so a single edge is stored
+ * directly and only replaced by a {@link Set} once a second edge is added
+ * between the same vertices.
  */
 public class AdjacencyMap {
 
     /**
-     * Backing object used to store the AdjacencyMap representation.
+     * Backing object used to store the AdjacencyMap representation. Each value
+     * is either a single {@link Edge} or a {@link Set} of edges.
      */
-    private final HashBasedTable<Object, Object, Set<Edge>> edgeGraph = HashBasedTable.create();
+    private final HashBasedTable<Object, Object, Object> edgeGraph = HashBasedTable.create();
 
     /**
      * Get the entries in the AdjacencyMap which match the provided source and
@@ -49,8 +52,7 @@ public class AdjacencyMap {
      * vertices
      */
     public Set<Edge> getEdges(final Object source, final Object destination) {
-        final Set<Edge> results = edgeGraph.get(source, destination);
-        return null != results ? results : Collections.emptySet();
+        return toEdges(edgeGraph.get(source, destination));
     }
 
     /**
@@ -64,9 +66,10 @@ public class AdjacencyMap {
      * @return the added edge objects
      */
     public Set<Edge> putEdges(final Object source, final Object destination, final Set<Edge> set) {
-        return set.stream()
-                .flatMap(v -> putEdge(source, destination, v).stream())
-                .collect(toSet());
+        for (final Edge edge : set) {
+            putEdge(source, destination, edge);
+        }
+        return getEdges(source, destination);
     }
 
     /**
@@ -79,15 +82,27 @@ public class AdjacencyMap {
      * @return the {@link Set} containing the edge objects associated with the
      * source and destination vertices
      */
+    @SuppressWarnings("unchecked")
     public Set<Edge> putEdge(final Object source, final Object destination, final Edge edge) {
-        final Set<Edge> existing = edgeGraph.get(source, destination);
+        final Object existing = edgeGraph.get(source, destination);
         if (null == existing) {
-            final Set<Edge> set = Sets.newHashSet(edge);
-            return edgeGraph.put(source, destination, set);
-        } else {
-            existing.add(edge);
-            return existing;
+            edgeGraph.put(source, destination, edge);
+            return Collections.singleton(edge);
+        }
+
+        if (existing instanceof Set) {
+            final Set<Edge> edges = (Set<Edge>) existing;
+            edges.add(edge);
+            return edges;
+        }
+
+        if (existing.equals(edge)) {
+            return Collections.singleton(edge);
         }
+
+        final Set<Edge> edges = Sets.newHashSet((Edge) existing, edge);
+        edgeGraph.put(source, destination, edges);
+        return edges;
     }
 
     /**
@@ -173,6 +188,17 @@ public class AdjacencyMap {
         return edgeGraph.columnKeySet().contains(destination);
     }
 
+    @SuppressWarnings("unchecked")
+    private static Set<Edge> toEdges(final Object value) {
+        if (null == value) {
+            return Collections.emptySet();
+        }
+        if (value instanceof Set) {
+            return (Set<Edge>) value;
+        }
+        return Collections.singleton((Edge) value);
+    }
+
     public String toStringFull() {
         return super.toString() + '[' + toString() + ']';
     }
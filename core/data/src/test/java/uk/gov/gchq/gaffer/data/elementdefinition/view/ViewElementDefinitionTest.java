@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2021 Crown Copyright
+ * Copyright 2016-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -144,6 +144,70 @@ public class ViewElementDefinitionTest {
 
     }
 
+    @Test
+    public void shouldCloneElementDefinitionSharingPredicatesAndFunctions() {
+        // Given
+        final ViewElementDefinition elementDef = new ViewElementDefinition.Builder()
+                .transientProperty(TestPropertyNames.PROP_1, String.class)
+                .properties(TestPropertyNames.COUNT, TestPropertyNames.PROP_1)
+                .groupBy(TestPropertyNames.DATE)
+                .preAggregationFilter(new ElementFilter.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new IsMoreThan(5))
+                        .build())
+                .aggregator(new ElementAggregator.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new Max())
+                        .build())
+                .transformer(new ElementTransformer.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new TestTransform())
+                        .project(TestPropertyNames.PROP_1)
+                        .build())
+                .build();
+
+        // When
+        final ViewElementDefinition clone = elementDef.clone();
+
+        // Then
+        assertEquals(elementDef, clone);
+        assertEquals(elementDef.getProperties(), clone.getProperties());
+        assertEquals(elementDef.getAggregator(), clone.getAggregator());
+        assertThat(clone.getPreAggregationFilter()).isNotSameAs(elementDef.getPreAggregationFilter());
+        assertSame(elementDef.getPreAggregationFilterFunctions().get(0), clone.getPreAggregationFilterFunctions().get(0));
+        assertThat(clone.getAggregator()).isNotSameAs(elementDef.getAggregator());
+        assertSame(elementDef.getAggregator().getComponents().get(0), clone.getAggregator().getComponents().get(0));
+        assertThat(clone.getTransformer()).isNotSameAs(elementDef.getTransformer());
+        assertSame(elementDef.getTransformFunctions().get(0), clone.getTransformFunctions().get(0));
+    }
+
+    @Test
+    public void shouldNotChangeElementDefinitionWhenMergingIntoClone() {
+        // Given
+        final ViewElementDefinition elementDef = new ViewElementDefinition.Builder()
+                .preAggregationFilter(new ElementFilter.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new IsMoreThan(5))
+                        .build())
+                .build();
+        final ViewElementDefinition otherElementDef = new ViewElementDefinition.Builder()
+                .preAggregationFilter(new ElementFilter.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new IsLessThan(10))
+                        .build())
+                .build();
+
+        // When
+        final ViewElementDefinition merged = new ViewElementDefinition.Builder()
+                .merge(elementDef.clone())
+                .merge(otherElementDef)
+                .build();
+
+        // Then
+        assertThat(merged.getPreAggregationFilterFunctions()).hasSize(2);
+        assertThat(elementDef.getPreAggregationFilterFunctions()).hasSize(1);
+    }
+
     public static final class TestTransform extends KorypheFunction<Integer, String> {
         @Override
         public String apply(final Integer integer) {
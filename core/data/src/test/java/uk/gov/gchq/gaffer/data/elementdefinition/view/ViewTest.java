@@ -1444,6 +1444,40 @@ public class ViewTest extends JSONSerialisationTest<View> {
         assertThat(view.getEdgeGroups()).containsExactly(TestGroups.EDGE_2);
     }
 
+    @Test
+    public void shouldNotChangeViewWhenCloneIsExpanded() {
+        // Given
+        final View view = new View.Builder()
+                .globalEntities(new GlobalViewElementDefinition.Builder()
+                        .groups(TestGroups.ENTITY)
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.PROP_1)
+                                .execute(new Exists())
+                                .build())
+                        .build())
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.PROP_2)
+                                .execute(new Exists())
+                                .build())
+                        .build())
+                .config("key", "value")
+                .build();
+        final byte[] viewJson = view.toCompactJson();
+
+        // When
+        final View clone = view.clone();
+        clone.expandGlobalDefinitions();
+
+        // Then
+        assertThat(clone.getEntity(TestGroups.ENTITY).getPreAggregationFilterFunctions()).hasSize(2);
+        assertThat(clone.getGlobalEntities()).isNull();
+        assertThat(clone.getConfig("key")).isEqualTo("value");
+        assertThat(view.getEntity(TestGroups.ENTITY).getPreAggregationFilterFunctions()).hasSize(1);
+        assertThat(view.getGlobalEntities()).hasSize(1);
+        assertThat(view.toCompactJson()).containsExactly(viewJson);
+    }
+
     @Test
     public void shouldCopyAllEntitiesFlagsWhenCloned() {
         // Given
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.graph;
+
+import com.google.common.collect.Iterables;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.graph.adjacency.AdjacencyMap;
+import uk.gov.gchq.gaffer.data.graph.adjacency.AdjacencyMaps;
+import uk.gov.gchq.gaffer.data.graph.adjacency.SimpleAdjacencyMaps;
+import uk.gov.gchq.gaffer.data.graph.entity.EntityMap;
+import uk.gov.gchq.gaffer.data.graph.entity.EntityMaps;
+import uk.gov.gchq.gaffer.data.graph.entity.SimpleEntityMaps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class WalkIterableTest {
+
+    private static final Edge EDGE_AB = makeEdge("A", "B");
+    private static final Edge EDGE_AC = makeEdge("A", "C");
+    private static final Edge EDGE_BD = makeEdge("B", "D");
+    private static final Edge EDGE_BE = makeEdge("B", "E");
+    private static final Edge EDGE_CD = makeEdge("C", "D");
+
+    private static final Entity ENTITY_A = new Entity.Builder().group(TestGroups.ENTITY).vertex("A").build();
+    private static final Entity ENTITY_D = new Entity.Builder().group(TestGroups.ENTITY).vertex("D").build();
+
+    @Test
+    public void shouldReturnCompleteWalksInDepthFirstOrder() {
+        // Given
+        final GraphWindow graphWindow = createGraphWindow();
+
+        // When
+        final List<Walk> walks = toList(new WalkIterable(Collections.singletonList("A"), graphWindow, 2, false));
+
+        // Then
+        assertThat(walks).containsExactly(
+                new Walk.Builder().entity(ENTITY_A).edge(EDGE_AB).edge(EDGE_BD).entity(ENTITY_D).build(),
+                new Walk.Builder().entity(ENTITY_A).edge(EDGE_AB).edge(EDGE_BE).build(),
+                new Walk.Builder().entity(ENTITY_A).edge(EDGE_AC).edge(EDGE_CD).entity(ENTITY_D).build());
+    }
+
+    @Test
+    public void shouldIncludePartialWalks() {
+        // Given
+        final GraphWindow graphWindow = createGraphWindow();
+
+        // When
+        final List<Walk> walks = toList(new WalkIterable(Arrays.asList("A", "E"), graphWindow, 2, true));
+
+        // Then
+        assertThat(walks).hasSize(4);
+        assertThat(walks.get(3).getEdges()).isEmpty();
+    }
+
+    @Test
+    public void shouldNotReturnPartialWalksUnlessRequested() {
+        // Given
+        final GraphWindow graphWindow = createGraphWindow();
+
+        // When
+        final List<Walk> walks = toList(new WalkIterable(Arrays.asList("E", "D"), graphWindow, 2, false));
+
+        // Then
+        assertThat(walks).isEmpty();
+    }
+
+    @Test
+    public void shouldWalkDeepGraphsWithoutRecursion() {
+        // Given
+        final int hops = 20000;
+        final AdjacencyMaps adjacencyMaps = new SimpleAdjacencyMaps();
+        final EntityMaps entityMaps = new SimpleEntityMaps();
+        for (int i = 0; i < hops; i++) {
+            final AdjacencyMap adjacencyMap = new AdjacencyMap();
+            adjacencyMap.putEdge(i, i + 1, makeEdge(i, i + 1));
+            adjacencyMaps.add(adjacencyMap);
+            entityMaps.add(new EntityMap());
+        }
+        entityMaps.add(new EntityMap());
+
+        // When
+        final List<Walk> walks = toList(new WalkIterable(Collections.singletonList(0), new GraphWindow(adjacencyMaps, entityMaps), hops, false));
+
+        // Then
+        assertThat(walks).hasSize(1);
+        assertThat(walks.get(0).length()).isEqualTo(hops);
+    }
+
+    @Test
+    public void shouldGenerateWalksLazily() {
+        // Given
+        final int fanOut = 200;
+        final AdjacencyMaps adjacencyMaps = new SimpleAdjacencyMaps();
+        final EntityMaps entityMaps = new SimpleEntityMaps();
+        for (int hop = 0; hop < 3; hop++) {
+            final AdjacencyMap adjacencyMap = new AdjacencyMap();
+            for (int i = 0; i < fanOut; i++) {
+                adjacencyMap.putEdge("hub", "hub", makeEdge("hub" + i, "hub", "hub"));
+            }
+            adjacencyMaps.add(adjacencyMap);
+            entityMaps.add(new EntityMap());
+        }
+        entityMaps.add(new EntityMap());
+        final WalkIterable walks = new WalkIterable(Collections.singletonList("hub"), new GraphWindow(adjacencyMaps, entityMaps), 3, false);
+
+        // When
+        final Walk first = Iterables.getFirst(walks, null);
+
+        // Then
+        assertThat(first).isNotNull();
+        assertThat(first.getEdges()).hasSize(3);
+        assertThat(first.getEdges().get(0)).hasSize(fanOut);
+    }
+
+    @Test
+    public void shouldThrowNoSuchElementExceptionWhenExhausted() {
+        // Given
+        final Iterator<Walk> iterator = new WalkIterable(Collections.emptyList(), createGraphWindow(), 2, false).iterator();
+
+        // When / Then
+        assertThat(iterator.hasNext()).isFalse();
+        assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(iterator::next);
+    }
+
+    private GraphWindow createGraphWindow() {
+        final AdjacencyMap hop1 = new AdjacencyMap();
+        hop1.putEdge("A", "B", EDGE_AB);
+        hop1.putEdge("A", "C", EDGE_AC);
+
+        final AdjacencyMap hop2 = new AdjacencyMap();
+        hop2.putEdge("B", "D", EDGE_BD);
+        hop2.putEdge("B", "E", EDGE_BE);
+        hop2.putEdge("C", "D", EDGE_CD);
+
+        final AdjacencyMaps adjacencyMaps = new SimpleAdjacencyMaps();
+        adjacencyMaps.add(hop1);
+        adjacencyMaps.add(hop2);
+
+        final EntityMap hop0Entities = new EntityMap();
+        hop0Entities.putEntity("A", ENTITY_A);
+        final EntityMap hop2Entities = new EntityMap();
+        hop2Entities.putEntity("D", ENTITY_D);
+
+        final EntityMaps entityMaps = new SimpleEntityMaps();
+        entityMaps.add(hop0Entities);
+        entityMaps.add(new EntityMap());
+        entityMaps.add(hop2Entities);
+
+        return new GraphWindow(adjacencyMaps, entityMaps);
+    }
+
+    private List<Walk> toList(final Iterable<Walk> walks) {
+        final List<Walk> results = new ArrayList<>();
+        walks.forEach(results::add);
+        return results;
+    }
+
+    private static Edge makeEdge(final Object source, final Object destination) {
+        return makeEdge(TestGroups.EDGE, source, destination);
+    }
+
+    private static Edge makeEdge(final String group, final Object source, final Object destination) {
+        return new Edge.Builder().group(group).source(source).dest(destination).directed(true).build();
+    }
+}
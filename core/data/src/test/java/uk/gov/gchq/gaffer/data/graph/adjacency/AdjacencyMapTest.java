@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -107,6 +107,36 @@ public class AdjacencyMapTest {
         assertThat(results).contains(makeEdge(1, 2), makeEdge(TestGroups.EDGE_2, 1, 2), makeEdge(TestGroups.EDGE_3, 1, 2));
     }
 
+    @Test
+    public void shouldPutMultipleEdgesWhenNotExisting() {
+        // Given
+        final AdjacencyMap adjacencyMap = new AdjacencyMap();
+        final Edge edge1 = new Edge.Builder().group(TestGroups.EDGE).source(1).dest(2).directed(true).build();
+        final Edge edge2 = new Edge.Builder().group(TestGroups.EDGE_2).source(1).dest(2).directed(true).build();
+
+        // When
+        final Set<Edge> added = adjacencyMap.putEdges(1, 2, Sets.newHashSet(edge1, edge2));
+
+        // Then
+        assertThat(added).containsExactlyInAnyOrder(edge1, edge2);
+        assertThat(adjacencyMap.getEdges(1, 2)).containsExactlyInAnyOrder(edge1, edge2);
+    }
+
+    @Test
+    public void shouldNotDuplicateEdgeWhenPutTwice() {
+        // Given
+        final AdjacencyMap adjacencyMap = new AdjacencyMap();
+
+        // When
+        final Set<Edge> first = adjacencyMap.putEdge(1, 2, makeEdge(1, 2));
+        final Set<Edge> second = adjacencyMap.putEdge(1, 2, makeEdge(1, 2));
+
+        // Then
+        assertThat(first).containsExactly(makeEdge(1, 2));
+        assertThat(second).containsExactly(makeEdge(1, 2));
+        assertThat(adjacencyMap.getEdges(1, 2)).containsExactly(makeEdge(1, 2));
+    }
+
     @Test
     public void shouldPutEdgeWhenExisting() {
         // Given
@@ -17,31 +17,45 @@
 package uk.gov.gchq.gaffer.graph.hook;
 
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.exception.UnauthorisedException;
-import uk.gov.gchq.gaffer.exception.SerialisationException;
-import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.store.Context;
-import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameCache;
 
-import java.nio.charset.StandardCharsets;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
  * The FunctionAuthoriser is a {@link GraphHook} which stops a user running
  * Functions which have been banned. The Authoriser can be configured with
  * unauthorised function classes.
+ * <p>
+ * The operation chain is checked by walking the fields of the operations and
+ * the objects they reference, such as the {@link uk.gov.gchq.gaffer.data.elementdefinition.view.View}
+ * filters and transformers and any composite functions, rather than by
+ * serialising it to json. The inputs of the operations are not checked and
+ * the fields of each class are only looked up once. Subclasses of an
+ * unauthorised function are also unauthorised.
  */
 @JsonPropertyOrder(alphabetic = true)
 public class FunctionAuthoriser implements GraphHook {
 
     private static final String ERROR_MESSAGE_PREFIX = "Operation chain contained an unauthorised function: ";
-    private static final Logger LOGGER = LoggerFactory.getLogger(FunctionAuthoriser.class);
+    private static final Map<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<>();
 
     private List<Class<? extends Function>> unauthorisedFunctions;
 
@@ -58,40 +72,117 @@ public class FunctionAuthoriser implements GraphHook {
             return;
         }
 
-        Object input = null;
-        // Null the input to avoid serialising potentially large inputs
-        if (opChain.getOperations().size() > 0 && opChain.getOperations().get(0) instanceof Input) {
-            input = ((Input) opChain.getOperations().get(0)).getInput();
-            ((Input) opChain.getOperations().get(0)).setInput(null);
+        checkNoUnauthorisedFunctionsArePresent(opChain);
+    }
+
+    private void checkNoUnauthorisedFunctionsArePresent(final OperationChain<?> opChain) {
+        final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<Object> toVisit = new ArrayDeque<>();
+        toVisit.push(opChain);
+        while (!toVisit.isEmpty()) {
+            final Object obj = toVisit.pop();
+            if (!visited.add(obj)) {
+                continue;
+            }
+
+            final Class<?> clazz = obj.getClass();
+            if (obj instanceof String) {
+                checkString((String) obj);
+            } else if (obj instanceof Class) {
+                checkClass((Class<?>) obj);
+            } else if (clazz.isArray()) {
+                if (!clazz.getComponentType().isPrimitive()) {
+                    for (int i = 0; i < Array.getLength(obj); i++) {
+                        push(Array.get(obj, i), toVisit);
+                    }
+                }
+            } else if (obj instanceof Collection) {
+                for (final Object item : (Collection<?>) obj) {
+                    push(item, toVisit);
+                }
+            } else if (obj instanceof Map) {
+                for (final Map.Entry<?, ?> entry : ((Map<?, ?>) obj).entrySet()) {
+                    push(entry.getKey(), toVisit);
+                    push(entry.getValue(), toVisit);
+                }
+            } else if (!isLeaf(clazz)) {
+                checkClass(clazz);
+                if (obj instanceof Input) {
+                    // Skip the input to avoid checking potentially large inputs
+                    final Object input = ((Input<?>) obj).getInput();
+                    if (null != input) {
+                        visited.add(input);
+                    }
+                }
+                for (final Field field : getFields(clazz)) {
+                    try {
+                        push(field.get(obj), toVisit);
+                    } catch (final IllegalAccessException e) {
+                        // Fields which cannot be made accessible are not returned by getFields
+                        throw new IllegalStateException("Unable to read field " + field, e);
+                    }
+                }
+            }
         }
+    }
 
-        SimpleClassNameCache.setUseFullNameForSerialisation(true);
-        String chainString;
-        try {
-            chainString = new String(JSONSerialiser.serialise(opChain), StandardCharsets.UTF_8);
-        } catch (final SerialisationException e) {
-            // This should never happen in real life as operation chains should
-            // always be json serialisable. However this could happen if using a
-            // mock in testing. To account for this, it will be logged.
-            LOGGER.warn("Failed to serialise operation chain: {} due to {}", opChain, e.getMessage());
-            return;
-        } finally {
-            if (input != null) {
-                // The only way input could have been set to non null value would
-                // be if the first operation was an Input operation.
-                ((Input) opChain.getOperations().get(0)).setInput(input);
+    private void checkClass(final Class<?> clazz) {
+        // Subclasses of unauthorised functions, including anonymous ones, are also unauthorised
+        for (final Class<? extends Function> unauthorisedFunction : unauthorisedFunctions) {
+            if (unauthorisedFunction.isAssignableFrom(clazz)) {
+                throw new UnauthorisedException(ERROR_MESSAGE_PREFIX + clazz.getName());
             }
         }
+    }
 
-        checkNoUnauthorisedFunctionsArePresent(chainString);
+    private void checkString(final String value) {
+        // Operations such as AddNamedOperation can contain json which references function classes
+        for (final Class<? extends Function> unauthorisedFunction : unauthorisedFunctions) {
+            if (value.contains(unauthorisedFunction.getName())) {
+                throw new UnauthorisedException(ERROR_MESSAGE_PREFIX + unauthorisedFunction.getName());
+            }
+        }
     }
 
-    private void checkNoUnauthorisedFunctionsArePresent(final String chainString) {
-        for (final Class<? extends Function> blacklistedFunction : unauthorisedFunctions) {
-            if (chainString.contains(blacklistedFunction.getName())) {
-                throw new UnauthorisedException(ERROR_MESSAGE_PREFIX +
-                        blacklistedFunction.getName());
+    private static void push(final Object obj, final Deque<Object> toVisit) {
+        if (null != obj) {
+            toVisit.push(obj);
+        }
+    }
+
+    private static boolean isLeaf(final Class<?> clazz) {
+        if (clazz.isPrimitive() || clazz.isEnum() || Number.class.isAssignableFrom(clazz)
+                || Boolean.class == clazz || Character.class == clazz) {
+            return true;
+        }
+        // JDK classes are not walked as their fields are not accessible, except for the collections above
+        final String name = clazz.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+
+    private static Field[] getFields(final Class<?> clazz) {
+        Field[] fields = FIELDS.get(clazz);
+        if (null == fields) {
+            final List<Field> fieldList = new ArrayList<>();
+            for (Class<?> current = clazz; null != current && !isLeaf(current); current = current.getSuperclass()) {
+                for (final Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive() && makeAccessible(field)) {
+                        fieldList.add(field);
+                    }
+                }
             }
+            fields = fieldList.toArray(new Field[0]);
+            FIELDS.putIfAbsent(clazz, fields);
+        }
+        return fields;
+    }
+
+    private static boolean makeAccessible(final AccessibleObject field) {
+        try {
+            field.setAccessible(true);
+            return true;
+        } catch (final RuntimeException e) {
+            return false;
         }
     }
 
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.operation.export.resultcache;
 
+import com.google.common.collect.Iterables;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,6 +24,7 @@ import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.AlwaysValid;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.TransformIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.TransformOneToManyIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
@@ -41,7 +43,9 @@ import uk.gov.gchq.koryphe.impl.predicate.AreIn;
 import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -50,9 +54,25 @@ import static java.util.Objects.isNull;
 /**
  * Implementation of the {@link Exporter} interface for exporting the results of
  * a Gaffer query to a {@link Graph}-backed results cache.
+ * <p>
+ * Results are stored in pages of up to {@link #PAGE_SIZE} results, with each
+ * page encoded by the {@link ResultPageCodec} into a single "result" edge. When
+ * getting the results the pages are decoded lazily, one at a time. Results
+ * exported to a single edge each, by previous versions, can still be read.
  */
 public class GafferResultCacheExporter implements Exporter {
 
+    /**
+     * The maximum number of results stored in each result cache edge.
+     */
+    public static final int PAGE_SIZE = 1000;
+
+    /**
+     * The resultClass of result cache edges holding a page of results encoded
+     * with the {@link ResultPageCodec}.
+     */
+    public static final String PAGE_RESULT_CLASS = ResultPageCodec.class.getName();
+
     private static final Logger LOGGER = LoggerFactory.getLogger(GafferResultCacheExporter.class);
     private final String jobId;
     private final Context context;
@@ -87,20 +107,10 @@ public class GafferResultCacheExporter implements Exporter {
         }
 
         final long timestamp = System.currentTimeMillis();
-        final Iterable<Element> elements = new TransformIterable<Object, Element>(values) {
+        final Iterable<Element> elements = new TransformIterable<List<?>, Element>(Iterables.partition(values, PAGE_SIZE)) {
             @Override
-            protected Element transform(final Object value) {
+            protected Element transform(final List<?> page) {
                 try {
-                    final Class<?> valueClass;
-                    final byte[] valueJson;
-                    if (isNull(value)) {
-                        valueClass = Object.class;
-                        valueJson = null;
-                    } else {
-                        valueClass = value.getClass();
-                        valueJson = JSONSerialiser.serialise(value);
-                    }
-
                     return new Edge.Builder()
                             .group("result")
                             .source(jobId)
@@ -109,11 +119,11 @@ public class GafferResultCacheExporter implements Exporter {
                             .property("opAuths", requiredOpAuths)
                             .property("timestamp", timestamp)
                             .property("visibility", visibility)
-                            .property("resultClass", valueClass.getName())
-                            .property("result", valueJson)
+                            .property("resultClass", PAGE_RESULT_CLASS)
+                            .property("result", ResultPageCodec.encode(page))
                             .build();
                 } catch (final SerialisationException e) {
-                    throw new RuntimeException("Unable to serialise results to json", e);
+                    throw new RuntimeException("Unable to serialise page of results", e);
                 }
             }
         };
@@ -141,22 +151,36 @@ public class GafferResultCacheExporter implements Exporter {
         if (isNull(edges)) {
             return new EmptyIterable<>();
         }
-        return new TransformJsonResult(edges);
+        return new TransformResultPages(edges);
     }
 
-    private static class TransformJsonResult extends TransformIterable<Element, Object> {
-        TransformJsonResult(final Iterable<? extends Element> input) {
+    private static class TransformResultPages extends TransformOneToManyIterable<Element, Object> {
+        TransformResultPages(final Iterable<? extends Element> input) {
             super(input, new AlwaysValid<>(), false, true);
         }
 
         @Override
-        protected Object transform(final Element edge) {
+        protected Iterable<Object> transform(final Element edge) {
             final String resultClassName = (String) edge.getProperty("resultClass");
             final byte[] resultBytes = (byte[]) edge.getProperty("result");
             if (isNull(resultClassName) || isNull(resultBytes)) {
-                return null;
+                return Collections.singletonList(null);
+            }
+
+            if (PAGE_RESULT_CLASS.equals(resultClassName)) {
+                try {
+                    return ResultPageCodec.decode(resultBytes);
+                } catch (final SerialisationException e) {
+                    LOGGER.error("Unable to decode page of results", e);
+                    throw new RuntimeException(e);
+                }
             }
 
+            return Collections.singletonList(deserialiseJsonResult(resultClassName, resultBytes));
+        }
+
+        // Results stored in their own edge, as written by previous versions of this exporter
+        private Object deserialiseJsonResult(final String resultClassName, final byte[] resultBytes) {
             final Class<?> resultClass;
             try {
                 resultClass = Class.forName(SimpleClassNameIdResolver.getClassName(resultClassName));
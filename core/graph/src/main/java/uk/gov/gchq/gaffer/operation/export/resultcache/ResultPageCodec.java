@@ -0,0 +1,173 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.export.resultcache;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes a page of results into a single byte array so that many results can
+ * be stored in one result cache edge.
+ * <p>
+ * Strings, longs, integers, booleans, doubles and byte arrays are written in a
+ * compact binary form. Any other value, including elements, is written as
+ * json along with its class. Each class name is only written the first time it
+ * appears in a page and is referred to by its index after that.
+ */
+public final class ResultPageCodec {
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte LONG = 2;
+    private static final byte INTEGER = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte BYTES = 6;
+    private static final byte JSON = 7;
+    private static final byte JSON_NEW_CLASS = 8;
+
+    private ResultPageCodec() {
+        // private to prevent this class being instantiated.
+        // All methods are static and should be called directly.
+    }
+
+    public static byte[] encode(final List<?> values) throws SerialisationException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        final Map<Class<?>, Integer> classIndexes = new HashMap<>();
+        try {
+            CompactRawSerialisationUtils.write(values.size(), output);
+            for (final Object value : values) {
+                if (null == value) {
+                    output.writeByte(NULL);
+                } else if (value instanceof String) {
+                    output.writeByte(STRING);
+                    writeBytes(((String) value).getBytes(StandardCharsets.UTF_8), output);
+                } else if (value instanceof Long) {
+                    output.writeByte(LONG);
+                    CompactRawSerialisationUtils.write((Long) value, output);
+                } else if (value instanceof Integer) {
+                    output.writeByte(INTEGER);
+                    CompactRawSerialisationUtils.write((Integer) value, output);
+                } else if (value instanceof Boolean) {
+                    output.writeByte(BOOLEAN);
+                    output.writeBoolean((Boolean) value);
+                } else if (value instanceof Double) {
+                    output.writeByte(DOUBLE);
+                    output.writeDouble((Double) value);
+                } else if (value instanceof byte[]) {
+                    output.writeByte(BYTES);
+                    writeBytes((byte[]) value, output);
+                } else {
+                    final Integer classIndex = classIndexes.get(value.getClass());
+                    if (null == classIndex) {
+                        output.writeByte(JSON_NEW_CLASS);
+                        writeBytes(value.getClass().getName().getBytes(StandardCharsets.UTF_8), output);
+                        classIndexes.put(value.getClass(), classIndexes.size());
+                    } else {
+                        output.writeByte(JSON);
+                        CompactRawSerialisationUtils.write(classIndex, output);
+                    }
+                    writeBytes(JSONSerialiser.serialise(value), output);
+                }
+            }
+            output.flush();
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to encode page of results", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static List<Object> decode(final byte[] page) throws SerialisationException {
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(page));
+        final List<Class<?>> classes = new ArrayList<>();
+        try {
+            final int size = (int) CompactRawSerialisationUtils.read(input);
+            final List<Object> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                final byte type = input.readByte();
+                switch (type) {
+                    case NULL:
+                        values.add(null);
+                        break;
+                    case STRING:
+                        values.add(new String(readBytes(input), StandardCharsets.UTF_8));
+                        break;
+                    case LONG:
+                        values.add(CompactRawSerialisationUtils.read(input));
+                        break;
+                    case INTEGER:
+                        values.add((int) CompactRawSerialisationUtils.read(input));
+                        break;
+                    case BOOLEAN:
+                        values.add(input.readBoolean());
+                        break;
+                    case DOUBLE:
+                        values.add(input.readDouble());
+                        break;
+                    case BYTES:
+                        values.add(readBytes(input));
+                        break;
+                    case JSON_NEW_CLASS:
+                        classes.add(getClass(new String(readBytes(input), StandardCharsets.UTF_8)));
+                        values.add(JSONSerialiser.deserialise(readBytes(input), classes.get(classes.size() - 1)));
+                        break;
+                    case JSON:
+                        final Class<?> valueClass = classes.get((int) CompactRawSerialisationUtils.read(input));
+                        values.add(JSONSerialiser.deserialise(readBytes(input), valueClass));
+                        break;
+                    default:
+                        throw new SerialisationException("Unknown result type in page: " + type);
+                }
+            }
+            return values;
+        } catch (final IOException | IndexOutOfBoundsException e) {
+            throw new SerialisationException("Unable to decode page of results", e);
+        }
+    }
+
+    private static void writeBytes(final byte[] value, final DataOutputStream output) throws IOException {
+        CompactRawSerialisationUtils.write(value.length, output);
+        output.write(value);
+    }
+
+    private static byte[] readBytes(final DataInputStream input) throws IOException {
+        final byte[] value = new byte[(int) CompactRawSerialisationUtils.read(input)];
+        input.readFully(value);
+        return value;
+    }
+
+    private static Class<?> getClass(final String className) throws SerialisationException {
+        try {
+            return Class.forName(SimpleClassNameIdResolver.getClassName(className));
+        } catch (final ClassNotFoundException e) {
+            throw new SerialisationException("Result class name was not found: " + className, e);
+        }
+    }
+}
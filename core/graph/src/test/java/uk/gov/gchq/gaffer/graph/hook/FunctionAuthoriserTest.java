@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2021 Crown Copyright
+ * Copyright 2020-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import uk.gov.gchq.gaffer.data.elementdefinition.view.GlobalViewElementDefinitio
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.named.operation.AddNamedOperation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.function.ToEntityId;
@@ -35,6 +36,7 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.koryphe.impl.function.DivideBy;
+import uk.gov.gchq.koryphe.impl.function.FunctionChain;
 import uk.gov.gchq.koryphe.impl.function.Identity;
 import uk.gov.gchq.koryphe.impl.function.ToString;
 import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameCache;
@@ -168,9 +170,13 @@ public class FunctionAuthoriserTest extends GraphHookTest<FunctionAuthoriser> {
         functionAuthoriser.setUnauthorisedFunctions(Lists.newArrayList(Identity.class));
 
         // Then
-        assertThatExceptionOfType(UnauthorisedException.class)
-                .isThrownBy(() -> functionAuthoriser.preExecute(badOperation, new Context()))
-                .withMessage("Operation chain contained an unauthorised function: uk.gov.gchq.koryphe.impl.function.Identity");
+        try {
+            assertThatExceptionOfType(UnauthorisedException.class)
+                    .isThrownBy(() -> functionAuthoriser.preExecute(badOperation, new Context()))
+                    .withMessage("Operation chain contained an unauthorised function: uk.gov.gchq.koryphe.impl.function.Identity");
+        } finally {
+            SimpleClassNameCache.setUseFullNameForSerialisation(true);
+        }
     }
 
     @Test
@@ -246,6 +252,105 @@ public class FunctionAuthoriserTest extends GraphHookTest<FunctionAuthoriser> {
         assertEquals(fakeInput, ((Input) chain.getOperations().get(0)).getInput());
     }
 
+    @Test
+    public void shouldNotAllowUnauthorisedFunctionNestedInFunctionCompositeInNestedOperationChain() {
+        // Given
+        final OperationChain chain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new OperationChain.Builder()
+                        .first(new Map.Builder()
+                                .first(new FunctionChain(new ToString(), new Identity()))
+                                .build())
+                        .build())
+                .build();
+        final FunctionAuthoriser authoriser = new FunctionAuthoriser(Lists.newArrayList(Identity.class));
+
+        // When / Then
+        assertThatExceptionOfType(UnauthorisedException.class)
+                .isThrownBy(() -> authoriser.preExecute(chain, new Context()))
+                .withMessage("Operation chain contained an unauthorised function: uk.gov.gchq.koryphe.impl.function.Identity");
+    }
+
+    @Test
+    public void shouldNotAllowUnauthorisedFunctionInNamedOperationJson() {
+        // Given
+        final OperationChain chain = new OperationChain.Builder()
+                .first(new AddNamedOperation.Builder()
+                        .name("namedOperation")
+                        .operationChain(generateOperation(Identity.class))
+                        .build())
+                .build();
+        final FunctionAuthoriser authoriser = new FunctionAuthoriser(Lists.newArrayList(Identity.class));
+
+        // When / Then
+        assertThatExceptionOfType(UnauthorisedException.class)
+                .isThrownBy(() -> authoriser.preExecute(chain, new Context()))
+                .withMessage("Operation chain contained an unauthorised function: uk.gov.gchq.koryphe.impl.function.Identity");
+    }
+
+    @Test
+    public void shouldNotAllowSubclassOfUnauthorisedFunction() {
+        // Given
+        final OperationChain chain = generateOperation(IdentitySubclass.class);
+        final FunctionAuthoriser authoriser = new FunctionAuthoriser(Lists.newArrayList(Identity.class));
+
+        // When / Then
+        assertThatExceptionOfType(UnauthorisedException.class)
+                .isThrownBy(() -> authoriser.preExecute(chain, new Context()))
+                .withMessage("Operation chain contained an unauthorised function: " + IdentitySubclass.class.getName());
+    }
+
+    @Test
+    public void shouldNotAllowAnonymousSubclassOfUnauthorisedFunction() {
+        // Given
+        final Identity anonymousIdentity = new Identity() {
+        };
+        final OperationChain chain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new OperationChain.Builder()
+                        .first(new Map.Builder()
+                                .first(new FunctionChain(new ToString(), anonymousIdentity))
+                                .build())
+                        .build())
+                .build();
+        final FunctionAuthoriser authoriser = new FunctionAuthoriser(Lists.newArrayList(Identity.class));
+
+        // When / Then
+        assertThatExceptionOfType(UnauthorisedException.class)
+                .isThrownBy(() -> authoriser.preExecute(chain, new Context()))
+                .withMessage("Operation chain contained an unauthorised function: " + anonymousIdentity.getClass().getName());
+    }
+
+    @Test
+    public void shouldAllowSuperclassOfUnauthorisedFunction() {
+        // Given
+        final OperationChain chain = generateOperation(Identity.class);
+        final FunctionAuthoriser authoriser = new FunctionAuthoriser(Lists.newArrayList(IdentitySubclass.class));
+
+        // When
+        authoriser.preExecute(chain, new Context());
+
+        // Then no exceptions
+    }
+
+    @Test
+    public void shouldNotCheckOperationInputs() {
+        // Given
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed(new Identity()))
+                .build();
+        final OperationChain chain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new OperationChain.Builder().first(getElements).build())
+                .build();
+        final FunctionAuthoriser authoriser = new FunctionAuthoriser(Lists.newArrayList(Identity.class));
+
+        // When
+        authoriser.preExecute(chain, new Context());
+
+        // Then no exceptions
+    }
+
     private OperationChain generateOperation(final Class<? extends Function>... functionClasses) {
         final Map.Builder builder = new Map.Builder();
         try {
@@ -271,4 +376,7 @@ public class FunctionAuthoriserTest extends GraphHookTest<FunctionAuthoriser> {
     protected FunctionAuthoriser getTestObject() {
         return fromJson(JSON_PATH);
     }
+
+    public static class IdentitySubclass extends Identity {
+    }
 }
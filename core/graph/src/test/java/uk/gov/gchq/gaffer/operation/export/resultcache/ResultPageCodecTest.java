@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.export.resultcache;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ResultPageCodecTest {
+
+    @Test
+    public void shouldEncodeAndDecodeSimpleValues() throws SerialisationException {
+        // Given
+        final List<Object> values = Arrays.asList("a string", "", 1L, Long.MIN_VALUE, 2, -300,
+                true, false, 1.5d, Double.NaN, null);
+
+        // When
+        final List<Object> decoded = ResultPageCodec.decode(ResultPageCodec.encode(values));
+
+        // Then
+        assertThat(decoded).isEqualTo(values);
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeByteArrays() throws SerialisationException {
+        // Given
+        final byte[] value = {0, 1, -1, 127};
+
+        // When
+        final List<Object> decoded = ResultPageCodec.decode(ResultPageCodec.encode(Collections.singletonList(value)));
+
+        // Then
+        assertThat(decoded).hasSize(1);
+        assertThat((byte[]) decoded.get(0)).isEqualTo(value);
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeElementsAsJson() throws SerialisationException {
+        // Given
+        final List<Object> values = Arrays.asList(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("A")
+                        .property("count", 1)
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("A")
+                        .dest("B")
+                        .directed(true)
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("B")
+                        .build());
+
+        // When
+        final List<Object> decoded = ResultPageCodec.decode(ResultPageCodec.encode(values));
+
+        // Then
+        assertThat(decoded).isEqualTo(values);
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidPage() {
+        assertThatExceptionOfType(SerialisationException.class)
+                .isThrownBy(() -> ResultPageCodec.decode(new byte[] {1, 99}));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2021 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,6 +36,7 @@ import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.export.resultcache.GafferResultCacheExporter;
+import uk.gov.gchq.gaffer.operation.export.resultcache.ResultPageCodec;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
@@ -43,6 +44,7 @@ import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.TreeSet;
@@ -92,26 +94,33 @@ public class GafferResultCacheExporterTest {
         exporter.add(key, results);
 
         // Then
-        final ArgumentCaptor<OperationChain<?>> opChain = ArgumentCaptor.forClass(OperationChain.class);
-        verify(store).execute(opChain.capture(), Mockito.any(Context.class));
-        assertThat(opChain.getValue().getOperations()).hasSize(1);
-        final AddElements addElements = (AddElements) opChain.getValue().getOperations().get(0);
-        final List<Element> elements = Lists.newArrayList(addElements.getInput());
+        final List<Element> elements = getAddedElements();
+        assertThat(elements).hasSize(1);
         final Object timestamp = elements.get(0).getProperty("timestamp");
-        final List<Element> expectedElements = createCachedEdges(timestamp,
-                elements.get(0).getProperty("result"),
-                elements.get(1).getProperty("result"),
-                null);
-
-        assertThat(elements).isEqualTo(expectedElements);
-        for (int i = 0; i < elements.size(); i++) {
-            if (null == results.get(i)) {
-                assertThat(elements.get(i).getProperty("result")).isNull();
-            } else {
-                assertThat((byte[]) elements.get(i).getProperty("result"))
-                        .isEqualTo(JSONSerialiser.serialise(results.get(i)));
-            }
+        final byte[] page = (byte[]) elements.get(0).getProperty("result");
+        assertThat(elements.get(0)).isEqualTo(createPageEdge(timestamp, page));
+        assertThat(ResultPageCodec.decode(page)).isEqualTo(results);
+    }
+
+    @Test
+    public void shouldAddResultsInPages() throws OperationException, SerialisationException {
+        // Given
+        final GafferResultCacheExporter exporter = new GafferResultCacheExporter(context, jobId, resultCache, visibility, requiredOpAuths);
+        final List<Integer> manyResults = new ArrayList<>();
+        for (int i = 0; i < GafferResultCacheExporter.PAGE_SIZE + 1; i++) {
+            manyResults.add(i);
         }
+
+        // When
+        exporter.add(key, manyResults);
+
+        // Then
+        final List<Element> elements = getAddedElements();
+        assertThat(elements).hasSize(2);
+        assertThat(ResultPageCodec.decode((byte[]) elements.get(0).getProperty("result")))
+                .isEqualTo(manyResults.subList(0, GafferResultCacheExporter.PAGE_SIZE));
+        assertThat(ResultPageCodec.decode((byte[]) elements.get(1).getProperty("result")))
+                .containsExactly(GafferResultCacheExporter.PAGE_SIZE);
     }
 
     @SuppressWarnings("unchecked")
@@ -129,7 +138,7 @@ public class GafferResultCacheExporterTest {
 
     @SuppressWarnings({"rawtypes", "unchecked"})
     @Test
-    public void shouldGetResults() throws OperationException {
+    public void shouldGetResultsStoredInSeparateEdges() throws OperationException {
         // Given
         final ArgumentCaptor<OperationChain> opChain = ArgumentCaptor.forClass(OperationChain.class);
         final long timestamp = System.currentTimeMillis();
@@ -142,7 +151,28 @@ public class GafferResultCacheExporterTest {
         final Iterable<?> cachedResults = exporter.get(key);
 
         // Then
-        assertThat(cachedResults).asInstanceOf(InstanceOfAssertFactories.iterable(Object.class)).containsAnyElementsOf(results);
+        assertThat(cachedResults).asInstanceOf(InstanceOfAssertFactories.iterable(Object.class)).containsExactlyElementsOf(results);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Test
+    public void shouldGetResultsFromPages() throws OperationException, SerialisationException {
+        // Given
+        final ArgumentCaptor<OperationChain> opChain = ArgumentCaptor.forClass(OperationChain.class);
+        final long timestamp = System.currentTimeMillis();
+        final List<Element> cachedEdges = Arrays.asList(
+                createPageEdge(timestamp, ResultPageCodec.encode(results)),
+                createPageEdge(timestamp, ResultPageCodec.encode(Arrays.asList(4L, "5"))));
+        given(store.execute(opChain.capture(), Mockito.any())).willReturn(cachedEdges);
+
+        final GafferResultCacheExporter exporter = new GafferResultCacheExporter(context, jobId, resultCache, visibility, requiredOpAuths);
+
+        // When
+        final Iterable<?> cachedResults = exporter.get(key);
+
+        // Then
+        assertThat(cachedResults).asInstanceOf(InstanceOfAssertFactories.iterable(Object.class))
+                .containsExactly(1, "2", null, 4L, "5");
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
@@ -161,6 +191,28 @@ public class GafferResultCacheExporterTest {
         assertThat(cachedResults).isEmpty();
     }
 
+    private List<Element> getAddedElements() throws OperationException {
+        final ArgumentCaptor<OperationChain<?>> opChain = ArgumentCaptor.forClass(OperationChain.class);
+        verify(store).execute(opChain.capture(), Mockito.any(Context.class));
+        assertThat(opChain.getValue().getOperations()).hasSize(1);
+        final AddElements addElements = (AddElements) opChain.getValue().getOperations().get(0);
+        return Lists.newArrayList(addElements.getInput());
+    }
+
+    private Element createPageEdge(final Object timestamp, final byte[] page) {
+        return new Edge.Builder()
+                .group("result")
+                .source(jobId)
+                .dest(key)
+                .directed(true)
+                .property("opAuths", requiredOpAuths)
+                .property("timestamp", timestamp)
+                .property("visibility", visibility)
+                .property("resultClass", GafferResultCacheExporter.PAGE_RESULT_CLASS)
+                .property("result", page)
+                .build();
+    }
+
     private List<Element> createCachedEdges(final Object timestamp, final Object... values) {
         return Arrays.asList(
                 new Edge.Builder()
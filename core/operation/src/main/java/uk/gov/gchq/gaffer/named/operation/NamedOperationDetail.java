@@ -38,6 +38,8 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -63,6 +65,7 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
     private Integer score;
     private String readAccessPredicateJson;
     private String writeAccessPredicateJson;
+    private transient volatile NamedOperationTemplate operationsTemplate;
 
     protected NamedOperationDetail() {
     }
@@ -170,10 +173,6 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
         return score;
     }
 
-    private String buildParamNameString(final String paramKey) {
-        return "\"${" + paramKey + "}\"";
-    }
-
     /**
      * Gets the OperationChain after adding in default values for any parameters. If a parameter
      * does not have a default, null is inserted.
@@ -183,29 +182,15 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
      */
     @JsonIgnore
     public OperationChain getOperationChainWithDefaultParams() {
-        String opStringWithDefaults = operations;
+        final Map<String, String> parameterJson = new LinkedHashMap<>();
 
         if (null != parameters) {
             for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
-                String paramKey = parameterDetailPair.getKey();
-
-                try {
-                    opStringWithDefaults = opStringWithDefaults.replace(buildParamNameString(paramKey),
-                            new String(JSONSerialiser.serialise(parameterDetailPair.getValue().getDefaultValue()), StandardCharsets.UTF_8));
-                } catch (final SerialisationException e) {
-                    throw new IllegalArgumentException(e.getMessage(), e);
-                }
+                parameterJson.put(parameterDetailPair.getKey(), serialise(parameterDetailPair.getValue().getDefaultValue()));
             }
         }
 
-        OperationChain opChain;
-        try {
-            opChain = JSONSerialiser.deserialise(opStringWithDefaults.getBytes(StandardCharsets.UTF_8), OperationChainDAO.class);
-        } catch (final Exception e) {
-            throw new IllegalArgumentException(e.getMessage(), e);
-        }
-
-        return opChain;
+        return getOperationChainWithParameterJson(parameterJson);
     }
 
     /**
@@ -216,7 +201,7 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
      * @throws IllegalArgumentException if substituting the parameters fails
      */
     public OperationChain getOperationChain(final Map<String, Object> executionParams) {
-        String opStringWithParams = operations;
+        final Map<String, String> parameterJson = new LinkedHashMap<>();
 
         // First check all the parameters supplied are expected parameter names
         if (null != parameters) {
@@ -231,24 +216,34 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
 
             for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
                 String paramKey = parameterDetailPair.getKey();
-                try {
-                    if (null != executionParams && executionParams.containsKey(paramKey)) {
-                        Object paramObj = JSONSerialiser.deserialise(JSONSerialiser.serialise(executionParams.get(paramKey)), parameterDetailPair.getValue().getValueClass());
-
-                        opStringWithParams = opStringWithParams.replace(buildParamNameString(paramKey),
-                                new String(JSONSerialiser.serialise(paramObj), StandardCharsets.UTF_8));
-                    } else if (!parameterDetailPair.getValue().isRequired()) {
-                        opStringWithParams = opStringWithParams.replace(buildParamNameString(paramKey),
-                                new String(JSONSerialiser.serialise(parameterDetailPair.getValue().getDefaultValue()), StandardCharsets.UTF_8));
-                    } else {
-                        throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
-                    }
-                } catch (final SerialisationException e) {
-                    throw new IllegalArgumentException(e.getMessage(), e);
+                if (null != executionParams && executionParams.containsKey(paramKey)) {
+                    parameterJson.put(paramKey, serialise(toValueClass(executionParams.get(paramKey), parameterDetailPair.getValue().getValueClass())));
+                } else if (!parameterDetailPair.getValue().isRequired()) {
+                    parameterJson.put(paramKey, serialise(parameterDetailPair.getValue().getDefaultValue()));
+                } else {
+                    throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
                 }
             }
         }
 
+        return getOperationChainWithParameterJson(parameterJson);
+    }
+
+    private OperationChain getOperationChainWithParameterJson(final Map<String, String> parameterJson) {
+        final NamedOperationTemplate template = getOperationsTemplate();
+        if (template.isCompiled() && !containsPlaceholder(parameterJson)) {
+            try {
+                return template.bind(parameterJson);
+            } catch (final Exception e) {
+                // Substitute the parameters into the json string so the error is reported as before
+            }
+        }
+
+        String opStringWithParams = operations;
+        for (final Map.Entry<String, String> entry : parameterJson.entrySet()) {
+            opStringWithParams = opStringWithParams.replace(NamedOperationTemplate.toPlaceholder(entry.getKey()), entry.getValue());
+        }
+
         OperationChain opChain;
 
         try {
@@ -260,6 +255,46 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
         return opChain;
     }
 
+    private NamedOperationTemplate getOperationsTemplate() {
+        final Set<String> parameterNames = null != parameters ? parameters.keySet() : Collections.emptySet();
+        NamedOperationTemplate template = operationsTemplate;
+        if (null == template || !template.getParameterNames().equals(parameterNames)) {
+            template = NamedOperationTemplate.compile(operations, parameterNames);
+            operationsTemplate = template;
+        }
+        return template;
+    }
+
+    private static boolean containsPlaceholder(final Map<String, String> parameterJson) {
+        // Parameters are substituted into the json string one at a time, so a placeholder
+        // in a parameter value may be replaced by a later parameter, which a template would not do
+        for (final String json : parameterJson.values()) {
+            if (json.contains("\"${")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object toValueClass(final Object value, final Class<?> valueClass) {
+        if (null != valueClass && valueClass.isInstance(value)) {
+            return value;
+        }
+        try {
+            return JSONSerialiser.deserialise(JSONSerialiser.serialise(value), valueClass);
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private static String serialise(final Object value) {
+        try {
+            return new String(JSONSerialiser.serialise(value), StandardCharsets.UTF_8);
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.named.operation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.lang3.StringUtils;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationChainDAO;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+
+/**
+ * The operation chain json of a {@link NamedOperationDetail} parsed once into a
+ * json tree. Parameters are bound by copying only the objects and arrays which
+ * contain a parameter placeholder, sharing the rest of the tree, and converting
+ * the result into an {@link OperationChain}. This avoids re-parsing the whole
+ * operation chain json each time the named operation is executed.
+ * <p>
+ * Binding a template gives the same operation chain as replacing each quoted
+ * placeholder, e.g. {@code "${paramName}"}, in the json string. If a
+ * placeholder appears anywhere other than as a whole json string value, for
+ * example as a field name, the template is not compiled and the caller should
+ * substitute the parameters into the json string instead.
+ */
+final class NamedOperationTemplate {
+    private final Set<String> parameterNames;
+    private final JsonNode tree;
+    private final Set<JsonNode> placeholderContainers;
+
+    private NamedOperationTemplate(final Set<String> parameterNames, final JsonNode tree, final Set<JsonNode> placeholderContainers) {
+        this.parameterNames = parameterNames;
+        this.tree = tree;
+        this.placeholderContainers = placeholderContainers;
+    }
+
+    /**
+     * Parses the operation chain json into a template.
+     *
+     * @param operations     the operation chain json
+     * @param parameterNames the names of the parameters of the named operation
+     * @return the template, which will not be compiled if the json could not be parsed
+     * or contains placeholders which are not json string values
+     */
+    static NamedOperationTemplate compile(final String operations, final Set<String> parameterNames) {
+        final Set<String> names = isNull(parameterNames) ? Collections.emptySet() : new HashSet<>(parameterNames);
+        final JsonNode tree;
+        try {
+            tree = JSONSerialiser.getJsonNodeFromString(operations);
+        } catch (final SerialisationException e) {
+            return new NamedOperationTemplate(names, null, null);
+        }
+
+        final Map<String, Integer> placeholderCounts = new HashMap<>();
+        final Set<JsonNode> placeholderContainers = Collections.newSetFromMap(new IdentityHashMap<>());
+        findPlaceholders(tree, names, placeholderCounts, placeholderContainers);
+        for (final String name : names) {
+            if (StringUtils.countMatches(operations, toPlaceholder(name)) != placeholderCounts.getOrDefault(name, 0)) {
+                return new NamedOperationTemplate(names, null, null);
+            }
+        }
+
+        return new NamedOperationTemplate(names, tree, placeholderContainers);
+    }
+
+    static String toPlaceholder(final String parameterName) {
+        return "\"${" + parameterName + "}\"";
+    }
+
+    Set<String> getParameterNames() {
+        return parameterNames;
+    }
+
+    boolean isCompiled() {
+        return null != tree;
+    }
+
+    /**
+     * Binds the parameter values into a copy of the template.
+     *
+     * @param parameterJson the json of the value to bind for each parameter
+     * @return the {@link OperationChain}
+     * @throws SerialisationException if the parameter values or the bound template could not be deserialised
+     */
+    OperationChain bind(final Map<String, String> parameterJson) throws SerialisationException {
+        if (!isCompiled()) {
+            throw new IllegalStateException("Operation chain template has not been compiled");
+        }
+
+        final Map<String, JsonNode> values = new HashMap<>(parameterJson.size());
+        for (final Map.Entry<String, String> entry : parameterJson.entrySet()) {
+            final JsonNode value = JSONSerialiser.getJsonNodeFromString(entry.getValue());
+            values.put(entry.getKey(), isNull(value) ? NullNode.getInstance() : value);
+        }
+
+        try {
+            return JSONSerialiser.getMapper().treeToValue(bind(tree, values), OperationChainDAO.class);
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
+    private JsonNode bind(final JsonNode node, final Map<String, JsonNode> values) {
+        if (node.isTextual()) {
+            final String name = getParameterName(node, parameterNames);
+            return null != name && values.containsKey(name) ? values.get(name) : node;
+        }
+
+        if (!placeholderContainers.contains(node)) {
+            return node;
+        }
+
+        if (node.isObject()) {
+            final ObjectNode copy = JsonNodeFactory.instance.objectNode();
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                copy.set(field.getKey(), bind(field.getValue(), values));
+            }
+            return copy;
+        }
+
+        final ArrayNode copy = JsonNodeFactory.instance.arrayNode(node.size());
+        for (final JsonNode child : node) {
+            copy.add(bind(child, values));
+        }
+        return copy;
+    }
+
+    private static boolean findPlaceholders(final JsonNode node, final Set<String> names,
+                                            final Map<String, Integer> placeholderCounts, final Set<JsonNode> placeholderContainers) {
+        if (node.isTextual()) {
+            final String name = getParameterName(node, names);
+            if (null != name) {
+                placeholderCounts.merge(name, 1, Integer::sum);
+                return true;
+            }
+            return false;
+        }
+
+        boolean found = false;
+        for (final JsonNode child : node) {
+            found |= findPlaceholders(child, names, placeholderCounts, placeholderContainers);
+        }
+        if (found) {
+            placeholderContainers.add(node);
+        }
+        return found;
+    }
+
+    private static String getParameterName(final JsonNode node, final Set<String> names) {
+        final String text = node.textValue();
+        if (text.length() >= 3 && text.startsWith("${") && text.endsWith("}")) {
+            final String name = text.substring(2, text.length() - 1);
+            if (names.contains(name)) {
+                return name;
+            }
+        }
+        return null;
+    }
+}
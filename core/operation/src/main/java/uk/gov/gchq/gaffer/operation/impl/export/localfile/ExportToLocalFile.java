@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 Crown Copyright
+ * Copyright 2022-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,10 @@ import java.util.Map;
 /**
  * A {@code ExportToLocalFile} operation that takes an Iterable of Strings
  * and writes them to a local file.
+ * <p>
+ * If the {@link LocalFileExporter#FILE_FORMAT} option is set to
+ * {@link LocalFileExporter#BINARY_FILE_FORMAT} then the input should be elements,
+ * which are written in a binary format using the schema serialisers.
  */
 @JsonPropertyOrder(value = {"class", "input", "filePath"}, alphabetic = true)
 @Since("2.0.0")
@@ -60,6 +64,7 @@ public class ExportToLocalFile implements ExportTo<Iterable<? extends String>> {
         return new ExportToLocalFile.Builder()
                 .filePath(filePath)
                 .input(input)
+                .options(options)
                 .build();
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2022 Crown Copyright
+ * Copyright 2016-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,6 +36,10 @@ import java.util.Map;
  * The Set export is maintained per single Job or {@link uk.gov.gchq.gaffer.operation.OperationChain} only.
  * It cannot be used across multiple separate operation requests.
  * So ExportToSet and ImportFromLocalFile must be used inside a single operation chain.
+ * <p>
+ * The lines of the file are read lazily. If the {@link LocalFileExporter#FILE_FORMAT}
+ * option is set to {@link LocalFileExporter#BINARY_FILE_FORMAT} then elements
+ * are read from a binary file written by {@link ExportToLocalFile} instead.
  */
 
 @JsonPropertyOrder(value = {"class", "start", "end"}, alphabetic = true)
@@ -82,6 +86,7 @@ public class ImportFromLocalFile implements
     public ImportFromLocalFile shallowClone() {
         return new ImportFromLocalFile.Builder()
                 .key(filePath)
+                .options(options)
                 .build();
     }
 
@@ -19,22 +19,35 @@ package uk.gov.gchq.gaffer.operation.impl.export.localfile;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.export.Exporter;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.stream.Collectors;
 
-import static uk.gov.gchq.gaffer.commonutil.StreamUtil.openStream;
+import static uk.gov.gchq.gaffer.commonutil.StreamUtil.formatPathForOpenStream;
 
 /**
  * Implementation of the {@link Exporter} interface for exporting an Iterable of strings to a local file.
+ * <p>
+ * If the {@link #FILE_FORMAT} option of {@link ExportToLocalFile} or {@link ImportFromLocalFile}
+ * is set to {@link #BINARY_FILE_FORMAT} then the store handlers write and read
+ * elements in a binary file format instead of using this exporter.
  */
 public class LocalFileExporter implements Exporter {
+    /**
+     * Operation option to set the format of the local file.
+     */
+    public static final String FILE_FORMAT = "gaffer.export.localfile.format";
+
+    /**
+     * The {@link #FILE_FORMAT} for a file of elements serialised with the schema serialisers.
+     */
+    public static final String BINARY_FILE_FORMAT = "binary";
+
+    /**
+     * Operation option to compress the blocks of a binary file when exporting.
+     */
+    public static final String COMPRESS = "gaffer.export.localfile.compress";
 
     @Override
     public void add(final String filePath, final Iterable<?> results) throws OperationException {
@@ -45,19 +58,19 @@ public class LocalFileExporter implements Exporter {
         }
     }
 
+    /**
+     * Lazily reads the lines of the file at the given path. If there is no
+     * file at the path then it is read from the classpath instead.
+     *
+     * @param filePath the path of the file
+     * @return a closeable iterable of the lines in the file
+     * @throws OperationException if the file does not exist
+     */
     @Override
     public Iterable<String> get(final String filePath) throws OperationException {
-        Iterable<String> linesFromFile;
-
-        final File file = new File(filePath);
-        try {
-            final InputStream fileToBeRead = file.exists() ? openStream(file.toURI()) : openStream(LocalFileExporter.class, filePath);
-            try (final BufferedReader reader = new BufferedReader(new InputStreamReader(fileToBeRead, StandardCharsets.UTF_8));) {
-                linesFromFile = reader.lines().collect(Collectors.toList());
-            }
-        } catch (final IOException e) {
-            throw new OperationException(e.getMessage(), e);
+        if (!new File(filePath).exists() && null == LocalFileExporter.class.getResource(formatPathForOpenStream(filePath))) {
+            throw new OperationException("File could not be found: " + filePath);
         }
-        return linesFromFile;
+        return new LocalFileLineIterable(filePath);
     }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl.export.localfile;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static uk.gov.gchq.gaffer.commonutil.StreamUtil.openStream;
+
+/**
+ * A {@link Closeable} {@link Iterable} of the lines in a local file, or in a
+ * resource on the classpath if the file does not exist.
+ * <p>
+ * The lines are read lazily, so the file does not need to fit in memory. Each
+ * iterator opens its own reader, which is closed once the end of the file is
+ * reached or when the iterator or this iterable is closed.
+ */
+public class LocalFileLineIterable implements Closeable, Iterable<String> {
+    private final String filePath;
+    private LineIterator lastIterator;
+
+    public LocalFileLineIterable(final String filePath) {
+        this.filePath = filePath;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        final File file = new File(filePath);
+        try {
+            final InputStream inputStream = file.exists() ? openStream(file.toURI()) : openStream(LocalFileLineIterable.class, filePath);
+            lastIterator = new LineIterator(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Unable to open file: " + filePath, e);
+        }
+        return lastIterator;
+    }
+
+    @Override
+    public void close() {
+        CloseableUtil.close(lastIterator);
+    }
+
+    private static final class LineIterator implements Closeable, Iterator<String> {
+        private final BufferedReader reader;
+        private String nextLine;
+        private boolean closed;
+
+        private LineIterator(final BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == nextLine && !closed) {
+                try {
+                    nextLine = reader.readLine();
+                } catch (final IOException e) {
+                    close();
+                    throw new UncheckedIOException(e);
+                }
+                if (null == nextLine) {
+                    close();
+                }
+            }
+            return null != nextLine;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the file");
+            }
+            final String line = nextLine;
+            nextLine = null;
+            return line;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            CloseableUtil.close(reader);
+        }
+    }
+}
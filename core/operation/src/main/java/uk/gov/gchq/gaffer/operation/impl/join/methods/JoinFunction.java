@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2020 Crown Copyright
+ * Copyright 2018-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,18 @@
 
 package uk.gov.gchq.gaffer.operation.impl.join.methods;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.StreamIterable;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
 import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
 import uk.gov.gchq.koryphe.tuple.MapTuple;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Used by the Join Operation to join two Lists together.
@@ -29,42 +35,62 @@ import java.util.List;
 public abstract class JoinFunction {
 
     public List<MapTuple> join(final Iterable left, final Iterable right, final Match match, final MatchKey matchKey, final Boolean flatten) {
+        final List<MapTuple> resultList = new ArrayList<>();
+        lazyJoin(left, right, match, matchKey, flatten).forEach(resultList::add);
+        return resultList;
+    }
+
+    /**
+     * Joins two Iterables together, returning the results lazily. The
+     * {@link Match} is initialised with the side that is not keyed straight
+     * away, but the keyed side is only iterated over as the results are
+     * consumed.
+     * <p>
+     * The returned results can be iterated over more than once. A {@link Match}
+     * may hold state for a single pass over the keyed side, so it is
+     * re-initialised each time the results are iterated over after the first.
+     * The results should therefore not be iterated over concurrently.
+     *
+     * @param left     the left input
+     * @param right    the right input
+     * @param match    the match method
+     * @param matchKey the side to key the join on
+     * @param flatten  true if there should be a result per match, rather than per key
+     * @return the joined results
+     */
+    public Iterable<MapTuple> lazyJoin(final Iterable left, final Iterable right, final Match match, final MatchKey matchKey, final Boolean flatten) {
         final String keyName; // For LEFT keyed Joins it's LEFT and vice versa for RIGHT.
         final String matchingValuesName; // the matching values name (opposite of keyName)
-        final Iterable keys; // The key iterate over
+        final Iterable<Object> keys; // The key iterate over
+        final Iterable matchCandidates; // The values to match against
 
         keyName = matchKey.name();
         if (matchKey.equals(MatchKey.LEFT)) {
             matchingValuesName = MatchKey.RIGHT.name();
             keys = left;
-            match.init(right);
+            matchCandidates = right;
         } else {
             matchingValuesName = MatchKey.LEFT.name();
             keys = right;
-            match.init(left);
+            matchCandidates = left;
         }
+        match.init(matchCandidates);
 
-        List<MapTuple> resultList = new ArrayList<>();
-        List matching;
+        final AtomicBoolean firstIteration = new AtomicBoolean(true);
+        final Supplier<Stream<Object>> keyStream = () -> {
+            if (!firstIteration.getAndSet(false)) {
+                match.init(matchCandidates);
+            }
+            return Streams.toStream(keys);
+        };
 
         if (flatten) {
-            for (final Object keyObj : keys) {
-                matching = match.matching(keyObj);
-                final List<MapTuple> mapTuples = joinFlattened(keyObj, matching, keyName, matchingValuesName);
-                if (!mapTuples.isEmpty()) {
-                    resultList.addAll(mapTuples);
-                }
-            }
-        } else {
-            for (final Object keyObj : keys) {
-                matching = match.matching(keyObj);
-                final MapTuple mapTuple = joinAggregated(keyObj, matching, keyName, matchingValuesName);
-                if (mapTuple != null) {
-                    resultList.add(mapTuple);
-                }
-            }
+            return new StreamIterable<>(() -> keyStream.get()
+                    .flatMap(keyObj -> joinFlattened(keyObj, match.matching(keyObj), keyName, matchingValuesName).stream()));
         }
-        return resultList;
+        return new StreamIterable<>(() -> keyStream.get()
+                .map(keyObj -> joinAggregated(keyObj, match.matching(keyObj), keyName, matchingValuesName))
+                .filter(Objects::nonNull));
     }
 
     protected abstract List<MapTuple> joinFlattened(Object key, List matches, String keyName, String matchingValuesName);
@@ -21,8 +21,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.export.localfile.LocalFileExporter;
 
+import java.io.Closeable;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -34,6 +36,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 public class LocalFileExporterTest {
     public static final ArrayList<String> INPUT = Lists.newArrayList("header", "line1", "line2");
@@ -60,4 +63,31 @@ public class LocalFileExporterTest {
         // Then
         assertThat(fileOutput).isEqualTo(INPUT);
     }
+
+    @Test
+    public void shouldReadLinesFromLocalFileLazily() throws Exception {
+        // Given
+        final LocalFileExporter exporter = new LocalFileExporter();
+        exporter.add(file.getAbsolutePath(), INPUT);
+
+        // When
+        final Iterable<String> lines = exporter.get(file.getAbsolutePath());
+
+        // Then
+        assertThat(lines).isInstanceOf(Closeable.class)
+                .containsExactlyElementsOf(INPUT)
+                .containsExactlyElementsOf(INPUT);
+        ((Closeable) lines).close();
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenFileDoesNotExist() {
+        // Given
+        final LocalFileExporter exporter = new LocalFileExporter();
+
+        // When / Then
+        assertThatExceptionOfType(OperationException.class)
+                .isThrownBy(() -> exporter.get(file.getAbsolutePath()))
+                .withMessageContaining(file.getAbsolutePath());
+    }
 }
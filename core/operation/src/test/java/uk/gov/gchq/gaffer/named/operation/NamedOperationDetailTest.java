@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2021 Crown Copyright
+ * Copyright 2020-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import uk.gov.gchq.gaffer.commonutil.JsonAssert;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.user.User;
 
@@ -35,7 +36,9 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
@@ -269,6 +272,100 @@ public class NamedOperationDetailTest {
         return o.readObject();
     }
 
+    @Test
+    public void shouldBindParametersIntoOperationChain() {
+        // Given
+        final NamedOperationDetail namedOperationDetail = getParameterisedNamedOperationDetailBuilder().build();
+        final Map<String, Object> params = new HashMap<>();
+        params.put("limitParam", 5);
+
+        // When
+        final OperationChain chain = namedOperationDetail.getOperationChain(params);
+
+        // Then
+        assertEquals(Collections.singletonMap("optionKey", "optionValue"), ((GetAllElements) chain.getOperations().get(0)).getOptions());
+        assertEquals(5, ((Limit) chain.getOperations().get(1)).getResultLimit());
+    }
+
+    @Test
+    public void shouldBindDifferentParametersEachTimeOperationChainIsRequested() {
+        // Given
+        final NamedOperationDetail namedOperationDetail = getParameterisedNamedOperationDetailBuilder().build();
+
+        // When
+        final OperationChain chain1 = namedOperationDetail.getOperationChain(Collections.singletonMap("limitParam", 1L));
+        final OperationChain chain2 = namedOperationDetail.getOperationChain(Collections.singletonMap("limitParam", 2L));
+        final OperationChain defaultChain = namedOperationDetail.getOperationChain(null);
+
+        // Then
+        assertEquals(1, ((Limit) chain1.getOperations().get(1)).getResultLimit());
+        assertEquals(2, ((Limit) chain2.getOperations().get(1)).getResultLimit());
+        assertEquals(10, ((Limit) defaultChain.getOperations().get(1)).getResultLimit());
+        assertEquals(10, ((Limit) namedOperationDetail.getOperationChainWithDefaultParams().getOperations().get(1)).getResultLimit());
+    }
+
+    @Test
+    public void shouldBindParametersUsedAsFieldNames() {
+        // Given
+        final NamedOperationDetail namedOperationDetail = getParameterisedNamedOperationDetailBuilder()
+                .operationChain("{\"operations\":[{\"class\":\"uk.gov.gchq.gaffer.operation.impl.get.GetAllElements\",\"options\":{\"${optionParam}\":\"${optionParam}\"}}]}")
+                .build();
+
+        // When
+        final OperationChain chain = namedOperationDetail.getOperationChain(Collections.singletonMap("optionParam", "optionKey"));
+
+        // Then
+        assertEquals(Collections.singletonMap("optionKey", "optionKey"), ((GetAllElements) chain.getOperations().get(0)).getOptions());
+    }
+
+    @Test
+    public void shouldNotBindPlaceholdersInParameterValues() {
+        // Given
+        final NamedOperationDetail namedOperationDetail = getParameterisedNamedOperationDetailBuilder().build();
+        final Map<String, Object> params = new HashMap<>();
+        params.put("optionParam", "${limitParam}");
+
+        // When
+        final OperationChain chain = namedOperationDetail.getOperationChain(params);
+
+        // Then
+        assertEquals(Collections.singletonMap("optionKey", "${limitParam}"), ((GetAllElements) chain.getOperations().get(0)).getOptions());
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenBoundOperationChainIsInvalid() {
+        // Given
+        final NamedOperationDetail namedOperationDetail = getParameterisedNamedOperationDetailBuilder()
+                .operationChain("{\"operations\":[{\"class\":\"uk.gov.gchq.gaffer.operation.impl.Limit\",\"resultLimit\":\"${optionParam}\"}]}")
+                .build();
+
+        // When / Then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> namedOperationDetail.getOperationChain(Collections.singletonMap("optionParam", "notANumber")))
+                .withMessageContaining("notANumber");
+    }
+
+    private NamedOperationDetail.Builder getParameterisedNamedOperationDetailBuilder() {
+        final Map<String, ParameterDetail> parameters = new HashMap<>();
+        parameters.put("limitParam", new ParameterDetail.Builder()
+                .description("Limit param")
+                .valueClass(Long.class)
+                .defaultValue(10L)
+                .required(false)
+                .build());
+        parameters.put("optionParam", new ParameterDetail.Builder()
+                .description("Option param")
+                .valueClass(String.class)
+                .defaultValue("optionValue")
+                .required(false)
+                .build());
+        return getBaseNamedOperationDetailBuilder()
+                .parameters(parameters)
+                .operationChain("{\"operations\":["
+                        + "{\"class\":\"uk.gov.gchq.gaffer.operation.impl.get.GetAllElements\",\"options\":{\"optionKey\":\"${optionParam}\"}},"
+                        + "{\"class\":\"uk.gov.gchq.gaffer.operation.impl.Limit\",\"resultLimit\":\"${limitParam}\"}]}");
+    }
+
     private NamedOperationDetail.Builder getBaseNamedOperationDetailBuilder() {
         return new NamedOperationDetail.Builder()
                 .operationName("operationName")
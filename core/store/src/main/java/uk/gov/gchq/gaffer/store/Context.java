@@ -40,6 +40,11 @@ public class Context {
     private final String jobId;
     private final Map<String, Object> config;
     private OperationChain<?> originalOpChain;
+    /**
+     * True if the original operation chain is shared with the context this
+     * context was cloned from, in which case it is cloned when first requested.
+     */
+    private boolean originalOpChainShared;
     private Map<String, Object> variables;
 
     /**
@@ -58,6 +63,8 @@ public class Context {
     /**
      * Create a new {@link Context} based on the provided context.
      * A shallow clone of the context is carried out and a new job ID is created.
+     * The original operation chain is only shallow cloned if it is requested
+     * from the new context, so cloning a context does not copy the operations.
      *
      * @param context the context to shallow clone.
      */
@@ -69,7 +76,8 @@ public class Context {
             variables = context.getVariables();
         }
         if (null != context.originalOpChain) {
-            originalOpChain = context.originalOpChain.shallowClone();
+            originalOpChain = context.originalOpChain;
+            originalOpChainShared = true;
         }
     }
 
@@ -180,11 +188,16 @@ public class Context {
      * @return the original operation chain.
      */
     public OperationChain<?> getOriginalOpChain() {
+        if (originalOpChainShared) {
+            originalOpChain = originalOpChain.shallowClone();
+            originalOpChainShared = false;
+        }
         return originalOpChain;
     }
 
     public void setOriginalOpChain(final OperationChain<?> originalOpChain) {
         this.originalOpChain = originalOpChain;
+        this.originalOpChainShared = false;
     }
 
     @Override
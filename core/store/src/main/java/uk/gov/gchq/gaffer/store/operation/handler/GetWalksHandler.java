@@ -21,7 +21,6 @@ import com.google.common.collect.Lists;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyIterable;
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -30,6 +29,7 @@ import uk.gov.gchq.gaffer.data.element.function.UnwrapEntityId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.graph.GraphWindow;
 import uk.gov.gchq.gaffer.data.graph.Walk;
+import uk.gov.gchq.gaffer.data.graph.WalkIterable;
 import uk.gov.gchq.gaffer.data.graph.adjacency.AdjacencyMap;
 import uk.gov.gchq.gaffer.data.graph.adjacency.AdjacencyMaps;
 import uk.gov.gchq.gaffer.data.graph.adjacency.PrunedAdjacencyMaps;
@@ -49,16 +49,13 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil;
 import uk.gov.gchq.koryphe.impl.function.IterableFunction;
+import uk.gov.gchq.koryphe.iterable.FilteredIterable;
 import uk.gov.gchq.koryphe.iterable.LimitedIterable;
 
 import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static java.lang.String.format;
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.getResultsOrNull;
@@ -69,9 +66,11 @@ import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUt
  * The handler executes each {@link uk.gov.gchq.gaffer.operation.impl.get.GetElements}
  * operation in the parent GetWalks operation in turn and incrementally creates
  * an in-memory representation of the resulting graph. Once all GetElements
- * operations have been executed, a recursive depth-first search algorithm is
- * used to construct all of the {@link Walk}s that exist in the temporary
- * graph.
+ * operations have been executed, the {@link Walk}s that exist in the temporary
+ * graph are lazily generated by an iterative depth-first search, see
+ * {@link WalkIterable}. As with the inputs and the results of each hop, if
+ * more walks than the resultsLimit are found an exception is thrown while the
+ * walks are being iterated, which stops the search.
  * <p>
  * The default handler has two settings which can be overridden by system
  * administrators: <ul> <li>maxHops - prevent users from executing GetWalks
@@ -154,10 +153,12 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         final GraphWindow graphWindow = new GraphWindow(adjacencyMaps, entityMaps);
 
         // Track/recombine the edge objects and convert to return type
-        final Stream<Walk> walks = Streams.toStream(originalInput)
-                .flatMap(seed -> walk(seed.getVertex(), null, graphWindow, new LinkedList<>(), new LinkedList<>(), hops, getWalks.isIncludePartial()).stream());
+        final List<Object> seedVertices = originalInput.stream()
+                .map(EntityId::getVertex)
+                .collect(Collectors.toList());
+        final Iterable<Walk> walks = new WalkIterable(seedVertices, graphWindow, hops, getWalks.isIncludePartial());
 
-        return applyConditionalFiltering(walks, getWalks, context, store);
+        return applyResultLimit(applyConditionalFiltering(walks, getWalks, context, store), resultLimit);
     }
 
     public Integer getMaxHops() {
@@ -283,61 +284,6 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         return new LimitedIterable<>(store.execute(convertedOp, context), 0, resultLimit, false);
     }
 
-    private List<Walk> walk(final Object curr, final Object prev, final GraphWindow graphWindow, final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue, final int hops, final boolean includePartial) {
-        final List<Walk> walks = new ArrayList<>();
-
-        if (null != prev && hops != edgeQueue.size()) {
-            edgeQueue.offer(graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getEdges(prev, curr));
-        }
-
-        entityQueue.offer(graphWindow.getEntityMaps().get(entityQueue.size()).get(curr));
-
-        if (hops == edgeQueue.size()) {
-            final Walk walk = buildWalk(edgeQueue, entityQueue);
-            walks.add(walk);
-        } else {
-            final Set<Object> dests = graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getDestinations(curr);
-            if (dests.isEmpty()) {
-                if (includePartial) {
-                    final Walk walk = buildWalk(edgeQueue, entityQueue);
-                    walks.add(walk);
-                }
-            } else {
-                for (final Object obj : dests) {
-                    walks.addAll(walk(obj, curr, graphWindow, edgeQueue, entityQueue, hops, includePartial));
-                }
-            }
-        }
-
-        if (!edgeQueue.isEmpty()) {
-            edgeQueue.pollLast();
-        }
-
-        if (!entityQueue.isEmpty()) {
-            entityQueue.pollLast();
-        }
-
-        return walks;
-    }
-
-    private Walk buildWalk(final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue) {
-        final Walk.Builder builder = new Walk.Builder();
-
-        final Iterator<Set<Edge>> edgeIterator = edgeQueue.iterator();
-        final Iterator<Set<Entity>> entityIterator = entityQueue.iterator();
-
-        while (edgeIterator.hasNext() || entityIterator.hasNext()) {
-            if (entityIterator.hasNext()) {
-                builder.entities(entityIterator.next());
-            }
-            if (edgeIterator.hasNext()) {
-                builder.edges(edgeIterator.next());
-            }
-        }
-
-        return builder.build();
-    }
-
     private void validateWhileOperation(final While whileOp) {
         if (!(whileOp.getOperation() instanceof Output)
                 || !Iterable.class.isAssignableFrom(((Output) whileOp.getOperation()).getOutputClass())) {
@@ -348,20 +294,29 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         }
     }
 
-    private List<Walk> applyConditionalFiltering(
-            final Stream<Walk> walks,
+    private Iterable<Walk> applyConditionalFiltering(
+            final Iterable<Walk> walks,
             final GetWalks getWalks,
             final Context context,
             final Store store) {
         if (null == getWalks.getConditional() || null == getWalks.getConditional().getPredicate()) {
-            return walks.collect(Collectors.toList());
+            return walks;
         }
 
         final Operation transformOperation = getWalks.getConditional().getTransform();
         final Predicate conditionalPredicate = getWalks.getConditional().getPredicate();
         final WalkPredicate walkPredicate = new WalkPredicate(transformOperation, conditionalPredicate, context, store);
 
-        return walks.filter(walkPredicate::test).collect(Collectors.toList());
+        return new FilteredIterable<>(walks, walkPredicate);
+    }
+
+    // The walks are generated lazily, so exceeding the limit stops the
+    // traversal rather than generating all of the walks first.
+    private Iterable<Walk> applyResultLimit(final Iterable<Walk> walks, final Integer resultLimit) {
+        if (null == resultLimit) {
+            return walks;
+        }
+        return new LimitedIterable<>(walks, 0, resultLimit, false);
     }
 
     @SuppressFBWarnings(value = "SIC_INNER_SHOULD_BE_STATIC", justification = "Investigate if this should be a separate class")
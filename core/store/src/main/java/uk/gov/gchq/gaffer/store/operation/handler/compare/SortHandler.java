@@ -28,6 +28,7 @@ import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.util.SpillingSorter;
 
 import java.util.Collections;
 import java.util.Objects;
@@ -38,9 +39,16 @@ import java.util.stream.Stream;
  * in memory using the {@link uk.gov.gchq.gaffer.commonutil.iterable.LimitedInMemorySortedIterable}.
  * If the resultLimit is set to one that it just deletes the operation to the
  * {@link MaxHandler}.
+ * <p>
+ * If maxBytesInMemory is set and there is no resultLimit, the elements are
+ * instead sorted with a {@link SpillingSorter}. Sorted runs of up to roughly
+ * maxBytesInMemory bytes are spilled to temporary files, using the schema
+ * serialisers, and are lazily merged as the results are read. This is not set by
+ * default, it can be configured by supplying an operationDeclarations.json file.
  */
 public class SortHandler implements OutputOperationHandler<Sort, Iterable<? extends Element>> {
     private static final MaxHandler MAX_HANDLER = new MaxHandler();
+    private Long maxBytesInMemory = null;
 
     @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_WOULD_HAVE_BEEN_A_NPE", justification = "Appears to be a false positive")
     @SuppressWarnings("PMD.UseTryWithResources")
@@ -65,6 +73,10 @@ public class SortHandler implements OutputOperationHandler<Sort, Iterable<? exte
             return Collections.singletonList(max);
         }
 
+        if (null != maxBytesInMemory && null == operation.getResultLimit()) {
+            return externalSort(operation, store);
+        }
+
         try (final Stream<? extends Element> stream =
                      Streams.toStream(operation.getInput())
                              .filter(Objects::nonNull)) {
@@ -79,4 +91,29 @@ public class SortHandler implements OutputOperationHandler<Sort, Iterable<? exte
             CloseableUtil.close(operation);
         }
     }
+
+    public Long getMaxBytesInMemory() {
+        return maxBytesInMemory;
+    }
+
+    public void setMaxBytesInMemory(final Long maxBytesInMemory) {
+        this.maxBytesInMemory = maxBytesInMemory;
+    }
+
+    @SuppressWarnings("PMD.UseTryWithResources")
+    private Iterable<? extends Element> externalSort(final Sort operation, final Store store) {
+        final SpillingSorter sorter = new SpillingSorter(operation.getCombinedComparator(),
+                operation.isDeduplicate(), maxBytesInMemory, null != store ? store.getSchema() : null);
+        try {
+            for (final Element element : operation.getInput()) {
+                sorter.add(element);
+            }
+            return sorter.getSorted();
+        } catch (final RuntimeException e) {
+            sorter.close();
+            throw e;
+        } finally {
+            CloseableUtil.close(operation);
+        }
+    }
 }
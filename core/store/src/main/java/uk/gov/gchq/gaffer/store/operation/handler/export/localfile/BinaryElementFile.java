@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.export.localfile;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.Deflater;
+
+/**
+ * Writes elements to a local file in a compact binary format, which can be
+ * read back with a {@link BinaryElementFileIterable}.
+ * <p>
+ * The file starts with a header of the {@link #MAGIC} bytes, a version byte and
+ * a flags byte. It is followed by blocks of elements, each with the length of
+ * the block as stored, the uncompressed length of the block and then the block
+ * itself. Within a block each element is serialised with an
+ * {@link ElementSerialiser} and prefixed with its length. If the
+ * {@link #COMPRESSED} flag is set then each block is compressed with a
+ * {@link Deflater}.
+ */
+public final class BinaryElementFile {
+    static final byte[] MAGIC = "GEF".getBytes(StandardCharsets.UTF_8);
+    public static final byte VERSION = 1;
+    public static final byte COMPRESSED = 1;
+    public static final int HEADER_LENGTH = MAGIC.length + 2;
+    public static final int BLOCK_HEADER_LENGTH = 2 * Integer.BYTES;
+    public static final int BLOCK_SIZE = 64 * 1024;
+
+    private BinaryElementFile() {
+        // private to prevent this class being instantiated.
+        // All methods are static and should be called directly.
+    }
+
+    /**
+     * Writes the elements to the file at the given path, replacing the file if
+     * it already exists.
+     *
+     * @param path       the path of the file
+     * @param elements   the elements to write
+     * @param serialiser the serialiser for the elements
+     * @param compress   true if the blocks should be compressed
+     * @throws IOException if the file could not be written or the input contains an object which is not an element
+     */
+    public static void write(final Path path, final Iterable<?> elements, final ElementSerialiser serialiser,
+                             final boolean compress) throws IOException {
+        try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.write(MAGIC);
+            output.writeByte(VERSION);
+            output.writeByte(compress ? COMPRESSED : 0);
+
+            final ByteArrayOutputStream blockBytes = new ByteArrayOutputStream(BLOCK_SIZE);
+            final DataOutputStream block = new DataOutputStream(blockBytes);
+            final Deflater deflater = compress ? new Deflater() : null;
+            try {
+                for (final Object element : elements) {
+                    if (!(element instanceof Element)) {
+                        throw new SerialisationException("Only elements can be written to a binary file, but found: "
+                                + (null == element ? null : element.getClass().getName()));
+                    }
+                    final byte[] elementBytes = serialiser.serialise((Element) element);
+                    block.writeInt(elementBytes.length);
+                    block.write(elementBytes);
+                    if (blockBytes.size() >= BLOCK_SIZE) {
+                        writeBlock(blockBytes, deflater, output);
+                    }
+                }
+                if (blockBytes.size() > 0) {
+                    writeBlock(blockBytes, deflater, output);
+                }
+            } finally {
+                if (null != deflater) {
+                    deflater.end();
+                }
+            }
+        }
+    }
+
+    private static void writeBlock(final ByteArrayOutputStream blockBytes, final Deflater deflater,
+                                   final DataOutputStream output) throws IOException {
+        final byte[] block = blockBytes.toByteArray();
+        blockBytes.reset();
+
+        byte[] storedBlock = block;
+        int storedLength = block.length;
+        if (null != deflater) {
+            deflater.reset();
+            deflater.setInput(block);
+            deflater.finish();
+            storedBlock = new byte[block.length + 64];
+            storedLength = 0;
+            while (!deflater.finished()) {
+                if (storedLength == storedBlock.length) {
+                    final byte[] larger = new byte[storedBlock.length * 2];
+                    System.arraycopy(storedBlock, 0, larger, 0, storedLength);
+                    storedBlock = larger;
+                }
+                storedLength += deflater.deflate(storedBlock, storedLength, storedBlock.length - storedLength);
+            }
+        }
+
+        output.writeInt(storedLength);
+        output.writeInt(block.length);
+        output.write(storedBlock, 0, storedLength);
+    }
+}
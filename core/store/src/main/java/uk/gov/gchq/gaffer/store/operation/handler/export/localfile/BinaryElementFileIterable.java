@@ -0,0 +1,222 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.export.localfile;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * A {@link Closeable} {@link Iterable} of the elements in a file written by
+ * {@link BinaryElementFile}.
+ * <p>
+ * The file is read through memory mapped windows, so elements are read lazily
+ * one block at a time without copying the file onto the heap. Each iterator
+ * opens its own channel, which is closed once the end of the file is reached or
+ * when the iterator or this iterable is closed.
+ */
+public class BinaryElementFileIterable implements Closeable, Iterable<Element> {
+    private static final long MAX_WINDOW_SIZE = Integer.MAX_VALUE;
+
+    private final Path path;
+    private final ElementSerialiser serialiser;
+    private ElementIterator lastIterator;
+
+    public BinaryElementFileIterable(final Path path, final ElementSerialiser serialiser) {
+        this.path = path;
+        this.serialiser = serialiser;
+    }
+
+    /**
+     * Checks that the file exists and starts with a supported
+     * {@link BinaryElementFile} header, without reading any elements.
+     *
+     * @throws IOException if the file cannot be opened or is not a binary element file
+     */
+    public void validate() throws IOException {
+        new ElementIterator(FileChannel.open(path, StandardOpenOption.READ)).close();
+    }
+
+    @Override
+    public Iterator<Element> iterator() {
+        try {
+            lastIterator = new ElementIterator(FileChannel.open(path, StandardOpenOption.READ));
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Unable to open file: " + path, e);
+        }
+        return lastIterator;
+    }
+
+    @Override
+    public void close() {
+        CloseableUtil.close(lastIterator);
+    }
+
+    private final class ElementIterator implements Closeable, Iterator<Element> {
+        private final FileChannel channel;
+        private final long fileSize;
+        private final boolean compressed;
+        private final Inflater inflater;
+
+        private MappedByteBuffer window;
+        private long windowStart;
+        private long position;
+        private ByteBuffer block;
+        private Element nextElement;
+        private boolean closed;
+
+        private ElementIterator(final FileChannel channel) throws IOException {
+            this.channel = channel;
+            try {
+                fileSize = channel.size();
+                if (fileSize < BinaryElementFile.HEADER_LENGTH) {
+                    throw new IOException("File is not a binary element file: " + path);
+                }
+                map(0);
+                final byte[] magic = new byte[BinaryElementFile.MAGIC.length];
+                window.get(magic);
+                if (!Arrays.equals(BinaryElementFile.MAGIC, magic)) {
+                    throw new IOException("File is not a binary element file: " + path);
+                }
+                final byte version = window.get();
+                if (BinaryElementFile.VERSION != version) {
+                    throw new IOException("Unsupported binary element file version: " + version);
+                }
+                compressed = BinaryElementFile.COMPRESSED == (window.get() & BinaryElementFile.COMPRESSED);
+                inflater = compressed ? new Inflater() : null;
+                position = BinaryElementFile.HEADER_LENGTH;
+            } catch (final IOException | RuntimeException e) {
+                CloseableUtil.close(channel);
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == nextElement && !closed) {
+                try {
+                    nextElement = readElement();
+                } catch (final IOException e) {
+                    close();
+                    throw new UncheckedIOException(e);
+                }
+                if (null == nextElement) {
+                    close();
+                }
+            }
+            return null != nextElement;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the file");
+            }
+            final Element element = nextElement;
+            nextElement = null;
+            return element;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                block = null;
+                window = null;
+                if (null != inflater) {
+                    inflater.end();
+                }
+                CloseableUtil.close(channel);
+            }
+        }
+
+        private Element readElement() throws IOException {
+            while (null == block || !block.hasRemaining()) {
+                if (position >= fileSize) {
+                    return null;
+                }
+                block = readBlock();
+            }
+            final byte[] elementBytes = new byte[block.getInt()];
+            block.get(elementBytes);
+            return serialiser.deserialise(elementBytes);
+        }
+
+        private ByteBuffer readBlock() throws IOException {
+            ensureMapped(BinaryElementFile.BLOCK_HEADER_LENGTH);
+            final int storedLength = window.getInt();
+            final int length = window.getInt();
+            position += BinaryElementFile.BLOCK_HEADER_LENGTH;
+            ensureMapped(storedLength);
+
+            final ByteBuffer storedBlock = window.slice();
+            storedBlock.limit(storedLength);
+            window.position(window.position() + storedLength);
+            position += storedLength;
+            if (!compressed) {
+                return storedBlock;
+            }
+
+            final byte[] stored = new byte[storedLength];
+            storedBlock.get(stored);
+            final byte[] uncompressed = new byte[length];
+            inflater.reset();
+            inflater.setInput(stored);
+            try {
+                int read = 0;
+                while (read < length && !inflater.finished()) {
+                    final int inflated = inflater.inflate(uncompressed, read, length - read);
+                    if (0 == inflated && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new IOException("Incomplete compressed block in file: " + path);
+                    }
+                    read += inflated;
+                }
+            } catch (final DataFormatException e) {
+                throw new IOException("Unable to decompress block in file: " + path, e);
+            }
+            return ByteBuffer.wrap(uncompressed);
+        }
+
+        private void ensureMapped(final int length) throws IOException {
+            if (position + length > fileSize) {
+                throw new IOException("Unexpected end of binary element file: " + path);
+            }
+            if (position + length > windowStart + window.limit()) {
+                map(position);
+            }
+        }
+
+        private void map(final long start) throws IOException {
+            windowStart = start;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(fileSize - start, MAX_WINDOW_SIZE));
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 Crown Copyright
+ * Copyright 2022-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,13 +16,36 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.export.localfile;
 
+import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.export.localfile.ExportToLocalFile;
 import uk.gov.gchq.gaffer.operation.impl.export.localfile.LocalFileExporter;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.export.ExportToHandler;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collections;
 
 public class ExportToLocalFileHandler extends ExportToHandler<ExportToLocalFile, LocalFileExporter> {
+    @Override
+    public Object doOperation(final ExportToLocalFile export, final Context context, final Store store,
+                              final LocalFileExporter exporter) throws OperationException {
+        if (!LocalFileExporter.BINARY_FILE_FORMAT.equalsIgnoreCase(export.getOption(LocalFileExporter.FILE_FORMAT))) {
+            return super.doOperation(export, context, store, exporter);
+        }
+
+        final Iterable<?> elements = null == export.getInput() ? Collections.emptyList() : export.getInput();
+        try {
+            BinaryElementFile.write(Paths.get(export.getKeyOrDefault()), elements, new ElementSerialiser(store.getSchema()),
+                    "TRUE".equalsIgnoreCase(export.getOption(LocalFileExporter.COMPRESS)));
+        } catch (final IOException e) {
+            throw new OperationException(e.getMessage(), e);
+        }
+        return export.getInput();
+    }
+
     @Override
     protected Class<LocalFileExporter> getExporterClass() {
         return LocalFileExporter.class;
@@ -17,18 +17,44 @@
 package uk.gov.gchq.gaffer.store.operation.handler.export.localfile;
 
 import uk.gov.gchq.gaffer.operation.OperationException;
-
 import uk.gov.gchq.gaffer.operation.impl.export.localfile.ImportFromLocalFile;
 import uk.gov.gchq.gaffer.operation.impl.export.localfile.LocalFileExporter;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.export.GetExportHandler;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * Implementation of the {@link GetExportHandler} to retrieve exported created by
- * a {@link LocalFileExporter}.
+ * a {@link LocalFileExporter}, or elements exported to a {@link BinaryElementFile}
+ * if the {@link LocalFileExporter#FILE_FORMAT} option is set to
+ * {@link LocalFileExporter#BINARY_FILE_FORMAT}.
  */
 public class ImportFromLocalFileHandler extends GetExportHandler<ImportFromLocalFile, LocalFileExporter> {
+    @Override
+    public Iterable<?> doOperation(final ImportFromLocalFile importOp, final Context context, final Store store,
+                                   final LocalFileExporter exporter) throws OperationException {
+        if (LocalFileExporter.BINARY_FILE_FORMAT.equalsIgnoreCase(importOp.getOption(LocalFileExporter.FILE_FORMAT))) {
+            final Path path = Paths.get(importOp.getKeyOrDefault());
+            if (!Files.isRegularFile(path)) {
+                throw new OperationException("Binary element file does not exist: " + path);
+            }
+            final BinaryElementFileIterable elements = new BinaryElementFileIterable(path, new ElementSerialiser(store.getSchema()));
+            try {
+                elements.validate();
+            } catch (final IOException e) {
+                throw new OperationException("Unable to import binary element file: " + e.getMessage(), e);
+            }
+            return elements;
+        }
+        return super.doOperation(importOp, context, store, exporter);
+    }
+
     @Override
     protected Iterable<?> getExport(final ImportFromLocalFile importOp, final LocalFileExporter exporter) throws OperationException {
         return exporter.get(importOp.getKeyOrDefault());
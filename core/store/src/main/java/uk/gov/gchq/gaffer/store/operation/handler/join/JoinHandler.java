@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2022 Crown Copyright
+ * Copyright 2018-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.join;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.exception.LimitExceededException;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.join.Join;
@@ -25,15 +26,29 @@ import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinType;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
-import uk.gov.gchq.koryphe.iterable.LimitedIterable;
 import uk.gov.gchq.koryphe.tuple.MapTuple;
 
+import java.io.Closeable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.getResultsOrNull;
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.updateOperationInput;
 
+/**
+ * An {@link OutputOperationHandler} for the {@link Join} operation.
+ * <p>
+ * The side of the join that is not keyed is consumed up front to initialise the
+ * {@link uk.gov.gchq.gaffer.operation.impl.join.match.Match}, so if it exceeds the
+ * collection limit an {@link OperationException} is thrown when the operation is
+ * executed. The keyed side is iterated lazily as the results are consumed, so if
+ * it exceeds the collection limit a {@link LimitExceededException} is thrown
+ * while the results are being iterated over.
+ */
 public class JoinHandler<I> implements OutputOperationHandler<Join<I>, Iterable<? extends MapTuple>> {
+    private static final String LIMIT_EXCEEDED_MESSAGE = "Join exceeded the collectionLimit, a solution is to increasing collectionLimit value in the join operation.";
+
     @Override
     public Iterable<? extends MapTuple> doOperation(final Join<I> operation, final Context context, final Store store) throws OperationException {
         final int limit = operation.getCollectionLimit() != null ? operation.getCollectionLimit() : 100000;
@@ -73,12 +88,54 @@ public class JoinHandler<I> implements OutputOperationHandler<Join<I>, Iterable<
         final Iterable limitedRightIterable;
 
         try {
-            limitedLeftIterable = new LimitedIterable(operation.getInput(), 0, limit, false);
-            limitedRightIterable = new LimitedIterable(rightIterable, 0, limit, false);
-            return joinFunction.join(limitedLeftIterable, limitedRightIterable, operation.getMatchMethod(), matchKey, operation.isFlatten());
+            limitedLeftIterable = new CollectionLimitedIterable<>(operation.getInput(), limit);
+            limitedRightIterable = new CollectionLimitedIterable<>(rightIterable, limit);
+            return joinFunction.lazyJoin(limitedLeftIterable, limitedRightIterable, operation.getMatchMethod(), matchKey, operation.isFlatten());
         } catch (final LimitExceededException e) {
-            throw new OperationException("Join exceeded the collectionLimit, a solution is to increasing collectionLimit value in the join operation.", e);
+            throw new OperationException(LIMIT_EXCEEDED_MESSAGE, e);
         }
 
     }
+
+    /**
+     * Throws a {@link LimitExceededException} if more than the collection
+     * limit of items are iterated over.
+     */
+    private static final class CollectionLimitedIterable<T> implements Closeable, Iterable<T> {
+        private final Iterable<T> iterable;
+        private final int limit;
+
+        private CollectionLimitedIterable(final Iterable<T> iterable, final int limit) {
+            this.iterable = null != iterable ? iterable : Collections.emptyList();
+            this.limit = limit;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            final Iterator<T> iterator = iterable.iterator();
+            return new Iterator<T>() {
+                private int count;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    final T next = iterator.next();
+                    if (++count > limit) {
+                        CloseableUtil.close(iterator);
+                        throw new LimitExceededException(LIMIT_EXCEEDED_MESSAGE);
+                    }
+                    return next;
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(iterable);
+        }
+    }
 }
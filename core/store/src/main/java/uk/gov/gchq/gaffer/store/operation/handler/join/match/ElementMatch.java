@@ -16,20 +16,31 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.join.match;
 
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.comparison.ElementJoinComparator;
 import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Tests for matches for Elements within a Join Operation, groupBy properties can be optionally specified.
+ * <p>
+ * When initialised, the match candidates are indexed by their group, identifiers and groupBy properties,
+ * so each call to {@link #matching(Object)} is a single lookup rather than a scan of every candidate.
  */
 public class ElementMatch implements Match {
     private final ElementJoinComparator elementJoinComparator;
-    private Iterable matchCandidates;
+    private Map<ElementKey, List<Element>> index;
 
     private static final String NULL_MATCH_CANDIDATES_ERROR_MESSAGE = "ElementMatch must be initialised with non-null match candidates";
 
@@ -47,6 +58,9 @@ public class ElementMatch implements Match {
 
     public void setElementGroupByProperties(final Set<String> groupByProperties) {
         elementJoinComparator.setGroupByProperties(groupByProperties);
+        if (null != index) {
+            index = createIndex(index.values().stream().flatMap(List::stream).collect(Collectors.toList()));
+        }
     }
 
     @Override
@@ -54,23 +68,95 @@ public class ElementMatch implements Match {
         if (matchCandidates == null) {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
-        this.matchCandidates = matchCandidates;
+        index = createIndex((Iterable<Element>) matchCandidates);
     }
 
     @Override
     public List matching(final Object testObject) {
-        if (matchCandidates == null) {
+        if (index == null) {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
 
-        List matches = new ArrayList<>();
-
+        final List matches = new ArrayList<>();
+        if (null == testObject) {
+            return matches;
+        }
 
-        for (final Object entry : matchCandidates) {
-            if (elementJoinComparator.test((Element) entry, (Element) testObject)) {
-                matches.add(((Element) entry).shallowClone());
+        final List<Element> indexed = index.get(new ElementKey((Element) testObject, getGroupByProperties()));
+        if (null != indexed) {
+            for (final Element entry : indexed) {
+                matches.add(entry.shallowClone());
             }
         }
         return matches;
     }
+
+    private Map<ElementKey, List<Element>> createIndex(final Iterable<Element> matchCandidates) {
+        final List<String> groupByProperties = getGroupByProperties();
+        final Map<ElementKey, List<Element>> newIndex = new LinkedHashMap<>();
+        for (final Element entry : matchCandidates) {
+            if (null != entry) {
+                newIndex.computeIfAbsent(new ElementKey(entry, groupByProperties), k -> new ArrayList<>()).add(entry);
+            }
+        }
+        return newIndex;
+    }
+
+    private List<String> getGroupByProperties() {
+        final Set<String> groupByProperties = elementJoinComparator.getGroupByProperties();
+        if (null == groupByProperties || groupByProperties.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<String> sorted = new ArrayList<>(groupByProperties);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * The fields of an {@link Element} that are compared by the {@link ElementJoinComparator}.
+     */
+    private static final class ElementKey {
+        private final Class<?> elementClass;
+        private final String group;
+        private final Object[] identifiers;
+        private final Object[] groupByValues;
+        private final int hashCode;
+
+        ElementKey(final Element element, final List<String> groupByProperties) {
+            this.elementClass = element.getClass();
+            this.group = element.getGroup();
+            if (element instanceof Entity) {
+                this.identifiers = new Object[]{((Entity) element).getVertex()};
+            } else {
+                final Edge edge = (Edge) element;
+                this.identifiers = new Object[]{edge.getSource(), edge.getDestination(), edge.getDirectedType()};
+            }
+            this.groupByValues = new Object[groupByProperties.size()];
+            for (int i = 0; i < groupByValues.length; i++) {
+                groupByValues[i] = element.getProperty(groupByProperties.get(i));
+            }
+            this.hashCode = Objects.hash(elementClass, group, Arrays.hashCode(identifiers), Arrays.hashCode(groupByValues));
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (null == obj || getClass() != obj.getClass()) {
+                return false;
+            }
+            final ElementKey that = (ElementKey) obj;
+            return hashCode == that.hashCode
+                    && elementClass.equals(that.elementClass)
+                    && Objects.equals(group, that.group)
+                    && Arrays.equals(identifiers, that.identifiers)
+                    && Arrays.equals(groupByValues, that.groupByValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -62,6 +62,7 @@ public class KeyFunctionMatch implements Match {
         if (matchCandidates == null) {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
+        keyedMatchCandidates.clear();
         // Iterates over match candidates, creates an index using second key function.
         for (final Object matchCandidate : matchCandidates) {
             Object key = secondKeyFunction.apply(matchCandidate);
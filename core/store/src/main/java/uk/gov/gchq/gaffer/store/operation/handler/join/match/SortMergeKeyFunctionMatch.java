@@ -0,0 +1,145 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.join.match;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import uk.gov.gchq.koryphe.impl.function.Identity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A {@code SortMergeKeyFunctionMatch} is a {@link KeyFunctionMatch} for inputs
+ * which are both already sorted by their keys, which must be {@link Comparable}.
+ * <p>
+ * Rather than indexing all of the match candidates, the candidates are merged
+ * with the keyed input as it is iterated over, so only the candidates sharing
+ * the current key are held in memory. An {@link IllegalArgumentException} is
+ * thrown if either input is found to be out of order.
+ */
+@JsonPropertyOrder(value = {"class", "firstKeyFunction", "secondKeyFunction"}, alphabetic = true)
+public class SortMergeKeyFunctionMatch extends KeyFunctionMatch {
+    private static final String NULL_MATCH_CANDIDATES_ERROR_MESSAGE = "Iterable of match candidates cannot be null";
+    private static final Comparator<Object> KEY_COMPARATOR = Comparator.nullsFirst((a, b) -> ((Comparable) a).compareTo(b));
+
+    private Iterator<?> candidates;
+    private Object nextCandidate;
+    private Object nextCandidateKey;
+    private boolean hasNextCandidate;
+    private final List<Object> currentRun = new ArrayList<>();
+    private Object currentRunKey;
+    private Object previousTestKey;
+    private boolean started;
+
+    public SortMergeKeyFunctionMatch() {
+        super();
+    }
+
+    public SortMergeKeyFunctionMatch(final Function firstKeyFunction, final Function secondKeyFunction) {
+        super(firstKeyFunction, secondKeyFunction);
+    }
+
+    @Override
+    public void init(final Iterable matchCandidates) {
+        if (matchCandidates == null) {
+            throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
+        }
+        candidates = matchCandidates.iterator();
+        currentRun.clear();
+        currentRunKey = null;
+        previousTestKey = null;
+        started = false;
+        advanceCandidate();
+    }
+
+    @Override
+    public List matching(final Object testObject) {
+        if (null == getFirstKeyFunction() || null == getSecondKeyFunction()) {
+            throw new IllegalArgumentException("Key functions for left and right input cannot be null");
+        }
+        if (null == candidates) {
+            throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
+        }
+
+        final Object testKey = getFirstKeyFunction().apply(testObject);
+        if (started && KEY_COMPARATOR.compare(testKey, previousTestKey) < 0) {
+            throw new IllegalArgumentException("Keyed input must be sorted by key, but " + testKey + " came after " + previousTestKey);
+        }
+        started = true;
+        previousTestKey = testKey;
+
+        // Skip past any runs of candidates with smaller keys
+        while (currentRun.isEmpty() || KEY_COMPARATOR.compare(currentRunKey, testKey) < 0) {
+            if (!hasNextCandidate) {
+                currentRun.clear();
+                return new ArrayList<>();
+            }
+            loadNextRun();
+        }
+
+        if (KEY_COMPARATOR.compare(currentRunKey, testKey) == 0) {
+            return new ArrayList<>(currentRun);
+        }
+        return new ArrayList<>();
+    }
+
+    private void loadNextRun() {
+        currentRun.clear();
+        currentRunKey = nextCandidateKey;
+        while (hasNextCandidate && KEY_COMPARATOR.compare(nextCandidateKey, currentRunKey) == 0) {
+            currentRun.add(nextCandidate);
+            advanceCandidate();
+        }
+        if (hasNextCandidate && KEY_COMPARATOR.compare(nextCandidateKey, currentRunKey) < 0) {
+            throw new IllegalArgumentException("Match candidates must be sorted by key, but " + nextCandidateKey + " came after " + currentRunKey);
+        }
+    }
+
+    private void advanceCandidate() {
+        hasNextCandidate = candidates.hasNext();
+        if (hasNextCandidate) {
+            nextCandidate = candidates.next();
+            nextCandidateKey = getSecondKeyFunction().apply(nextCandidate);
+        } else {
+            nextCandidate = null;
+            nextCandidateKey = null;
+        }
+    }
+
+    public static final class Builder {
+        private Function firstKeyFunction = new Identity();
+        private Function secondKeyFunction = new Identity();
+
+        public SortMergeKeyFunctionMatch build() {
+            return new SortMergeKeyFunctionMatch(firstKeyFunction, secondKeyFunction);
+        }
+
+        public Builder firstKeyFunction(final Function firstKeyFunction) {
+            this.firstKeyFunction = firstKeyFunction;
+            return this;
+        }
+
+        public Builder secondKeyFunction(final Function secondKeyFunction) {
+            this.secondKeyFunction = secondKeyFunction;
+            return this;
+        }
+    }
+}
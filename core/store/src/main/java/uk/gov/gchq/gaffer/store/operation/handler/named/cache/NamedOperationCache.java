@@ -27,8 +27,10 @@ import uk.gov.gchq.gaffer.named.operation.NamedOperationDetail;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Wrapper around the {@link uk.gov.gchq.gaffer.cache.CacheServiceLoader} to provide an interface for handling
@@ -40,6 +42,13 @@ public class NamedOperationCache extends Cache<String, NamedOperationDetail> {
     public static final String CACHE_SERVICE_NAME_PREFIX = "NamedOperation";
     public static final String NAMED_OPERATION_CACHE_WAS_MADE_WITH_NULL_OR_EMPTY_SUFFIX = "NamedOperation Cache was made with Null or Empty suffix, This is very likely a mistake. GraphId or a supplied suffix is normal";
 
+    /**
+     * The named operations previously returned from this cache. Cache services may return a new
+     * deserialised copy of a named operation each time, which would then have to parse its
+     * operation chain again, so an unchanged named operation is returned as the previous copy.
+     */
+    private final Map<String, NamedOperationDetail> retrievedNamedOperations = new ConcurrentHashMap<>();
+
     public NamedOperationCache(final String suffixNamedOperationCacheName) {
         super(getCacheNameFrom(suffixNamedOperationCacheName));
         if (Strings.isNullOrEmpty(suffixNamedOperationCacheName)) {
@@ -126,10 +135,28 @@ public class NamedOperationCache extends Cache<String, NamedOperationDetail> {
         final NamedOperationDetail op = super.getFromCache(name);
 
         if (null == op) {
+            retrievedNamedOperations.remove(name);
             throw new CacheOperationException("No named operation with the name " + name + " exists in the cache:" + cacheName);
-        } else {
-            return op;
         }
+
+        final NamedOperationDetail retrieved = retrievedNamedOperations.get(name);
+        if (op.equals(retrieved) && Objects.equals(op.getDescription(), retrieved.getDescription())) {
+            return retrieved;
+        }
+        retrievedNamedOperations.put(name, op);
+        return op;
+    }
+
+    @Override
+    public void clearCache() throws CacheOperationException {
+        retrievedNamedOperations.clear();
+        super.clearCache();
+    }
+
+    @Override
+    public void deleteFromCache(final String key) {
+        retrievedNamedOperations.remove(key);
+        super.deleteFromCache(key);
     }
 
     /**
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2022 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.store.util;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -32,13 +33,19 @@ import uk.gov.gchq.koryphe.function.KorypheFunction;
 import uk.gov.gchq.koryphe.iterable.ChainedIterable;
 import uk.gov.gchq.koryphe.predicate.KoryphePredicate;
 
+import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.isNull;
@@ -91,6 +98,32 @@ public final class AggregatorUtil {
         return new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
     }
 
+    /**
+     * Lazily applies ingest aggregation to the provided iterable of {@link Element}s.
+     * This uses the groupBy properties in the provided {@link Schema} to group
+     * the elements prior to aggregating them.
+     * <p>
+     * Elements in groups that are not aggregated are returned as soon as they are read.
+     * Elements in aggregated groups are aggregated incrementally as they are read and
+     * are returned once the input has been consumed. At most maxElementsInMemory aggregated
+     * elements are held in memory, any more are spilled to disk, see {@link SpillingAggregator}.
+     *
+     * @param elements            the elements to be aggregated
+     * @param schema              the schema containing the aggregators and groupBy properties to use
+     * @param maxElementsInMemory the maximum number of aggregated elements to hold in memory
+     * @return the aggregated elements.
+     */
+    public static Iterable<Element> streamingIngestAggregate(final Iterable<? extends Element> elements, final Schema schema,
+                                                             final int maxElementsInMemory) {
+        if (isNull(schema)) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        final Collection<String> aggregatedGroups = schema.getAggregatedGroups();
+        return new StreamingAggregationIterable(elements, aggregatedGroups,
+                () -> new SpillingAggregator(new ToIngestElementKey(schema),
+                        new IngestElementBinaryOperator(schema), maxElementsInMemory));
+    }
+
     /**
      * Applies query time aggregation to the provided iterable of {@link Element}s.
      * This uses the groupBy properties in the provided {@link View} or {@link Schema} to group
@@ -150,6 +183,37 @@ public final class AggregatorUtil {
         return new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
     }
 
+    /**
+     * Lazily applies query time aggregation to the provided iterable of {@link Element}s.
+     * This uses the groupBy properties in the provided {@link View} or {@link Schema} to group
+     * the elements prior to aggregating them.
+     * <p>
+     * Elements in groups that are not aggregated are returned as soon as they are read.
+     * Elements in aggregated groups are aggregated incrementally as they are read and
+     * are returned once the input has been consumed. At most maxElementsInMemory aggregated
+     * elements are held in memory, any more are spilled to disk, see {@link SpillingAggregator}.
+     *
+     * @param elements             the elements to be aggregated
+     * @param schema               the schema containing the aggregators and groupBy properties to use
+     * @param view                 the view containing the aggregators and groupBy properties to use
+     * @param includeMatchedVertex whether aggregation groups should include the Edge Matched Vertex
+     * @param maxElementsInMemory  the maximum number of aggregated elements to hold in memory
+     * @return the aggregated elements.
+     */
+    public static Iterable<Element> streamingQueryAggregate(final Iterable<? extends Element> elements, final Schema schema, final View view,
+                                                            final boolean includeMatchedVertex, final int maxElementsInMemory) {
+        if (isNull(schema)) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        if (isNull(view)) {
+            throw new IllegalArgumentException("View is required");
+        }
+        final Collection<String> aggregatedGroups = schema.getAggregatedGroups();
+        return new StreamingAggregationIterable(elements, aggregatedGroups,
+                () -> new SpillingAggregator(new ToQueryElementKey(schema, view, includeMatchedVertex),
+                        new QueryElementBinaryOperator(schema, view), maxElementsInMemory));
+    }
+
     /**
      * A Function that takes and element as input and outputs an element key that consists of
      * the Group-by values in the {@link Schema}, the Identifiers and the Group. These act as a key and can be used in a
@@ -328,6 +392,146 @@ public final class AggregatorUtil {
         }
     }
 
+    /**
+     * The lazily aggregated elements. Each iterator aggregates the input using
+     * its own {@link SpillingAggregator}. Closing this iterable closes the input
+     * and any iterators which have not been exhausted, deleting any elements
+     * they have spilled to disk.
+     */
+    private static final class StreamingAggregationIterable implements Iterable<Element>, Closeable {
+        private final Iterable<? extends Element> input;
+        private final Collection<String> aggregatedGroups;
+        private final Supplier<SpillingAggregator> aggregatorSupplier;
+        private final Set<StreamingAggregationIterator> openIterators = new HashSet<>();
+
+        private StreamingAggregationIterable(final Iterable<? extends Element> input,
+                                             final Collection<String> aggregatedGroups,
+                                             final Supplier<SpillingAggregator> aggregatorSupplier) {
+            this.input = input;
+            this.aggregatedGroups = aggregatedGroups;
+            this.aggregatorSupplier = aggregatorSupplier;
+        }
+
+        @Override
+        public Iterator<Element> iterator() {
+            final StreamingAggregationIterator iterator = new StreamingAggregationIterator(
+                    input.iterator(), aggregatedGroups, aggregatorSupplier.get(), openIterators::remove);
+            openIterators.add(iterator);
+            return iterator;
+        }
+
+        @Override
+        public void close() {
+            for (final StreamingAggregationIterator iterator : new ArrayList<>(openIterators)) {
+                iterator.close();
+            }
+            CloseableUtil.close(input);
+        }
+    }
+
+    private static final class StreamingAggregationIterator implements Iterator<Element>, Closeable {
+        private final Iterator<? extends Element> input;
+        private final Collection<String> aggregatedGroups;
+        private final SpillingAggregator aggregator;
+        private final Consumer<StreamingAggregationIterator> onClose;
+        private Iterator<Element> aggregated;
+        private Element next;
+        private boolean closed;
+
+        private StreamingAggregationIterator(final Iterator<? extends Element> input,
+                                             final Collection<String> aggregatedGroups,
+                                             final SpillingAggregator aggregator,
+                                             final Consumer<StreamingAggregationIterator> onClose) {
+            this.input = input;
+            this.aggregatedGroups = aggregatedGroups;
+            this.aggregator = aggregator;
+            this.onClose = onClose;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nonNull(next)) {
+                return true;
+            }
+            if (closed) {
+                return false;
+            }
+
+            while (input.hasNext()) {
+                final Element element = input.next();
+                if (nonNull(element)) {
+                    if (!aggregatedGroups.contains(element.getGroup())) {
+                        next = element;
+                        return true;
+                    }
+                    aggregator.add(element);
+                }
+            }
+
+            if (isNull(aggregated)) {
+                aggregated = aggregator.getAggregated().iterator();
+            }
+            if (aggregated.hasNext()) {
+                next = aggregated.next();
+                return true;
+            }
+
+            close();
+            return false;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element element = next;
+            next = null;
+            return element;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            aggregator.close();
+            CloseableUtil.close(input);
+            onClose.accept(this);
+        }
+    }
+
+    /**
+     * Checks whether applying query time aggregation could change elements
+     * which are already unique by their ingest aggregation key. This is only
+     * the case if a group's query group by differs from its ingest group by,
+     * or if the view overrides the group's aggregator.
+     *
+     * @param schema the schema
+     * @param view   the view
+     * @return true if query time aggregation is required
+     */
+    public static boolean isQueryAggregationRequired(final Schema schema, final View view) {
+        if (isNull(schema)) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        if (isNull(view)) {
+            throw new IllegalArgumentException("View is required");
+        }
+        final Set<String> aggregatedGroups = new HashSet<>(schema.getAggregatedGroups());
+        for (final String group : view.getGroups()) {
+            if (aggregatedGroups.contains(group)) {
+                final ViewElementDefinition ved = view.getElement(group);
+                if (nonNull(ved.getAggregator())
+                        || !getQueryGroupBy(group, schema, view).equals(getIngestGroupBy(group, schema))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     public static Map<String, Set<String>> getIngestGroupBys(final Schema schema) {
         if (isNull(schema)) {
             throw new IllegalArgumentException("Schema is required");
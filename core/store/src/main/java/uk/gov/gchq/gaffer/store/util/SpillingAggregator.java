@@ -0,0 +1,323 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Incrementally aggregates {@link Element}s using a bounded in-memory table.
+ * <p>
+ * Elements are grouped using the provided key function and merged into the
+ * table as they are added. If the table grows beyond the configured number of
+ * elements, its partially aggregated contents are spilled to temporary files,
+ * hash partitioned by key, and the table is emptied. Once all elements have
+ * been added, {@link #getAggregated()} returns the in-memory table if nothing
+ * was spilled, or otherwise aggregates and returns each partition in turn.
+ * Each partition is aggregated by another spilling aggregator, which
+ * partitions on different bits of the key's hash, so a partition with more
+ * keys than fit in memory is recursively split into smaller partitions. Keys
+ * can only be split while their hashes differ, so a partition whose keys all
+ * share a hash code is aggregated in memory.
+ * <p>
+ * Spilled elements are written using the provided {@link ToBytesSerialiser},
+ * or with the {@link JSONSerialiser} if no serialiser is provided. Temporary
+ * files are deleted once they have been read or when this aggregator is closed.
+ */
+public class SpillingAggregator implements Closeable {
+    public static final int DEFAULT_MAX_ELEMENTS_IN_MEMORY = 1000000;
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpillingAggregator.class);
+    private static final int PARTITION_BITS = 4;
+    private static final int NUM_PARTITIONS = 1 << PARTITION_BITS;
+    private static final int MAX_LEVEL = Integer.SIZE / PARTITION_BITS - 1;
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    private final Function<Element, Element> keyFunction;
+    private final BinaryOperator<Element> aggregator;
+    private final int maxElementsInMemory;
+    private final ToBytesSerialiser<Element> serialiser;
+    private final int level;
+    private final SpillingAggregator root;
+    private Map<Element, Element> table = new LinkedHashMap<>();
+    private File[] partitions;
+    private SpillingAggregator partitionAggregator;
+    private int peakElementsInMemory;
+
+    public SpillingAggregator(final Function<Element, Element> keyFunction,
+                              final BinaryOperator<Element> aggregator,
+                              final int maxElementsInMemory) {
+        this(keyFunction, aggregator, maxElementsInMemory, null);
+    }
+
+    public SpillingAggregator(final Function<Element, Element> keyFunction,
+                              final BinaryOperator<Element> aggregator,
+                              final int maxElementsInMemory,
+                              final ToBytesSerialiser<Element> serialiser) {
+        if (isNull(keyFunction)) {
+            throw new IllegalArgumentException("Key function is required");
+        }
+        if (isNull(aggregator)) {
+            throw new IllegalArgumentException("Aggregator is required");
+        }
+        if (maxElementsInMemory < 1) {
+            throw new IllegalArgumentException("Max elements in memory must be at least 1");
+        }
+        this.keyFunction = keyFunction;
+        this.aggregator = aggregator;
+        this.maxElementsInMemory = maxElementsInMemory;
+        this.serialiser = serialiser;
+        this.level = 0;
+        this.root = this;
+    }
+
+    // Aggregates a spilled partition of the parent, partitioning on the next bits of the key hashes
+    private SpillingAggregator(final SpillingAggregator parent) {
+        this.keyFunction = parent.keyFunction;
+        this.aggregator = parent.aggregator;
+        this.level = parent.level + 1;
+        // The keys cannot be split any further, so they are held in memory
+        this.maxElementsInMemory = level < MAX_LEVEL ? parent.maxElementsInMemory : Integer.MAX_VALUE;
+        this.serialiser = parent.serialiser;
+        this.root = parent.root;
+    }
+
+    /**
+     * Aggregates an element into the table, spilling the table to disk if it
+     * is full.
+     *
+     * @param element the element to add
+     */
+    public void add(final Element element) {
+        if (isNull(element)) {
+            return;
+        }
+        table.merge(keyFunction.apply(element), element, aggregator);
+        root.peakElementsInMemory = Math.max(root.peakElementsInMemory, table.size());
+        if (table.size() >= maxElementsInMemory) {
+            spill();
+        }
+    }
+
+    /**
+     * @return true if any elements have been spilled to disk
+     */
+    public boolean hasSpilled() {
+        return nonNull(partitions);
+    }
+
+    /**
+     * Returns the aggregated elements. This should only be called once, after
+     * all elements have been added. If elements have been spilled to disk the
+     * returned iterable can only be iterated over once, and closing it deletes
+     * any partitions which have not yet been read.
+     *
+     * @return the aggregated elements
+     */
+    public Iterable<Element> getAggregated() {
+        if (!hasSpilled()) {
+            final Map<Element, Element> result = table;
+            table = Collections.emptyMap();
+            return result.values();
+        }
+
+        spill();
+        return new PartitionIterable();
+    }
+
+    @Override
+    public void close() {
+        table = Collections.emptyMap();
+        if (nonNull(partitionAggregator)) {
+            partitionAggregator.close();
+        }
+        if (nonNull(partitions)) {
+            for (final File partition : partitions) {
+                deleteQuietly(partition);
+            }
+        }
+    }
+
+    List<File> getPartitions() {
+        return isNull(partitions) ? Collections.emptyList() : Arrays.asList(partitions.clone());
+    }
+
+    /**
+     * @return the most elements held in memory at once, including while
+     * reading the spilled partitions
+     */
+    int getPeakElementsInMemory() {
+        return peakElementsInMemory;
+    }
+
+    private int getPartition(final Element key) {
+        final int hash = key.hashCode() * HASH_MULTIPLIER;
+        return (hash >>> (Integer.SIZE - PARTITION_BITS * (level + 1))) & (NUM_PARTITIONS - 1);
+    }
+
+    private void spill() {
+        if (table.isEmpty()) {
+            return;
+        }
+
+        LOGGER.debug("Spilling {} partially aggregated elements to disk", table.size());
+        final List<List<Element>> buckets = new ArrayList<>(NUM_PARTITIONS);
+        for (int i = 0; i < NUM_PARTITIONS; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (final Map.Entry<Element, Element> entry : table.entrySet()) {
+            buckets.get(getPartition(entry.getKey())).add(entry.getValue());
+        }
+
+        try {
+            if (isNull(partitions)) {
+                partitions = new File[NUM_PARTITIONS];
+                for (int i = 0; i < NUM_PARTITIONS; i++) {
+                    partitions[i] = Files.createTempFile("gaffer-aggregation-", ".spill").toFile();
+                }
+            }
+            for (int i = 0; i < NUM_PARTITIONS; i++) {
+                try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                        Files.newOutputStream(partitions[i].toPath(), StandardOpenOption.APPEND)))) {
+                    for (final Element element : buckets.get(i)) {
+                        final byte[] bytes = serialise(element);
+                        output.writeInt(bytes.length);
+                        output.write(bytes);
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            close();
+            throw new UncheckedIOException("Unable to spill aggregated elements to disk", e);
+        }
+        table = new LinkedHashMap<>();
+    }
+
+    private Iterator<Element> readPartition(final File partition) {
+        if (nonNull(partitionAggregator)) {
+            partitionAggregator.close();
+        }
+        partitionAggregator = new SpillingAggregator(this);
+        try (final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(partition.toPath())))) {
+            while (true) {
+                final int length;
+                try {
+                    length = input.readInt();
+                } catch (final EOFException e) {
+                    break;
+                }
+                final byte[] bytes = new byte[length];
+                input.readFully(bytes);
+                partitionAggregator.add(deserialise(bytes));
+            }
+        } catch (final IOException e) {
+            partitionAggregator.close();
+            throw new UncheckedIOException("Unable to read spilled elements from disk", e);
+        } finally {
+            deleteQuietly(partition);
+        }
+        return partitionAggregator.getAggregated().iterator();
+    }
+
+    private byte[] serialise(final Element element) throws SerialisationException {
+        if (nonNull(serialiser)) {
+            return serialiser.serialise(element);
+        }
+        return JSONSerialiser.serialise(element);
+    }
+
+    private Element deserialise(final byte[] bytes) throws SerialisationException {
+        if (nonNull(serialiser)) {
+            return serialiser.deserialise(bytes, 0, bytes.length);
+        }
+        return JSONSerialiser.deserialise(bytes, Element.class);
+    }
+
+    private static void deleteQuietly(final File file) {
+        if (!file.delete() && file.exists()) {
+            LOGGER.warn("Unable to delete temporary file {}", file);
+        }
+    }
+
+    private final class PartitionIterable implements Iterable<Element>, Closeable {
+        private boolean iterated;
+
+        @Override
+        public Iterator<Element> iterator() {
+            if (iterated) {
+                throw new IllegalStateException("Spilled aggregated elements can only be iterated over once");
+            }
+            iterated = true;
+            return new PartitionIterator();
+        }
+
+        @Override
+        public void close() {
+            SpillingAggregator.this.close();
+        }
+    }
+
+    private final class PartitionIterator implements Iterator<Element> {
+        private int partitionIndex;
+        private Iterator<Element> current = Collections.emptyIterator();
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && partitionIndex < NUM_PARTITIONS) {
+                current = readPartition(partitions[partitionIndex++]);
+            }
+            return current.hasNext();
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+}
@@ -0,0 +1,430 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Sorts {@link Element}s using a bounded amount of memory.
+ * <p>
+ * Elements are buffered in memory until their estimated size reaches the
+ * configured number of bytes. The buffer is then sorted and written to a
+ * temporary file as a sorted run, and emptied. Once all elements have been
+ * added, {@link #getSorted()} returns the sorted buffer if nothing was
+ * spilled, or otherwise lazily merges the sorted runs, reading one element
+ * from each run at a time.
+ * <p>
+ * The size of the buffered elements is estimated from the serialised size of a
+ * sample of them. Spilled elements are written using an {@link ElementSerialiser}
+ * for the provided {@link Schema} where it can represent the element exactly,
+ * otherwise with the {@link JSONSerialiser}. Each temporary file is deleted
+ * once its run has been fully merged, and any remaining files are deleted when
+ * this sorter is closed.
+ * <p>
+ * The sort is stable, so elements which compare as equal are returned in the
+ * order they were added. If deduplication is enabled, elements which compare as
+ * equal and are also equal to each other are only returned once.
+ */
+public class SpillingSorter implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpillingSorter.class);
+    private static final int SAMPLE_INTERVAL = 100;
+    // Approximate heap overhead of an element over its serialised form
+    private static final long ELEMENT_OVERHEAD_BYTES = 128L;
+    private static final byte SCHEMA_FORMAT = 0;
+    private static final byte JSON_FORMAT = 1;
+
+    private final Comparator<Element> comparator;
+    private final boolean deduplicate;
+    private final long maxBytesInMemory;
+    private final Schema schema;
+    private final ElementSerialiser serialiser;
+    private List<Element> buffer = new ArrayList<>();
+    private long bufferBytes;
+    private long estimatedElementBytes;
+    private long added;
+    private final List<File> runs = new ArrayList<>();
+
+    public SpillingSorter(final Comparator<Element> comparator,
+                          final boolean deduplicate,
+                          final long maxBytesInMemory) {
+        this(comparator, deduplicate, maxBytesInMemory, null);
+    }
+
+    public SpillingSorter(final Comparator<Element> comparator,
+                          final boolean deduplicate,
+                          final long maxBytesInMemory,
+                          final Schema schema) {
+        if (isNull(comparator)) {
+            throw new IllegalArgumentException("Comparator is required");
+        }
+        if (maxBytesInMemory < 1) {
+            throw new IllegalArgumentException("Max bytes in memory must be at least 1");
+        }
+        this.comparator = comparator;
+        this.deduplicate = deduplicate;
+        this.maxBytesInMemory = maxBytesInMemory;
+        this.schema = schema;
+        this.serialiser = createSerialiser(schema);
+    }
+
+    /**
+     * Adds an element to the buffer, spilling the buffer to disk if it is full.
+     *
+     * @param element the element to add
+     */
+    public void add(final Element element) {
+        if (isNull(element)) {
+            return;
+        }
+        if (0 == added % SAMPLE_INTERVAL) {
+            final long sampleBytes = serialise(element).length;
+            estimatedElementBytes = 0 == estimatedElementBytes ? sampleBytes : (estimatedElementBytes + sampleBytes) / 2;
+        }
+        added++;
+        buffer.add(element);
+        bufferBytes += estimatedElementBytes + ELEMENT_OVERHEAD_BYTES;
+        if (bufferBytes >= maxBytesInMemory) {
+            spill();
+        }
+    }
+
+    /**
+     * @return true if any elements have been spilled to disk
+     */
+    public boolean hasSpilled() {
+        return !runs.isEmpty();
+    }
+
+    /**
+     * Returns the sorted elements. This should only be called once, after
+     * all elements have been added. If elements have been spilled to disk the
+     * returned iterable can only be iterated over once, and closing it deletes
+     * any runs which have not yet been merged.
+     *
+     * @return the sorted elements
+     */
+    public Iterable<Element> getSorted() {
+        if (!hasSpilled()) {
+            final List<Element> sorted = sortBuffer();
+            buffer = new ArrayList<>();
+            bufferBytes = 0;
+            return sorted;
+        }
+
+        spill();
+        return new MergedIterable();
+    }
+
+    @Override
+    public void close() {
+        buffer = new ArrayList<>();
+        bufferBytes = 0;
+        for (final File run : runs) {
+            deleteQuietly(run);
+        }
+    }
+
+    List<File> getRuns() {
+        return new ArrayList<>(runs);
+    }
+
+    private List<Element> sortBuffer() {
+        buffer.sort(comparator);
+        if (!deduplicate) {
+            return buffer;
+        }
+
+        final List<Element> sorted = new ArrayList<>(buffer.size());
+        final Deduplicator deduplicator = new Deduplicator();
+        for (final Element element : buffer) {
+            if (deduplicator.isNew(element)) {
+                sorted.add(element);
+            }
+        }
+        return sorted;
+    }
+
+    private void spill() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+
+        final List<Element> sorted = sortBuffer();
+        LOGGER.debug("Spilling a sorted run of {} elements to disk", sorted.size());
+        long writtenBytes = 0;
+        try {
+            final File run = Files.createTempFile("gaffer-sort-", ".spill").toFile();
+            runs.add(run);
+            try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run.toPath())))) {
+                for (final Element element : sorted) {
+                    writtenBytes += write(element, output);
+                }
+            }
+        } catch (final IOException e) {
+            close();
+            throw new UncheckedIOException("Unable to spill sorted elements to disk", e);
+        }
+
+        // The exact size of the run gives a better estimate than the samples
+        estimatedElementBytes = Math.max(1L, writtenBytes / sorted.size());
+        buffer = new ArrayList<>();
+        bufferBytes = 0;
+    }
+
+    private int write(final Element element, final DataOutputStream output) throws IOException {
+        final byte format = canUseSchemaSerialiser(element) ? SCHEMA_FORMAT : JSON_FORMAT;
+        final byte[] bytes = SCHEMA_FORMAT == format ? serialiser.serialise(element) : JSONSerialiser.serialise(element);
+        output.writeByte(format);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+        return bytes.length;
+    }
+
+    private Element read(final DataInputStream input) throws IOException {
+        final int format;
+        try {
+            format = input.readByte();
+        } catch (final EOFException e) {
+            return null;
+        }
+        final byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        if (SCHEMA_FORMAT == format) {
+            return serialiser.deserialise(bytes);
+        }
+        return JSONSerialiser.deserialise(bytes, Element.class);
+    }
+
+    private byte[] serialise(final Element element) {
+        try {
+            return canUseSchemaSerialiser(element) ? serialiser.serialise(element) : JSONSerialiser.serialise(element);
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to serialise element: " + element, e);
+        }
+    }
+
+    // The schema serialisers only write the properties in the schema and do not
+    // write the matched vertex, so they can only be used if nothing would be lost.
+    private boolean canUseSchemaSerialiser(final Element element) {
+        if (isNull(serialiser)) {
+            return false;
+        }
+        if (element instanceof Edge && nonNull(((Edge) element).getMatchedVertex())) {
+            return false;
+        }
+        final SchemaElementDefinition elementDef = schema.getElement(element.getGroup());
+        return nonNull(elementDef)
+                && elementDef.getProperties().containsAll(element.getProperties().keySet())
+                && !element.getProperties().containsValue(null);
+    }
+
+    private static ElementSerialiser createSerialiser(final Schema schema) {
+        if (isNull(schema)) {
+            return null;
+        }
+        try {
+            return new ElementSerialiser(schema);
+        } catch (final IllegalArgumentException e) {
+            LOGGER.debug("Unable to use the schema serialisers, spilled elements will be serialised to json: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void deleteQuietly(final File file) {
+        if (!file.delete() && file.exists()) {
+            LOGGER.warn("Unable to delete temporary file {}", file);
+        }
+    }
+
+    /**
+     * Tracks the elements in the current run of elements which compare as
+     * equal, so duplicates within the run can be skipped.
+     */
+    private final class Deduplicator {
+        private final Set<Element> equalElements = new HashSet<>();
+        private Element last;
+
+        private boolean isNew(final Element element) {
+            if (nonNull(last) && 0 != comparator.compare(last, element)) {
+                equalElements.clear();
+            }
+            last = element;
+            return equalElements.add(element);
+        }
+    }
+
+    private final class MergedIterable implements Iterable<Element>, Closeable {
+        private MergeIterator iterator;
+
+        @Override
+        public Iterator<Element> iterator() {
+            if (nonNull(iterator)) {
+                throw new IllegalStateException("Spilled sorted elements can only be iterated over once");
+            }
+            iterator = new MergeIterator();
+            return iterator;
+        }
+
+        @Override
+        public void close() {
+            if (nonNull(iterator)) {
+                iterator.close();
+            } else {
+                SpillingSorter.this.close();
+            }
+        }
+    }
+
+    private final class MergeIterator implements Iterator<Element>, Closeable {
+        private final List<RunReader> readers = new ArrayList<>(runs.size());
+        private final PriorityQueue<RunReader> queue;
+        private final Deduplicator deduplicator = new Deduplicator();
+        private Element next;
+        private boolean closed;
+
+        private MergeIterator() {
+            // Ties are broken using the run index, which keeps the merge stable
+            queue = new PriorityQueue<>(Math.max(1, runs.size()), (first, second) -> {
+                final int result = comparator.compare(first.head, second.head);
+                return 0 != result ? result : Integer.compare(first.index, second.index);
+            });
+            try {
+                for (int i = 0; i < runs.size(); i++) {
+                    final RunReader reader = new RunReader(i, runs.get(i));
+                    readers.add(reader);
+                    if (reader.advance()) {
+                        queue.add(reader);
+                    }
+                }
+            } catch (final IOException e) {
+                close();
+                throw new UncheckedIOException("Unable to read spilled elements from disk", e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (isNull(next) && !queue.isEmpty()) {
+                final RunReader reader = queue.poll();
+                final Element element = reader.head;
+                try {
+                    if (reader.advance()) {
+                        queue.add(reader);
+                    }
+                } catch (final IOException e) {
+                    close();
+                    throw new UncheckedIOException("Unable to read spilled elements from disk", e);
+                }
+                if (!deduplicate || deduplicator.isNew(element)) {
+                    next = element;
+                }
+            }
+
+            if (isNull(next)) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element element = next;
+            next = null;
+            return element;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.clear();
+            for (final RunReader reader : readers) {
+                reader.close();
+            }
+            SpillingSorter.this.close();
+        }
+    }
+
+    private final class RunReader implements Closeable {
+        private final int index;
+        private final File run;
+        private final DataInputStream input;
+        private Element head;
+
+        private RunReader(final int index, final File run) throws IOException {
+            this.index = index;
+            this.run = run;
+            this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(run.toPath())));
+        }
+
+        private boolean advance() throws IOException {
+            head = read(input);
+            if (isNull(head)) {
+                close();
+                deleteQuietly(run);
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public void close() {
+            try {
+                input.close();
+            } catch (final IOException e) {
+                LOGGER.debug("Unable to close spilled sort run", e);
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2021 Crown Copyright
+ * Copyright 2015-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,6 +33,9 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class ContextTest {
     @Test
@@ -113,6 +116,28 @@ public class ContextTest {
         assertEquals(context.getConfig("key"), clone.getConfig("key"));
     }
 
+    @Test
+    public void shouldOnlyCloneOriginalOpChainWhenRequested() {
+        // Given
+        final OperationChain opChain = mock(OperationChain.class);
+        final OperationChain opChainClone = mock(OperationChain.class);
+        given(opChain.shallowClone()).willReturn(opChainClone);
+        final Context context = new Context();
+        context.setOriginalOpChain(opChain);
+
+        // When
+        final Context clone = context.shallowClone();
+        final Context cloneOfClone = clone.shallowClone();
+
+        // Then
+        verify(opChain, never()).shallowClone();
+        assertSame(opChainClone, clone.getOriginalOpChain());
+        assertSame(opChainClone, clone.getOriginalOpChain());
+        verify(opChain, times(1)).shallowClone();
+        assertSame(opChainClone, cloneOfClone.getOriginalOpChain());
+        assertSame(opChain, context.getOriginalOpChain());
+    }
+
     @Test
     public void shouldAddAndGetExporter() {
         // Given
@@ -17,18 +17,34 @@
 package uk.gov.gchq.gaffer.store.operation.handler;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.graph.Walk;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.GetWalks;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.Arrays;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 public class GetWalksHandlerTest {
     @Test
@@ -52,6 +68,36 @@ public class GetWalksHandlerTest {
         assertThat(result).isNull();
     }
 
+    @Test
+    public void shouldThrowExceptionWhenMoreWalksThanResultsLimit() throws Exception {
+        // Given
+        final Store store = mock(Store.class);
+        final List<Element> edges = Arrays.asList(
+                createEdge("A", "B"), createEdge("A", "C"),
+                createEdge("B", "A"), createEdge("C", "A"));
+        given(store.execute(any(Output.class), any(Context.class))).willReturn(edges);
+
+        final GetElements getElements = new GetElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        // Each hop only returns 4 edges, but there are 8 walks
+        final GetWalks operation = new GetWalks.Builder()
+                .input(new EntitySeed("A"))
+                .operations(getElements, getElements, getElements, getElements, getElements)
+                .resultsLimit(5)
+                .build();
+
+        final GetWalksHandler handler = new GetWalksHandler();
+        final Iterable<Walk> walks = handler.doOperation(operation, new Context(new User()), store);
+
+        // When / Then
+        assertThatExceptionOfType(RuntimeException.class)
+                .isThrownBy(() -> Lists.newArrayList(walks))
+                .withMessageContaining("Limit of 5 exceeded");
+    }
+
     @Test
     public void shouldSerialiseDeserialise() throws SerialisationException, JsonProcessingException {
         // Given
@@ -65,4 +111,14 @@ public class GetWalksHandlerTest {
         // Then
         assertNotNull(deserialisedObj);
     }
+
+    private Edge createEdge(final String source, final String dest) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(dest)
+                .directed(true)
+                .matchedVertex(EdgeId.MatchedVertex.SOURCE)
+                .build();
+    }
 }
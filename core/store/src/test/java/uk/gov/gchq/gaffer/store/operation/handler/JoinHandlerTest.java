@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2022 Crown Copyright
+ * Copyright 2015-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,23 +18,32 @@ package uk.gov.gchq.gaffer.store.operation.handler;
 
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.commonutil.exception.LimitExceededException;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.join.Join;
 import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
 import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinType;
+import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.join.JoinHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.join.match.ElementMatch;
 import uk.gov.gchq.gaffer.store.operation.handler.join.match.KeyFunctionMatch;
+import uk.gov.gchq.gaffer.store.operation.handler.join.match.SortMergeKeyFunctionMatch;
 import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
 public class JoinHandlerTest {
@@ -75,9 +84,55 @@ public class JoinHandlerTest {
                 .build();
 
         // When / Then
-        assertThatExceptionOfType(RuntimeException.class)
+        assertThatExceptionOfType(LimitExceededException.class)
+                .isThrownBy(() -> handler.doOperation(joinOp, context, store).forEach(tuple -> { }))
+                .withMessageContaining("Join exceeded the collectionLimit");
+    }
+
+    @Test
+    public void shouldThrowOperationExceptionWhenMatchCandidatesAreMoreThanLimit() {
+        // Given
+        final JoinHandler handler = new JoinHandler();
+        final List<Integer> inputList = Arrays.asList(1, 2, 3);
+
+        final Join<Integer> joinOp = new Join.Builder<Integer>()
+                .input(inputList)
+                .joinType(JoinType.FULL)
+                .matchKey(MatchKey.RIGHT)
+                .matchMethod(new KeyFunctionMatch())
+                .collectionLimit(1)
+                .build();
+
+        // When / Then
+        assertThatExceptionOfType(OperationException.class)
                 .isThrownBy(() -> handler.doOperation(joinOp, context, store))
-                .withMessageContaining("exceeded");
+                .withMessageContaining("Join exceeded the collectionLimit");
+    }
+
+    @Test
+    public void shouldReturnSameResultsWhenIteratedTwiceWithSortMergeMatch() throws OperationException {
+        // Given
+        final JoinHandler handler = new JoinHandler();
+        given(store.execute(any(Output.class), any(Context.class))).willReturn(Arrays.asList(1, 2, 2, 4));
+
+        final Join<Integer> joinOp = new Join.Builder<Integer>()
+                .input(Arrays.asList(1, 2, 3, 4))
+                .operation(new GetAllElements())
+                .joinType(JoinType.INNER)
+                .matchKey(MatchKey.LEFT)
+                .matchMethod(new SortMergeKeyFunctionMatch())
+                .build();
+
+        // When
+        final Iterable<? extends MapTuple> results = handler.doOperation(joinOp, context, store);
+        final List<Object> firstIteration = new ArrayList<>();
+        results.forEach(tuple -> firstIteration.add(tuple.get(MatchKey.RIGHT.name())));
+        final List<Object> secondIteration = new ArrayList<>();
+        results.forEach(tuple -> secondIteration.add(tuple.get(MatchKey.RIGHT.name())));
+
+        // Then
+        assertThat(firstIteration).containsExactly(1, 2, 2, 4);
+        assertThat(secondIteration).isEqualTo(firstIteration);
     }
 
     @Test
@@ -95,4 +150,32 @@ public class JoinHandlerTest {
         // When / Then
         assertThatExceptionOfType(OperationException.class).isThrownBy(() -> handler.doOperation(joinOp, context, store)).withMessage("A match method must be supplied");
     }
+
+    @Test
+    public void shouldNotConsumeKeyedInputUntilResultsAreIterated() throws OperationException {
+        // Given
+        final JoinHandler handler = new JoinHandler();
+        final List<Integer> rightList = Arrays.asList(1, 2, 3);
+        given(store.execute(any(Output.class), any(Context.class))).willReturn(rightList);
+        final AtomicInteger leftConsumed = new AtomicInteger();
+        final Iterable<Integer> leftInput = () -> IntStream.range(0, 5).peek(i -> leftConsumed.incrementAndGet()).iterator();
+
+        final Join<Integer> joinOp = new Join.Builder<Integer>()
+                .input(leftInput)
+                .operation(new GetAllElements())
+                .joinType(JoinType.INNER)
+                .matchKey(MatchKey.LEFT)
+                .matchMethod(new KeyFunctionMatch())
+                .build();
+
+        // When
+        final Iterable<? extends MapTuple> results = handler.doOperation(joinOp, context, store);
+
+        // Then
+        assertThat(leftConsumed.get()).isZero();
+        final List<Object> joined = new ArrayList<>();
+        results.forEach(tuple -> joined.add(tuple.get(MatchKey.LEFT.name())));
+        assertThat(joined).containsExactly(1, 2, 3);
+        assertThat(leftConsumed.get()).isEqualTo(5);
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -290,6 +290,55 @@ public class SortHandlerTest {
                 assertEquals(resultLimit, Iterables.size(result));
         }
 
+        @Test
+        public void shouldSortWithSpillingSorterWhenMaxBytesInMemoryIsSet() throws OperationException {
+                // Given
+                final List<Element> input = new ArrayList<>();
+                final Random random = new Random(1);
+                for (int i = 0; i < 5000; i++) {
+                        input.add(new Entity.Builder().group(TestGroups.ENTITY).vertex("vertex" + (i % 2500))
+                                        .property("property", random.nextInt(1000)).build());
+                }
+
+                final Comparator<Element> comparator = new ElementPropertyComparator.Builder()
+                                .groups(TestGroups.ENTITY).property("property").build();
+                final Sort sort = new Sort.Builder().input(input).comparators(comparator).deduplicate(true).build();
+
+                final SortHandler handler = new SortHandler();
+                handler.setMaxBytesInMemory(10000L);
+
+                // When
+                final Iterable<? extends Element> result = handler.doOperation(sort, null, null);
+
+                // Then
+                final List<Element> expected = input.stream().distinct().sorted(comparator)
+                                .collect(Collectors.toList());
+                assertEquals(expected, Lists.newArrayList(result));
+        }
+
+        @Test
+        public void shouldUseInMemorySortWhenResultLimitIsSetEvenIfMaxBytesInMemoryIsSet() throws OperationException {
+                // Given
+                final List<Element> input = new ArrayList<>();
+                for (int i = 0; i < 1000; i++) {
+                        input.add(new Entity.Builder().group(TestGroups.ENTITY).property("property", i).build());
+                }
+
+                final Sort sort = new Sort.Builder().input(input)
+                                .comparators(new ElementPropertyComparator.Builder().groups(TestGroups.ENTITY)
+                                                .property("property").reverse(true).build())
+                                .resultLimit(3).build();
+
+                final SortHandler handler = new SortHandler();
+                handler.setMaxBytesInMemory(100L);
+
+                // When
+                final Iterable<? extends Element> result = handler.doOperation(sort, null, null);
+
+                // Then
+                assertEquals(Arrays.asList(input.get(999), input.get(998), input.get(997)), Lists.newArrayList(result));
+        }
+
         private static class ElementComparatorImpl implements Comparator<Element> {
                 @Override
                 public int compare(final Element o1, final Element o2) {
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.export.localfile;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class BinaryElementFileTest {
+    private static final ElementSerialiser SERIALISER = new ElementSerialiser(new Schema.Builder()
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder().build())
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder().build())
+            .vertexSerialiser(new StringSerialiser())
+            .build());
+
+    private Path file;
+
+    @BeforeEach
+    public void setUp(@TempDir final Path tempDir) {
+        file = tempDir.resolve("elements.bin");
+    }
+
+    @Test
+    public void shouldWriteAndReadElements() throws IOException {
+        // Given
+        final List<Element> elements = createElements(3);
+
+        // When
+        BinaryElementFile.write(file, elements, SERIALISER, false);
+
+        // Then
+        assertThat(new BinaryElementFileIterable(file, SERIALISER)).containsExactlyElementsOf(elements);
+    }
+
+    @Test
+    public void shouldWriteAndReadCompressedElementsOverManyBlocks() throws IOException {
+        // Given
+        final List<Element> elements = createElements(20000);
+
+        // When
+        BinaryElementFile.write(file, elements, SERIALISER, true);
+
+        // Then
+        assertThat(Files.size(file)).isLessThan(2L * BinaryElementFile.BLOCK_SIZE);
+        assertThat(new BinaryElementFileIterable(file, SERIALISER)).containsExactlyElementsOf(elements);
+    }
+
+    @Test
+    public void shouldReadElementsOverManyUncompressedBlocks() throws IOException {
+        // Given
+        final List<Element> elements = createElements(20000);
+
+        // When
+        BinaryElementFile.write(file, elements, SERIALISER, false);
+
+        // Then
+        assertThat(Files.size(file)).isGreaterThan(2L * BinaryElementFile.BLOCK_SIZE);
+        assertThat(new BinaryElementFileIterable(file, SERIALISER)).containsExactlyElementsOf(elements);
+    }
+
+    @Test
+    public void shouldReadEmptyFile() throws IOException {
+        // Given
+        BinaryElementFile.write(file, Collections.emptyList(), SERIALISER, true);
+
+        // When / Then
+        assertThat(Files.size(file)).isEqualTo(BinaryElementFile.HEADER_LENGTH);
+        assertThat(new BinaryElementFileIterable(file, SERIALISER)).isEmpty();
+    }
+
+    @Test
+    public void shouldNotWriteObjectsWhichAreNotElements() {
+        assertThatExceptionOfType(SerialisationException.class)
+                .isThrownBy(() -> BinaryElementFile.write(file, Arrays.asList("not an element"), SERIALISER, false));
+    }
+
+    @Test
+    public void shouldNotReadFileWhichIsNotABinaryElementFile() throws IOException {
+        // Given
+        Files.write(file, Arrays.asList("header", "line1"), StandardCharsets.UTF_8);
+
+        // When / Then
+        assertThatExceptionOfType(UncheckedIOException.class)
+                .isThrownBy(() -> new BinaryElementFileIterable(file, SERIALISER).iterator())
+                .withCauseInstanceOf(IOException.class)
+                .satisfies(e -> assertThat(e.getCause()).hasMessageContaining("not a binary element file"));
+    }
+
+    private static List<Element> createElements(final int count) {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (0 == i % 2) {
+                elements.add(new Entity(TestGroups.ENTITY, "vertex" + i));
+            } else {
+                elements.add(new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("vertex" + (i - 1))
+                        .dest("vertex" + i)
+                        .directed(true)
+                        .build());
+            }
+        }
+        return elements;
+    }
+}
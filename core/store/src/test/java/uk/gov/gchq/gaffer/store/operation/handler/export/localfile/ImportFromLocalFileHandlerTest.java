@@ -16,27 +16,45 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.export.localfile;
 
+import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.export.localfile.ExportToLocalFile;
 import uk.gov.gchq.gaffer.operation.impl.export.localfile.ImportFromLocalFile;
 import uk.gov.gchq.gaffer.operation.impl.export.localfile.LocalFileExporter;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
 import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
 
 import java.io.IOException;
-
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.BDDMockito.given;
 
 @ExtendWith(MockitoExtension.class)
 class ImportFromLocalFileHandlerTest {
     private static final String FILE_PATH = ImportFromLocalFileHandlerTest.class.getResource("/openCypherCsv/openCypherBasicEntitiesAndEdges.csv").getPath();
 
+    @Mock
+    private Store store;
+
     @Test
     public void shouldGetInputData() throws IOException, OperationException {
         // Given
@@ -60,8 +78,85 @@ class ImportFromLocalFileHandlerTest {
 
         // Then
         assertThat(dataFromFile)
-                .usingRecursiveComparison()
-                .isEqualTo(expectedData);
+                .asInstanceOf(InstanceOfAssertFactories.iterable(String.class))
+                .containsExactlyElementsOf(expectedData);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Test
+    public void shouldGetElementsFromBinaryFile(@TempDir final Path tempDir) throws OperationException {
+        // Given
+        final String filePath = tempDir.resolve("elements.bin").toString();
+        final List<Element> elements = Arrays.asList(
+                new Entity(TestGroups.ENTITY, "vertex1"),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("vertex1")
+                        .dest("vertex2")
+                        .directed(true)
+                        .build());
+        final Schema schema = new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder().build())
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder().build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+        given(store.getSchema()).willReturn(schema);
+        final Context context = new Context();
+        context.addExporter(new LocalFileExporter());
+
+        new ExportToLocalFileHandler().doOperation(new ExportToLocalFile.Builder()
+                .input((Iterable) elements)
+                .filePath(filePath)
+                .option(LocalFileExporter.FILE_FORMAT, LocalFileExporter.BINARY_FILE_FORMAT)
+                .option(LocalFileExporter.COMPRESS, "true")
+                .build(), context, store);
+
+        final ImportFromLocalFile importFromLocalFile = new ImportFromLocalFile.Builder()
+                .filePath(filePath)
+                .option(LocalFileExporter.FILE_FORMAT, LocalFileExporter.BINARY_FILE_FORMAT)
+                .build();
+
+        // When
+        final Object dataFromFile = new ImportFromLocalFileHandler().doOperation(importFromLocalFile, context, store);
+
+        // Then
+        assertThat(dataFromFile)
+                .asInstanceOf(InstanceOfAssertFactories.iterable(Element.class))
+                .containsExactlyElementsOf(elements);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenBinaryFileDoesNotExist(@TempDir final Path tempDir) {
+        // Given
+        final ImportFromLocalFile importFromLocalFile = new ImportFromLocalFile.Builder()
+                .filePath(tempDir.resolve("missing.bin").toString())
+                .option(LocalFileExporter.FILE_FORMAT, LocalFileExporter.BINARY_FILE_FORMAT)
+                .build();
+        final Context context = new Context();
+        context.addExporter(new LocalFileExporter());
+
+        // When / Then
+        assertThatExceptionOfType(OperationException.class)
+                .isThrownBy(() -> new ImportFromLocalFileHandler().doOperation(importFromLocalFile, context, store))
+                .withMessageContaining("does not exist");
     }
-}
 
+    @Test
+    public void shouldThrowExceptionWhenFileIsNotABinaryElementFile(@TempDir final Path tempDir) throws IOException {
+        // Given
+        final Path filePath = tempDir.resolve("elements.csv");
+        Files.write(filePath, Arrays.asList("v1,person", "v2,software"));
+        given(store.getSchema()).willReturn(new Schema.Builder().vertexSerialiser(new StringSerialiser()).build());
+        final ImportFromLocalFile importFromLocalFile = new ImportFromLocalFile.Builder()
+                .filePath(filePath.toString())
+                .option(LocalFileExporter.FILE_FORMAT, LocalFileExporter.BINARY_FILE_FORMAT)
+                .build();
+        final Context context = new Context();
+        context.addExporter(new LocalFileExporter());
+
+        // When / Then
+        assertThatExceptionOfType(OperationException.class)
+                .isThrownBy(() -> new ImportFromLocalFileHandler().doOperation(importFromLocalFile, context, store))
+                .withMessageContaining("not a binary element file");
+    }
+}
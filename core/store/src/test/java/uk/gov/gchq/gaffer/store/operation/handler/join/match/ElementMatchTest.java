@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2021 Crown Copyright
+ * Copyright 2018-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,14 +16,17 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.join.match;
 
+import com.google.common.collect.Sets;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -230,4 +233,76 @@ public class ElementMatchTest {
         // Then
         assertThat(matchingElements).isEmpty();
     }
+
+    @Test
+    public void shouldReindexWhenGroupByPropertiesAreChangedAfterInit() {
+        // Given
+        final Entity testEntity = new Entity.Builder()
+                .group(TestGroups.ENTITY_3)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+        final Entity otherCountEntity = new Entity.Builder()
+                .group(TestGroups.ENTITY_3)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 4L)
+                .build();
+
+        final ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(Arrays.asList(testEntity.shallowClone(), otherCountEntity));
+
+        // When
+        elementMatch.setElementGroupByProperties(Sets.newHashSet(TestPropertyNames.COUNT));
+        final List<Element> matchingElements = elementMatch.matching(testEntity);
+
+        // Then
+        assertThat(matchingElements).containsExactly(testEntity);
+    }
+
+    @Test
+    public void shouldMatchEdgesOnSourceDestinationAndDirection() {
+        // Given
+        final Edge directed = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .build();
+        final Edge undirected = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("A")
+                .dest("B")
+                .directed(false)
+                .build();
+
+        final ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(Arrays.asList(directed, undirected, new Entity(TestGroups.EDGE, "A")));
+
+        // When
+        final List<Element> matchingElements = elementMatch.matching(directed.shallowClone());
+
+        // Then
+        assertThat(matchingElements).containsExactly(directed);
+    }
+
+    @Test
+    public void shouldMatchLargeInputsUsingIndex() {
+        // Given
+        final int size = 100000;
+        final List<Entity> candidates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            candidates.add(new Entity(TestGroups.ENTITY, i));
+        }
+        final ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(candidates);
+
+        // When
+        int matched = 0;
+        for (int i = 0; i < size; i++) {
+            matched += elementMatch.matching(new Entity(TestGroups.ENTITY, i)).size();
+        }
+
+        // Then
+        assertThat(matched).isEqualTo(size);
+    }
 }
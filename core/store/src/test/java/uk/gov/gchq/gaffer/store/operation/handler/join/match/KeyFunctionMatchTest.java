@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2022 Crown Copyright
+ * Copyright 2019-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -212,6 +212,20 @@ public class KeyFunctionMatchTest {
         assertEquals(expected, match.matching(testValue));
     }
 
+    @Test
+    public void shouldNotRetainCandidatesFromPreviousInit() {
+        // given
+        KeyFunctionMatch match = new KeyFunctionMatch();
+        match.init(Lists.newArrayList(1, 2, 3));
+
+        // when
+        match.init(Lists.newArrayList(3, 4));
+
+        // then
+        assertEquals(Lists.newArrayList(3), match.matching(3));
+        assertEquals(new ArrayList<>(), match.matching(1));
+    }
+
     @Test
     public void shouldMatchObjectsBasedOnKeyFunctions() {
         // given
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.join.match;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
+import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinType;
+import uk.gov.gchq.koryphe.impl.function.ToLong;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class SortMergeKeyFunctionMatchTest {
+
+    @Test
+    public void shouldMatchSortedInputs() {
+        // Given
+        final SortMergeKeyFunctionMatch match = new SortMergeKeyFunctionMatch();
+        match.init(Lists.newArrayList(1, 2, 2, 4, 6));
+
+        // When / Then
+        assertThat(match.matching(0)).isEmpty();
+        assertThat(match.matching(2)).containsExactly(2, 2);
+        assertThat(match.matching(2)).containsExactly(2, 2);
+        assertThat(match.matching(3)).isEmpty();
+        assertThat(match.matching(6)).containsExactly(6);
+        assertThat(match.matching(7)).isEmpty();
+    }
+
+    @Test
+    public void shouldMatchUsingKeyFunctions() {
+        // Given
+        final SortMergeKeyFunctionMatch match = new SortMergeKeyFunctionMatch.Builder()
+                .firstKeyFunction(new ToLong())
+                .build();
+        match.init(Lists.newArrayList(1L, 2L, 3L));
+
+        // When
+        final List result = match.matching(2);
+
+        // Then
+        assertThat(result).containsExactly(2L);
+    }
+
+    @Test
+    public void shouldGiveSameResultsAsKeyFunctionMatchWhenJoiningSortedInputs() {
+        // Given
+        final List<Integer> left = new ArrayList<>();
+        final List<Integer> right = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            left.add(i / 2);
+            right.add(i / 3);
+        }
+
+        for (final JoinType joinType : JoinType.values()) {
+            // When
+            final List<MapTuple> expected = joinType.createInstance().join(left, right, new KeyFunctionMatch(), MatchKey.LEFT, true);
+            final List<MapTuple> actual = joinType.createInstance().join(left, right, new SortMergeKeyFunctionMatch(), MatchKey.LEFT, true);
+
+            // Then
+            assertThat(actual).as(joinType.name()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionIfKeyedInputIsNotSorted() {
+        // Given
+        final SortMergeKeyFunctionMatch match = new SortMergeKeyFunctionMatch();
+        match.init(Lists.newArrayList(1, 2, 3));
+        match.matching(2);
+
+        // When / Then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> match.matching(1))
+                .withMessageContaining("must be sorted");
+    }
+
+    @Test
+    public void shouldThrowExceptionIfMatchCandidatesAreNotSorted() {
+        // Given
+        final SortMergeKeyFunctionMatch match = new SortMergeKeyFunctionMatch();
+        match.init(Lists.newArrayList(1, 3, 2));
+
+        // When / Then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> match.matching(2))
+                .withMessageContaining("must be sorted");
+    }
+
+    @Test
+    public void shouldThrowExceptionIfNotInitialised() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new SortMergeKeyFunctionMatch().matching(1))
+                .withMessageContaining("cannot be null");
+    }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final SortMergeKeyFunctionMatch match = new SortMergeKeyFunctionMatch.Builder()
+                .firstKeyFunction(new ToLong())
+                .build();
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(match);
+        final SortMergeKeyFunctionMatch deserialised = JSONSerialiser.deserialise(json, SortMergeKeyFunctionMatch.class);
+
+        // Then
+        assertThat(deserialised).isEqualTo(match);
+    }
+}
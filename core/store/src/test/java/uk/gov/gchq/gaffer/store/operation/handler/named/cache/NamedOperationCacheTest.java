@@ -301,4 +301,26 @@ public class NamedOperationCacheTest {
 
         cache.addNamedOperation(alt, true, userWithAdminAuth, ADMIN_AUTH);
     }
+
+    @Test
+    public void shouldReturnUpdatedNamedOperationWhenOnlyDescriptionHasChanged() throws CacheOperationException {
+        // Given
+        cache.addNamedOperation(standard, false, standardUser);
+        cache.getNamedOperation(OPERATION_NAME, standardUser);
+        final NamedOperationDetail updated = new NamedOperationDetail.Builder()
+                .operationName(OPERATION_NAME)
+                .description("updated description")
+                .creatorId(standardUser.getUserId())
+                .readers(readers)
+                .writers(writers)
+                .operationChain(standardOpChain)
+                .build();
+
+        // When
+        cache.addNamedOperation(updated, true, advancedUser);
+        final NamedOperationDetail namedOperation = cache.getNamedOperation(OPERATION_NAME, standardUser);
+
+        // Then
+        assertThat(namedOperation.getDescription()).isEqualTo("updated description");
+    }
 }
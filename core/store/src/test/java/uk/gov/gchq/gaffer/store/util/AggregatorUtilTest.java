@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2021 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -40,6 +40,9 @@ import uk.gov.gchq.gaffer.store.schema.SchemaTest;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Product;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -185,6 +188,67 @@ public class AggregatorUtilTest {
         assertElementEquals(expected, aggregatedElements);
     }
 
+    @Test
+    public void shouldStreamingIngestAggregateElementsWhenSpillingToDisk() {
+        // given
+        final Schema schema = Schema.fromJson(StreamUtil.openStreams(getClass(), "schema-groupby"));
+
+        final List<Element> elements = Arrays.asList(
+                new Entity.Builder()
+                        .group(TestGroups.NON_AGG_ENTITY)
+                        .vertex("vertex1")
+                        .property("count", 1)
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.NON_AGG_ENTITY)
+                        .vertex("vertex1")
+                        .property("count", 2)
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property("count", 1)
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex2")
+                        .property("count", 10)
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property("count", 2)
+                        .build());
+
+        final Set<Element> expected = Sets.newHashSet(
+                new Entity.Builder()
+                        .group(TestGroups.NON_AGG_ENTITY)
+                        .vertex("vertex1")
+                        .property("count", 1)
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.NON_AGG_ENTITY)
+                        .vertex("vertex1")
+                        .property("count", 2)
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property("count", 3)
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex2")
+                        .property("count", 10)
+                        .build());
+
+        // when
+        final Iterable<Element> aggregatedElements = AggregatorUtil.streamingIngestAggregate(elements, schema, 1);
+
+        // then
+        assertElementEquals(expected, aggregatedElements);
+    }
+
     @Test
     public void shouldIngestAggregateElementsWithGroupBy() {
         // given
@@ -495,6 +559,127 @@ public class AggregatorUtilTest {
         assertElementEquals(expected, aggregatedElements);
     }
 
+    @Test
+    public void shouldStreamingQueryAggregateElementsWithGroupByWhenSpillingToDisk() {
+        // given
+        final Schema schema = Schema.fromJson(StreamUtil.openStreams(getClass(), "schema-groupby"));
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .groupBy()
+                        .build())
+                .build();
+
+        final List<Element> elements = Arrays.asList(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property("count", 1)
+                        .property("property2", "value1")
+                        .property("visibility", "vis1")
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex2")
+                        .property("count", 20)
+                        .property("property2", "value10")
+                        .property("visibility", "vis1")
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property("count", 2)
+                        .property("property2", "value2")
+                        .property("visibility", "vis1")
+                        .build());
+
+        final Set<Element> expected = Sets.newHashSet(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property("count", 3)
+                        .property("property2", "value1")
+                        .property("visibility", "vis1")
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex2")
+                        .property("count", 20)
+                        .property("property2", "value10")
+                        .property("visibility", "vis1")
+                        .build());
+
+        // when
+        final Iterable<Element> aggregatedElements = AggregatorUtil.streamingQueryAggregate(elements, schema, view, false, 1);
+
+        // then
+        assertElementEquals(expected, aggregatedElements);
+    }
+
+    @Test
+    public void shouldStreamingQueryAggregateAndReturnNonAggregatedElementsBeforeInputIsConsumed() {
+        // given
+        final Schema schema = new Schema.Builder()
+                .entity(TestGroups.NON_AGG_ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex(TestTypes.ID_STRING)
+                        .aggregate(false)
+                        .build())
+                .type(TestTypes.ID_STRING, String.class)
+                .build();
+        final View view = new View.Builder()
+                .entity(TestGroups.NON_AGG_ENTITY)
+                .build();
+        final Entity nonAggEntity = new Entity.Builder()
+                .group(TestGroups.NON_AGG_ENTITY)
+                .vertex("vertex1")
+                .build();
+        final Iterator<Element> input = Arrays.<Element>asList(nonAggEntity).iterator();
+        final Iterable<Element> unconsumable = () -> new Iterator<Element>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Element next() {
+                if (input.hasNext()) {
+                    return input.next();
+                }
+                throw new IllegalStateException("Input should not be read beyond the first element");
+            }
+        };
+
+        // when
+        final Iterator<Element> aggregated = AggregatorUtil.streamingQueryAggregate(unconsumable, schema, view, false, 10).iterator();
+
+        // then
+        assertThat(aggregated.next()).isSameAs(nonAggEntity);
+    }
+
+    @Test
+    public void shouldCloseInputWhenStreamingAggregatedElementsAreClosed() throws IOException {
+        // given
+        final Schema schema = Schema.fromJson(StreamUtil.openStreams(getClass(), "schema-groupby"));
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + i)
+                    .property("count", 1)
+                    .build());
+        }
+        final CloseableList input = new CloseableList(elements);
+        final Iterable<Element> aggregated = AggregatorUtil.streamingIngestAggregate(input, schema, 2);
+        final Iterator<Element> iterator = aggregated.iterator();
+        iterator.next();
+
+        // when
+        ((Closeable) aggregated).close();
+
+        // then
+        assertThat(input.closed).isTrue();
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
     @Test
     public void shouldQueryAggregateElementsWithGroupByAndViewAggregator() {
         // given
@@ -907,6 +1092,41 @@ public class AggregatorUtilTest {
                         .isEqualTo(input);
     }
 
+    @Test
+    public void shouldNotRequireQueryAggregationWhenViewMatchesIngestGroupBy() {
+        // given
+        final Schema schema = createSchema();
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .entity(TestGroups.ENTITY_2, new ViewElementDefinition.Builder()
+                        .groupBy(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2)
+                        .build())
+                .build();
+
+        // when
+        final boolean required = AggregatorUtil.isQueryAggregationRequired(schema, view);
+
+        // then
+        assertThat(required).isFalse();
+    }
+
+    @Test
+    public void shouldRequireQueryAggregationWhenViewOverridesGroupBy() {
+        // given
+        final Schema schema = createSchema();
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .groupBy()
+                        .build())
+                .build();
+
+        // when
+        final boolean required = AggregatorUtil.isQueryAggregationRequired(schema, view);
+
+        // then
+        assertThat(required).isTrue();
+    }
+
     private Schema createSchema() {
         return new Schema.Builder()
                 .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
@@ -1086,4 +1306,23 @@ public class AggregatorUtilTest {
                         .property("visibility", "vis1")
                         .build());
     }
+
+    private static final class CloseableList implements Iterable<Element>, Closeable {
+        private final List<Element> elements;
+        private boolean closed;
+
+        private CloseableList(final List<Element> elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public Iterator<Element> iterator() {
+            return elements.iterator();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
 }
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+public class SpillingAggregatorTest {
+    private static final Function<Element, Element> VERTEX_KEY = e -> new Entity(e.getGroup(), ((Entity) e).getVertex());
+    private static final BinaryOperator<Element> SUM_COUNT = (a, b) -> {
+        a.putProperty("count", (Long) a.getProperty("count") + (Long) b.getProperty("count"));
+        return a;
+    };
+
+    @Test
+    public void shouldAggregateInMemoryWhenUnderLimit() {
+        // Given
+        try (final SpillingAggregator aggregator = new SpillingAggregator(VERTEX_KEY, SUM_COUNT, 100)) {
+
+            // When
+            addElements(aggregator, 10, 5);
+
+            // Then
+            assertThat(aggregator.hasSpilled()).isFalse();
+            assertCounts(aggregator.getAggregated(), 10, 5L);
+        }
+    }
+
+    @Test
+    public void shouldAggregateAcrossSpilledPartitions() {
+        // Given
+        try (final SpillingAggregator aggregator = new SpillingAggregator(VERTEX_KEY, SUM_COUNT, 7)) {
+
+            // When
+            addElements(aggregator, 50, 4);
+
+            // Then
+            assertThat(aggregator.hasSpilled()).isTrue();
+            assertCounts(aggregator.getAggregated(), 50, 4L);
+        }
+    }
+
+    @Test
+    public void shouldRepartitionSpilledPartitionsWithTooManyElementsToHoldInMemory() {
+        // Given
+        try (final SpillingAggregator aggregator = new SpillingAggregator(VERTEX_KEY, SUM_COUNT, 10)) {
+
+            // When
+            addElements(aggregator, 1000, 2);
+
+            // Then
+            assertCounts(aggregator.getAggregated(), 1000, 2L);
+            assertThat(aggregator.getPeakElementsInMemory()).isLessThanOrEqualTo(10);
+        }
+    }
+
+    @Test
+    public void shouldAggregateKeysWhichCannotBeRepartitioned() {
+        // Given
+        final Function<Element, Element> sameHashKey = e -> new Entity(e.getGroup(), ((Entity) e).getVertex()) {
+            @Override
+            public int hashCode() {
+                return 0;
+            }
+        };
+        try (final SpillingAggregator aggregator = new SpillingAggregator(sameHashKey, SUM_COUNT, 7)) {
+
+            // When
+            addElements(aggregator, 50, 4);
+
+            // Then
+            assertCounts(aggregator.getAggregated(), 50, 4L);
+        }
+    }
+
+    @Test
+    public void shouldDeletePartitionsOnceRead() {
+        // Given
+        try (final SpillingAggregator aggregator = new SpillingAggregator(VERTEX_KEY, SUM_COUNT, 7)) {
+            addElements(aggregator, 50, 2);
+            final Iterable<Element> aggregated = aggregator.getAggregated();
+            final List<File> partitions = aggregator.getPartitions();
+            assertThat(partitions).isNotEmpty().allSatisfy(partition -> assertThat(partition).exists());
+
+            // When
+            aggregated.forEach(e -> { });
+
+            // Then
+            assertThat(partitions).allSatisfy(partition -> assertThat(partition).doesNotExist());
+        }
+    }
+
+    @Test
+    public void shouldDeletePartitionsWhenAggregatedIterableIsClosed() throws IOException {
+        // Given
+        final SpillingAggregator aggregator = new SpillingAggregator(VERTEX_KEY, SUM_COUNT, 7);
+        addElements(aggregator, 50, 2);
+        final Iterable<Element> aggregated = aggregator.getAggregated();
+        final List<File> partitions = aggregator.getPartitions();
+        aggregated.iterator().next();
+
+        // When
+        ((Closeable) aggregated).close();
+
+        // Then
+        assertThat(partitions).isNotEmpty().allSatisfy(partition -> assertThat(partition).doesNotExist());
+    }
+
+    @Test
+    public void shouldOnlyAllowSpilledElementsToBeIteratedOnce() {
+        // Given
+        try (final SpillingAggregator aggregator = new SpillingAggregator(VERTEX_KEY, SUM_COUNT, 7)) {
+            addElements(aggregator, 50, 2);
+            final Iterable<Element> aggregated = aggregator.getAggregated();
+            aggregated.forEach(e -> { });
+
+            // When / Then
+            assertThatIllegalStateException()
+                    .isThrownBy(aggregated::iterator)
+                    .withMessageContaining("only be iterated over once");
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionIfMaxElementsInMemoryIsInvalid() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new SpillingAggregator(VERTEX_KEY, SUM_COUNT, 0))
+                .withMessageContaining("Max elements in memory");
+    }
+
+    private void addElements(final SpillingAggregator aggregator, final int numVertices, final int repeats) {
+        for (int r = 0; r < repeats; r++) {
+            for (int v = 0; v < numVertices; v++) {
+                aggregator.add(new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex" + v)
+                        .property("count", 1L)
+                        .build());
+            }
+        }
+    }
+
+    private void assertCounts(final Iterable<Element> aggregated, final int numVertices, final Long expectedCount) {
+        final List<Element> results = new ArrayList<>();
+        aggregated.forEach(results::add);
+        assertThat(results).hasSize(numVertices);
+        assertThat(results).allSatisfy(e -> assertThat(e.getProperty("count")).isEqualTo(expectedCount));
+    }
+}
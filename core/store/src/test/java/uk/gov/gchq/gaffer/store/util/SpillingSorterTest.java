@@ -0,0 +1,231 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+public class SpillingSorterTest {
+    private static final Comparator<Element> COMPARATOR = new ElementPropertyComparator.Builder()
+            .groups(TestGroups.ENTITY)
+            .property(TestPropertyNames.PROP_1)
+            .build();
+
+    private static final Schema SCHEMA = new Schema.Builder()
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property(TestPropertyNames.PROP_1, "int")
+                    .build())
+            .type("string", new TypeDefinition.Builder()
+                    .clazz(String.class)
+                    .serialiser(new StringSerialiser())
+                    .build())
+            .type("int", new TypeDefinition.Builder()
+                    .clazz(Integer.class)
+                    .serialiser(new CompactRawIntegerSerialiser())
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    @Test
+    public void shouldSortInMemoryWhenUnderLimit() {
+        // Given
+        final List<Element> input = createElements(100, new Random(1));
+
+        try (final SpillingSorter sorter = new SpillingSorter(COMPARATOR, false, 1024L * 1024L, SCHEMA)) {
+            // When
+            input.forEach(sorter::add);
+            final List<Element> results = toList(sorter.getSorted());
+
+            // Then
+            assertThat(sorter.hasSpilled()).isFalse();
+            assertThat(results).isEqualTo(sortedCopy(input));
+        }
+    }
+
+    @Test
+    public void shouldMergeSpilledRuns() {
+        // Given
+        final List<Element> input = createElements(5000, new Random(2));
+
+        try (final SpillingSorter sorter = new SpillingSorter(COMPARATOR, false, 10000L, SCHEMA)) {
+            // When
+            input.forEach(sorter::add);
+            final List<Element> results = toList(sorter.getSorted());
+
+            // Then
+            assertThat(sorter.hasSpilled()).isTrue();
+            assertThat(results).isEqualTo(sortedCopy(input));
+        }
+    }
+
+    @Test
+    public void shouldMergeSpilledRunsWithoutSchema() {
+        // Given
+        final List<Element> input = createElements(2000, new Random(3));
+
+        try (final SpillingSorter sorter = new SpillingSorter(COMPARATOR, false, 10000L)) {
+            // When
+            input.forEach(sorter::add);
+            final List<Element> results = toList(sorter.getSorted());
+
+            // Then
+            assertThat(sorter.hasSpilled()).isTrue();
+            assertThat(results).isEqualTo(sortedCopy(input));
+        }
+    }
+
+    @Test
+    public void shouldNotLosePropertiesMissingFromSchemaWhenSpilling() {
+        // Given
+        final List<Element> input = createElements(2000, new Random(4));
+        input.forEach(e -> e.putProperty(TestPropertyNames.PROP_2, "extra"));
+
+        try (final SpillingSorter sorter = new SpillingSorter(COMPARATOR, false, 10000L, SCHEMA)) {
+            // When
+            input.forEach(sorter::add);
+            final List<Element> results = toList(sorter.getSorted());
+
+            // Then
+            assertThat(sorter.hasSpilled()).isTrue();
+            assertThat(results).isEqualTo(sortedCopy(input));
+        }
+    }
+
+    @Test
+    public void shouldDeduplicateAcrossSpilledRuns() {
+        // Given
+        final List<Element> unique = createElements(500, new Random(5));
+        final List<Element> input = new ArrayList<>(unique);
+        input.addAll(createElements(500, new Random(5)));
+
+        try (final SpillingSorter sorter = new SpillingSorter(COMPARATOR, true, 5000L, SCHEMA)) {
+            // When
+            input.forEach(sorter::add);
+            final List<Element> results = toList(sorter.getSorted());
+
+            // Then
+            assertThat(sorter.hasSpilled()).isTrue();
+            assertThat(results).isEqualTo(sortedCopy(unique));
+        }
+    }
+
+    @Test
+    public void shouldOnlyAllowSpilledElementsToBeIteratedOnce() {
+        // Given
+        try (final SpillingSorter sorter = new SpillingSorter(COMPARATOR, false, 1000L, SCHEMA)) {
+            createElements(500, new Random(6)).forEach(sorter::add);
+            final Iterable<Element> sorted = sorter.getSorted();
+            toList(sorted);
+
+            // When / Then
+            assertThatIllegalStateException()
+                    .isThrownBy(sorted::iterator)
+                    .withMessageContaining("only be iterated over once");
+        }
+    }
+
+    @Test
+    public void shouldDeleteSpilledRunsOnceMerged() {
+        // Given
+        try (final SpillingSorter sorter = new SpillingSorter(COMPARATOR, false, 1000L, SCHEMA)) {
+            createElements(500, new Random(7)).forEach(sorter::add);
+            final Iterable<Element> sorted = sorter.getSorted();
+            final List<File> runs = sorter.getRuns();
+            assertThat(runs).isNotEmpty().allSatisfy(run -> assertThat(run).exists());
+
+            // When
+            toList(sorted);
+
+            // Then
+            assertThat(runs).allSatisfy(run -> assertThat(run).doesNotExist());
+        }
+    }
+
+    @Test
+    public void shouldDeleteSpilledRunsWhenClosedBeforeBeingMerged() throws IOException {
+        // Given
+        final SpillingSorter sorter = new SpillingSorter(COMPARATOR, false, 1000L, SCHEMA);
+        createElements(500, new Random(8)).forEach(sorter::add);
+        final Iterable<Element> sorted = sorter.getSorted();
+        final List<File> runs = sorter.getRuns();
+        final Iterator<Element> iterator = sorted.iterator();
+        iterator.next();
+
+        // When
+        ((Closeable) sorted).close();
+
+        // Then
+        assertThat(runs).isNotEmpty().allSatisfy(run -> assertThat(run).doesNotExist());
+    }
+
+    @Test
+    public void shouldThrowExceptionIfMaxBytesInMemoryIsInvalid() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new SpillingSorter(COMPARATOR, false, 0L))
+                .withMessageContaining("Max bytes in memory");
+    }
+
+    // Values are drawn from a small range so there are many equal keys, each
+    // element has a unique vertex so the sort stability is checked too.
+    private List<Element> createElements(final int count, final Random random) {
+        final List<Element> elements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + i)
+                    .property(TestPropertyNames.PROP_1, random.nextInt(count / 10))
+                    .build());
+        }
+        return elements;
+    }
+
+    private List<Element> sortedCopy(final List<Element> elements) {
+        final List<Element> sorted = new ArrayList<>(elements);
+        sorted.sort(COMPARATOR);
+        return sorted;
+    }
+
+    private List<Element> toList(final Iterable<Element> elements) {
+        final List<Element> results = new ArrayList<>();
+        elements.forEach(results::add);
+        return results;
+    }
+}
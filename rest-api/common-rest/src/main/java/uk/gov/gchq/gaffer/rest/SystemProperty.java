@@ -45,6 +45,9 @@ public final class SystemProperty {
     public static final String JSON_SERIALISER_CLASS = JSONSerialiser.JSON_SERIALISER_CLASS_KEY;
     public static final String JSON_SERIALISER_MODULES = JSONSerialiser.JSON_SERIALISER_MODULES;
     public static final String REST_DEBUG = DebugUtil.DEBUG;
+    public static final String CHUNKED_FLUSH_BYTES = "gaffer.rest-api.chunked.flush-bytes";
+    public static final String CHUNKED_FLUSH_INTERVAL = "gaffer.rest-api.chunked.flush-interval-ms";
+    public static final String CHUNKED_GZIP = "gaffer.rest-api.chunked.gzip";
 
     // Exposed Property Keys
     /**
@@ -74,6 +77,9 @@ public final class SystemProperty {
     public static final String GRAPH_FACTORY_CLASS_DEFAULT = DefaultGraphFactory.class.getName();
     public static final String USER_FACTORY_CLASS_DEFAULT = UnknownUserFactory.class.getName();
     public static final String REST_DEBUG_DEFAULT = DebugUtil.DEBUG_DEFAULT;
+    public static final String CHUNKED_FLUSH_BYTES_DEFAULT = "65536";
+    public static final String CHUNKED_FLUSH_INTERVAL_DEFAULT = "100";
+    public static final String CHUNKED_GZIP_DEFAULT = "false";
     public static final String APP_TITLE_DEFAULT = "Gaffer REST";
     public static final String APP_DESCRIPTION_DEFAULT = "The Gaffer REST service.";
     public static final String APP_DOCUMENTATION_URL_DEFAULT = "https://gchq.github.io/gaffer-doc/latest/";
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.serialisation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.rest.SystemProperty;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the results of an operation to a chunked response, as a JSON value
+ * followed by a {@code \r\n} delimiter for each result.
+ * <p>
+ * All of the results are encoded straight to the output stream using a single
+ * {@link JsonGenerator}. Rather than flushing after every result, the output is
+ * flushed once at least flushBytes have been written since the last flush, or
+ * once flushIntervalMillis have passed since the last flush.
+ * <p>
+ * The items of an {@link Iterable} result are read ahead on another thread, so
+ * the writing thread can flush the results already written once
+ * flushIntervalMillis have passed, even while a slow {@link Iterable} is
+ * producing the next result. All writes and flushes happen on the writing
+ * thread, so a slow client only holds up its own request.
+ * <p>
+ * The output can optionally be gzip compressed, in which case each flush is a
+ * sync flush so the client can decompress the results received so far.
+ * This class is not thread safe.
+ */
+public class ChunkedResultWriter implements Closeable {
+    private static final String DELIMITER = "\r\n";
+    private static final int READ_AHEAD_SIZE = 100;
+    private static final long READ_AHEAD_OFFER_MILLIS = 100L;
+    private static final Object NULL_ITEM = new Object();
+    private static final Object END = new Object();
+    private static final ExecutorService READ_AHEAD_POOL = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "chunked-result-read-ahead");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final CountingOutputStream countingStream;
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private final long flushBytes;
+    private final long flushIntervalMillis;
+    private long lastFlushTime = System.currentTimeMillis();
+    private boolean closed;
+
+    /**
+     * Creates a writer using the flush thresholds set in the
+     * {@link SystemProperty#CHUNKED_FLUSH_BYTES} and
+     * {@link SystemProperty#CHUNKED_FLUSH_INTERVAL} system properties.
+     *
+     * @param outputStream the stream to write to, which is not closed by this writer
+     * @param mapper       the mapper to serialise the results with
+     * @param gzip         true if the output should be gzip compressed
+     * @throws IOException if the writer could not be created
+     */
+    public ChunkedResultWriter(final OutputStream outputStream, final ObjectMapper mapper, final boolean gzip) throws IOException {
+        this(outputStream, mapper, gzip,
+                Long.parseLong(System.getProperty(SystemProperty.CHUNKED_FLUSH_BYTES, SystemProperty.CHUNKED_FLUSH_BYTES_DEFAULT)),
+                Long.parseLong(System.getProperty(SystemProperty.CHUNKED_FLUSH_INTERVAL, SystemProperty.CHUNKED_FLUSH_INTERVAL_DEFAULT)));
+    }
+
+    /**
+     * @param outputStream        the stream to write to, which is not closed by this writer
+     * @param mapper              the mapper to serialise the results with
+     * @param gzip                true if the output should be gzip compressed
+     * @param flushBytes          the number of bytes to write before flushing
+     * @param flushIntervalMillis the maximum time between flushes, results are not read ahead if this is not positive
+     * @throws IOException if the writer could not be created
+     */
+    public ChunkedResultWriter(final OutputStream outputStream, final ObjectMapper mapper, final boolean gzip,
+                               final long flushBytes, final long flushIntervalMillis) throws IOException {
+        this.flushBytes = flushBytes;
+        this.flushIntervalMillis = flushIntervalMillis;
+        final OutputStream target = new NonClosingOutputStream(outputStream);
+        this.countingStream = new CountingOutputStream(gzip ? new GZIPOutputStream(target, true) : target);
+        this.generator = mapper.getFactory().createGenerator(countingStream);
+        // Results are separated by the delimiter rather than Jackson's default root value separator
+        this.generator.setRootValueSeparator(null);
+        this.writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes a result. If the result is an {@link Iterable} then each item is
+     * written separately and the iterable is closed afterwards.
+     *
+     * @param result the result to write
+     * @throws IOException if the result could not be written
+     */
+    public void writeResult(final Object result) throws IOException {
+        if (result instanceof Iterable) {
+            try {
+                if (flushIntervalMillis > 0) {
+                    writeReadAhead((Iterable<?>) result);
+                } else {
+                    for (final Object item : (Iterable<?>) result) {
+                        write(item);
+                    }
+                }
+            } finally {
+                CloseableUtil.close(result);
+            }
+        } else {
+            write(result);
+        }
+    }
+
+    /**
+     * Writes a single item, flushing the output if either of the flush
+     * thresholds have been reached.
+     *
+     * @param item the item to write
+     * @throws IOException if the item could not be written
+     */
+    public void write(final Object item) throws IOException {
+        writer.writeValue(generator, item);
+        generator.writeRaw(DELIMITER);
+        if (getUnflushedBytes() >= flushBytes || System.currentTimeMillis() - lastFlushTime >= flushIntervalMillis) {
+            flush();
+        }
+    }
+
+    /**
+     * Flushes everything written so far to the output stream.
+     *
+     * @throws IOException if the output could not be flushed
+     */
+    public void flush() throws IOException {
+        generator.flush();
+        countingStream.resetCount();
+        lastFlushTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Flushes any remaining output and completes the gzip stream, if the output
+     * is compressed. The underlying output stream is flushed but not closed.
+     *
+     * @throws IOException if the output could not be flushed
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            // Closing the generator closes the gzip stream, if there is one, but not the underlying output stream
+            generator.close();
+        }
+    }
+
+    private void writeReadAhead(final Iterable<?> items) throws IOException {
+        final ReadAhead readAhead = new ReadAhead(items);
+        READ_AHEAD_POOL.execute(readAhead);
+        try {
+            while (true) {
+                final long flushDelay = lastFlushTime + flushIntervalMillis - System.currentTimeMillis();
+                final Object item = readAhead.poll(Math.max(1L, flushDelay));
+                if (null == item) {
+                    // Waiting for the next result, so send the results written so far
+                    if (getUnflushedBytes() > 0) {
+                        flush();
+                    } else {
+                        lastFlushTime = System.currentTimeMillis();
+                    }
+                } else if (END == item) {
+                    readAhead.rethrowFailure();
+                    return;
+                } else {
+                    write(NULL_ITEM == item ? null : item);
+                }
+            }
+        } finally {
+            readAhead.cancel();
+        }
+    }
+
+    private long getUnflushedBytes() {
+        return countingStream.getCount() + Math.max(0, generator.getOutputBuffered());
+    }
+
+    /**
+     * Reads the items of an {@link Iterable} into a bounded queue, stopping if
+     * the writer is cancelled.
+     */
+    private static final class ReadAhead implements Runnable {
+        private final Iterable<?> items;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(READ_AHEAD_SIZE);
+        private volatile boolean cancelled;
+        private volatile Throwable failure;
+
+        private ReadAhead(final Iterable<?> items) {
+            this.items = items;
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (final Object item : items) {
+                    if (!offer(null == item ? NULL_ITEM : item)) {
+                        return;
+                    }
+                }
+            } catch (final RuntimeException | Error e) {
+                failure = e;
+            }
+            offer(END);
+        }
+
+        private boolean offer(final Object item) {
+            try {
+                while (!cancelled) {
+                    if (queue.offer(item, READ_AHEAD_OFFER_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+
+        private Object poll(final long timeoutMillis) throws InterruptedIOException {
+            try {
+                return queue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted whilst waiting for the next result");
+            }
+        }
+
+        private void rethrowFailure() {
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            if (null != failure) {
+                throw (RuntimeException) failure;
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            queue.clear();
+        }
+    }
+
+    /**
+     * Counts the bytes written since the last flush.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        private long getCount() {
+            return count;
+        }
+
+        private void resetCount() {
+            count = 0;
+        }
+    }
+
+    /**
+     * Leaves the output stream open, as it is owned by the servlet container.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        private NonClosingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.serialisation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChunkedResultWriterTest {
+    private static final ObjectMapper MAPPER = JSONSerialiser.createDefaultMapper();
+
+    @Test
+    public void shouldWriteEachItemFollowedByDelimiter() throws IOException {
+        // Given
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final Entity entity = new Entity.Builder().group("BasicEntity").vertex("A").build();
+
+        // When
+        try (final ChunkedResultWriter writer = new ChunkedResultWriter(output, MAPPER, false)) {
+            writer.writeResult(Arrays.asList(1, "two", entity));
+        }
+
+        // Then
+        assertThat(output.toString(StandardCharsets.UTF_8.name()))
+                .isEqualTo("1\r\n\"two\"\r\n" + MAPPER.writeValueAsString(entity) + "\r\n");
+    }
+
+    @Test
+    public void shouldWriteNonIterableResultFollowedByDelimiter() throws IOException {
+        // Given
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        try (final ChunkedResultWriter writer = new ChunkedResultWriter(output, MAPPER, false)) {
+            writer.writeResult(5L);
+        }
+
+        // Then
+        assertThat(output.toString(StandardCharsets.UTF_8.name())).isEqualTo("5\r\n");
+    }
+
+    @Test
+    public void shouldOnlyFlushOnceFlushBytesHaveBeenWritten() throws IOException {
+        // Given
+        final FlushCountingOutputStream output = new FlushCountingOutputStream();
+
+        // When
+        try (final ChunkedResultWriter writer = new ChunkedResultWriter(output, MAPPER, false, 10, Long.MAX_VALUE)) {
+            for (int i = 0; i < 9; i++) {
+                writer.write(i);
+            }
+
+            // Then
+            assertThat(output.flushes).isEqualTo(2);
+            assertThat(output.size()).isEqualTo(24);
+        }
+        assertThat(output.toString(StandardCharsets.UTF_8.name())).isEqualTo("0\r\n1\r\n2\r\n3\r\n4\r\n5\r\n6\r\n7\r\n8\r\n");
+    }
+
+    @Test
+    public void shouldFlushAfterFlushInterval() throws IOException {
+        // Given
+        final FlushCountingOutputStream output = new FlushCountingOutputStream();
+
+        // When
+        try (final ChunkedResultWriter writer = new ChunkedResultWriter(output, MAPPER, false, Long.MAX_VALUE, 0)) {
+            writer.write(1);
+            writer.write(2);
+
+            // Then
+            assertThat(output.flushes).isEqualTo(2);
+            assertThat(output.toString(StandardCharsets.UTF_8.name())).isEqualTo("1\r\n2\r\n");
+        }
+    }
+
+    @Test
+    public void shouldFlushBufferedResultsWhileWaitingForTheNextResult() throws Exception {
+        // Given
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final CountDownLatch secondResultAvailable = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (final ChunkedResultWriter writer = new ChunkedResultWriter(output, MAPPER, false, Long.MAX_VALUE, 50)) {
+            // When
+            final Future<?> writing = executor.submit(() -> {
+                writer.writeResult(new SlowIntegers(secondResultAvailable));
+                return null;
+            });
+
+            // Then - the first result is flushed whilst the iterable is blocked
+            final long deadline = System.currentTimeMillis() + 5000;
+            while (0 == output.size() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(output.toString(StandardCharsets.UTF_8.name())).isEqualTo("1\r\n");
+
+            secondResultAvailable.countDown();
+            writing.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(output.toString(StandardCharsets.UTF_8.name())).isEqualTo("1\r\n2\r\n");
+    }
+
+    @Test
+    public void shouldFlushBufferedResultsWhileAnotherClientIsSlowToReceiveResults() throws Exception {
+        // Given
+        final BlockingFlushOutputStream slowOutput = new BlockingFlushOutputStream();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final CountDownLatch secondResultAvailable = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try (final ChunkedResultWriter slowWriter = new ChunkedResultWriter(slowOutput, MAPPER, false, Long.MAX_VALUE, 50)) {
+            final Future<?> slowWriting = executor.submit(() -> {
+                slowWriter.writeResult(new SlowIntegers(secondResultAvailable));
+                return null;
+            });
+            assertThat(slowOutput.flushing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            try (final ChunkedResultWriter writer = new ChunkedResultWriter(output, MAPPER, false, Long.MAX_VALUE, 50)) {
+                // When
+                final Future<?> writing = executor.submit(() -> {
+                    writer.writeResult(new SlowIntegers(secondResultAvailable));
+                    return null;
+                });
+
+                // Then - the first result is flushed whilst the other client is blocked
+                final long deadline = System.currentTimeMillis() + 1000;
+                while (0 == output.size() && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(10);
+                }
+                assertThat(output.toString(StandardCharsets.UTF_8.name())).isEqualTo("1\r\n");
+
+                slowOutput.flushAllowed.countDown();
+                secondResultAvailable.countDown();
+                slowWriting.get(5, TimeUnit.SECONDS);
+                writing.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(output.toString(StandardCharsets.UTF_8.name())).isEqualTo("1\r\n2\r\n");
+    }
+
+    @Test
+    public void shouldGzipOutput() throws IOException {
+        // Given
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        try (final ChunkedResultWriter writer = new ChunkedResultWriter(output, MAPPER, true)) {
+            writer.writeResult(Arrays.asList(1, 2, 3));
+        }
+
+        // Then
+        try (final InputStream input = new GZIPInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            assertThat(new String(IOUtils.toByteArray(input), StandardCharsets.UTF_8)).isEqualTo("1\r\n2\r\n3\r\n");
+        }
+    }
+
+    @Test
+    public void shouldCloseIterableResult() throws IOException {
+        // Given
+        final CloseableIntegers result = new CloseableIntegers();
+
+        // When
+        try (final ChunkedResultWriter writer = new ChunkedResultWriter(new ByteArrayOutputStream(), MAPPER, false)) {
+            writer.writeResult(result);
+        }
+
+        // Then
+        assertThat(result.closed).isTrue();
+    }
+
+    private static final class CloseableIntegers implements Iterable<Integer>, Closeable {
+        private boolean closed;
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return Arrays.asList(1, 2).iterator();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    /**
+     * Returns 1 straight away, then blocks until the latch is released before returning 2.
+     */
+    private static final class SlowIntegers implements Iterable<Integer> {
+        private final CountDownLatch secondResultAvailable;
+
+        private SlowIntegers(final CountDownLatch secondResultAvailable) {
+            this.secondResultAvailable = secondResultAvailable;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+                private int next = 1;
+
+                @Override
+                public boolean hasNext() {
+                    if (2 == next) {
+                        try {
+                            secondResultAvailable.await();
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return false;
+                        }
+                    }
+                    return next <= 2;
+                }
+
+                @Override
+                public Integer next() {
+                    return next++;
+                }
+            };
+        }
+    }
+
+    /**
+     * Blocks flushes until they are allowed, like a client which is slow to receive results.
+     */
+    private static final class BlockingFlushOutputStream extends ByteArrayOutputStream {
+        private final CountDownLatch flushing = new CountDownLatch(1);
+        private final CountDownLatch flushAllowed = new CountDownLatch(1);
+
+        @Override
+        public void flush() throws IOException {
+            flushing.countDown();
+            try {
+                // Bounded, so a failed test does not hang whilst closing the writer
+                flushAllowed.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+    }
+
+    private static final class FlushCountingOutputStream extends ByteArrayOutputStream {
+        private int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.serialisation;
+
+import org.glassfish.jersey.server.ChunkedOutput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An {@link OutputStream} which buffers the bytes written to it and writes
+ * them to a {@link ChunkedOutput} as a single chunk each time it is flushed.
+ * This allows a {@link ChunkedResultWriter} to batch many results into each
+ * chunk. The {@link ChunkedOutput} should not have a chunk delimiter, as the
+ * results written to this stream are already delimited.
+ */
+public class ChunkedOutputStream extends OutputStream {
+    private final ChunkedOutput<String> output;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    public ChunkedOutputStream(final ChunkedOutput<String> output) {
+        this.output = output;
+    }
+
+    @Override
+    public void write(final int b) {
+        buffer.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+        buffer.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (buffer.size() > 0) {
+            output.write(new String(buffer.toByteArray(), StandardCharsets.UTF_8));
+            buffer.reset();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
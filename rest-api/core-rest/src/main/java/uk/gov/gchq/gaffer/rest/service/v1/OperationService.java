@@ -36,6 +36,8 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
+import uk.gov.gchq.gaffer.rest.serialisation.ChunkedOutputStream;
+import uk.gov.gchq.gaffer.rest.serialisation.ChunkedResultWriter;
 import uk.gov.gchq.gaffer.store.Context;
 
 import javax.inject.Inject;
@@ -75,7 +77,7 @@ public class OperationService implements IOperationService {
     @SuppressWarnings("PMD.UseTryWithResources")
     public ChunkedOutput<String> executeChunkedChain(final OperationChainDAO opChain) {
         // Create chunked output instance
-        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
+        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class);
 
         // write chunks to the chunked output object
         new Thread(() -> {
@@ -168,23 +170,11 @@ public class OperationService implements IOperationService {
     }
 
     protected void chunkResult(final Object result, final ChunkedOutput<String> output) {
-        if (result instanceof Iterable) {
-            final Iterable itr = (Iterable) result;
-            try {
-                for (final Object item : itr) {
-                    output.write(mapper.writeValueAsString(item));
-                }
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
-            } finally {
-                CloseableUtil.close(itr);
-            }
-        } else {
-            try {
-                output.write(mapper.writeValueAsString(result));
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
-            }
+        // Results are batched into chunks, rather than sending a chunk for each result
+        try (final ChunkedResultWriter writer = new ChunkedResultWriter(new ChunkedOutputStream(output), mapper, false)) {
+            writer.writeResult(result);
+        } catch (final IOException ioe) {
+            LOGGER.warn("IOException (chunks)", ioe);
         }
     }
 }
@@ -33,6 +33,8 @@ import uk.gov.gchq.gaffer.rest.factory.ExamplesFactory;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
 import uk.gov.gchq.gaffer.rest.model.OperationDetail;
+import uk.gov.gchq.gaffer.rest.serialisation.ChunkedOutputStream;
+import uk.gov.gchq.gaffer.rest.serialisation.ChunkedResultWriter;
 import uk.gov.gchq.gaffer.store.Context;
 
 import javax.inject.Inject;
@@ -103,7 +105,7 @@ public class OperationServiceV2 extends AbstractOperationService implements IOpe
     public Response executeChunkedChain(final OperationChain opChain) {
         // Create chunked output instance
         final Throwable[] threadException = new Throwable[1];
-        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
+        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class);
         final Context context = userFactory.createContext();
 
         // create thread to write chunks to the chunked output object
@@ -259,23 +261,11 @@ public class OperationServiceV2 extends AbstractOperationService implements IOpe
     }
 
     protected void chunkResult(final Object result, final ChunkedOutput<String> output) {
-        if (result instanceof Iterable) {
-            final Iterable itr = (Iterable) result;
-            try {
-                for (final Object item : itr) {
-                    output.write(mapper.writeValueAsString(item));
-                }
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
-            } finally {
-                CloseableUtil.close(itr);
-            }
-        } else {
-            try {
-                output.write(mapper.writeValueAsString(result));
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
-            }
+        // Results are batched into chunks, rather than sending a chunk for each result
+        try (final ChunkedResultWriter writer = new ChunkedResultWriter(new ChunkedOutputStream(output), mapper, false)) {
+            writer.writeResult(result);
+        } catch (final IOException ioe) {
+            LOGGER.warn("IOException (chunks)", ioe);
         }
     }
 }
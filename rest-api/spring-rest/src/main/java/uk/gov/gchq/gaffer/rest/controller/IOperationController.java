@@ -125,5 +125,5 @@ public interface IOperationController {
     @io.swagger.v3.oas.annotations.Operation(
             summary = "Executes an operation against a Store, returning a chunked output"
     )
-    ResponseEntity<StreamingResponseBody> executeChunked(final Operation operation);
+    ResponseEntity<StreamingResponseBody> executeChunked(final Operation operation, final String acceptEncoding);
 }
@@ -19,10 +19,12 @@ package uk.gov.gchq.gaffer.rest.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Parameter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
@@ -35,16 +37,18 @@ import uk.gov.gchq.gaffer.rest.factory.ExamplesFactory;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
 import uk.gov.gchq.gaffer.rest.model.OperationDetail;
+import uk.gov.gchq.gaffer.rest.serialisation.ChunkedResultWriter;
 import uk.gov.gchq.gaffer.rest.service.v2.AbstractOperationService;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.Set;
 
 import static uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser.createDefaultMapper;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE_HEADER;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_ID_HEADER;
+import static uk.gov.gchq.gaffer.rest.SystemProperty.CHUNKED_GZIP;
+import static uk.gov.gchq.gaffer.rest.SystemProperty.CHUNKED_GZIP_DEFAULT;
 
 @RestController
 public class OperationController extends AbstractOperationService implements IOperationController {
@@ -142,32 +146,17 @@ public class OperationController extends AbstractOperationService implements IOp
     }
 
     @Override
-    @SuppressWarnings("PMD.UseTryWithResources")
-    public ResponseEntity<StreamingResponseBody> executeChunked(@RequestBody final Operation operation) {
+    public ResponseEntity<StreamingResponseBody> executeChunked(@RequestBody final Operation operation,
+                                                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding) {
+        final boolean gzip = Boolean.parseBoolean(System.getProperty(CHUNKED_GZIP, CHUNKED_GZIP_DEFAULT))
+                && null != acceptEncoding && acceptEncoding.contains("gzip");
         final StreamingResponseBody responseBody = response -> {
             try {
                 final Pair<Object, String> resultAndJobId = _execute(operation, userFactory.createContext());
-                final Object result = resultAndJobId.getFirst();
-                if (result instanceof Iterable) {
-                    final Iterable itr = (Iterable) result;
-                    try {
-                        for (final Object item : itr) {
-                            final String itemString = mapper.writeValueAsString(item) + "\r\n";
-                            response.write(itemString.getBytes(StandardCharsets.UTF_8));
-                            response.flush();
-                        }
-                    } catch (final IOException ioe) {
-                        throw new GafferRuntimeException("Unable to serialise chunk: ", ioe, Status.INTERNAL_SERVER_ERROR);
-                    } finally {
-                        CloseableUtil.close(itr);
-                    }
-                } else {
-                    try {
-                        response.write(mapper.writeValueAsString(result).getBytes(StandardCharsets.UTF_8));
-                        response.flush();
-                    } catch (final IOException ioe) {
-                        throw new GafferRuntimeException("Unable to serialise chunk: ", ioe, Status.INTERNAL_SERVER_ERROR);
-                    }
+                try (final ChunkedResultWriter writer = new ChunkedResultWriter(response, mapper, gzip)) {
+                    writer.writeResult(resultAndJobId.getFirst());
+                } catch (final IOException ioe) {
+                    throw new GafferRuntimeException("Unable to serialise chunk: ", ioe, Status.INTERNAL_SERVER_ERROR);
                 }
             } catch (final Exception e) {
                 throw new GafferRuntimeException("Unable to create chunk: ", e, Status.INTERNAL_SERVER_ERROR);
@@ -176,10 +165,13 @@ public class OperationController extends AbstractOperationService implements IOp
             }
         };
 
-        return ResponseEntity.ok()
+        final ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok()
                 .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(responseBody);
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            responseBuilder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return responseBuilder.body(responseBody);
     }
 
     @Override
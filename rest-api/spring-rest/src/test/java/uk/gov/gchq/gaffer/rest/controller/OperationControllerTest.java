@@ -17,9 +17,11 @@
 package uk.gov.gchq.gaffer.rest.controller;
 
 import com.google.common.collect.Sets;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.exception.CloneFailedException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
@@ -34,6 +36,7 @@ import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.rest.SystemProperty;
 import uk.gov.gchq.gaffer.rest.factory.ExamplesFactory;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
@@ -46,14 +49,24 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.util.ReflectionUtil;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -296,7 +309,7 @@ public class OperationControllerTest {
         when(store.execute(any(Output.class), any(Context.class))).thenReturn(Arrays.asList(1, 2, 3));
 
         // When
-        final ResponseEntity<StreamingResponseBody> response = operationController.executeChunked(new GetAllElements());
+        final ResponseEntity<StreamingResponseBody> response = operationController.executeChunked(new GetAllElements(), null);
         try (final OutputStream output = new ByteArrayOutputStream()) {
             response.getBody().writeTo(output);
             // Then
@@ -306,6 +319,84 @@ public class OperationControllerTest {
 
     }
 
+    @SuppressWarnings({"unchecked"})
+    @Test
+    public void shouldGzipChunksWhenEnabledAndAccepted() throws IOException, OperationException {
+        // Given
+        when(userFactory.createContext()).thenReturn(new Context(new User()));
+        when(store.execute(any(Output.class), any(Context.class))).thenReturn(Arrays.asList(1, 2, 3));
+        System.setProperty(SystemProperty.CHUNKED_GZIP, "true");
+
+        try {
+            // When
+            final ResponseEntity<StreamingResponseBody> response = operationController.executeChunked(new GetAllElements(), "gzip, deflate");
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            response.getBody().writeTo(output);
+
+            // Then
+            assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+            try (final InputStream input = new GZIPInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+                assertThat(new String(IOUtils.toByteArray(input), StandardCharsets.UTF_8)).isEqualTo("1\r\n2\r\n3\r\n");
+            }
+        } finally {
+            System.clearProperty(SystemProperty.CHUNKED_GZIP);
+        }
+    }
+
+    @SuppressWarnings({"unchecked"})
+    @Test
+    public void shouldFlushChunksWhilstWaitingForTheNextResult() throws Exception {
+        // Given
+        final CountDownLatch secondResultAvailable = new CountDownLatch(1);
+        final Iterable<Integer> slowResults = () -> new Iterator<Integer>() {
+            private int next = 1;
+
+            @Override
+            public boolean hasNext() {
+                if (2 == next) {
+                    try {
+                        secondResultAvailable.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }
+                return next <= 2;
+            }
+
+            @Override
+            public Integer next() {
+                return next++;
+            }
+        };
+        when(userFactory.createContext()).thenReturn(new Context(new User()));
+        when(store.execute(any(Output.class), any(Context.class))).thenReturn(slowResults);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // When
+            final ResponseEntity<StreamingResponseBody> response = operationController.executeChunked(new GetAllElements(), null);
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final Future<?> writing = executor.submit(() -> {
+                response.getBody().writeTo(output);
+                return null;
+            });
+
+            // Then - the first result reaches the client whilst the second is being fetched
+            final long deadline = System.currentTimeMillis() + 5000;
+            while (0 == output.size() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(output.toString(StandardCharsets.UTF_8.name())).isEqualTo("1\r\n");
+
+            secondResultAvailable.countDown();
+            writing.get(5, TimeUnit.SECONDS);
+            assertThat(output.toString(StandardCharsets.UTF_8.name())).isEqualTo("1\r\n2\r\n");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private static class UninstantiatableOperation implements Operation {
 
         @Override
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2022 Crown Copyright
+ * Copyright 2016-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -49,12 +49,16 @@ public class AccumuloProperties extends StoreProperties {
     public static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER = "accumulo.maxBufferSizeForBatchWriterInBytes";
     public static final String MAX_TIME_OUT_FOR_BATCH_WRITER = "accumulo.maxTimeOutForBatchWriterInMilliseconds";
     public static final String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
+    public static final String NUM_THREADS_FOR_INGEST = "accumulo.numThreadsForIngest";
+    public static final String INGEST_AGGREGATION_BUFFER_SIZE = "accumulo.ingestAggregationBufferSize";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
     public static final String HDFS_SKIP_PERMISSIONS = "accumulostore.operation.hdfs.skip_permissions";
 
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
+    private static final String NUM_THREADS_FOR_INGEST_DEFAULT = "1";
+    private static final String INGEST_AGGREGATION_BUFFER_SIZE_DEFAULT = "0";
     private static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
     private static final String CLIENT_SIDE_BLOOM_FILTER_SIZE_DEFAULT = "838860800";
     private static final String FALSE_POSITIVE_RATE_DEFAULT = "0.0002";
@@ -150,6 +154,46 @@ public class AccumuloProperties extends StoreProperties {
         return Long.parseLong(get(MAX_BUFFER_SIZE_FOR_BATCH_WRITER, MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT));
     }
 
+    /**
+     * Sets the number of threads that should be used to convert elements
+     * into mutations when adding elements.
+     *
+     * @param numThreadsForIngest The number of threads to convert elements on, 1 to use the calling thread.
+     */
+    public void setNumThreadsForIngest(final String numThreadsForIngest) {
+        set(NUM_THREADS_FOR_INGEST, numThreadsForIngest);
+    }
+
+    /**
+     * Gets the number of threads that should be used to convert elements
+     * into mutations when adding elements.
+     *
+     * @return The number of threads to convert elements on, 1 to use the calling thread.
+     */
+    public int getNumThreadsForIngest() {
+        return Integer.parseInt(get(NUM_THREADS_FOR_INGEST, NUM_THREADS_FOR_INGEST_DEFAULT));
+    }
+
+    /**
+     * Sets the number of elements that should be ingest aggregated together
+     * before they are written to Accumulo.
+     *
+     * @param ingestAggregationBufferSize The number of elements to aggregate together, 0 to disable.
+     */
+    public void setIngestAggregationBufferSize(final String ingestAggregationBufferSize) {
+        set(INGEST_AGGREGATION_BUFFER_SIZE, ingestAggregationBufferSize);
+    }
+
+    /**
+     * Gets the number of elements that should be ingest aggregated together
+     * before they are written to Accumulo.
+     *
+     * @return The number of elements to aggregate together, 0 if disabled.
+     */
+    public int getIngestAggregationBufferSize() {
+        return Integer.parseInt(get(INGEST_AGGREGATION_BUFFER_SIZE, INGEST_AGGREGATION_BUFFER_SIZE_DEFAULT));
+    }
+
     /**
      * Gets the list of Zookeeper servers.
      *
@@ -28,15 +28,18 @@ import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.accumulostore.data.element.AccumuloEdgeValueLoader;
 import uk.gov.gchq.gaffer.accumulostore.data.element.AccumuloEntityValueLoader;
+import uk.gov.gchq.gaffer.accumulostore.key.core.AbstractCoreKeyAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.SerialisedElementFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.ElementFilterException;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsCache;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
-import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.LazyEdge;
 import uk.gov.gchq.gaffer.data.element.LazyEntity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.store.ElementValidator;
@@ -45,9 +48,9 @@ import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.koryphe.iterable.ChainedIterable;
 
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -60,6 +63,11 @@ import static java.util.Objects.isNull;
 /**
  * The AbstractElementFilter will filter out {@link Element}s based on the filtering
  * instructions given in the {@link Schema} or {@link View} that is passed to this iterator.
+ * <p>
+ * When filtering with a {@link View}, simple predicates on properties with suitable
+ * serialisers are compiled into a {@link SerialisedElementFilter} and tested against
+ * the serialised properties in the key and value, so the properties only need to be
+ * deserialised for any remaining predicates.
  */
 @SuppressWarnings("PMD.ImmutableField") //False positive
 public abstract class AbstractElementFilter extends Filter {
@@ -74,6 +82,8 @@ public abstract class AbstractElementFilter extends Filter {
 
     private Set<String> groupsWithoutFilters = Collections.emptySet();
 
+    private Map<String, SerialisedElementFilter> serialisedFilters = Collections.emptyMap();
+
     private final ElementValidator.FilterType filterType;
 
     protected AbstractElementFilter(final ElementValidator.FilterType filterType) {
@@ -87,6 +97,16 @@ public abstract class AbstractElementFilter extends Filter {
             return true;
         }
 
+        final SerialisedElementFilter serialisedFilter = serialisedFilters.get(group);
+        if (null != serialisedFilter) {
+            if (!serialisedFilter.test(key.getColumnQualifierData().getBackingArray(), value.get())) {
+                return false;
+            }
+            if (null == serialisedFilter.getRemainingFilter()) {
+                return true;
+            }
+        }
+
         final Element element;
         if (schema.isEntity(group)) {
             element = new LazyEntity(new Entity(group),
@@ -95,7 +115,7 @@ public abstract class AbstractElementFilter extends Filter {
             element = new LazyEdge(new Edge(group, null, null, false),
                     new AccumuloEdgeValueLoader(group, key, value, elementConverter, schema, true));
         }
-        return elementPredicate.test(element);
+        return null != serialisedFilter ? serialisedFilter.getRemainingFilter().test(element) : elementPredicate.test(element);
     }
 
     @Override
@@ -104,19 +124,14 @@ public abstract class AbstractElementFilter extends Filter {
                      final IteratorEnvironment env)
             throws IOException {
         super.init(source, options, env);
-        schema = Schema.fromJson(StringUtil.toBytes(options.get(AccumuloStoreConstants.SCHEMA)));
+        schema = IteratorOptionsCache.getSchema(options.get(AccumuloStoreConstants.SCHEMA));
         LOGGER.debug("Initialising AbstractElementFilter with Schema {}", schema);
 
         final String elementConverterClass = options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
         try {
-            elementConverter = Class
-                    .forName(elementConverterClass)
-                    .asSubclass(AccumuloElementConverter.class)
-                    .getConstructor(Schema.class)
-                    .newInstance(schema);
+            elementConverter = IteratorOptionsCache.getElementConverter(elementConverterClass, options.get(AccumuloStoreConstants.SCHEMA));
             LOGGER.debug("Creating AccumuloElementConverter of class {}", elementConverterClass);
-        } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
-                | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+        } catch (final ReflectiveOperationException | IllegalArgumentException | SecurityException e) {
             throw new ElementFilterException("Failed to create element converter of the class name provided ("
                     + elementConverterClass + ")", e);
         }
@@ -129,13 +144,15 @@ public abstract class AbstractElementFilter extends Filter {
             if (isNull(viewJson)) {
                 throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.VIEW);
             }
-            final View view = View.fromJson(StringUtil.toBytes(viewJson));
+            final View view = IteratorOptionsCache.getView(viewJson);
             LOGGER.debug("Determining groups that don't need to be filtered based on view {}", view);
             if (filterType == ElementValidator.FilterType.PRE_AGGREGATION_FILTER) {
                 updateViewGroupsWithoutFilters(view, ViewElementDefinition::hasPreAggregationFilters);
+                updateSerialisedFilters(view, ViewElementDefinition::getPreAggregationFilter);
                 elementPredicate = new ElementValidator(view)::validateInput;
             } else {
                 updateViewGroupsWithoutFilters(view, ViewElementDefinition::hasPostAggregationFilters);
+                updateSerialisedFilters(view, ViewElementDefinition::getPostAggregationFilter);
                 elementPredicate = new ElementValidator(view)::validateAggregation;
             }
         }
@@ -153,6 +170,8 @@ public abstract class AbstractElementFilter extends Filter {
         newInstance.schema = schema;
         newInstance.elementConverter = elementConverter;
         newInstance.elementPredicate = elementPredicate;
+        newInstance.groupsWithoutFilters = groupsWithoutFilters;
+        newInstance.serialisedFilters = serialisedFilters;
         return newInstance;
     }
 
@@ -192,6 +211,26 @@ public abstract class AbstractElementFilter extends Filter {
         LOGGER.debug("The following groups will not be filtered: {}", StringUtils.join(groupsWithoutFilters, ','));
     }
 
+    private void updateSerialisedFilters(final View view, final Function<ViewElementDefinition, ElementFilter> getFilter) {
+        // The serialised properties are only understood for the core key converters
+        if (!(elementConverter instanceof AbstractCoreKeyAccumuloElementConverter)) {
+            return;
+        }
+
+        serialisedFilters = new HashMap<>();
+        for (final Map<String, ViewElementDefinition> elementDefs : Arrays.asList(view.getEntities(), view.getEdges())) {
+            for (final Map.Entry<String, ViewElementDefinition> entry : elementDefs.entrySet()) {
+                if (null != entry.getValue() && !groupsWithoutFilters.contains(entry.getKey())) {
+                    final SerialisedElementFilter serialisedFilter = SerialisedElementFilter.compile(schema, entry.getKey(), getFilter.apply(entry.getValue()));
+                    if (null != serialisedFilter) {
+                        serialisedFilters.put(entry.getKey(), serialisedFilter);
+                    }
+                }
+            }
+        }
+        LOGGER.debug("The following groups will be filtered using their serialised properties: {}", StringUtils.join(serialisedFilters.keySet(), ','));
+    }
+
     @SuppressWarnings({"unchecked", "PMD.UseTryWithResources"})
     private void updateSchemaGroupsWithoutFilters() {
         groupsWithoutFilters = new HashSet<>();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2020 Crown Copyright
+ * Copyright 2016-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 
 /**
  * The iterator settings factory is designed to enable the AccumuloStore to
@@ -125,6 +126,21 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getRowIDAggregatorIteratorSetting(final AccumuloStore store, final String columnFamily) throws IteratorSettingException;
 
+    /**
+     * Returns an Iterator that will remove the values of the edges returned for
+     * a {@link GetAdjacentIds} query, as only the adjacent vertex in the key is
+     * needed. This method may return null if this type of iterator is not
+     * required. By default no iterator is returned, so the values are not
+     * removed.
+     *
+     * @param operation the GetAdjacentIds operation
+     * @return A new {@link IteratorSetting} for an Iterator that will remove the values of edges
+     * @throws IteratorSettingException if an iterator setting could not be created
+     */
+    default IteratorSetting getAdjacentIdIteratorSetting(final GetAdjacentIds operation) throws IteratorSettingException {
+        return null;
+    }
+
     /**
      * Returns an Iterator to be applied when doing range operations that will do any filtering of
      * Element properties that may have otherwise been done elsewhere e.g via
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2020 Crown Copyright
+ * Copyright 2016-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyAdjacentIdIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyBloomFilterIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyGroupByAggregatorIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
@@ -35,6 +36,7 @@ import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.accumulostore.utils.IteratorSettingBuilder;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
@@ -142,6 +144,23 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
         return is;
     }
 
+    @Override
+    public IteratorSetting getAdjacentIdIteratorSetting(final GetAdjacentIds operation) throws IteratorSettingException {
+        final boolean deduplicate = "TRUE".equalsIgnoreCase(operation.getOption(AccumuloStoreConstants.GET_ADJACENT_IDS_DEDUPLICATE));
+        final IteratorSettingBuilder builder = new IteratorSettingBuilder(AccumuloStoreConstants.ADJACENT_ID_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.ADJACENT_ID_ITERATOR_NAME, CoreKeyAdjacentIdIterator.class)
+                .view(operation.getView());
+        if (deduplicate) {
+            builder.option(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_IDS, "true");
+        }
+        final IteratorSetting is = builder.build();
+        LOGGER.debug("Creating IteratorSetting for iterator class {} with priority = {}, view = {}, deduplicate = {}",
+                CoreKeyAdjacentIdIterator.class.getName(),
+                AccumuloStoreConstants.ADJACENT_ID_ITERATOR_PRIORITY,
+                operation.getView(), deduplicate);
+        return is;
+    }
+
     @Override
     public IteratorSetting getValidatorIteratorSetting(final AccumuloStore store) {
         if (!store.getSchema().hasValidation()) {
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.core;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.ByteUtils;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedDateSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedIntegerSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
+import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import uk.gov.gchq.koryphe.impl.predicate.range.InRange;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * An {@link ElementFilter} compiled to test the serialised properties of an element,
+ * as written to the column qualifier and value by {@link AbstractCoreKeyAccumuloElementConverter},
+ * without deserialising them.
+ * <p>
+ * {@link IsEqual} predicates are compiled for any consistent serialiser.
+ * {@link IsMoreThan}, {@link IsLessThan} and {@link InRange} predicates are only
+ * compiled for serialisers whose serialised bytes are known to sort in the same
+ * order as the objects, see {@link #ORDERED_SERIALISERS}. The control values must
+ * be of the class of the property. Any other predicates are left in the
+ * remaining filter, which should be applied to the deserialised element.
+ */
+public final class SerialisedElementFilter {
+    /**
+     * Serialisers whose serialised bytes sort, as unsigned bytes, in the same order as the objects.
+     * The ordered double and float serialisers are not included as they do not
+     * preserve the ordering of negative numbers.
+     */
+    public static final Set<Class<? extends ToBytesSerialiser>> ORDERED_SERIALISERS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            OrderedLongSerialiser.class,
+            OrderedIntegerSerialiser.class,
+            OrderedDateSerialiser.class)));
+
+    private final List<SerialisedPropertyPredicate> predicates;
+    private final ElementFilter remainingFilter;
+
+    private SerialisedElementFilter(final List<SerialisedPropertyPredicate> predicates, final ElementFilter remainingFilter) {
+        this.predicates = predicates;
+        this.remainingFilter = remainingFilter;
+    }
+
+    /**
+     * Compiles the predicates in the filter that can be tested against the
+     * serialised properties of elements in the group.
+     *
+     * @param schema the schema
+     * @param group  the group of the elements to be filtered
+     * @param filter the filter to compile
+     * @return the compiled filter, or null if none of the predicates in the filter could be compiled
+     */
+    public static SerialisedElementFilter compile(final Schema schema, final String group, final ElementFilter filter) {
+        final SchemaElementDefinition elementDef = schema.getElement(group);
+        if (isNull(elementDef) || isNull(filter)) {
+            return null;
+        }
+
+        final List<SerialisedPropertyPredicate> predicates = new ArrayList<>();
+        final ElementFilter remainingFilter = new ElementFilter();
+        for (final TupleAdaptedPredicate<String, ?> component : filter.getComponents()) {
+            final SerialisedPropertyPredicate predicate = compile(schema, elementDef, component);
+            if (nonNull(predicate)) {
+                predicates.add(predicate);
+            } else {
+                remainingFilter.getComponents().add(component);
+            }
+        }
+
+        if (predicates.isEmpty()) {
+            return null;
+        }
+        return new SerialisedElementFilter(predicates,
+                remainingFilter.getComponents().isEmpty() ? null : remainingFilter);
+    }
+
+    /**
+     * Tests the compiled predicates against the serialised properties.
+     *
+     * @param columnQualifier the column qualifier containing the serialised groupBy properties
+     * @param value           the value containing the other serialised properties
+     * @return true if all the compiled predicates pass
+     */
+    public boolean test(final byte[] columnQualifier, final byte[] value) {
+        for (final SerialisedPropertyPredicate predicate : predicates) {
+            if (!predicate.test(predicate.inColumnQualifier ? columnQualifier : value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the predicates that could not be compiled, or null if all the
+     * predicates were compiled
+     */
+    public ElementFilter getRemainingFilter() {
+        return remainingFilter;
+    }
+
+    private static SerialisedPropertyPredicate compile(final Schema schema, final SchemaElementDefinition elementDef,
+                                                       final TupleAdaptedPredicate<String, ?> component) {
+        final String[] selection = component.getSelection();
+        if (isNull(selection) || selection.length != 1) {
+            return null;
+        }
+
+        final String propertyName = selection[0];
+        if (!elementDef.containsProperty(propertyName)
+                || nonNull(IdentifierType.fromName(propertyName))
+                || propertyName.equals(schema.getVisibilityProperty())
+                || propertyName.equals(schema.getConfig(AccumuloStoreConstants.TIMESTAMP_PROPERTY))) {
+            return null;
+        }
+
+        final TypeDefinition typeDef = elementDef.getPropertyTypeDef(propertyName);
+        if (isNull(typeDef) || !(typeDef.getSerialiser() instanceof ToBytesSerialiser)) {
+            return null;
+        }
+
+        final boolean inColumnQualifier = elementDef.getGroupBy().contains(propertyName);
+        final Iterable<String> propertyNames = inColumnQualifier ? elementDef.getGroupBy() : elementDef.getProperties();
+        int index = 0;
+        for (final String name : propertyNames) {
+            if (name.equals(propertyName)) {
+                break;
+            }
+            // Properties without a serialiser are skipped when the properties are deserialised
+            if ((inColumnQualifier || isStoredInValue(schema, elementDef, name))
+                    && nonNull(elementDef.getPropertyTypeDef(name))
+                    && nonNull(elementDef.getPropertyTypeDef(name).getSerialiser())) {
+                index++;
+            }
+        }
+
+        try {
+            return compile(component.getPredicate(), (ToBytesSerialiser) typeDef.getSerialiser(), typeDef.getClazz(),
+                    inColumnQualifier, index);
+        } catch (final SerialisationException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SerialisedPropertyPredicate compile(final Predicate predicate, final ToBytesSerialiser serialiser, final Class<?> clazz,
+                                                       final boolean inColumnQualifier, final int index) throws SerialisationException {
+        final boolean ordered = ORDERED_SERIALISERS.contains(serialiser.getClass());
+        final SerialisedPropertyPredicate compiled = new SerialisedPropertyPredicate(predicate, serialiser.deserialiseEmpty(), inColumnQualifier, index);
+        if (IsEqual.class == predicate.getClass()) {
+            final Object controlValue = ((IsEqual) predicate).getControlValue();
+            if (!serialiser.isConsistent() || !isOfClass(controlValue, clazz)) {
+                return null;
+            }
+            compiled.lower = serialiser.serialise(controlValue);
+            compiled.lowerInclusive = true;
+            compiled.upper = compiled.lower;
+            compiled.upperInclusive = true;
+        } else if (IsMoreThan.class == predicate.getClass() && ordered) {
+            final IsMoreThan isMoreThan = (IsMoreThan) predicate;
+            if (!isOfClass(isMoreThan.getControlValue(), clazz)) {
+                return null;
+            }
+            compiled.lower = serialiser.serialise(isMoreThan.getControlValue());
+            compiled.lowerInclusive = isMoreThan.getOrEqualTo();
+        } else if (IsLessThan.class == predicate.getClass() && ordered) {
+            final IsLessThan isLessThan = (IsLessThan) predicate;
+            if (!isOfClass(isLessThan.getControlValue(), clazz)) {
+                return null;
+            }
+            compiled.upper = serialiser.serialise(isLessThan.getControlValue());
+            compiled.upperInclusive = isLessThan.getOrEqualTo();
+        } else if (InRange.class == predicate.getClass() && ordered) {
+            final InRange inRange = (InRange) predicate;
+            final Comparable start = inRange.getStart();
+            final Comparable end = inRange.getEnd();
+            if ((isNull(start) && isNull(end))
+                    || (nonNull(start) && !isOfClass(start, clazz))
+                    || (nonNull(end) && !isOfClass(end, clazz))
+                    || (nonNull(start) && nonNull(end) && start.compareTo(end) > 0)) {
+                return null;
+            }
+            if (nonNull(start)) {
+                compiled.lower = serialiser.serialise(start);
+                compiled.lowerInclusive = !Boolean.FALSE.equals(inRange.isStartInclusive());
+            }
+            if (nonNull(end)) {
+                compiled.upper = serialiser.serialise(end);
+                compiled.upperInclusive = !Boolean.FALSE.equals(inRange.isEndInclusive());
+            }
+        } else {
+            return null;
+        }
+        return compiled;
+    }
+
+    private static boolean isOfClass(final Object value, final Class<?> clazz) {
+        return nonNull(value) && value.getClass() == clazz;
+    }
+
+    private static boolean isStoredInValue(final Schema schema, final SchemaElementDefinition elementDef, final String propertyName) {
+        return !elementDef.getGroupBy().contains(propertyName)
+                && !propertyName.equals(schema.getVisibilityProperty())
+                && !propertyName.equals(schema.getConfig(AccumuloStoreConstants.TIMESTAMP_PROPERTY));
+    }
+
+    /**
+     * Tests a serialised property against lower and upper bounds. Properties
+     * which are empty or missing are deserialised in the same way as
+     * {@link AbstractCoreKeyAccumuloElementConverter} and tested using the
+     * original predicate.
+     */
+    private static final class SerialisedPropertyPredicate {
+        private final Predicate predicate;
+        private final Object emptyValue;
+        private final boolean inColumnQualifier;
+        private final int index;
+        private byte[] lower;
+        private boolean lowerInclusive;
+        private byte[] upper;
+        private boolean upperInclusive;
+
+        private SerialisedPropertyPredicate(final Predicate predicate, final Object emptyValue, final boolean inColumnQualifier, final int index) {
+            this.predicate = predicate;
+            this.emptyValue = emptyValue;
+            this.inColumnQualifier = inColumnQualifier;
+            this.index = index;
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean test(final byte[] bytes) {
+            final int length = null == bytes ? 0 : bytes.length;
+            int position = 0;
+            for (int i = 0; i < index && position < length; i++) {
+                position += CompactRawSerialisationUtils.decodeVIntSize(bytes[position]) + readLength(bytes, position);
+            }
+            if (position >= length) {
+                return predicate.test(null);
+            }
+
+            final int propertyLength = readLength(bytes, position);
+            if (propertyLength == 0) {
+                return predicate.test(emptyValue);
+            }
+
+            final int from = position + CompactRawSerialisationUtils.decodeVIntSize(bytes[position]);
+            if (nonNull(lower)) {
+                final int comparison = ByteUtils.compareUnsignedBytes(bytes, from, propertyLength, lower);
+                if (comparison < 0 || (comparison == 0 && !lowerInclusive)) {
+                    return false;
+                }
+            }
+            if (nonNull(upper)) {
+                final int comparison = ByteUtils.compareUnsignedBytes(bytes, from, propertyLength, upper);
+                if (comparison > 0 || (comparison == 0 && !upperInclusive)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int readLength(final byte[] bytes, final int position) {
+            try {
+                return (int) CompactRawSerialisationUtils.readLong(bytes, position);
+            } catch (final SerialisationException e) {
+                throw new IllegalArgumentException("Exception reading length of property", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.core.impl;
+
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsCache;
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The CoreKeyAdjacentIdIterator is used by GetAdjacentIds to avoid returning
+ * the properties of edges which are only needed for their adjacent vertex.
+ * The adjacent vertex is held in the row key, so the value of each key is
+ * replaced with an empty value, unless the view has post transform filters for
+ * the group, in which case the full element is needed and the key and value
+ * are returned unchanged.
+ * <p>
+ * If the {@link AccumuloStoreConstants#DEDUPLICATE_ADJACENT_IDS} option is set
+ * then only the first key of each row is returned, as the other keys in the
+ * row are for the same pair of vertices. Keys are only compared within a
+ * single seek, so duplicates across tablets or scan batches are still returned.
+ */
+public class CoreKeyAdjacentIdIterator extends WrappingIterator implements OptionDescriber {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoreKeyAdjacentIdIterator.class);
+
+    private Set<String> groupsWithValues = Collections.emptySet();
+    private boolean deduplicate = false;
+
+    private byte[] lastRow;
+    private Value topValue;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        final String viewJson = options.get(AccumuloStoreConstants.VIEW);
+        if (null != viewJson) {
+            groupsWithValues = getGroupsWithPostTransformFilters(IteratorOptionsCache.getView(viewJson));
+        }
+        deduplicate = options.containsKey(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_IDS);
+        LOGGER.debug("Initialised CoreKeyAdjacentIdIterator with groupsWithValues = {}, deduplicate = {}",
+                groupsWithValues, deduplicate);
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        super.seek(range, columnFamilies, inclusive);
+        lastRow = null;
+        findTop();
+    }
+
+    @Override
+    public void next() throws IOException {
+        super.next();
+        findTop();
+    }
+
+    @Override
+    public Value getTopValue() {
+        return topValue;
+    }
+
+    private void findTop() throws IOException {
+        while (super.hasTop()) {
+            final Key key = super.getTopKey();
+            final String group = StringUtil.toString(key.getColumnFamilyData().getBackingArray());
+            if (groupsWithValues.contains(group)) {
+                topValue = super.getTopValue();
+                return;
+            }
+
+            if (deduplicate) {
+                final byte[] row = key.getRowData().getBackingArray();
+                if (Arrays.equals(lastRow, row)) {
+                    super.next();
+                    continue;
+                }
+                lastRow = row.clone();
+            }
+
+            topValue = new Value(AccumuloStoreConstants.EMPTY_BYTES);
+            return;
+        }
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final CoreKeyAdjacentIdIterator newInstance = new CoreKeyAdjacentIdIterator();
+        newInstance.setSource(getSource().deepCopy(env));
+        newInstance.groupsWithValues = groupsWithValues;
+        newInstance.deduplicate = deduplicate;
+        return newInstance;
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.ADJACENT_ID_ITERATOR_NAME,
+                "Removes the values of edges which are only needed for their adjacent vertex")
+                .addViewNamedOption()
+                .addNamedOption(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_IDS,
+                        "Optional: Set if only the first key of each row should be returned")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        return true;
+    }
+
+    private static Set<String> getGroupsWithPostTransformFilters(final View view) {
+        final Set<String> groups = new HashSet<>();
+        for (final Map<String, ViewElementDefinition> elementDefs : Arrays.asList(view.getEntities(), view.getEdges())) {
+            for (final Map.Entry<String, ViewElementDefinition> entry : elementDefs.entrySet()) {
+                if (null != entry.getValue() && entry.getValue().hasPostTransformFilters()) {
+                    groups.add(entry.getKey());
+                }
+            }
+        }
+        return groups;
+    }
+}
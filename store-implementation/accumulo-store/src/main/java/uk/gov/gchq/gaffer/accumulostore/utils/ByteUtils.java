@@ -38,6 +38,29 @@ public final class ByteUtils {
         return bytes1.length - bytes2.length;
     }
 
+    /**
+     * Compares a range of bytes with an array of bytes, treating each byte as
+     * unsigned. This is the order Accumulo sorts keys in.
+     *
+     * @param bytes1  the first array of bytes
+     * @param offset1 the offset of the range in the first array
+     * @param length1 the length of the range in the first array
+     * @param bytes2  the second array of bytes
+     * @return a negative number, zero or a positive number if the range of bytes
+     * is less than, equal to or greater than the second array of bytes
+     */
+    public static int compareUnsignedBytes(final byte[] bytes1, final int offset1, final int length1, final byte[] bytes2) {
+        final int minLength = Math.min(length1, bytes2.length);
+        for (int i = 0; i < minLength; i++) {
+            final int diff = (bytes1[offset1 + i] & 0xff) - (bytes2[i] & 0xff);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+
+        return length1 - bytes2.length;
+    }
+
     /**
      * Copy of the isEqual method in {@link org.apache.accumulo.core.data.Key}.
      *
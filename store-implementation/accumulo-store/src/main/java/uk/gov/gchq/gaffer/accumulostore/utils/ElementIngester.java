@@ -0,0 +1,318 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Converts {@link Element}s into {@link Mutation}s and adds them to a
+ * {@link BatchWriter}.
+ * <p>
+ * If more than one ingest thread is configured then the elements are read in
+ * batches on the calling thread and each batch is converted to mutations on a
+ * pool of converter threads, which add the mutations to the same thread safe
+ * {@link BatchWriter}. At most two batches per thread are queued at once.
+ * <p>
+ * If an aggregation buffer size is configured then each batch of that many
+ * elements is ingest aggregated, see {@link AggregatorUtil#ingestAggregate(Iterable, Schema)},
+ * before it is converted. This reduces the number of mutations sent to the
+ * tablet servers when the same elements are added repeatedly, for example
+ * when counting edges, but does not change the stored elements as they are
+ * aggregated by the table's iterators anyway.
+ * <p>
+ * The parsed {@link ColumnVisibility} for each serialised visibility is cached.
+ */
+public class ElementIngester {
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int MAX_CACHED_VISIBILITIES = 10000;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElementIngester.class);
+    private static final int COPIED = -1;
+
+    private final AccumuloElementConverter converter;
+    private final Schema schema;
+    private final Collection<String> aggregatedGroups;
+    private final AggregatorUtil.ToIngestElementKey toIngestKey;
+    private final int numThreads;
+    private final int aggregationBufferSize;
+    private final ExecutorService executor;
+    private final Map<ByteBuffer, ColumnVisibility> visibilities = new ConcurrentHashMap<>();
+
+    /**
+     * @param converter             the converter to create the keys and values with
+     * @param schema                the schema, used to aggregate the elements
+     * @param numThreads            the number of threads to convert elements on, if less than 2 the calling thread is used
+     * @param aggregationBufferSize the number of elements to aggregate together, if less than 1 elements are not aggregated
+     */
+    public ElementIngester(final AccumuloElementConverter converter, final Schema schema,
+                           final int numThreads, final int aggregationBufferSize) {
+        this.converter = converter;
+        this.schema = schema;
+        this.aggregatedGroups = schema.getAggregatedGroups();
+        this.toIngestKey = new AggregatorUtil.ToIngestElementKey(schema);
+        this.numThreads = numThreads;
+        this.aggregationBufferSize = aggregationBufferSize;
+        if (numThreads > 1) {
+            executor = Executors.newFixedThreadPool(numThreads, runnable -> {
+                final Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            executor = null;
+        }
+    }
+
+    /**
+     * Converts the elements to mutations and adds them to the writer. The
+     * writer is not closed.
+     *
+     * @param elements the elements to add
+     * @param writer   the writer to add the mutations to
+     * @throws StoreException if the elements could not be added
+     */
+    public void ingest(final Iterable<? extends Element> elements, final BatchWriter writer) throws StoreException {
+        if (isNull(executor) && aggregationBufferSize < 1) {
+            for (final Element element : elements) {
+                addMutations(element, writer);
+            }
+            return;
+        }
+
+        final int batchSize = aggregationBufferSize > 0 ? aggregationBufferSize : DEFAULT_BATCH_SIZE;
+        if (isNull(executor)) {
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : elements) {
+                batch.add(element);
+                if (batch.size() >= batchSize) {
+                    addMutations(batch, writer);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            addMutations(batch, writer);
+        } else {
+            ingestConcurrently(elements, writer, batchSize);
+        }
+    }
+
+    private void ingestConcurrently(final Iterable<? extends Element> elements, final BatchWriter writer, final int batchSize) throws StoreException {
+        final int maxQueuedBatches = numThreads * 2;
+        final Semaphore queuedBatches = new Semaphore(maxQueuedBatches);
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        try {
+            try {
+                List<Element> batch = new ArrayList<>(batchSize);
+                for (final Element element : elements) {
+                    if (nonNull(failure.get())) {
+                        break;
+                    }
+                    batch.add(element);
+                    if (batch.size() >= batchSize) {
+                        submit(batch, writer, queuedBatches, failure);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!batch.isEmpty() && isNull(failure.get())) {
+                    submit(batch, writer, queuedBatches, failure);
+                }
+            } finally {
+                // Wait for the submitted batches to finish
+                queuedBatches.acquire(maxQueuedBatches);
+                queuedBatches.release(maxQueuedBatches);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted whilst adding elements", e);
+        }
+
+        if (nonNull(failure.get())) {
+            throw new StoreException("Failed to add elements: " + failure.get().getMessage(), failure.get());
+        }
+    }
+
+    private void submit(final List<Element> batch, final BatchWriter writer, final Semaphore queuedBatches,
+                        final AtomicReference<RuntimeException> failure) throws InterruptedException {
+        queuedBatches.acquire();
+        try {
+            executor.execute(() -> {
+                try {
+                    addMutations(batch, writer);
+                } catch (final RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    queuedBatches.release();
+                }
+            });
+        } catch (final RuntimeException e) {
+            queuedBatches.release();
+            throw e;
+        }
+    }
+
+    private void addMutations(final List<Element> batch, final BatchWriter writer) {
+        if (aggregationBufferSize > 0) {
+            // Aggregation updates the first element for each key, and its properties, in place.
+            // So a deep copy of that element is aggregated rather than changing the input.
+            final Map<Element, Integer> firstIndexes = new HashMap<>();
+            final Set<Element> notCopied = new HashSet<>();
+            for (int i = 0; i < batch.size(); i++) {
+                final Element element = batch.get(i);
+                if (nonNull(element) && aggregatedGroups.contains(element.getGroup())) {
+                    final Element key = toIngestKey.apply(element);
+                    final Integer firstIndex = firstIndexes.putIfAbsent(key, i);
+                    if (nonNull(firstIndex) && COPIED != firstIndex) {
+                        firstIndexes.put(key, COPIED);
+                        final Element copy = deepClone(batch.get(firstIndex));
+                        if (nonNull(copy)) {
+                            batch.set(firstIndex, copy);
+                        } else {
+                            notCopied.add(key);
+                        }
+                    }
+                }
+            }
+
+            final List<Element> toAggregate;
+            if (notCopied.isEmpty()) {
+                toAggregate = batch;
+            } else {
+                // Elements which could not be copied are not aggregated
+                toAggregate = new ArrayList<>(batch.size());
+                for (final Element element : batch) {
+                    if (nonNull(element) && aggregatedGroups.contains(element.getGroup())
+                            && notCopied.contains(toIngestKey.apply(element))) {
+                        addMutations(element, writer);
+                    } else {
+                        toAggregate.add(element);
+                    }
+                }
+            }
+            for (final Element element : AggregatorUtil.ingestAggregate(toAggregate, schema)) {
+                addMutations(element, writer);
+            }
+        } else {
+            for (final Element element : batch) {
+                addMutations(element, writer);
+            }
+        }
+    }
+
+    // Copies the element by converting it to a key and value and back again,
+    // which deep copies the properties using the schema serialisers.
+    private Element deepClone(final Element element) {
+        try {
+            final Pair<Key, Key> keys = converter.getKeysFromElement(element);
+            final Value value = converter.getValueFromElement(element);
+            return converter.getFullElement(keys.getFirst(), value, false);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.debug("Unable to copy element of group {} for aggregation", element.getGroup(), e);
+            return null;
+        }
+    }
+
+    private void addMutations(final Element element, final BatchWriter writer) {
+        final Pair<Key, Key> keys;
+        try {
+            keys = converter.getKeysFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error(AccumuloStore.FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
+            return;
+        }
+        final Value value;
+        try {
+            value = converter.getValueFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error(AccumuloStore.FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
+            return;
+        }
+        addMutation(keys.getFirst(), value, writer);
+        // If the GraphElement is a Vertex then there will only be 1 key,
+        // and the second will be null.
+        // If the GraphElement is an Edge then there will be 2 keys.
+        if (nonNull(keys.getSecond())) {
+            addMutation(keys.getSecond(), value, writer);
+        }
+    }
+
+    private void addMutation(final Key key, final Value value, final BatchWriter writer) {
+        final Mutation m = new Mutation(key.getRow());
+        m.put(key.getColumnFamily(),
+                key.getColumnQualifier(),
+                getColumnVisibility(key),
+                key.getTimestamp(),
+                value);
+        try {
+            writer.addMutation(m);
+        } catch (final MutationsRejectedException e) {
+            LOGGER.error("Failed to create an accumulo key mutation");
+        }
+    }
+
+    private ColumnVisibility getColumnVisibility(final Key key) {
+        final byte[] visibility = key.getColumnVisibilityData().toArray();
+        final ByteBuffer cacheKey = ByteBuffer.wrap(visibility);
+        ColumnVisibility columnVisibility = visibilities.get(cacheKey);
+        if (isNull(columnVisibility)) {
+            columnVisibility = new ColumnVisibility(visibility);
+            if (visibilities.size() < MAX_CACHED_VISIBILITIES) {
+                visibilities.putIfAbsent(cacheKey, columnVisibility);
+            }
+        }
+        return columnVisibility;
+    }
+
+    /**
+     * Stops the converter threads, if there are any.
+     */
+    public void shutdown() {
+        if (nonNull(executor)) {
+            executor.shutdown();
+        }
+    }
+}
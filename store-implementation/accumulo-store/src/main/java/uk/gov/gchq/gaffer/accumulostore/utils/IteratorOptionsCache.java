@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of the {@link Schema}s, {@link View}s and {@link AccumuloElementConverter}s
+ * parsed from the options of the Gaffer iterators.
+ * <p>
+ * Accumulo creates a new iterator for each scan and compaction, so without this
+ * cache the schema and view json would be deserialised every time. The parsed
+ * objects are keyed on the json itself, so two iterators only share an object if
+ * they were given exactly the same json. The least recently used entries are
+ * evicted once a cache is full.
+ */
+public final class IteratorOptionsCache {
+    public static final int MAX_ENTRIES = 100;
+
+    private static final Map<String, Schema> SCHEMAS = createCache();
+    private static final Map<String, View> VIEWS = createCache();
+    private static final Map<Pair<String, String>, AccumuloElementConverter> CONVERTERS = createCache();
+
+    private IteratorOptionsCache() {
+        // private to prevent this class being instantiated.
+        // All methods are static and should be called directly.
+    }
+
+    public static Schema getSchema(final String schemaJson) {
+        Schema schema = SCHEMAS.get(schemaJson);
+        if (null == schema) {
+            schema = Schema.fromJson(StringUtil.toBytes(schemaJson));
+            final Schema existing = SCHEMAS.putIfAbsent(schemaJson, schema);
+            if (null != existing) {
+                schema = existing;
+            }
+        }
+        return schema;
+    }
+
+    public static View getView(final String viewJson) {
+        View view = VIEWS.get(viewJson);
+        if (null == view) {
+            view = View.fromJson(StringUtil.toBytes(viewJson));
+            final View existing = VIEWS.putIfAbsent(viewJson, view);
+            if (null != existing) {
+                view = existing;
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Gets an {@link AccumuloElementConverter} of the given class for the schema
+     * json, creating it with the cached {@link Schema} if required.
+     *
+     * @param elementConverterClass the class name of the element converter
+     * @param schemaJson            the schema json
+     * @return the element converter
+     * @throws ReflectiveOperationException if the element converter could not be created
+     */
+    public static AccumuloElementConverter getElementConverter(final String elementConverterClass, final String schemaJson)
+            throws ReflectiveOperationException {
+        final Pair<String, String> key = new Pair<>(elementConverterClass, schemaJson);
+        AccumuloElementConverter elementConverter = CONVERTERS.get(key);
+        if (null == elementConverter) {
+            elementConverter = Class
+                    .forName(elementConverterClass)
+                    .asSubclass(AccumuloElementConverter.class)
+                    .getConstructor(Schema.class)
+                    .newInstance(getSchema(schemaJson));
+            final AccumuloElementConverter existing = CONVERTERS.putIfAbsent(key, elementConverter);
+            if (null != existing) {
+                elementConverter = existing;
+            }
+        }
+        return elementConverter;
+    }
+
+    public static void clear() {
+        SCHEMAS.clear();
+        VIEWS.clear();
+        CONVERTERS.clear();
+    }
+
+    private static <K, V> Map<K, V> createCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = -2839416235021853245L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        });
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2022 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -92,6 +92,16 @@ public class AccumuloPropertiesTest {
         assertFalse(props.getEnableKerberos());
     }
 
+    @Test
+    public void shouldNotConvertConcurrentlyOrPreAggregateIngestByDefault() {
+        // Given
+        final AccumuloProperties props = new AccumuloProperties();
+
+        // Then
+        assertEquals(1, props.getNumThreadsForIngest());
+        assertEquals(0, props.getIngestAggregationBufferSize());
+    }
+
     @Test
     public void getPrincipalShouldReturnPrincipal() {
         // Given
@@ -152,6 +162,8 @@ public class AccumuloPropertiesTest {
         final String KEY_PACKAGE_CLASS = "gaffer.store.accumulo.keypackage.class";
         final String REPLICATION_FACTOR = "accumulo.file.replication";
         final String NAMESPACE = "gaffer.namespace";
+        final String NUM_THREADS_INGEST = "4";
+        final String INGEST_AGGREGATION_BUFFER = "1000";
 
         // When
         props.setNumThreadsForBatchWriter(NUM_THREADS_WRITER);
@@ -167,6 +179,8 @@ public class AccumuloPropertiesTest {
         props.setTableFileReplicationFactor(REPLICATION_FACTOR);
         props.setEnableValidatorIterator(true);
         props.setNamespace(NAMESPACE);
+        props.setNumThreadsForIngest(NUM_THREADS_INGEST);
+        props.setIngestAggregationBufferSize(INGEST_AGGREGATION_BUFFER);
 
         // Then
         assertEquals(Integer.parseInt(NUM_THREADS_WRITER), props.getNumThreadsForBatchWriter());
@@ -182,6 +196,8 @@ public class AccumuloPropertiesTest {
         assertEquals(REPLICATION_FACTOR, props.getTableFileReplicationFactor());
         assertTrue(props.getEnableValidatorIterator());
         assertEquals(NAMESPACE, props.getNamespace());
+        assertEquals(Integer.parseInt(NUM_THREADS_INGEST), props.getNumThreadsForIngest());
+        assertEquals(Integer.parseInt(INGEST_AGGREGATION_BUFFER), props.getIngestAggregationBufferSize());
 
     }
 
@@ -58,6 +58,7 @@ import uk.gov.gchq.gaffer.operation.impl.Validate;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.generate.GenerateElements;
 import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
@@ -82,6 +83,7 @@ import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
+import java.util.ArrayList;
 import java.util.Collection;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -275,6 +277,35 @@ public class AccumuloStoreTest {
         assertThat(relatedResults).hasSize(0);
     }
 
+    @Test
+    public void shouldAggregateElementsAddedUsingIngestThreadsAndPreAggregation() throws Exception {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setNumThreadsForIngest("4");
+        properties.setIngestAggregationBufferSize("100");
+        final AccumuloStore store = new SingleUseMiniAccumuloStore();
+        store.initialise("ingestGraph", SCHEMA, properties);
+        final Collection<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + (i % 10))
+                    .property(TestPropertyNames.COUNT, 1)
+                    .build());
+        }
+
+        // When
+        store.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), new Context(new User()));
+        final Iterable<? extends Element> results = store.execute(new GetAllElements(), new Context(new User()));
+
+        // Then
+        assertThat(results)
+                .hasSize(10)
+                .allSatisfy(element -> assertThat(element.getProperty(TestPropertyNames.COUNT)).isEqualTo(100));
+    }
+
     @Test
     public void testStoreReturnsHandlersForRegisteredOperationsGaffer1() {
         testStoreReturnsHandlersForRegisteredOperations(GAFFER_1_KEY_STORE);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2020 Crown Copyright
+ * Copyright 2016-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloKeyPackage;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyAdjacentIdIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPostAggregationFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPreAggregationFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ValidatorFilter;
@@ -31,6 +32,7 @@ import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
@@ -38,6 +40,7 @@ import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
 import uk.gov.gchq.koryphe.impl.predicate.Exists;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -199,6 +202,44 @@ public abstract class AbstractCoreKeyIteratorSettingsFactoryTest {
         assertEquals(converter.getClass().getName(), iterator.getOptions().get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
     }
 
+    @Test
+    public void shouldReturnAdjacentIdIterator() throws Exception {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build();
+        final GetAdjacentIds operation = new GetAdjacentIds.Builder()
+                .view(view)
+                .build();
+
+        // When
+        final IteratorSetting iterator = factory.getAdjacentIdIteratorSetting(operation);
+
+        // Then
+        assertEquals(AccumuloStoreConstants.ADJACENT_ID_ITERATOR_NAME, iterator.getName());
+        assertEquals(AccumuloStoreConstants.ADJACENT_ID_ITERATOR_PRIORITY, iterator.getPriority());
+        assertEquals(CoreKeyAdjacentIdIterator.class.getName(), iterator.getIteratorClass());
+        JsonAssert.assertEquals(view.toCompactJson(), iterator.getOptions().get(AccumuloStoreConstants.VIEW).getBytes());
+        assertFalse(iterator.getOptions().containsKey(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_IDS));
+    }
+
+    @Test
+    public void shouldReturnDeduplicatingAdjacentIdIteratorIfOptionIsSet() throws Exception {
+        // Given
+        final GetAdjacentIds operation = new GetAdjacentIds.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .option(AccumuloStoreConstants.GET_ADJACENT_IDS_DEDUPLICATE, "true")
+                .build();
+
+        // When
+        final IteratorSetting iterator = factory.getAdjacentIdIteratorSetting(operation);
+
+        // Then
+        assertEquals("true", iterator.getOptions().get(AccumuloStoreConstants.DEDUPLICATE_ADJACENT_IDS));
+    }
+
     private Schema createSchema() {
         return new Schema.Builder()
                 .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.core;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedDateSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedDoubleSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.predicate.Exists;
+import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
+import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import uk.gov.gchq.koryphe.impl.predicate.range.InRange;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SerialisedElementFilterTest {
+    private static final String DOUBLE_PROPERTY = "doubleProperty";
+    private static final Schema SCHEMA = new Schema.Builder()
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("true")
+                    .property(TestPropertyNames.PROP_1, "long")
+                    .property(TestPropertyNames.STRING, "string")
+                    .property(TestPropertyNames.COUNT, "long")
+                    .property(TestPropertyNames.DATE, "date")
+                    .property(DOUBLE_PROPERTY, "double")
+                    .groupBy(TestPropertyNames.PROP_1)
+                    .build())
+            .type("string", new TypeDefinition.Builder()
+                    .clazz(String.class)
+                    .serialiser(new StringSerialiser())
+                    .build())
+            .type("long", new TypeDefinition.Builder()
+                    .clazz(Long.class)
+                    .serialiser(new OrderedLongSerialiser())
+                    .build())
+            .type("date", new TypeDefinition.Builder()
+                    .clazz(Date.class)
+                    .serialiser(new OrderedDateSerialiser())
+                    .build())
+            .type("double", new TypeDefinition.Builder()
+                    .clazz(Double.class)
+                    .serialiser(new OrderedDoubleSerialiser())
+                    .build())
+            .type("true", Boolean.class)
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+    private static final ByteEntityAccumuloElementConverter CONVERTER = new ByteEntityAccumuloElementConverter(SCHEMA);
+
+    @Test
+    public void shouldGiveSameResultAsFilterForCompiledPredicates() {
+        // Given
+        final List<ElementFilter> filters = Arrays.asList(
+                new ElementFilter.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new IsMoreThan(5L))
+                        .build(),
+                new ElementFilter.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new IsLessThan(-1L, true))
+                        .build(),
+                new ElementFilter.Builder()
+                        .select(TestPropertyNames.PROP_1)
+                        .execute(new IsEqual(300L))
+                        .select(TestPropertyNames.STRING)
+                        .execute(new IsEqual("a"))
+                        .build(),
+                new ElementFilter.Builder()
+                        .select(TestPropertyNames.DATE)
+                        .execute(new InRange.Builder<Date>()
+                                .start(new Date(-1000L))
+                                .end(new Date(1000L))
+                                .endInclusive(false)
+                                .build())
+                        .build());
+        final List<Edge> edges = Arrays.asList(
+                createEdge(300L, "a", -300L, new Date(-1000L)),
+                createEdge(-1L, "b", -1L, new Date(1000L)),
+                createEdge(0L, "a", 0L, new Date(0L)),
+                createEdge(300L, "", 5L, new Date(999L)),
+                createEdge(Long.MAX_VALUE, "ab", 6L, new Date(-1001L)),
+                createEdge(null, null, null, null));
+
+        for (final ElementFilter filter : filters) {
+            // When
+            final SerialisedElementFilter serialisedFilter = SerialisedElementFilter.compile(SCHEMA, TestGroups.EDGE, filter);
+
+            // Then
+            assertThat(serialisedFilter).isNotNull();
+            assertThat(serialisedFilter.getRemainingFilter()).isNull();
+            for (final Edge edge : edges) {
+                assertThat(test(serialisedFilter, edge))
+                        .as("Filter %s on edge %s", filter, edge)
+                        .isEqualTo(filter.test(edge));
+            }
+        }
+    }
+
+    @Test
+    public void shouldLeavePredicatesThatCannotBeCompiledInRemainingFilter() {
+        // Given
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select(TestPropertyNames.COUNT)
+                .execute(new IsMoreThan(5L))
+                .select(TestPropertyNames.STRING)
+                .execute(new IsMoreThan("a"))
+                .select(DOUBLE_PROPERTY)
+                .execute(new IsLessThan(1.0))
+                .select(TestPropertyNames.COUNT)
+                .execute(new IsMoreThan(5))
+                .select(TestPropertyNames.COUNT)
+                .execute(new Exists())
+                .build();
+
+        // When
+        final SerialisedElementFilter serialisedFilter = SerialisedElementFilter.compile(SCHEMA, TestGroups.EDGE, filter);
+
+        // Then
+        assertThat(serialisedFilter.getRemainingFilter().getComponents())
+                .containsExactlyElementsOf(filter.getComponents().subList(1, 5));
+        assertThat(test(serialisedFilter, createEdge(1L, "b", 6L, null))).isTrue();
+        assertThat(test(serialisedFilter, createEdge(1L, "b", 5L, null))).isFalse();
+    }
+
+    @Test
+    public void shouldReturnNullWhenNoPredicatesCanBeCompiled() {
+        // Given
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select(TestPropertyNames.STRING)
+                .execute(new IsMoreThan("a"))
+                .build();
+
+        // When
+        final SerialisedElementFilter serialisedFilter = SerialisedElementFilter.compile(SCHEMA, TestGroups.EDGE, filter);
+
+        // Then
+        assertThat(serialisedFilter).isNull();
+    }
+
+    @Test
+    public void shouldTestPredicateWithNullWhenValueIsEmpty() {
+        // Given
+        final SerialisedElementFilter serialisedFilter = SerialisedElementFilter.compile(SCHEMA, TestGroups.EDGE,
+                new ElementFilter.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new IsLessThan(5L))
+                        .build());
+
+        // When
+        final boolean result = serialisedFilter.test(new byte[0], new byte[0]);
+
+        // Then
+        assertThat(result).isFalse();
+    }
+
+    private static boolean test(final SerialisedElementFilter filter, final Edge edge) {
+        return filter.test(CONVERTER.buildColumnQualifier(edge.getGroup(), edge.getProperties()),
+                CONVERTER.getValueFromElement(edge).get());
+    }
+
+    private static Edge createEdge(final Long groupBy, final String string, final Long count, final Date date) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.PROP_1, groupBy)
+                .property(TestPropertyNames.STRING, string)
+                .property(TestPropertyNames.COUNT, count)
+                .property(TestPropertyNames.DATE, date)
+                .build();
+    }
+}
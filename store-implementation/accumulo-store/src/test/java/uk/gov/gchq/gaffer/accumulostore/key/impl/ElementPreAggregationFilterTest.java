@@ -24,13 +24,19 @@ import uk.gov.gchq.gaffer.accumulostore.key.AbstractElementFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
@@ -169,6 +175,49 @@ public class ElementPreAggregationFilterTest {
         assertFalse(accept);
     }
 
+    @Test
+    public void shouldFilterElementsUsingSerialisedProperties() throws Exception {
+        // Given
+        final AbstractElementFilter filter = new ElementPreAggregationFilter();
+
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.SCHEMA, getSchemaJson());
+        options.put(AccumuloStoreConstants.VIEW, new String(new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.COUNT)
+                                .execute(new IsMoreThan(5L))
+                                .build())
+                        .build())
+                .build().toCompactJson(), StandardCharsets.UTF_8));
+        options.put(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS,
+                ByteEntityAccumuloElementConverter.class.getName());
+
+        filter.init(null, options, null);
+
+        final ByteEntityAccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(getSchema());
+        final Element element1 = createEdgeWithCount(6L);
+        final Element element2 = createEdgeWithCount(5L);
+
+        // When
+        final boolean accept1 = filter.accept(converter.getKeysFromElement(element1).getFirst(), converter.getValueFromElement(element1));
+        final boolean accept2 = filter.accept(converter.getKeysFromElement(element2).getFirst(), converter.getValueFromElement(element2));
+
+        // Then
+        assertTrue(accept1);
+        assertFalse(accept2);
+    }
+
+    private Element createEdgeWithCount(final long count) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+    }
+
     private String getViewJson() {
         final View view = new View.Builder()
                 .edge(TestGroups.EDGE)
@@ -187,9 +236,14 @@ public class ElementPreAggregationFilterTest {
     private Schema getSchema() {
         return new Schema.Builder()
                 .type("string", String.class)
+                .type("long", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .serialiser(new OrderedLongSerialiser())
+                        .build())
                 .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
                         .source("string")
                         .destination("string")
+                        .property(TestPropertyNames.COUNT, "long")
                         .build())
                 .vertexSerialiser(new StringSerialiser())
                 .build();
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
+
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMiniAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccumuloAdjacentIdRetrieverTest {
+
+    private static final AccumuloStore BYTE_ENTITY_STORE = new SingleUseMiniAccumuloStore();
+    private static final AccumuloStore GAFFER_1_KEY_STORE = new SingleUseMiniAccumuloStore();
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(AccumuloAdjacentIdRetrieverTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(AccumuloAdjacentIdRetrieverTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(AccumuloAdjacentIdRetrieverTest.class, "/accumuloStoreClassicKeys.properties"));
+
+    @BeforeEach
+    public void reInitialise() throws Exception {
+        BYTE_ENTITY_STORE.initialise("byteEntityGraph", SCHEMA, PROPERTIES);
+        GAFFER_1_KEY_STORE.initialise("gaffer1Graph", SCHEMA, CLASSIC_PROPERTIES);
+        setupGraph(BYTE_ENTITY_STORE);
+        setupGraph(GAFFER_1_KEY_STORE);
+    }
+
+    @Test
+    public void shouldGetAdjacentIdForEachEdge() throws Exception {
+        for (final AccumuloStore store : Arrays.asList(BYTE_ENTITY_STORE, GAFFER_1_KEY_STORE)) {
+            // Given
+            final GetAdjacentIds operation = new GetAdjacentIds.Builder()
+                    .input(new EntitySeed("A"))
+                    .view(new View.Builder().edge(TestGroups.EDGE).build())
+                    .build();
+
+            // When
+            final List<Object> results = getAdjacentVertices(store, operation);
+
+            // Then
+            assertThat(results).containsExactlyInAnyOrder("B", "B", "C");
+        }
+    }
+
+    @Test
+    public void shouldDeduplicateAdjacentIdsWhenOptionIsSet() throws Exception {
+        for (final AccumuloStore store : Arrays.asList(BYTE_ENTITY_STORE, GAFFER_1_KEY_STORE)) {
+            // Given
+            final GetAdjacentIds operation = new GetAdjacentIds.Builder()
+                    .input(new EntitySeed("A"))
+                    .view(new View.Builder().edge(TestGroups.EDGE).build())
+                    .option(AccumuloStoreConstants.GET_ADJACENT_IDS_DEDUPLICATE, "true")
+                    .build();
+
+            // When
+            final List<Object> results = getAdjacentVertices(store, operation);
+
+            // Then
+            assertThat(results).containsExactlyInAnyOrder("B", "C");
+        }
+    }
+
+    @Test
+    public void shouldApplyPostTransformFiltersToFullElements() throws Exception {
+        for (final AccumuloStore store : Arrays.asList(BYTE_ENTITY_STORE, GAFFER_1_KEY_STORE)) {
+            // Given
+            final GetAdjacentIds operation = new GetAdjacentIds.Builder()
+                    .input(new EntitySeed("A"))
+                    .view(new View.Builder()
+                            .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                                    .postTransformFilter(new ElementFilter.Builder()
+                                            .select(AccumuloPropertyNames.COUNT)
+                                            .execute(new IsMoreThan(5))
+                                            .build())
+                                    .build())
+                            .build())
+                    .option(AccumuloStoreConstants.GET_ADJACENT_IDS_DEDUPLICATE, "true")
+                    .build();
+
+            // When
+            final List<Object> results = getAdjacentVertices(store, operation);
+
+            // Then
+            assertThat(results).containsExactly("B");
+        }
+    }
+
+    @Test
+    public void shouldRemoveValuesOfEdgesWithoutPostTransformFilters() throws Exception {
+        for (final AccumuloStore store : Arrays.asList(BYTE_ENTITY_STORE, GAFFER_1_KEY_STORE)) {
+            // Given
+            final GetAdjacentIds operation = new GetAdjacentIds.Builder()
+                    .input(new EntitySeed("A"))
+                    .view(new View.Builder().edge(TestGroups.EDGE).build())
+                    .build();
+            final Scanner scanner = store.getConnection().createScanner(store.getTableName(), new Authorizations());
+            scanner.addScanIterator(store.getKeyPackage().getIteratorFactory().getAdjacentIdIteratorSetting(operation));
+
+            // When
+            final List<Value> values = new ArrayList<>();
+            for (final Map.Entry<Key, Value> entry : scanner) {
+                values.add(entry.getValue());
+            }
+            scanner.close();
+
+            // Then
+            assertThat(values).isNotEmpty()
+                    .allMatch(value -> 0 == value.getSize());
+        }
+    }
+
+    private List<Object> getAdjacentVertices(final AccumuloStore store, final GetAdjacentIds operation) throws Exception {
+        final List<Object> results = new ArrayList<>();
+        final AccumuloAdjacentIdRetriever retriever = new AccumuloAdjacentIdRetriever(store, operation, new User());
+        for (final EntityId entityId : retriever) {
+            results.add(entityId.getVertex());
+        }
+        retriever.close();
+        return results;
+    }
+
+    private static void setupGraph(final AccumuloStore store) throws Exception {
+        final List<Element> elements = Arrays.asList(
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("A")
+                        .dest("B")
+                        .directed(true)
+                        .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 1)
+                        .property(AccumuloPropertyNames.COUNT, 10)
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("A")
+                        .dest("B")
+                        .directed(true)
+                        .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 2)
+                        .property(AccumuloPropertyNames.COUNT, 1)
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("A")
+                        .dest("C")
+                        .directed(true)
+                        .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 1)
+                        .property(AccumuloPropertyNames.COUNT, 1)
+                        .build());
+        store.execute(new AddElements.Builder().input(elements).build(), new Context(new User()));
+    }
+}
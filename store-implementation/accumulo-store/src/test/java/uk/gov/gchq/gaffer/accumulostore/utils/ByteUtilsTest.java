@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2021 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -169,5 +170,14 @@ public class ByteUtilsTest {
         assertTrue(ByteUtils.areKeyBytesEqual(br1, br2));
     }
 
+    @Test
+    public void shouldCompareRangeOfBytesAsUnsignedBytes() {
+        final byte[] bytes = new byte[]{0, 11, (byte) 200, 1};
 
+        assertEquals(0, ByteUtils.compareUnsignedBytes(bytes, 1, 2, new byte[]{11, (byte) 200}));
+        assertTrue(ByteUtils.compareUnsignedBytes(bytes, 1, 2, new byte[]{11, 100}) > 0);
+        assertTrue(ByteUtils.compareUnsignedBytes(bytes, 1, 2, new byte[]{11, (byte) 201}) < 0);
+        assertTrue(ByteUtils.compareUnsignedBytes(bytes, 1, 2, new byte[]{11}) > 0);
+        assertTrue(ByteUtils.compareUnsignedBytes(bytes, 1, 2, new byte[]{11, (byte) 200, 0}) < 0);
+    }
 }
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.data.Mutation;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.serialisation.FreqMapSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.types.FreqMap;
+import uk.gov.gchq.gaffer.types.function.FreqMapAggregator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ElementIngesterTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(ElementIngesterTest.class));
+    private static final String FREQ_MAP = "freqMap";
+    private static final Schema FREQ_MAP_SCHEMA = new Schema.Builder()
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property(FREQ_MAP, "freqMap")
+                    .build())
+            .type("string", new TypeDefinition.Builder()
+                    .clazz(String.class)
+                    .serialiser(new StringSerialiser())
+                    .build())
+            .type("freqMap", new TypeDefinition.Builder()
+                    .clazz(FreqMap.class)
+                    .aggregateFunction(new FreqMapAggregator())
+                    .serialiser(new FreqMapSerialiser())
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    @Test
+    public void shouldAddMutationForEachKeyWhenNotAggregating() throws StoreException {
+        // Given
+        final ElementIngester ingester = createIngester(1, 0);
+        final CountingBatchWriter writer = new CountingBatchWriter();
+
+        // When
+        ingester.ingest(Collections.nCopies(10, createEdge(TestGroups.EDGE)), writer);
+
+        // Then
+        assertThat(writer.mutations.get()).isEqualTo(20);
+    }
+
+    @Test
+    public void shouldPreAggregateElementsInAggregatedGroups() throws StoreException {
+        // Given
+        final ElementIngester ingester = createIngester(1, 100);
+        final CountingBatchWriter writer = new CountingBatchWriter();
+        final List<Element> elements = new ArrayList<>();
+        elements.addAll(Collections.nCopies(250, createEdge(TestGroups.EDGE)));
+        elements.addAll(Collections.nCopies(5, createEdge(TestGroups.EDGE_3)));
+
+        // When
+        ingester.ingest(elements, writer);
+
+        // Then
+        // 3 batches of the aggregated edge and each of the non aggregated edges, with 2 keys per edge
+        assertThat(writer.mutations.get()).isEqualTo(2 * (3 + 5));
+    }
+
+    @Test
+    public void shouldNotModifyInputElementsWhenPreAggregating() throws StoreException {
+        // Given
+        final ElementIngester ingester = createIngester(1, 100);
+        final Edge edge1 = createEdge(TestGroups.EDGE);
+        final Edge edge2 = createEdge(TestGroups.EDGE);
+
+        // When
+        ingester.ingest(Arrays.asList(edge1, edge2), new CountingBatchWriter());
+
+        // Then
+        assertThat(edge1.getProperty(TestPropertyNames.COUNT)).isEqualTo(1);
+        assertThat(edge2.getProperty(TestPropertyNames.COUNT)).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotModifyMutablePropertiesOfInputElementsWhenPreAggregating() throws StoreException {
+        // Given
+        final ElementIngester ingester = new ElementIngester(new ByteEntityAccumuloElementConverter(FREQ_MAP_SCHEMA),
+                FREQ_MAP_SCHEMA, 1, 100);
+        final CountingBatchWriter writer = new CountingBatchWriter();
+        final Entity entity1 = createFreqMapEntity();
+        final Entity entity2 = createFreqMapEntity();
+        final Entity entity3 = createFreqMapEntity();
+
+        // When
+        ingester.ingest(Arrays.asList(entity1, entity2, entity3), writer);
+
+        // Then
+        assertThat(writer.mutations.get()).isEqualTo(1);
+        assertThat(entity1.getProperty(FREQ_MAP)).isEqualTo(createFreqMap());
+        assertThat(entity2.getProperty(FREQ_MAP)).isEqualTo(createFreqMap());
+        assertThat(entity3.getProperty(FREQ_MAP)).isEqualTo(createFreqMap());
+    }
+
+    @Test
+    public void shouldAddMutationsUsingConverterThreads() throws StoreException {
+        // Given
+        final ElementIngester ingester = createIngester(4, 0);
+        final CountingBatchWriter writer = new CountingBatchWriter();
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + i)
+                    .property(TestPropertyNames.COUNT, 1)
+                    .build());
+        }
+
+        try {
+            // When
+            ingester.ingest(elements, writer);
+
+            // Then
+            assertThat(writer.mutations.get()).isEqualTo(5000);
+        } finally {
+            ingester.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldPreAggregateEachBatchUsingConverterThreads() throws StoreException {
+        // Given
+        final ElementIngester ingester = createIngester(4, 100);
+        final CountingBatchWriter writer = new CountingBatchWriter();
+
+        try {
+            // When
+            ingester.ingest(Collections.nCopies(1000, createEdge(TestGroups.EDGE)), writer);
+
+            // Then
+            assertThat(writer.mutations.get()).isEqualTo(2 * 10);
+        } finally {
+            ingester.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldThrowStoreExceptionWhenConverterThreadFails() {
+        // Given
+        final ElementIngester ingester = createIngester(2, 0);
+        final CountingBatchWriter writer = new CountingBatchWriter();
+        writer.fail = true;
+
+        try {
+            // When / Then
+            assertThatExceptionOfType(StoreException.class)
+                    .isThrownBy(() -> ingester.ingest(Collections.nCopies(10, createEdge(TestGroups.EDGE)), writer))
+                    .withMessageContaining("Batch writer failed");
+        } finally {
+            ingester.shutdown();
+        }
+    }
+
+    private static ElementIngester createIngester(final int numThreads, final int aggregationBufferSize) {
+        return new ElementIngester(new ByteEntityAccumuloElementConverter(SCHEMA), SCHEMA, numThreads, aggregationBufferSize);
+    }
+
+    private static Entity createFreqMapEntity() {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex")
+                .property(FREQ_MAP, createFreqMap())
+                .build();
+    }
+
+    private static FreqMap createFreqMap() {
+        final FreqMap freqMap = new FreqMap();
+        freqMap.upsert("key", 1L);
+        return freqMap;
+    }
+
+    private static Edge createEdge(final String group) {
+        return new Edge.Builder()
+                .group(group)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 1)
+                .build();
+    }
+
+    private static final class CountingBatchWriter implements BatchWriter {
+        private final AtomicInteger mutations = new AtomicInteger();
+        private volatile boolean fail;
+
+        @Override
+        public void addMutation(final Mutation m) {
+            if (fail) {
+                throw new IllegalStateException("Batch writer failed");
+            }
+            mutations.incrementAndGet();
+        }
+
+        @Override
+        public void addMutations(final Iterable<Mutation> iterable) {
+            iterable.forEach(this::addMutation);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
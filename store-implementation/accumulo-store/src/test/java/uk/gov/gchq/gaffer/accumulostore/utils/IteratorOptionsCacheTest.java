@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class IteratorOptionsCacheTest {
+    private String schemaJson;
+
+    @BeforeEach
+    public void setUp() {
+        IteratorOptionsCache.clear();
+        final Schema schema = new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+        schemaJson = StringUtil.toString(schema.toCompactJson());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        IteratorOptionsCache.clear();
+    }
+
+    @Test
+    public void shouldReturnSameSchemaForSameJson() {
+        // Given
+        final Schema schema = IteratorOptionsCache.getSchema(schemaJson);
+
+        // When
+        final Schema cachedSchema = IteratorOptionsCache.getSchema(new String(schemaJson));
+
+        // Then
+        assertThat(cachedSchema).isSameAs(schema);
+        assertThat(schema.getEntityGroups()).containsExactly(TestGroups.ENTITY);
+    }
+
+    @Test
+    public void shouldReturnSameViewForSameJson() {
+        // Given
+        final String viewJson = StringUtil.toString(new View.Builder().entity(TestGroups.ENTITY).build().toCompactJson());
+        final View view = IteratorOptionsCache.getView(viewJson);
+
+        // When
+        final View cachedView = IteratorOptionsCache.getView(new String(viewJson));
+
+        // Then
+        assertThat(cachedView).isSameAs(view);
+        assertThat(view.getEntityGroups()).containsExactly(TestGroups.ENTITY);
+    }
+
+    @Test
+    public void shouldReturnSameElementConverterUsingCachedSchema() throws ReflectiveOperationException {
+        // Given
+        final String converterClass = ByteEntityAccumuloElementConverter.class.getName();
+        final AccumuloElementConverter converter = IteratorOptionsCache.getElementConverter(converterClass, schemaJson);
+
+        // When
+        final AccumuloElementConverter cachedConverter = IteratorOptionsCache.getElementConverter(converterClass, new String(schemaJson));
+
+        // Then
+        assertThat(converter).isInstanceOf(ByteEntityAccumuloElementConverter.class);
+        assertThat(cachedConverter).isSameAs(converter);
+    }
+
+    @Test
+    public void shouldThrowExceptionForUnknownElementConverterClass() {
+        assertThatExceptionOfType(ClassNotFoundException.class)
+                .isThrownBy(() -> IteratorOptionsCache.getElementConverter("unknown.Converter", schemaJson));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedView() {
+        // Given
+        final String firstViewJson = getViewJson(0);
+        final String secondViewJson = getViewJson(1);
+        final View firstView = IteratorOptionsCache.getView(firstViewJson);
+        final View secondView = IteratorOptionsCache.getView(secondViewJson);
+        IteratorOptionsCache.getView(firstViewJson);
+
+        // When
+        for (int i = 2; i <= IteratorOptionsCache.MAX_ENTRIES; i++) {
+            IteratorOptionsCache.getView(getViewJson(i));
+        }
+
+        // Then
+        assertThat(IteratorOptionsCache.getView(firstViewJson)).isSameAs(firstView);
+        assertThat(IteratorOptionsCache.getView(secondViewJson)).isNotSameAs(secondView);
+    }
+
+    private static String getViewJson(final int i) {
+        return StringUtil.toString(new View.Builder().entity(TestGroups.ENTITY + i).build().toCompactJson());
+    }
+}
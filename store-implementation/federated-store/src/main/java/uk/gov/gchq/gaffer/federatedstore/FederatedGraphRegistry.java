@@ -0,0 +1,193 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore;
+
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.graph.GraphSerialisable;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * An in memory view of the graphs held in a {@link FederatedStoreCache} at a
+ * given version of the cache.
+ * <p>
+ * The registry holds the deserialised {@link FederatedAccess} for each graph
+ * along with its {@link GraphSerialisable}, which keeps hold of the
+ * {@link uk.gov.gchq.gaffer.graph.Graph} once it has been built. The graphIds
+ * that each user can read are indexed the first time that user is checked.
+ * <p>
+ * A registry is never modified, when the cache changes a new registry is
+ * created. Graphs which are unchanged are copied from the previous registry
+ * instead of being deserialised again.
+ */
+public final class FederatedGraphRegistry {
+    /**
+     * The maximum number of users and admin auths to index the readable
+     * graphIds for, after which the readable graphIds are not indexed.
+     */
+    public static final int MAX_INDEXED_USERS = 1000;
+
+    private final Object version;
+    private final Set<String> graphIds;
+    private final Map<String, Entry> entries;
+    private final List<Pair<GraphSerialisable, FederatedAccess>> graphsAndAccess;
+    private final Map<Pair<User, String>, List<String>> readableGraphIds = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry of the graphs in the cache.
+     *
+     * @param version   the version of the cache the graphs were read at
+     * @param graphIds  the graphIds in the cache
+     * @param previous  the previous registry to copy unchanged graphs from, may be null
+     * @param fromCache gets a graph and its serialised access from the cache
+     */
+    FederatedGraphRegistry(final Object version, final Set<String> graphIds, final FederatedGraphRegistry previous,
+                           final Function<String, Pair<GraphSerialisable, byte[]>> fromCache) {
+        this.version = version;
+        this.graphIds = graphIds;
+
+        final Map<String, Entry> newEntries = new LinkedHashMap<>();
+        final List<Pair<GraphSerialisable, FederatedAccess>> newGraphsAndAccess = new ArrayList<>();
+        for (final String graphId : graphIds) {
+            final Pair<GraphSerialisable, byte[]> pair = fromCache.apply(graphId);
+            // The graph may have been removed since the graphIds were read
+            if (nonNull(pair)) {
+                final Entry previousEntry = isNull(previous) ? null : previous.entries.get(graphId);
+                final Entry entry = nonNull(previousEntry) && previousEntry.isSameAs(pair)
+                        ? previousEntry
+                        : new Entry(graphId, pair);
+                newEntries.put(graphId, entry);
+                newGraphsAndAccess.add(new Pair<>(entry.graph, entry.access));
+            }
+        }
+        this.entries = Collections.unmodifiableMap(newEntries);
+        this.graphsAndAccess = Collections.unmodifiableList(newGraphsAndAccess);
+    }
+
+    /**
+     * @param version  the current version of the cache
+     * @param graphIds the graphIds currently in the cache
+     * @return true if this registry was created from the same version of the cache
+     */
+    public boolean isCurrent(final Object version, final Set<String> graphIds) {
+        return Objects.equals(this.version, version) && this.graphIds.equals(graphIds);
+    }
+
+    /**
+     * @return all the graphs and their access, in the order of the cache's graphIds
+     */
+    public List<Pair<GraphSerialisable, FederatedAccess>> getAll() {
+        return graphsAndAccess;
+    }
+
+    /**
+     * @param graphId the graphId
+     * @return the graph with the graphId, or null if it is not in the registry
+     */
+    public GraphSerialisable getGraph(final String graphId) {
+        final Entry entry = entries.get(graphId);
+        return isNull(entry) ? null : entry.graph;
+    }
+
+    /**
+     * @param graphId the graphId
+     * @return the access for the graph with the graphId, or null if it is not in the registry
+     */
+    public FederatedAccess getAccess(final String graphId) {
+        final Entry entry = entries.get(graphId);
+        return isNull(entry) ? null : entry.access;
+    }
+
+    /**
+     * Returns the graphIds the user has read access to, which are indexed
+     * for the user and admin auth after the first call.
+     *
+     * @param user      the user to check the access of
+     * @param adminAuth the admin auth, may be null
+     * @return the graphIds the user can read, in the order of the cache's graphIds
+     */
+    public List<String> getReadableGraphIds(final User user, final String adminAuth) {
+        final Pair<User, String> key = new Pair<>(user, adminAuth);
+        List<String> rtn = readableGraphIds.get(key);
+        if (isNull(rtn)) {
+            rtn = findReadableGraphIds(user, adminAuth);
+            if (readableGraphIds.size() < MAX_INDEXED_USERS) {
+                final List<String> indexed = readableGraphIds.putIfAbsent(key, rtn);
+                if (nonNull(indexed)) {
+                    rtn = indexed;
+                }
+            }
+        }
+        return rtn;
+    }
+
+    private List<String> findReadableGraphIds(final User user, final String adminAuth) {
+        final List<String> rtn = new ArrayList<>();
+        for (final Entry entry : entries.values()) {
+            if (nonNull(entry.access) && entry.access.hasReadAccess(user, adminAuth)) {
+                rtn.add(entry.graphId);
+            }
+        }
+        return Collections.unmodifiableList(rtn);
+    }
+
+    /**
+     * @return the graphs the registry holds, which may not be all the graphIds it was created from
+     */
+    public Collection<String> getGraphIds() {
+        return entries.keySet();
+    }
+
+    private static final class Entry {
+        private final String graphId;
+        private final GraphSerialisable graph;
+        private final byte[] serialisedAccess;
+        private final FederatedAccess access;
+
+        private Entry(final String graphId, final Pair<GraphSerialisable, byte[]> pair) {
+            this.graphId = graphId;
+            this.graph = pair.getFirst();
+            this.serialisedAccess = pair.getSecond();
+            try {
+                this.access = isNull(serialisedAccess) ? null : JSONSerialiser.deserialise(serialisedAccess, FederatedAccess.class);
+            } catch (final Exception e) {
+                throw new GafferRuntimeException(String.format("Error deserialising FederatedAccess from cache for graphId:%s", graphId), e);
+            }
+        }
+
+        private boolean isSameAs(final Pair<GraphSerialisable, byte[]> pair) {
+            return (graph == pair.getFirst() || Objects.equals(graph, pair.getFirst()))
+                    && Arrays.equals(serialisedAccess, pair.getSecond());
+        }
+    }
+}
@@ -52,6 +52,7 @@ import java.util.stream.Stream;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
+import static uk.gov.gchq.gaffer.access.AccessControlledResource.DONT_CHECK_ADMIN_AUTH;
 import static uk.gov.gchq.gaffer.accumulostore.utils.TableUtils.getConnector;
 import static uk.gov.gchq.gaffer.cache.util.CacheProperties.CACHE_SERVICE_CLASS;
 
@@ -134,20 +135,11 @@ public class FederatedGraphStorage {
      * @return visible graphIds.
      */
     public List<String> getAllIds(final User user) {
-        return getIdsFrom(getUserGraphStream(federatedAccess -> federatedAccess.hasReadAccess(user)));
+        return getAllIds(user, DONT_CHECK_ADMIN_AUTH);
     }
 
     public List<String> getAllIds(final User user, final String adminAuth) {
-        return getIdsFrom(getUserGraphStream(federatedAccess -> federatedAccess.hasReadAccess(user, adminAuth)));
-    }
-
-    private List<String> getIdsFrom(final Stream<GraphSerialisable> allStream) {
-        final List<String> rtn = allStream
-                .map(GraphSerialisable::getGraphId)
-                .distinct()
-                .collect(Collectors.toList());
-
-        return Collections.unmodifiableList(rtn);
+        return federatedStoreCache.getGraphRegistry().getReadableGraphIds(user, adminAuth);
     }
 
     /**
@@ -157,8 +149,9 @@ public class FederatedGraphStorage {
      * @return visible graphs
      */
     public Collection<GraphSerialisable> getAll(final User user) {
-        final Collection<GraphSerialisable> rtn = getUserGraphStream(federatedAccess -> federatedAccess.hasReadAccess(user))
-                .distinct()
+        final FederatedGraphRegistry registry = federatedStoreCache.getGraphRegistry();
+        final Collection<GraphSerialisable> rtn = registry.getReadableGraphIds(user, DONT_CHECK_ADMIN_AUTH).stream()
+                .map(registry::getGraph)
                 .collect(Collectors.toCollection(ArrayList::new));
         return Collections.unmodifiableCollection(rtn);
     }
@@ -172,7 +165,6 @@ public class FederatedGraphStorage {
      * @param user        to match visibility against.
      * @param removeCache to remove associated caches with this graph.
      * @return if a graph was removed.
-     * @see #isValidToView(User, FederatedAccess)
      */
     public boolean remove(final String graphId, final User user, final boolean removeCache) {
         return remove(graphId, federatedAccess -> federatedAccess.hasWriteAccess(user), removeCache);
@@ -248,8 +240,9 @@ public class FederatedGraphStorage {
             return Collections.emptyList();
         }
 
-        validateAllGivenGraphIdsAreVisibleForUser(user, graphIds, adminAuth);
-        Stream<GraphSerialisable> graphs = getStream(user, graphIds);
+        final FederatedGraphRegistry registry = federatedStoreCache.getGraphRegistry();
+        validateAllGivenGraphIdsAreVisibleForUser(registry, user, graphIds, adminAuth);
+        Stream<GraphSerialisable> graphs = getStream(registry, user, graphIds);
         if (null != graphIds) {
             //This maintains order with the requested Ids.
             graphs = graphs.sorted(Comparator.comparingInt(g -> graphIds.indexOf(g.getGraphId())));
@@ -258,9 +251,9 @@ public class FederatedGraphStorage {
         return Collections.unmodifiableList(rtn);
     }
 
-    private void validateAllGivenGraphIdsAreVisibleForUser(final User user, final Collection<String> graphIds, final String adminAuth) {
+    private void validateAllGivenGraphIdsAreVisibleForUser(final FederatedGraphRegistry registry, final User user, final Collection<String> graphIds, final String adminAuth) {
         if (null != graphIds) {
-            final Collection<String> visibleIds = getAllIds(user, adminAuth);
+            final Collection<String> visibleIds = registry.getReadableGraphIds(user, adminAuth);
             if (!visibleIds.containsAll(graphIds)) {
                 final List<String> notVisibleIds = new ArrayList<>(graphIds);
                 notVisibleIds.removeAll(visibleIds);
@@ -277,48 +270,19 @@ public class FederatedGraphStorage {
     }
 
     /**
-     * @param user   to match visibility against, if null will default to
-     *               false/denied
-     *               access
-     * @param access access the user must match.
-     * @return the boolean access
-     */
-    private boolean isValidToView(final User user, final FederatedAccess access) {
-        return null != access && access.hasReadAccess(user);
-    }
-
-    /**
-     * @param user     to match visibility against.
+     * @param registry the registry of graphs.
+     * @param user     to match visibility against, if null will default to
+     *                 false/denied access.
      * @param graphIds filter on graphIds
      * @return a stream of graphs for the given graphIds and the user has visibility for.
      * If graphIds is null then only enabled by default graphs are returned that the user can see.
      */
-    private Stream<GraphSerialisable> getStream(final User user, final Collection<String> graphIds) {
-        Stream<GraphSerialisable> rtn;
-        if (isNull(graphIds)) {
-            rtn = federatedStoreCache.getAllGraphIds().stream()
-                    .map(g -> federatedStoreCache.getFromCache(g))
-                    .filter(pair -> isValidToView(user, pair.getSecond()))
-                    .map(pair -> pair.getFirst());
-        } else {
-            rtn = federatedStoreCache.getAllGraphIds().stream()
-                    .map(g -> federatedStoreCache.getFromCache(g))
-                    .filter(pair -> isValidToView(user, pair.getSecond()))
-                    .filter(pair -> graphIds.contains(pair.getFirst().getGraphId()))
-                    .map(pair -> pair.getFirst());
+    private Stream<GraphSerialisable> getStream(final FederatedGraphRegistry registry, final User user, final Collection<String> graphIds) {
+        Stream<String> rtn = registry.getReadableGraphIds(user, DONT_CHECK_ADMIN_AUTH).stream();
+        if (nonNull(graphIds)) {
+            rtn = rtn.filter(graphIds::contains);
         }
-        return rtn;
-    }
-
-    /**
-     * @param readAccessPredicate to filter graphs.
-     * @return a stream of graphs the user has visibility for.
-     */
-    private Stream<GraphSerialisable> getUserGraphStream(final Predicate<FederatedAccess> readAccessPredicate) {
-        return federatedStoreCache.getAllGraphIds().stream()
-                .map(graphId -> federatedStoreCache.getFromCache(graphId))
-                .filter(pair -> readAccessPredicate.test(pair.getSecond()))
-                .map(Pair::getFirst);
+        return rtn.map(registry::getGraph);
     }
 
     @SuppressWarnings("PMD.PreserveStackTrace") //Not Required
@@ -365,8 +329,7 @@ public class FederatedGraphStorage {
     }
 
     private Map<String, Object> getAllGraphsAndAccess(final List<String> graphIds, final Predicate<FederatedAccess> accessPredicate) {
-        return federatedStoreCache.getAllGraphIds().stream()
-                .map(graphId -> federatedStoreCache.getFromCache(graphId))
+        return federatedStoreCache.getGraphRegistry().getAll().stream()
                 //filter on FederatedAccess
                 .filter(pair -> accessPredicate.test(pair.getSecond()))
                 //filter on if graph required?
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.federatedstore;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -98,6 +99,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
@@ -137,6 +140,7 @@ public class FederatedStore extends Store {
     @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, property = "class")
     private Map<String, BiFunction> storeConfiguredMergeFunctions;
     private final Set<Class<? extends Operation>> externallySupportedOperations = new HashSet<>();
+    private ExecutorService graphExecutor;
 
     @JsonCreator
     @SuppressFBWarnings(value = "DMI_RANDOM_USED_ONLY_ONCE", justification = "Random used once only and this class will not usually be created more than once")
@@ -185,6 +189,22 @@ public class FederatedStore extends Store {
         loadIsPublicAccessAllowedFromProperties(federatedProperties);
         loadStoreConfiguredMergeFunctionsFromProperties(federatedProperties);
         loadStoreConfiguredGraphIdsFromProperties(federatedProperties);
+        loadGraphExecutorFromProperties(federatedProperties);
+    }
+
+    private void loadGraphExecutorFromProperties(final FederatedStoreProperties properties) {
+        if (nonNull(graphExecutor)) {
+            graphExecutor.shutdown();
+            graphExecutor = null;
+        }
+        if (properties.isConcurrentGraphExecution()) {
+            LOGGER.debug("Executing federated operations on up to {} graphs concurrently", properties.getGraphExecutionThreads());
+            graphExecutor = Executors.newFixedThreadPool(properties.getGraphExecutionThreads(), runnable -> {
+                final Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
     }
 
     private void loadIsPublicAccessAllowedFromProperties(final FederatedStoreProperties federatedProperties) {
@@ -234,6 +254,18 @@ public class FederatedStore extends Store {
         return (FederatedStoreProperties) super.getProperties();
     }
 
+    /**
+     * Get the executor used to execute federated operations against graphs
+     * concurrently.
+     * To be used by the FederatedStore and Handlers only.
+     *
+     * @return the graph executor, or null if graphs are executed one after another
+     */
+    @JsonIgnore
+    public ExecutorService getGraphExecutor() {
+        return graphExecutor;
+    }
+
     /**
      * Adds graphs to the scope of FederatedStore.
      * <p>
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.federatedstore;
 
 import uk.gov.gchq.gaffer.cache.Cache;
+import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
 import uk.gov.gchq.gaffer.cache.ICache;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
@@ -27,19 +28,64 @@ import uk.gov.gchq.gaffer.graph.GraphSerialisable;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 
 import java.util.Set;
+import java.util.UUID;
 
 import static java.util.Objects.isNull;
 
 /**
  * Wrapper around the {@link uk.gov.gchq.gaffer.cache.CacheServiceLoader} to provide an interface for
  * handling the {@link Graph}s within a {@link uk.gov.gchq.gaffer.federatedstore.FederatedStore}.
+ * <p>
+ * Every change made to the graphs through this class also changes a version
+ * held in a separate cache, which allows a {@link FederatedGraphRegistry} of
+ * the graphs to be reused until the graphs are changed, including by another
+ * store sharing the same cache.
  */
 public class FederatedStoreCache extends Cache<String, Pair<GraphSerialisable, FederatedAccess>> {
+    private static final String VERSION_CACHE_NAME_PREFIX = "federatedStoreGraphsVersion";
+    private static final String VERSION_KEY = "version";
     private final FederatedStoreCacheTransient cacheTransient;
+    private final String versionCacheName;
+    private volatile FederatedGraphRegistry graphRegistry;
 
     public FederatedStoreCache(final String suffixFederatedStoreCacheName) {
         super(null);
         cacheTransient = new FederatedStoreCacheTransient(suffixFederatedStoreCacheName);
+        versionCacheName = Cache.getCacheNameFrom(VERSION_CACHE_NAME_PREFIX, suffixFederatedStoreCacheName);
+    }
+
+    /**
+     * Get a registry of all the {@link Graph}s in the cache and their access.
+     * The registry is only rebuilt when the graphs in the cache have changed.
+     *
+     * @return a registry of the graphs in the cache
+     */
+    public FederatedGraphRegistry getGraphRegistry() {
+        // The version is read first, so a change made while the registry is being built causes another rebuild
+        final Object version = CacheServiceLoader.getService().getFromCache(versionCacheName, VERSION_KEY);
+        final Set<String> graphIds = getAllGraphIds();
+        FederatedGraphRegistry registry = graphRegistry;
+        if (isNull(registry) || !registry.isCurrent(version, graphIds)) {
+            registry = new FederatedGraphRegistry(version, graphIds, registry, this::getSerialisedFromCache);
+            graphRegistry = registry;
+        }
+        return registry;
+    }
+
+    private Pair<GraphSerialisable, byte[]> getSerialisedFromCache(final String graphId) {
+        try {
+            return cacheTransient.getFromCache(graphId);
+        } catch (final CacheOperationException e) {
+            throw new GafferRuntimeException(String.format("Error Getting Graph from Cache for graphId:%s", graphId), e);
+        }
+    }
+
+    private void updateVersion() {
+        try {
+            CacheServiceLoader.getService().putInCache(versionCacheName, VERSION_KEY, UUID.randomUUID().toString());
+        } catch (final CacheOperationException e) {
+            throw new GafferRuntimeException("Error updating the version of the FederatedStore graphs in the cache", e);
+        }
     }
 
     /**
@@ -62,6 +108,7 @@ public class FederatedStoreCache extends Cache<String, Pair<GraphSerialisable, F
     public void addGraphToCache(final Graph graph, final FederatedAccess access, final boolean overwrite) throws CacheOperationException {
         try {
             cacheTransient.addGraphToCache(graph, JSONSerialiser.serialise(access), overwrite);
+            updateVersion();
         } catch (final SerialisationException e) {
             throw new RuntimeException(e);
         }
@@ -79,6 +126,7 @@ public class FederatedStoreCache extends Cache<String, Pair<GraphSerialisable, F
     public void addGraphToCache(final GraphSerialisable graphSerialisable, final FederatedAccess access, final boolean overwrite) throws CacheOperationException {
         try {
             cacheTransient.addGraphToCache(graphSerialisable, JSONSerialiser.serialise(access), overwrite);
+            updateVersion();
         } catch (final SerialisationException e) {
             throw new RuntimeException(e);
         }
@@ -86,6 +134,7 @@ public class FederatedStoreCache extends Cache<String, Pair<GraphSerialisable, F
 
     public void deleteGraphFromCache(final String graphId) {
         cacheTransient.deleteGraphFromCache(graphId);
+        updateVersion();
     }
 
     /**
@@ -115,6 +164,7 @@ public class FederatedStoreCache extends Cache<String, Pair<GraphSerialisable, F
 
     public void addGraphToCache(final GraphSerialisable graphSerialisable, final byte[] access, final boolean overwrite) throws CacheOperationException {
         cacheTransient.addGraphToCache(graphSerialisable, access, overwrite);
+        updateVersion();
     }
 
     public FederatedAccess getAccessFromCache(final String graphId) {
@@ -149,6 +199,7 @@ public class FederatedStoreCache extends Cache<String, Pair<GraphSerialisable, F
     @Override
     public void clearCache() throws CacheOperationException {
         cacheTransient.clearCache();
+        updateVersion();
     }
 
     @Override
@@ -159,6 +210,7 @@ public class FederatedStoreCache extends Cache<String, Pair<GraphSerialisable, F
     @Override
     public void deleteFromCache(final String key) {
         cacheTransient.deleteFromCache(key);
+        updateVersion();
     }
 
     @Override
@@ -45,6 +45,23 @@ public class FederatedStoreProperties extends StoreProperties {
     public static final String STORE_CONFIGURED_MERGE_FUNCTIONS = "gaffer.federatedstore.storeConfiguredMergeFunctions";
     public static final String STORE_CONFIGURED_GRAPHIDS = "gaffer.federatedstore.storeConfiguredGraphIds";
     public static final String CACHE_SERVICE_FEDERATED_STORE_SUFFIX = "gaffer.cache.service.federated.store.suffix";
+    /**
+     * The number of threads used to execute a federated operation against its
+     * graphs concurrently. If the value is less than 2 the graphs are executed
+     * one after another.
+     * 0 by default.
+     * e.g. gaffer.federatedstore.graph.execution.threads=8
+     */
+    public static final String GRAPH_EXECUTION_THREADS = "gaffer.federatedstore.graph.execution.threads";
+    public static final int GRAPH_EXECUTION_THREADS_DEFAULT = 0;
+    /**
+     * The maximum time in milliseconds that a graph may spend executing a
+     * federated operation when graphs are executed concurrently. A graph which
+     * times out is treated as having failed.
+     * Unset by default, so there is no timeout.
+     * e.g. gaffer.federatedstore.graph.execution.timeout.millis=30000
+     */
+    public static final String GRAPH_EXECUTION_TIMEOUT_MILLIS = "gaffer.federatedstore.graph.execution.timeout.millis";
 
     public FederatedStoreProperties() {
         super(FederatedStore.class);
@@ -106,6 +123,36 @@ public class FederatedStoreProperties extends StoreProperties {
         set(STORE_CONFIGURED_GRAPHIDS, mergeFunctionFile);
     }
 
+    public int getGraphExecutionThreads() {
+        final String threads = get(GRAPH_EXECUTION_THREADS, null);
+        if (null == threads) {
+            return GRAPH_EXECUTION_THREADS_DEFAULT;
+        }
+
+        return Integer.parseInt(threads);
+    }
+
+    public void setGraphExecutionThreads(final int graphExecutionThreads) {
+        set(GRAPH_EXECUTION_THREADS, String.valueOf(graphExecutionThreads));
+    }
+
+    public boolean isConcurrentGraphExecution() {
+        return getGraphExecutionThreads() > 1;
+    }
+
+    public Long getGraphExecutionTimeoutMillis() {
+        final String timeout = get(GRAPH_EXECUTION_TIMEOUT_MILLIS, null);
+        if (null == timeout) {
+            return null;
+        }
+
+        return Long.parseLong(timeout);
+    }
+
+    public void setGraphExecutionTimeoutMillis(final long timeoutMillis) {
+        set(GRAPH_EXECUTION_TIMEOUT_MILLIS, String.valueOf(timeoutMillis));
+    }
+
     public String getCacheServiceFederatedStoreSuffix(final String defaultValue) {
         return getCacheServiceFederatedStoreSuffix(this, defaultValue);
     }
@@ -55,6 +55,7 @@ import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.DEFAULT_SKIP_FAILED_FEDERATED_EXECUTION;
 import static uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil.getCleanStrings;
+import static uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil.shallowCloneWithDeepOptions;
 
 /**
  * This operation federates a payload operation across a given set of graphs and merges the results with a given function.
@@ -213,13 +214,29 @@ public class FederatedOperation<INPUT, OUTPUT> implements IFederationOperation,
                 .options(options);
     }
 
+    /**
+     * Returns a clone of this operation which can be modified without changing
+     * this operation. The options of this operation and of the payload are
+     * copied and nested federated operations are cloned in the same way, but
+     * the payload input, view and merge function are shared rather than
+     * copied via json.
+     *
+     * @return the cloned operation
+     * @throws CloneFailedException if the payload could not be cloned
+     */
     @JsonIgnore
     public FederatedOperation<INPUT, OUTPUT> deepClone() throws CloneFailedException {
-        try {
-            return JSONSerialiser.deserialise(JSONSerialiser.serialise(this), FederatedOperation.class);
-        } catch (final SerialisationException e) {
-            throw new CloneFailedException(e);
+        final FederatedOperation<INPUT, OUTPUT> clone = new FederatedOperation<>();
+        if (hasPayloadOperation()) {
+            clone.payloadOperation(payloadOperation instanceof FederatedOperation
+                    ? ((FederatedOperation<?, ?>) payloadOperation).deepClone()
+                    : shallowCloneWithDeepOptions(payloadOperation));
         }
+        return clone.mergeFunction(mergeFunction)
+                .graphIds(graphIds)
+                .setUserRequestingAdminUsage(userRequestingAdminUsage)
+                .skipFailedFederatedExecution(skipFailedFederatedExecution)
+                .options(isNull(options) ? null : new HashMap<>(options));
     }
 
 
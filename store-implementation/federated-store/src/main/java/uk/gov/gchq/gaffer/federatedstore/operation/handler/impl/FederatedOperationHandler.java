@@ -38,12 +38,18 @@ import uk.gov.gchq.koryphe.Since;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
-import static com.google.common.collect.Iterables.isEmpty;
 import static java.util.Objects.nonNull;
 import static uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil.getStoreConfiguredMergeFunction;
 import static uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil.processIfFunctionIsContextSpecific;
@@ -57,6 +63,8 @@ public class FederatedOperationHandler<INPUT, OUTPUT> implements OperationHandle
     private static final Logger LOGGER = LoggerFactory.getLogger(FederatedOperationHandler.class);
 
     public static final String ERROR_WHILE_RUNNING_OPERATION_ON_GRAPHS_FORMAT = "Error while running operation on graphs, due to: %s";
+    // Returned for a graph which executed successfully but has no result to merge
+    private static final Object NO_RESULT = new Object();
     private List<GraphSerialisable> graphs;
     private Context context;
 
@@ -64,9 +72,21 @@ public class FederatedOperationHandler<INPUT, OUTPUT> implements OperationHandle
     public Object doOperation(final FederatedOperation<INPUT, OUTPUT> operation, final Context context, final Store store) throws OperationException {
         this.context = context;
         this.graphs = getGraphs(operation, context, (FederatedStore) store);
-        final Iterable<?> allGraphResults = getAllGraphResults(operation);
 
-        return mergeResults(allGraphResults, operation, (FederatedStore) store);
+        final ExecutorService graphExecutor = ((FederatedStore) store).getGraphExecutor();
+        if (null == graphExecutor) {
+            final Iterable<?> allGraphResults = getAllGraphResults(operation);
+            return mergeResults(allGraphResults, operation, (FederatedStore) store);
+        }
+
+        final ConcurrentGraphResults allGraphResults = getAllGraphResultsConcurrently(operation, graphExecutor, ((FederatedStore) store).getProperties().getGraphExecutionTimeoutMillis());
+        try {
+            return mergeResults(allGraphResults, operation, (FederatedStore) store);
+        } catch (final GraphExecutionException e) {
+            throw e.getCause();
+        } finally {
+            allGraphResults.cancel();
+        }
     }
 
     private Iterable getAllGraphResults(final FederatedOperation<INPUT, OUTPUT> operation) throws OperationException {
@@ -80,14 +100,9 @@ public class FederatedOperationHandler<INPUT, OUTPUT> implements OperationHandle
                 final Operation updatedOp = updateOperationForGraph(operation.getUnClonedPayload(), graph, context);
                 if (updatedOp != null) {
                     try {
-                        if (updatedOp instanceof Output) {
-                            results.add(graph.execute((Output) updatedOp, context));
-                        } else {
-                            graph.execute(updatedOp, context);
-                            if (nonNull(operation.getMergeFunction())) {
-                                //If the user has specified a mergeFunction, they may wish to process the number null responses from graphs.
-                                results.add(null);
-                            }
+                        final Object result = executeOnGraph(operation, updatedOp, graph, context);
+                        if (NO_RESULT != result) {
+                            results.add(result);
                         }
                     } catch (final Exception e) {
                         if (!operation.isSkipFailedFederatedExecution()) {
@@ -104,39 +119,84 @@ public class FederatedOperationHandler<INPUT, OUTPUT> implements OperationHandle
 
     }
 
+    /**
+     * Submits the operation for each graph to the executor. The operations are
+     * updated for each graph on this thread, and each execution gets its own
+     * shallow clone of the context. The returned results are only merged on
+     * this thread.
+     *
+     * @param operation     the federated operation
+     * @param graphExecutor the executor to run the operations on
+     * @param timeoutMillis the timeout for each graph, or null for no timeout
+     * @return the results of the graphs, in graph order
+     * @throws OperationException if the operation could not be submitted
+     */
+    private ConcurrentGraphResults getAllGraphResultsConcurrently(final FederatedOperation<INPUT, OUTPUT> operation, final ExecutorService graphExecutor, final Long timeoutMillis) throws OperationException {
+        final List<GraphExecution> executions = new ArrayList<>(graphs.size());
+        try {
+            LOGGER.debug("Getting results from {} graphs concurrently", graphs.size());
+            for (final GraphSerialisable graphSerialisable : graphs) {
+                final Graph graph = graphSerialisable.getGraph();
+
+                final Operation updatedOp = updateOperationForGraph(operation.getUnClonedPayload(), graph, context);
+                if (updatedOp != null) {
+                    final GraphExecution execution = new GraphExecution(graphSerialisable.getGraphId());
+                    final Context graphContext = context.shallowClone();
+                    execution.future = graphExecutor.submit(() -> {
+                        execution.startTime = System.currentTimeMillis();
+                        return executeOnGraph(operation, updatedOp, graph, graphContext);
+                    });
+                    executions.add(execution);
+                }
+            }
+        } catch (final Exception e) {
+            executions.forEach(GraphExecution::cancel);
+            throw new OperationException(String.format(ERROR_WHILE_RUNNING_OPERATION_ON_GRAPHS_FORMAT, e), e);
+        }
+
+        return new ConcurrentGraphResults(operation, executions, timeoutMillis);
+    }
+
+    private static Object executeOnGraph(final FederatedOperation<?, ?> operation, final Operation updatedOp, final Graph graph, final Context context) throws OperationException {
+        if (updatedOp instanceof Output) {
+            return graph.execute((Output) updatedOp, context);
+        }
+
+        graph.execute(updatedOp, context);
+        if (nonNull(operation.getMergeFunction())) {
+            //If the user has specified a mergeFunction, they may wish to process the number null responses from graphs.
+            return null;
+        }
+        return NO_RESULT;
+    }
+
     private Object mergeResults(final Iterable resultsFromAllGraphs, final FederatedOperation<INPUT, OUTPUT> operation, final FederatedStore store) throws OperationException {
         try {
             Object rtn = null;
 
-            BiFunction mergeFunction = getMergeFunction(operation, store, context, isEmpty(resultsFromAllGraphs));
-
-            // If default merging and only have one graph or no common groups then just return the current results
-            if (!graphs.isEmpty()
-                    && mergeFunction instanceof ApplyViewToElementsFunction
-                    && (graphs.size() == 1 || !graphsHaveCommonSchemaGroups(graphs))) {
-                LOGGER.info("Returning flat list of results as complex merging not required when only one graph or no common groups");
-                // Just use the concatenate merge to flatten the results
-                mergeFunction = new ConcatenateMergeFunction();
-            }
+            // The merge function is only required once there is a result to merge
+            BiFunction mergeFunction = null;
 
             // Reduce
             for (final Object resultFromAGraph : resultsFromAllGraphs) {
+                if (null == mergeFunction) {
+                    mergeFunction = getMergeFunction(operation, store, context);
+                }
                 rtn = mergeFunction.apply(resultFromAGraph, rtn);
             }
 
             return rtn;
+        } catch (final GraphExecutionException e) {
+            throw e;
         } catch (final Exception e) {
             final List<String> graphIds = graphs.stream().map(GraphSerialisable::getGraphId).collect(Collectors.toList());
             throw new OperationException(String.format("Error while merging results from graphs: %s due to: %s", graphIds, e.getMessage()), e);
         }
     }
 
-    private static BiFunction getMergeFunction(final FederatedOperation operation, final FederatedStore store, final Context context, final boolean isResultsFromAllGraphsEmpty) throws GafferCheckedException {
-        final BiFunction mergeFunction;
-        if (isResultsFromAllGraphsEmpty) {
-            //No Merge function required.
-            mergeFunction = null;
-        } else if (nonNull(operation.getMergeFunction())) {
+    private BiFunction getMergeFunction(final FederatedOperation operation, final FederatedStore store, final Context context) throws GafferCheckedException {
+        BiFunction mergeFunction;
+        if (nonNull(operation.getMergeFunction())) {
             //Get merge function from the Operation.
             final BiFunction operationMergeFunction = operation.getMergeFunction();
             //process if it is ContextSpecific
@@ -146,6 +206,15 @@ public class FederatedOperationHandler<INPUT, OUTPUT> implements OperationHandle
             mergeFunction = getStoreConfiguredMergeFunction(operation.getPayloadOperation(), context, operation.getGraphIds(), store);
         }
 
+        // If default merging and only have one graph or no common groups then just return the current results
+        if (!graphs.isEmpty()
+                && mergeFunction instanceof ApplyViewToElementsFunction
+                && (graphs.size() == 1 || !graphsHaveCommonSchemaGroups(graphs))) {
+            LOGGER.info("Returning flat list of results as complex merging not required when only one graph or no common groups");
+            // Just use the concatenate merge to flatten the results
+            mergeFunction = new ConcatenateMergeFunction();
+        }
+
         return mergeFunction;
     }
 
@@ -186,4 +255,131 @@ public class FederatedOperationHandler<INPUT, OUTPUT> implements OperationHandle
         }
         return false;
     }
+
+    /**
+     * The results of the graphs executing concurrently. Iterating over them
+     * waits for each graph's result in turn, in the same order as the graphs,
+     * so results can be merged while later graphs are still executing.
+     * Failed graphs are skipped if the operation allows it, otherwise a
+     * {@link GraphExecutionException} is thrown.
+     */
+    private static final class ConcurrentGraphResults implements Iterable<Object> {
+        private final FederatedOperation<?, ?> operation;
+        private final List<GraphExecution> executions;
+        private final Long timeoutMillis;
+
+        private ConcurrentGraphResults(final FederatedOperation<?, ?> operation, final List<GraphExecution> executions, final Long timeoutMillis) {
+            this.operation = operation;
+            this.executions = executions;
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            return new Iterator<Object>() {
+                private final Iterator<GraphExecution> executionIterator = executions.iterator();
+                private Object next;
+                private boolean hasNext;
+
+                @Override
+                public boolean hasNext() {
+                    while (!hasNext && executionIterator.hasNext()) {
+                        final GraphExecution execution = executionIterator.next();
+                        try {
+                            next = execution.getResult(timeoutMillis);
+                            hasNext = NO_RESULT != next;
+                        } catch (final Exception e) {
+                            if (e instanceof InterruptedException) {
+                                Thread.currentThread().interrupt();
+                            }
+                            execution.cancel();
+                            if (!operation.isSkipFailedFederatedExecution()) {
+                                final OperationException cause = new OperationException(FederatedStoreUtil.createOperationErrorMsg(operation, execution.graphId, e), e);
+                                throw new GraphExecutionException(new OperationException(String.format(ERROR_WHILE_RUNNING_OPERATION_ON_GRAPHS_FORMAT, cause), cause));
+                            }
+                            LOGGER.debug("Skipping failed execution on graph: {}", execution.graphId, e);
+                        }
+                    }
+                    return hasNext;
+                }
+
+                @Override
+                public Object next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    hasNext = false;
+                    final Object result = next;
+                    next = null;
+                    return result;
+                }
+            };
+        }
+
+        private void cancel() {
+            executions.forEach(GraphExecution::cancel);
+        }
+    }
+
+    private static final class GraphExecution {
+        private final String graphId;
+        private Future<Object> future;
+        private volatile long startTime;
+
+        private GraphExecution(final String graphId) {
+            this.graphId = graphId;
+        }
+
+        /**
+         * Waits for the graph's result. Any timeout is measured from when the
+         * graph started executing, rather than when it was submitted, so
+         * graphs queued behind others are not penalised.
+         *
+         * @param timeoutMillis the timeout, or null for no timeout
+         * @return the result of the graph
+         * @throws Exception if the graph failed or timed out
+         */
+        private Object getResult(final Long timeoutMillis) throws Exception {
+            try {
+                if (null == timeoutMillis) {
+                    return future.get();
+                }
+                while (true) {
+                    // A graph which has already finished returns its result even if the timeout has passed
+                    final long waitMillis = 0 == startTime ? timeoutMillis : Math.max(0, startTime + timeoutMillis - System.currentTimeMillis());
+                    try {
+                        return future.get(waitMillis, TimeUnit.MILLISECONDS);
+                    } catch (final TimeoutException e) {
+                        if (0 != startTime && startTime + timeoutMillis <= System.currentTimeMillis()) {
+                            throw new TimeoutException(String.format("Graph did not return a result within %sms", timeoutMillis));
+                        }
+                    }
+                }
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof Exception) {
+                    throw (Exception) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        private void cancel() {
+            if (null != future) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static final class GraphExecutionException extends RuntimeException {
+        private static final long serialVersionUID = 3469143263911458113L;
+
+        private GraphExecutionException(final OperationException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized OperationException getCause() {
+            return (OperationException) super.getCause();
+        }
+    }
 }
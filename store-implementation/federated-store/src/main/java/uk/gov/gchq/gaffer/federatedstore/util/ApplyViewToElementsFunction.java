@@ -24,37 +24,77 @@ import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.core.exception.GafferCheckedException;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.graph.Graph;
-import uk.gov.gchq.gaffer.graph.GraphConfig;
-import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.ValidatedElements;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+import uk.gov.gchq.gaffer.store.util.SpillingAggregator;
+import uk.gov.gchq.gaffer.store.util.SpillingSorter;
 import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.iterable.ChainedIterable;
+import uk.gov.gchq.koryphe.iterable.FilteredIterable;
+import uk.gov.gchq.koryphe.iterable.MappedIterable;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Merges the elements returned from multiple graphs and re-applies the
+ * operation's {@link View} to the merged elements.
+ * <p>
+ * The results from each graph are read once, when they are merged, and are
+ * validated against the schema, so invalid results fail the operation.
+ * Elements in aggregated groups are aggregated incrementally using the schema,
+ * with at most maxElementsInMemory aggregated elements held in memory, any more
+ * are spilled to disk. Elements in groups which are not aggregated are kept in
+ * the order they were merged, and are also spilled to disk once they use
+ * roughly as much memory as maxElementsInMemory elements. When the merged
+ * results are iterated, the view's filters, any query time aggregation,
+ * transforms and property removal are applied to the elements as they are
+ * returned.
+ * <p>
+ * The merged results can be iterated over repeatedly, unless elements were
+ * spilled to disk, in which case they can only be iterated over once.
+ * <p>
+ * If a {@link Graph} is supplied in the context as the {@link #TEMP_RESULTS_GRAPH},
+ * the results are instead added to that graph and the view is applied by
+ * getting all elements from it. This allows a store suited to the size of the
+ * results to be used.
+ */
 public class ApplyViewToElementsFunction implements ContextSpecificMergeFunction<Object, Iterable<Object>, Iterable<Object>> {
     private static final Logger LOGGER = LoggerFactory.getLogger(ApplyViewToElementsFunction.class);
     public static final String VIEW = "view";
     public static final String SCHEMA = "schema";
     public static final String USER = "user";
     public static final String TEMP_RESULTS_GRAPH = "temporaryResultsGraph";
-    private static final Random RANDOM = new Random();
 
     @JsonProperty("context")
     private Map<String, Object> context;
+    private int maxElementsInMemory = SpillingAggregator.DEFAULT_MAX_ELEMENTS_IN_MEMORY;
 
     public ApplyViewToElementsFunction() {
     }
@@ -62,37 +102,26 @@ public class ApplyViewToElementsFunction implements ContextSpecificMergeFunction
     public ApplyViewToElementsFunction(final Map<String, Object> context) throws GafferCheckedException {
         this();
         try {
-            // Check if results graph, hasn't already be supplied, otherwise make a default results graph.
-            if (!context.containsKey(TEMP_RESULTS_GRAPH)) {
-                final Graph resultsGraph = new Graph.Builder()
-                        .config(new GraphConfig(String.format("%s%s%d", TEMP_RESULTS_GRAPH, ApplyViewToElementsFunction.class.getSimpleName(), RANDOM.nextInt(Integer.MAX_VALUE))))
-                        .addSchema((Schema) context.get(SCHEMA))
-                        //MapStore easy in memory Store. Large results size may not be suitable, a graph could be provided via Context.
-                        .addStoreProperties(new MapStoreProperties())
-                        .build();
-
-                LOGGER.debug("A Temporary results graph named:{} is being made with schema:{}", resultsGraph.getGraphId(), resultsGraph.getSchema());
-
-                context.put(TEMP_RESULTS_GRAPH, resultsGraph);
-            }
             // Validate the supplied context before using
             validate(context);
             this.context = Collections.unmodifiableMap(context);
         } catch (final Exception e) {
-            throw new GafferCheckedException("Unable to create TemporaryResultsGraph", e);
+            throw new GafferCheckedException("Unable to create ApplyViewToElementsFunction", e);
         }
 
     }
 
     @Override
     public ApplyViewToElementsFunction createFunctionWithContext(final HashMap<String, Object> context) throws GafferCheckedException {
-        return new ApplyViewToElementsFunction(context);
+        final ApplyViewToElementsFunction function = new ApplyViewToElementsFunction(context);
+        function.setMaxElementsInMemory(maxElementsInMemory);
+        return function;
     }
 
     /**
      * Validates the supplied context to ensure we have everything needed to run the Function
      *
-     * @param context The context e.g. view, schema and user
+     * @param context The context e.g. view, schema and an optional results graph and user
      */
     private static void validate(final Map<String, Object> context) {
         View view = (View) context.get(VIEW);
@@ -109,41 +138,67 @@ public class ApplyViewToElementsFunction implements ContextSpecificMergeFunction
             throw new IllegalArgumentException("Error: context invalid, requires a populated schema.");
         }
 
-        if (!context.containsKey(TEMP_RESULTS_GRAPH)) {
-            throw new IllegalStateException("Error: context invalid, did not contain a Temporary Results Graph.");
-        } else if (!(context.get(TEMP_RESULTS_GRAPH) instanceof Graph)) {
-            throw new IllegalArgumentException(String.format("Error: context invalid, value for %s was not a Graph, found: %s", TEMP_RESULTS_GRAPH, context.get(TEMP_RESULTS_GRAPH)));
-        }
-
-        if (!context.containsKey(USER)) {
-            throw new IllegalArgumentException("Error: context invalid, requires a User");
+        if (context.containsKey(TEMP_RESULTS_GRAPH)) {
+            if (!(context.get(TEMP_RESULTS_GRAPH) instanceof Graph)) {
+                throw new IllegalArgumentException(String.format("Error: context invalid, value for %s was not a Graph, found: %s", TEMP_RESULTS_GRAPH, context.get(TEMP_RESULTS_GRAPH)));
+            }
+            if (!context.containsKey(USER)) {
+                throw new IllegalArgumentException("Error: context invalid, requires a User");
+            }
         }
     }
 
     @Override
     @JsonIgnore
     public Set<String> getRequiredContextValues() {
-        return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(VIEW, SCHEMA, USER)));
+        return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(VIEW, SCHEMA)));
+    }
+
+    public int getMaxElementsInMemory() {
+        return maxElementsInMemory;
+    }
+
+    public void setMaxElementsInMemory(final int maxElementsInMemory) {
+        this.maxElementsInMemory = maxElementsInMemory;
     }
 
     @Override
     public Iterable<Object> apply(final Object update, final Iterable<Object> state) {
-        if (state instanceof Closeable) {
-            Closeable closeable = (Closeable) state;
-            try {
-                closeable.close();
-            } catch (final IOException e) {
-                LOGGER.error("Error closing looped iterable", e);
+        if (context.containsKey(TEMP_RESULTS_GRAPH)) {
+            return applyToResultsGraph(update, state);
+        }
+
+        final MergedElements merged;
+        if (state instanceof MergedElements) {
+            merged = (MergedElements) state;
+        } else {
+            merged = new MergedElements(resolveView((View) context.get(VIEW), (Schema) context.get(SCHEMA)), (Schema) context.get(SCHEMA), maxElementsInMemory);
+            if (nonNull(state)) {
+                merged.add(state);
             }
         }
 
+        // The update object might be a lazy AccumuloElementRetriever and might be MASSIVE, so it is only read once.
+        if (nonNull(update)) {
+            merged.add((Iterable<?>) update);
+        }
+        return merged;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Iterable<Object> applyToResultsGraph(final Object update, final Iterable<Object> state) {
+        // The previous results are re-read from the results graph, so they are no longer needed
+        closeQuietly(state);
+
         final Graph resultsGraph = (Graph) context.get(TEMP_RESULTS_GRAPH);
         final Context userContext = new Context((User) context.get(USER));
-        try {
-            // The update object might be a lazy AccumuloElementRetriever and might be MASSIVE.
-            resultsGraph.execute(new AddElements.Builder().input((Iterable<Element>) update).build(), userContext);
-        } catch (final OperationException e) {
-            throw new GafferRuntimeException("Error adding elements to temporary results graph, due to:" + e.getMessage(), e);
+        if (nonNull(update)) {
+            try {
+                // The update object might be a lazy AccumuloElementRetriever and might be MASSIVE.
+                resultsGraph.execute(new AddElements.Builder().input((Iterable<Element>) update).build(), userContext);
+            } catch (final OperationException e) {
+                throw new GafferRuntimeException("Error adding elements to temporary results graph, due to:" + e.getMessage(), e);
+            }
         }
 
         try {
@@ -152,4 +207,188 @@ public class ApplyViewToElementsFunction implements ContextSpecificMergeFunction
             throw new GafferRuntimeException("Error getting all elements from temporary graph, due to:" + e.getMessage(), e);
         }
     }
+
+    private static void closeQuietly(final Object result) {
+        if (result instanceof Closeable) {
+            try {
+                ((Closeable) result).close();
+            } catch (final IOException e) {
+                LOGGER.error("Error closing merged results", e);
+            }
+        }
+    }
+
+    /**
+     * Populates the view with the groups in the schema, in the same way as a
+     * view is populated before it is executed on a graph.
+     *
+     * @param view   the view, may be null
+     * @param schema the schema
+     * @return a view which lists the groups to return
+     */
+    private static View resolveView(final View view, final Schema schema) {
+        final View schemaView = new View.Builder()
+                .entities(schema.getEntityGroups())
+                .edges(schema.getEdgeGroups())
+                .build();
+
+        final View resolvedView;
+        if (null == view) {
+            resolvedView = schemaView;
+        } else if (!view.hasGroups() && !view.isAllEdges() && !view.isAllEntities()) {
+            resolvedView = new View.Builder()
+                    .merge(schemaView)
+                    .merge(view)
+                    .build();
+        } else {
+            final View.Builder viewBuilder = new View.Builder()
+                    .merge(view);
+            if (view.isAllEdges()) {
+                viewBuilder.edges(schema.getEdgeGroups());
+            }
+            if (view.isAllEntities()) {
+                viewBuilder.entities(schema.getEntityGroups());
+            }
+            resolvedView = viewBuilder.build();
+        }
+        resolvedView.expandGlobalDefinitions();
+        return resolvedView;
+    }
+
+    /**
+     * The merged results from each graph. The results from each graph are read
+     * once, as they are added, and are validated and ingest aggregated. The
+     * view is then applied lazily each time the merged results are iterated.
+     */
+    private static final class MergedElements implements Iterable<Object>, Closeable {
+        // Approximate size of an element, used to bound the memory used by elements which are not aggregated
+        private static final long NON_AGGREGATED_ELEMENT_BYTES = 512L;
+
+        private final View view;
+        private final Schema schema;
+        private final Set<String> groups;
+        private final Collection<String> aggregatedGroups;
+        private final int maxElementsInMemory;
+        private final SpillingAggregator aggregator;
+        private final SpillingSorter nonAggregator;
+        private final ElementCloner cloner = new ElementCloner();
+        private final List<Iterable<Element>> queryAggregated = new ArrayList<>();
+        private Iterable<Element> aggregated;
+        private Iterable<Element> nonAggregated;
+        private boolean iterated;
+
+        private MergedElements(final View view, final Schema schema, final int maxElementsInMemory) {
+            this.view = view;
+            this.schema = schema;
+            // Only elements in the view and schema are merged
+            this.groups = new HashSet<>(view.getGroups());
+            this.groups.retainAll(schema.getGroups());
+            this.aggregatedGroups = schema.getAggregatedGroups();
+            this.maxElementsInMemory = maxElementsInMemory;
+            this.aggregator = new SpillingAggregator(new AggregatorUtil.ToIngestElementKey(schema),
+                    new AggregatorUtil.IngestElementBinaryOperator(schema), maxElementsInMemory);
+            // Every element compares as equal, so the stable sort keeps the elements in the order they were merged
+            this.nonAggregator = new SpillingSorter((first, second) -> 0, false,
+                    maxElementsInMemory * NON_AGGREGATED_ELEMENT_BYTES, schema);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void add(final Iterable<?> result) {
+            if (nonNull(aggregated)) {
+                throw new IllegalStateException("Results cannot be merged once the merged results have been read");
+            }
+
+            try {
+                final Predicate<Element> inGroups = e -> nonNull(e) && groups.contains(e.getGroup());
+                final Iterable<Element> elements = new FilteredIterable<>((Iterable<Element>) result, inGroups);
+                for (final Element element : new ValidatedElements(elements, schema, false)) {
+                    if (aggregatedGroups.contains(element.getGroup())) {
+                        // Aggregation modifies the first element for each key, so a copy is aggregated
+                        aggregator.add(cloner.cloneElement(element, schema));
+                    } else {
+                        nonAggregator.add(element);
+                    }
+                }
+            } finally {
+                closeQuietly(result);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Iterator<Object> iterator() {
+            if (isNull(aggregated)) {
+                aggregated = aggregator.getAggregated();
+                nonAggregated = nonAggregator.getSorted();
+            }
+            if (iterated && (aggregator.hasSpilled() || nonAggregator.hasSpilled())) {
+                throw new IllegalStateException("Merged results which were spilled to disk can only be iterated over once");
+            }
+            iterated = true;
+
+            // Applying the view modifies the elements, so copies of any elements held in memory are used
+            final Function<Element, Element> copy = e -> cloner.cloneElement(e, schema);
+            final Iterable<Element> aggregatedElements = aggregator.hasSpilled()
+                    ? aggregated
+                    : new MappedIterable<Element, Element>(aggregated, copy);
+            final Iterable<Element> nonAggregatedElements = nonAggregator.hasSpilled()
+                    ? nonAggregated
+                    : new MappedIterable<Element, Element>(nonAggregated, copy);
+            Iterable<Element> merged = new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
+
+            // Apply pre-aggregation filter
+            final Predicate<Element> preAggregationFilter = e -> {
+                final ViewElementDefinition ved = view.getElement(e.getGroup());
+                return null == ved.getPreAggregationFilter() || ved.getPreAggregationFilter().test(e);
+            };
+            merged = new FilteredIterable<>(merged, preAggregationFilter);
+
+            // Apply query time aggregation
+            if (AggregatorUtil.isQueryAggregationRequired(schema, view)) {
+                merged = AggregatorUtil.streamingQueryAggregate(merged, schema, view, false, maxElementsInMemory);
+                queryAggregated.add(merged);
+            }
+
+            // Apply post-aggregation filter
+            final Predicate<Element> postAggregationFilter = e -> {
+                final ViewElementDefinition ved = view.getElement(e.getGroup());
+                return null == ved.getPostAggregationFilter() || ved.getPostAggregationFilter().test(e);
+            };
+            merged = new FilteredIterable<>(merged, postAggregationFilter);
+
+            // Apply transform and post-transform filter, then remove any properties excluded by the view
+            final Function<Element, Element> transform = e -> {
+                final ElementTransformer transformer = view.getElement(e.getGroup()).getTransformer();
+                if (null != transformer) {
+                    transformer.apply(e);
+                }
+                return e;
+            };
+            merged = new MappedIterable<Element, Element>(merged, transform);
+            final Predicate<Element> postTransformFilter = e -> {
+                final ViewElementDefinition ved = view.getElement(e.getGroup());
+                return null == ved.getPostTransformFilter() || ved.getPostTransformFilter().test(e);
+            };
+            merged = new FilteredIterable<>(merged, postTransformFilter);
+            final Function<Element, Element> removeProperties = e -> {
+                ViewUtil.removeProperties(view, e);
+                return e;
+            };
+            merged = new MappedIterable<Element, Element>(merged, removeProperties);
+
+            return (Iterator) merged.iterator();
+        }
+
+        @Override
+        public void close() {
+            // Deletes any elements spilled to disk by results which were not fully read
+            for (final Iterable<Element> iterable : queryAggregated) {
+                closeQuietly(iterable);
+            }
+            queryAggregated.clear();
+            aggregator.close();
+            closeQuietly(nonAggregated);
+            nonAggregator.close();
+        }
+    }
 }
@@ -28,9 +28,11 @@ import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.graph.GraphConfig;
 import uk.gov.gchq.gaffer.graph.GraphSerialisable;
 
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 
+import static java.util.Collections.singleton;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.from;
@@ -42,8 +44,14 @@ import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.SCHEMA_ED
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.loadAccumuloStoreProperties;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.loadSchemaFromJson;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.resetForFederatedTests;
+import static uk.gov.gchq.gaffer.user.StoreUser.AUTH_1;
+import static uk.gov.gchq.gaffer.user.StoreUser.TEST_USER_ID;
+import static uk.gov.gchq.gaffer.user.StoreUser.authUser;
+import static uk.gov.gchq.gaffer.user.StoreUser.blankUser;
 
 public class FederatedStoreCacheTest {
+    private static final String GRAPH_ID_OTHER = "otherGraph";
+    private static final FederatedAccess ACCESS = new FederatedAccess(singleton(AUTH_1), TEST_USER_ID, false);
     private static Graph testGraph;
     private static FederatedStoreCache federatedStoreCache;
 
@@ -136,4 +144,55 @@ public class FederatedStoreCacheTest {
         //then
         assertThat(graphFromCache).isNull();
     }
+
+    @Test
+    public void shouldReuseGraphRegistryUntilGraphsChange() throws CacheOperationException {
+        //given
+        federatedStoreCache.addGraphToCache(testGraph, ACCESS, false);
+        final FederatedGraphRegistry registry = federatedStoreCache.getGraphRegistry();
+
+        //when
+        final FederatedGraphRegistry unchangedRegistry = federatedStoreCache.getGraphRegistry();
+        federatedStoreCache.addGraphToCache(new GraphSerialisable.Builder(testGraph).config(new GraphConfig(GRAPH_ID_OTHER)).build(), ACCESS, false);
+        final FederatedGraphRegistry changedRegistry = federatedStoreCache.getGraphRegistry();
+
+        //then
+        assertThat(unchangedRegistry).isSameAs(registry);
+        assertThat(changedRegistry).isNotSameAs(registry);
+        assertThat(changedRegistry.getGraphIds()).containsExactlyInAnyOrder(GRAPH_ID_ACCUMULO, GRAPH_ID_OTHER);
+        assertThat(changedRegistry.getAccess(GRAPH_ID_ACCUMULO))
+                .isEqualTo(ACCESS)
+                .isSameAs(registry.getAccess(GRAPH_ID_ACCUMULO));
+        assertThat(changedRegistry.getGraph(GRAPH_ID_ACCUMULO)).isSameAs(registry.getGraph(GRAPH_ID_ACCUMULO));
+    }
+
+    @Test
+    public void shouldRebuildGraphRegistryWhenGraphsChangedByAnotherStoreSharingTheCache() throws CacheOperationException {
+        //given
+        federatedStoreCache.addGraphToCache(testGraph, ACCESS, false);
+        assertThat(federatedStoreCache.getGraphRegistry().getGraphIds()).containsExactly(GRAPH_ID_ACCUMULO);
+        final FederatedStoreCache otherStoreCache = new FederatedStoreCache("GRAPH_ID_ACCUMULO");
+
+        //when
+        otherStoreCache.deleteGraphFromCache(GRAPH_ID_ACCUMULO);
+        otherStoreCache.addGraphToCache(testGraph, new FederatedAccess(singleton(AUTH_1), TEST_USER_ID, true), false);
+
+        //then
+        assertThat(federatedStoreCache.getGraphRegistry().getAccess(GRAPH_ID_ACCUMULO).isPublic()).isTrue();
+    }
+
+    @Test
+    public void shouldIndexReadableGraphIdsForUser() throws CacheOperationException {
+        //given
+        federatedStoreCache.addGraphToCache(testGraph, ACCESS, false);
+        final FederatedGraphRegistry registry = federatedStoreCache.getGraphRegistry();
+
+        //when
+        final List<String> readableGraphIds = registry.getReadableGraphIds(authUser(), null);
+
+        //then
+        assertThat(readableGraphIds).containsExactly(GRAPH_ID_ACCUMULO);
+        assertThat(registry.getReadableGraphIds(authUser(), null)).isSameAs(readableGraphIds);
+        assertThat(registry.getReadableGraphIds(blankUser(), null)).isEmpty();
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2022 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,7 +27,9 @@ import java.util.Set;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.fail;
 import static uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil.getDefaultMergeFunction;
 
@@ -104,6 +106,41 @@ public class FederatedOperationTest extends FederationOperationTest<FederatedOpe
         assertEquals(a, b);
     }
 
+    @Test
+    public void shouldDeepCloneOperationWithoutSharingOptions() {
+        // Given
+        final GetAdjacentIds payload = new GetAdjacentIds.Builder()
+                .option("payloadOp", "payloadVal")
+                .build();
+        final FederatedOperation a = new FederatedOperation.Builder()
+                .op(payload)
+                .graphIds(EXPECTED_GRAPH_IDS)
+                .mergeFunction(getDefaultMergeFunction())
+                .option("op1", "val1")
+                .skipFailedFederatedExecution(false)
+                .build();
+
+        // When
+        final FederatedOperation b = a.deepClone();
+        b.addOption("op2", "val2");
+        b.getUnClonedPayload().addOption("payloadOp2", "val2");
+        b.graphIdsCSV("otherGraph");
+
+        // Then
+        assertEquals(a, new FederatedOperation.Builder()
+                .op(new GetAdjacentIds.Builder()
+                        .option("payloadOp", "payloadVal")
+                        .build())
+                .graphIds(EXPECTED_GRAPH_IDS)
+                .mergeFunction(getDefaultMergeFunction())
+                .option("op1", "val1")
+                .skipFailedFederatedExecution(false)
+                .build());
+        assertNotSame(payload, b.getUnClonedPayload());
+        assertEquals("val2", b.getOption("op2"));
+        assertEquals(singletonList("otherGraph"), b.getGraphIds());
+    }
+
     @Override
     protected FederatedOperation getTestObject() {
         return new FederatedOperation();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2022 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package uk.gov.gchq.gaffer.federatedstore.operation.handler;
 import com.google.common.collect.Lists;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.assertj.core.api.IterableAssert;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -65,6 +66,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiFunction;
 
 import static java.util.Arrays.asList;
@@ -108,6 +114,7 @@ public class FederatedOperationHandlerTest {
     private GraphSerialisable graph2;
     private GraphSerialisable graph3;
     private GraphSerialisable graph4;
+    private ExecutorService graphExecutor;
 
     @BeforeEach
     public void setUp() throws Exception {
@@ -128,6 +135,13 @@ public class FederatedOperationHandlerTest {
         graph2 = getGraphWithMockStore(mockStore2);
         graph3 = getGraphWithMockStore(mockStore3);
         graph4 = getGraphWithMockStore(mockStore4);
+
+        graphExecutor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        graphExecutor.shutdownNow();
     }
 
     private Output<Iterable<? extends Element>> getPayload() {
@@ -325,6 +339,98 @@ public class FederatedOperationHandlerTest {
         validateMergeResultsFromFieldObjects(results, output1, output2);
     }
 
+    @Test
+    public final void shouldGetAllResultsFromStoresConcurrently() throws Exception {
+        // Given
+        final FederatedOperation federatedOperation = getFederatedOperation(getPayload());
+        final FederatedStore federatedStore = getConcurrentFederatedStore(federatedOperation, null, graph1, graph2, graph3, graph4);
+
+        // When
+        final Object results = new FederatedOperationHandler<Void, Iterable<? extends Element>>().doOperation(federatedOperation, context, federatedStore);
+
+        // Then
+        validateMergeResultsFromFieldObjects(results, output1, output2, output3, output4);
+    }
+
+    @Test
+    public final void shouldExecuteGraphsConcurrently() throws Exception {
+        // Given
+        final CountDownLatch allGraphsExecuting = new CountDownLatch(2);
+        graph1 = getGraphWithMockStore(getMockStoreThatWaitsFor(allGraphsExecuting, output1));
+        graph2 = getGraphWithMockStore(getMockStoreThatWaitsFor(allGraphsExecuting, output2));
+
+        final FederatedOperation federatedOperation = getFederatedOperation(getPayload());
+        final FederatedStore federatedStore = getConcurrentFederatedStore(federatedOperation, null, graph1, graph2);
+
+        // When
+        final Object results = new FederatedOperationHandler<Void, Iterable<? extends Element>>().doOperation(federatedOperation, context, federatedStore);
+
+        // Then
+        validateMergeResultsFromFieldObjects(results, output1, output2);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenGraphTimesOut() throws Exception {
+        // Given
+        graph2 = getGraphWithMockStore(getMockStoreThatWaitsFor(new CountDownLatch(2), output2));
+
+        final FederatedOperation federatedOperation = getFederatedOperation(getPayload());
+        final FederatedStore federatedStore = getConcurrentFederatedStore(federatedOperation, 100L, graph1, graph2);
+
+        // When / Then
+        assertThatExceptionOfType(OperationException.class)
+                .isThrownBy(() -> new FederatedOperationHandler<Void, Iterable<? extends Element>>().doOperation(federatedOperation, context, federatedStore))
+                .withMessageContaining(String.format(FederatedOperationHandler.ERROR_WHILE_RUNNING_OPERATION_ON_GRAPHS_FORMAT, ""))
+                .withStackTraceContaining(TimeoutException.class.getName());
+    }
+
+    @Test
+    public void shouldSkipGraphThatTimesOutWhenSkipFlagSetTrue() throws Exception {
+        // Given
+        graph2 = getGraphWithMockStore(getMockStoreThatWaitsFor(new CountDownLatch(2), output2));
+
+        final FederatedOperation federatedOperation = getFederatedOperation(getPayload());
+        federatedOperation.skipFailedFederatedExecution(true);
+        final FederatedStore federatedStore = getConcurrentFederatedStore(federatedOperation, 100L, graph1, graph2, graph3);
+
+        // When
+        final Object results = new FederatedOperationHandler<Void, Iterable<? extends Element>>().doOperation(federatedOperation, context, federatedStore);
+
+        // Then
+        validateMergeResultsFromFieldObjects(results, output1, output3);
+    }
+
+    private FederatedStore getConcurrentFederatedStore(final FederatedOperation federatedOperation, final Long timeoutMillis, final GraphSerialisable... graphs) {
+        final FederatedStoreProperties properties = new FederatedStoreProperties();
+        if (null != timeoutMillis) {
+            properties.setGraphExecutionTimeoutMillis(timeoutMillis);
+        }
+
+        final FederatedStore federatedStore = mock(FederatedStore.class);
+        when(federatedStore.getGraphs(testUser, null, federatedOperation)).thenReturn(asList(graphs));
+        when(federatedStore.getGraphExecutor()).thenReturn(graphExecutor);
+        when(federatedStore.getProperties()).thenReturn(properties);
+        final HashMap mockMap = mock(HashMap.class);
+        given(mockMap.get(any())).willReturn(getDefaultMergeFunction());
+        given(mockMap.getOrDefault(any(), any())).willReturn(getDefaultMergeFunction());
+        when(federatedStore.getStoreConfiguredMergeFunctions()).thenReturn(mockMap);
+        return federatedStore;
+    }
+
+    private Store getMockStoreThatWaitsFor(final CountDownLatch latch, final Object willReturn) throws OperationException {
+        final Store mockStore = Mockito.mock(Store.class);
+        given(mockStore.getSchema()).willReturn(new Schema());
+        given(mockStore.getProperties()).willReturn(new StoreProperties());
+        given(mockStore.execute(any(Output.class), any(Context.class))).willAnswer(invocation -> {
+            latch.countDown();
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new OperationException("Timed out waiting for the other graphs");
+            }
+            return willReturn;
+        });
+        return mockStore;
+    }
+
     @Test
     public final void shouldPassGlobalsOnToSubstores() throws Exception {
         // Given
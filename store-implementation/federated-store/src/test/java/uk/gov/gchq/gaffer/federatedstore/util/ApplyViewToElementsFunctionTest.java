@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 Crown Copyright
+ * Copyright 2022-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.MiniAccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloAllElementsRetriever;
+import uk.gov.gchq.gaffer.core.exception.GafferCheckedException;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
@@ -32,21 +33,32 @@ import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
 import uk.gov.gchq.gaffer.federatedstore.FederatedStoreProperties;
 import uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.ACCUMULO_STORE_SINGLE_USE_PROPERTIES;
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.DEST_BASIC;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.GRAPH_ID_ACCUMULO;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.GROUP_BASIC_EDGE;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.PROPERTY_1;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.SCHEMA_EDGE_BASIC_JSON;
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.SOURCE_BASIC;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.contextBlankUser;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.edgeBasic;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreTestUtil.loadAccumuloStoreProperties;
@@ -146,6 +158,196 @@ class ApplyViewToElementsFunctionTest {
                 .isEmpty();
     }
 
+    @Test
+    public void shouldReadEachResultOnceWhenMergedAndAllowRepeatedIteration() throws Exception {
+        //given
+        final AtomicInteger reads = new AtomicInteger();
+        final List<Element> elements = Arrays.asList(edgeBasic(), edgeBasic());
+        final Iterable<Element> result = () -> {
+            reads.incrementAndGet();
+            return elements.iterator();
+        };
+        final ApplyViewToElementsFunction function = new ApplyViewToElementsFunction().createFunctionWithContext(
+                makeContext(getViewForEdgeBasic(), SCHEMA.clone()));
+
+        //when
+        Iterable<Object> iterable = null;
+        for (int i = 0; i < 3; i++) {
+            iterable = function.apply(result, iterable);
+        }
+
+        //then
+        assertThat(reads).hasValue(3);
+
+        final Edge edge6 = edgeBasic();
+        edge6.putProperty(PROPERTY_1, 6);
+        assertThat(iterable)
+                .asInstanceOf(InstanceOfAssertFactories.iterable(Element.class))
+                .containsExactly(edge6);
+        assertThat(iterable)
+                .asInstanceOf(InstanceOfAssertFactories.iterable(Element.class))
+                .containsExactly(edge6);
+        assertThat(reads).hasValue(3);
+    }
+
+    @Test
+    public void shouldApplyPostTransformFilterAndRemoveExcludedProperties() throws Exception {
+        //given
+        final ApplyViewToElementsFunction function = new ApplyViewToElementsFunction().createFunctionWithContext(
+                makeContext(
+                        new View.Builder().edge(GROUP_BASIC_EDGE,
+                                new ViewElementDefinition.Builder()
+                                        .postTransformFilter(new ElementFilter.Builder()
+                                                .select(PROPERTY_1)
+                                                .execute(new IsLessThan(3))
+                                                .build())
+                                        .excludeProperties(PROPERTY_1)
+                                        .build()).build(),
+                        SCHEMA.clone()));
+
+        //when
+        Iterable<Object> iterable = null;
+        iterable = function.apply(Arrays.asList(edgeBasic(), edgeBasicWithDest("dest2")), iterable);
+        iterable = function.apply(Arrays.asList(edgeBasic(), edgeBasic()), iterable);
+
+        //then
+        final Edge edgeWithoutProperties = edgeBasicWithDest("dest2");
+        edgeWithoutProperties.getProperties().clear();
+        assertThat(iterable)
+                .asInstanceOf(InstanceOfAssertFactories.iterable(Element.class))
+                .containsExactly(edgeWithoutProperties);
+    }
+
+    @Test
+    public void shouldOnlyAllowSpilledResultsToBeIteratedOnce() throws Exception {
+        //given
+        final ApplyViewToElementsFunction function = new ApplyViewToElementsFunction();
+        function.setMaxElementsInMemory(1);
+        final ApplyViewToElementsFunction functionWithContext = function.createFunctionWithContext(
+                makeContext(getViewForEdgeBasic(), SCHEMA.clone()));
+        final Iterable<Object> iterable = functionWithContext.apply(Arrays.asList(edgeBasic(), edgeBasicWithDest("dest2")), null);
+
+        //when
+        iterable.forEach(element -> { });
+
+        //then
+        assertThatIllegalStateException()
+                .isThrownBy(iterable::iterator)
+                .withMessageContaining("can only be iterated over once");
+    }
+
+    @Test
+    public void shouldAggregateEdgesFromMultipleResultsWhenSpillingToDisk() throws Exception {
+        //given
+        final ApplyViewToElementsFunction function = new ApplyViewToElementsFunction();
+        function.setMaxElementsInMemory(1);
+        final ApplyViewToElementsFunction functionWithContext = function.createFunctionWithContext(
+                makeContext(getViewForEdgeBasic(), SCHEMA.clone()));
+
+        //when
+        Iterable<Object> iterable = null;
+        for (int i = 0; i < 3; i++) {
+            iterable = functionWithContext.apply(Arrays.asList(edgeBasic(), edgeBasicWithDest("dest2"), edgeBasicWithDest("dest3")), iterable);
+        }
+
+        //then
+        assertThat(functionWithContext.getMaxElementsInMemory()).isEqualTo(1);
+        assertThat(iterable)
+                .asInstanceOf(InstanceOfAssertFactories.iterable(Element.class))
+                .containsExactlyInAnyOrder(edgeBasicWithDestAndCount(DEST_BASIC, 3), edgeBasicWithDestAndCount("dest2", 3), edgeBasicWithDestAndCount("dest3", 3));
+    }
+
+    @Test
+    public void shouldKeepAllElementsInNonAggregatedGroupsWhenSpillingToDisk() throws Exception {
+        //given
+        final ApplyViewToElementsFunction function = new ApplyViewToElementsFunction();
+        function.setMaxElementsInMemory(1);
+        final ApplyViewToElementsFunction functionWithContext = function.createFunctionWithContext(
+                makeContext(getViewForEdgeBasic(), getNonAggregatedSchema()));
+
+        //when
+        Iterable<Object> iterable = null;
+        for (int i = 0; i < 3; i++) {
+            iterable = functionWithContext.apply(Arrays.asList(edgeBasic(), edgeBasicWithDest("dest2")), iterable);
+        }
+
+        //then
+        assertThat(iterable)
+                .asInstanceOf(InstanceOfAssertFactories.iterable(Element.class))
+                .containsExactly(edgeBasic(), edgeBasicWithDest("dest2"),
+                        edgeBasic(), edgeBasicWithDest("dest2"),
+                        edgeBasic(), edgeBasicWithDest("dest2"));
+        assertThatIllegalStateException()
+                .isThrownBy(iterable::iterator)
+                .withMessageContaining("can only be iterated over once");
+    }
+
+    @Test
+    public void shouldMergeIntoSuppliedResultsGraph() throws Exception {
+        //given
+        final Graph resultsGraph = new Graph.Builder()
+                .config(new GraphConfig("suppliedResultsGraph"))
+                .addSchema(SCHEMA.clone())
+                .storeProperties(new MapStoreProperties())
+                .build();
+        final HashMap<String, Object> context = makeContext(getViewForEdgeBasic(), SCHEMA.clone());
+        context.put(ApplyViewToElementsFunction.TEMP_RESULTS_GRAPH, resultsGraph);
+        final ApplyViewToElementsFunction function = new ApplyViewToElementsFunction().createFunctionWithContext(context);
+
+        //when
+        Iterable<Object> iterable = null;
+        for (int i = 0; i < 3; i++) {
+            iterable = function.apply(Arrays.asList(edgeBasic(), edgeBasicWithDest("dest2")), iterable);
+        }
+
+        //then
+        assertThat(iterable)
+                .asInstanceOf(InstanceOfAssertFactories.iterable(Element.class))
+                .containsExactlyInAnyOrder(edgeBasicWithDestAndCount(DEST_BASIC, 3), edgeBasicWithDestAndCount("dest2", 3));
+        assertThat(resultsGraph.execute(new GetAllElements(), testUser()))
+                .asInstanceOf(InstanceOfAssertFactories.iterable(Element.class))
+                .containsExactlyInAnyOrder(edgeBasicWithDestAndCount(DEST_BASIC, 3), edgeBasicWithDestAndCount("dest2", 3));
+    }
+
+    @Test
+    public void shouldNotAllowResultsGraphWhichIsNotAGraph() {
+        //given
+        final HashMap<String, Object> context = makeContext(getViewForEdgeBasic(), SCHEMA.clone());
+        context.put(ApplyViewToElementsFunction.TEMP_RESULTS_GRAPH, "notAGraph");
+
+        //when / then
+        assertThatExceptionOfType(GafferCheckedException.class)
+                .isThrownBy(() -> new ApplyViewToElementsFunction().createFunctionWithContext(context))
+                .havingCause()
+                .withMessageContaining("was not a Graph");
+    }
+
+    private static Schema getNonAggregatedSchema() {
+        return new Schema.Builder()
+                .edge(GROUP_BASIC_EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("vertex.string")
+                        .destination("vertex.string")
+                        .directed("directed.either")
+                        .property(PROPERTY_1, "simpleProperty")
+                        .aggregate(false)
+                        .build())
+                .types(SCHEMA.getTypes())
+                .build();
+    }
+
+    private static Edge edgeBasicWithDest(final String dest) {
+        return edgeBasicWithDestAndCount(dest, 1);
+    }
+
+    private static Edge edgeBasicWithDestAndCount(final String dest, final int count) {
+        return new Edge.Builder()
+                .source(SOURCE_BASIC)
+                .dest(dest)
+                .group(GROUP_BASIC_EDGE)
+                .property(PROPERTY_1, count)
+                .build();
+    }
+
     private static AccumuloAllElementsRetriever[] getRetrievers(final AccumuloStore accumuloStore) throws IteratorSettingException, StoreException {
         return new AccumuloAllElementsRetriever[]{
                 new AccumuloAllElementsRetriever(accumuloStore, new GetAllElements.Builder().view(getViewForEdgeBasic()).build(), blankUser()),
@@ -56,9 +56,11 @@ import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static java.util.Arrays.asList;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * An implementation of {@link Store} that uses any class that implements Java's {@link java.util.Map} interface to
@@ -87,6 +89,7 @@ public class MapStore extends Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(MapStore.class);
     private static MapImpl staticMapImpl;
     private MapImpl mapImpl;
+    private ForkJoinPool parallelScanPool;
 
     public static void resetStaticMap() {
         staticMapImpl = null;
@@ -103,12 +106,31 @@ public class MapStore extends Store {
 
         // Initialise maps
         mapImpl = createMapImpl();
+
+        // Initialise the pool used for parallel scans
+        if (nonNull(parallelScanPool)) {
+            parallelScanPool.shutdown();
+            parallelScanPool = null;
+        }
+        if (getProperties().isParallelScan()) {
+            parallelScanPool = new ForkJoinPool(getProperties().getParallelScanThreads());
+        }
     }
 
     public MapImpl getMapImpl() {
         return mapImpl;
     }
 
+    /**
+     * Get the pool used to scan the maps in parallel.
+     * This method is for internal Map Store use
+     * only.
+     * @return the parallel scan pool, or null if parallel scans are disabled
+     */
+    public ForkJoinPool getParallelScanPool() {
+        return parallelScanPool;
+    }
+
     /**
      * Get the traits supported by this Map Store.
      * This method is for internal Map Store use
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,10 +15,12 @@
  */
 package uk.gov.gchq.gaffer.mapstore;
 
+import uk.gov.gchq.gaffer.mapstore.factory.ConcurrentMapFactory;
 import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
 import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
 import uk.gov.gchq.gaffer.sketches.serialisation.json.SketchesJsonModules;
 import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.util.SpillingAggregator;
 import uk.gov.gchq.koryphe.impl.binaryoperator.StringDeduplicateConcat;
 
 import java.io.InputStream;
@@ -40,6 +42,15 @@ public class MapStoreProperties extends StoreProperties {
     public static final String STATIC_MAP = "gaffer.store.mapstore.static";
     public static final String STATIC_MAP_DEFAULT = "false";
 
+    /**
+     * Property name for enabling the thread safe mode of the MapStore. If set
+     * to true and no map factory has been configured then a
+     * {@link ConcurrentMapFactory} is used, and aggregated properties are
+     * updated copy-on-write so concurrent readers see consistent values.
+     */
+    public static final String CONCURRENT = "gaffer.store.mapstore.concurrent";
+    public static final String CONCURRENT_DEFAULT = "false";
+
     /**
      * Property name for the ingest buffer size. If the value is set to less
      * than 1 then
@@ -49,6 +60,44 @@ public class MapStoreProperties extends StoreProperties {
     public static final String INGEST_BUFFER_SIZE = "gaffer.store.mapstore.map.ingest.buffer.size";
     public static final int INGEST_BUFFER_SIZE_DEFAULT = 0;
 
+    /**
+     * Property name for the maximum number of elements held in memory during
+     * query time aggregation. Any further elements are spilled to disk.
+     */
+    public static final String QUERY_AGGREGATION_MAX_IN_MEMORY = "gaffer.store.mapstore.map.query.aggregation.max.in.memory";
+    public static final int QUERY_AGGREGATION_MAX_IN_MEMORY_DEFAULT = SpillingAggregator.DEFAULT_MAX_ELEMENTS_IN_MEMORY;
+
+    /**
+     * Property name for the number of threads used to scan the maps for
+     * {@link uk.gov.gchq.gaffer.operation.impl.get.GetAllElements}. If the
+     * value is set to less than 2 then the maps are scanned sequentially.
+     * A parallel scan does not preserve the order in which elements are
+     * returned.
+     */
+    public static final String PARALLEL_SCAN_THREADS = "gaffer.store.mapstore.parallel.scan.threads";
+    public static final int PARALLEL_SCAN_THREADS_DEFAULT = 0;
+
+    /**
+     * Property name for the number of scanned elements that can be buffered
+     * by a parallel scan before it waits for the results to be consumed.
+     */
+    public static final String PARALLEL_SCAN_BUFFER_SIZE = "gaffer.store.mapstore.parallel.scan.buffer.size";
+    public static final int PARALLEL_SCAN_BUFFER_SIZE_DEFAULT = 10000;
+
+    /**
+     * Property name for the number of milliseconds a parallel scan waits for
+     * buffered elements to be consumed before it assumes the results have been
+     * abandoned and cancels the scan.
+     * <p>
+     * The scan cannot tell an abandoned iterator from a consumer which is
+     * still reading but has paused, so a consumer which stops reading for
+     * longer than this also has its scan cancelled. The remaining results are
+     * dropped and the next read fails with an {@link IllegalStateException}.
+     * Set this above the longest pause expected between reads of the results.
+     */
+    public static final String PARALLEL_SCAN_CONSUMER_TIMEOUT_MILLIS = "gaffer.store.mapstore.parallel.scan.consumer.timeout.millis";
+    public static final long PARALLEL_SCAN_CONSUMER_TIMEOUT_MILLIS_DEFAULT = 60000L;
+
     public MapStoreProperties() {
         super(MapStore.class);
     }
@@ -83,6 +132,9 @@ public class MapStoreProperties extends StoreProperties {
     }
 
     public String getMapFactory() {
+        if (isConcurrent()) {
+            return get(MAP_FACTORY, ConcurrentMapFactory.class.getName());
+        }
         return get(MAP_FACTORY, MAP_FACTORY_DEFAULT.getName());
     }
 
@@ -115,6 +167,62 @@ public class MapStoreProperties extends StoreProperties {
         set(INGEST_BUFFER_SIZE, String.valueOf(ingestBufferSize));
     }
 
+    public int getQueryAggregationMaxInMemory() {
+        final String size = get(QUERY_AGGREGATION_MAX_IN_MEMORY, null);
+        if (null == size) {
+            return QUERY_AGGREGATION_MAX_IN_MEMORY_DEFAULT;
+        }
+
+        return Integer.parseInt(size);
+    }
+
+    public void setQueryAggregationMaxInMemory(final int maxInMemory) {
+        set(QUERY_AGGREGATION_MAX_IN_MEMORY, String.valueOf(maxInMemory));
+    }
+
+    public int getParallelScanThreads() {
+        final String threads = get(PARALLEL_SCAN_THREADS, null);
+        if (null == threads) {
+            return PARALLEL_SCAN_THREADS_DEFAULT;
+        }
+
+        return Integer.parseInt(threads);
+    }
+
+    public void setParallelScanThreads(final int parallelScanThreads) {
+        set(PARALLEL_SCAN_THREADS, String.valueOf(parallelScanThreads));
+    }
+
+    public boolean isParallelScan() {
+        return getParallelScanThreads() > 1;
+    }
+
+    public int getParallelScanBufferSize() {
+        final String size = get(PARALLEL_SCAN_BUFFER_SIZE, null);
+        if (null == size) {
+            return PARALLEL_SCAN_BUFFER_SIZE_DEFAULT;
+        }
+
+        return Integer.parseInt(size);
+    }
+
+    public void setParallelScanBufferSize(final int parallelScanBufferSize) {
+        set(PARALLEL_SCAN_BUFFER_SIZE, String.valueOf(parallelScanBufferSize));
+    }
+
+    public long getParallelScanConsumerTimeoutMillis() {
+        final String timeout = get(PARALLEL_SCAN_CONSUMER_TIMEOUT_MILLIS, null);
+        if (null == timeout) {
+            return PARALLEL_SCAN_CONSUMER_TIMEOUT_MILLIS_DEFAULT;
+        }
+
+        return Long.parseLong(timeout);
+    }
+
+    public void setParallelScanConsumerTimeoutMillis(final long parallelScanConsumerTimeoutMillis) {
+        set(PARALLEL_SCAN_CONSUMER_TIMEOUT_MILLIS, String.valueOf(parallelScanConsumerTimeoutMillis));
+    }
+
     public boolean isStaticMap() {
         return Boolean.parseBoolean(get(STATIC_MAP, STATIC_MAP_DEFAULT));
     }
@@ -123,6 +231,14 @@ public class MapStoreProperties extends StoreProperties {
         set(STATIC_MAP, Boolean.toString(staticMap));
     }
 
+    public boolean isConcurrent() {
+        return Boolean.parseBoolean(get(CONCURRENT, CONCURRENT_DEFAULT));
+    }
+
+    public void setConcurrent(final boolean concurrent) {
+        set(CONCURRENT, Boolean.toString(concurrent));
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
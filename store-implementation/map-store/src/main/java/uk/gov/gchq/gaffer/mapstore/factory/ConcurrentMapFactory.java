@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.ConcurrentMapOfSets;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread safe implementation of the {@link MapFactory} interface. All maps are
+ * {@link ConcurrentHashMap}s, which are internally lock-striped, and multi maps
+ * are {@link ConcurrentMapOfSets}. This allows concurrent ingest and queries
+ * against a {@link uk.gov.gchq.gaffer.mapstore.MapStore}, where writers to
+ * different groups or vertices do not block each other.
+ */
+public class ConcurrentMapFactory implements MapFactory {
+    private final ElementCloner cloner;
+
+    private final Map<String, Map> maps = new ConcurrentHashMap<>();
+    private final Map<String, MultiMap> multiMaps = new ConcurrentHashMap<>();
+
+    public ConcurrentMapFactory() {
+        this(new ElementCloner());
+    }
+
+    protected ConcurrentMapFactory(final ElementCloner cloner) {
+        this.cloner = cloner;
+    }
+
+    @Override
+    public void initialise(final Schema schema, final MapStoreProperties properties) {
+        // no initialisation required
+    }
+
+    @Override
+    public <K, V> Map<K, V> getMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return maps.computeIfAbsent(mapName, n -> new ConcurrentHashMap<>());
+    }
+
+    @Override
+    public <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return multiMaps.computeIfAbsent(mapName, n -> new ConcurrentMapOfSets<>());
+    }
+
+    @Override
+    public void clear() {
+        maps.clear();
+        multiMaps.clear();
+    }
+
+    @Override
+    public Element cloneElement(final Element element, final Schema schema) {
+        return cloner.cloneElement(element, schema);
+    }
+}
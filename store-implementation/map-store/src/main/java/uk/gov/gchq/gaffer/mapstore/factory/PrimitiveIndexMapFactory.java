@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.multimap.PrimitiveMultiMap;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link SimpleMapFactory} which creates {@link PrimitiveMultiMap}s for the
+ * {@link uk.gov.gchq.gaffer.mapstore.MapStore} indices. The element maps are
+ * created in the same way as the {@link SimpleMapFactory}, but the indices
+ * intern vertices to dense int ids and hold adjacency as primitive arrays,
+ * which significantly reduces the heap used per indexed edge.
+ * <p>
+ * {@link Edge#equals(Object)} ignores the matched vertex, so destination
+ * matched edges are interned separately from source matched edges. This keeps
+ * the two copies of an edge distinct, which the
+ * {@link uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType}
+ * filtering relies on.
+ * <p>
+ * To use this factory set the store property
+ * {@code gaffer.store.mapstore.map.factory} to this class name. The maps it
+ * creates are not thread safe, so it cannot be used if
+ * {@link MapStoreProperties#CONCURRENT} is set.
+ */
+public class PrimitiveIndexMapFactory extends SimpleMapFactory {
+    private final Map<String, MultiMap> multiMaps = new HashMap<>();
+
+    public PrimitiveIndexMapFactory() {
+        super();
+    }
+
+    protected PrimitiveIndexMapFactory(final ElementCloner cloner) {
+        super(cloner);
+    }
+
+    @Override
+    public void initialise(final Schema schema, final MapStoreProperties properties) {
+        if (properties.isConcurrent()) {
+            throw new IllegalArgumentException(getClass().getSimpleName() + " is not thread safe so cannot be used when "
+                    + MapStoreProperties.CONCURRENT + " is true");
+        }
+        super.initialise(schema, properties);
+    }
+
+    @Override
+    public <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return multiMaps.computeIfAbsent(mapName, n -> new PrimitiveMultiMap<>(PrimitiveIndexMapFactory::getInternSpace));
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        multiMaps.clear();
+    }
+
+    private static int getInternSpace(final Object value) {
+        return value instanceof Edge && EdgeId.MatchedVertex.DESTINATION == ((Edge) value).getMatchedVertex() ? 1 : 0;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -66,6 +66,7 @@ public class GetAdjacentIdsHandler implements OutputOperationHandler<GetAdjacent
         private final Schema schema;
         private final User user;
         private final boolean supportsVisibility;
+        private final int maxAggregatedInMemory;
 
         EntityIdIterable(final MapImpl mapImpl, final GetAdjacentIds getAdjacentIds, final MapStore mapStore, final User user) {
             this.mapImpl = mapImpl;
@@ -73,6 +74,7 @@ public class GetAdjacentIdsHandler implements OutputOperationHandler<GetAdjacent
             this.schema = mapStore.getSchema();
             this.user = user;
             this.supportsVisibility = mapStore.getTraits().contains(StoreTrait.VISIBILITY);
+            this.maxAggregatedInMemory = mapStore.getProperties().getQueryAggregationMaxInMemory();
         }
 
         @Override
@@ -94,7 +96,7 @@ public class GetAdjacentIdsHandler implements OutputOperationHandler<GetAdjacent
             elementStream = elementStream.map(element -> mapImpl.cloneElement(element, schema));
 
             // Apply the view
-            elementStream = GetElementsUtil.applyView(elementStream, schema, getAdjacentIds.getView(), true);
+            elementStream = GetElementsUtil.applyView(elementStream, schema, getAdjacentIds.getView(), true, false, maxAggregatedInMemory);
 
             final Stream<EntityId> adjacentIdsStream = elementStream
                     .filter(Objects::nonNull)
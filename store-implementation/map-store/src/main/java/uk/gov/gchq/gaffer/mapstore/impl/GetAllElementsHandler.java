@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,7 +15,11 @@
  */
 package uk.gov.gchq.gaffer.mapstore.impl;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.StreamIterator;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
@@ -25,13 +29,23 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreTrait;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 /**
  * An {@link OutputOperationHandler} for the {@link GetAllElements} operation on the {@link MapStore}.
+ * <p>
+ * If {@link uk.gov.gchq.gaffer.mapstore.MapStoreProperties#isParallelScan()} is set then the maps are
+ * split into segments which are filtered and transformed concurrently, and the results are returned
+ * in the order they are produced rather than in map order. Closing the returned iterable cancels any
+ * scans which are still running, and deletes any elements spilled to disk by query time aggregation.
  */
 public class GetAllElementsHandler implements OutputOperationHandler<GetAllElements, Iterable<? extends Element>> {
 
@@ -49,12 +63,19 @@ public class GetAllElementsHandler implements OutputOperationHandler<GetAllEleme
         return new AllElementsIterable(mapStore.getMapImpl(), operation, mapStore, context.getUser());
     }
 
-    private static class AllElementsIterable implements Iterable<Element> {
+    private static class AllElementsIterable implements Closeable, Iterable<Element> {
+        private static final int SEGMENTS_PER_THREAD = 4;
+
         private final MapImpl mapImpl;
         private final GetAllElements getAllElements;
         private final Schema schema;
         private final User user;
         private final boolean supportsVisibility;
+        private final int maxAggregatedInMemory;
+        private final ForkJoinPool parallelScanPool;
+        private final int parallelScanBufferSize;
+        private final long parallelScanConsumerTimeoutMillis;
+        private final List<Closeable> openIterators = new ArrayList<>();
 
         AllElementsIterable(final MapImpl mapImpl,
                             final GetAllElements getAllElements,
@@ -65,22 +86,82 @@ public class GetAllElementsHandler implements OutputOperationHandler<GetAllEleme
             this.schema = mapStore.getSchema();
             this.user = user;
             this.supportsVisibility = mapStore.getTraits().contains(StoreTrait.VISIBILITY);
+            this.maxAggregatedInMemory = mapStore.getProperties().getQueryAggregationMaxInMemory();
+            this.parallelScanPool = mapStore.getParallelScanPool();
+            this.parallelScanBufferSize = mapStore.getProperties().getParallelScanBufferSize();
+            this.parallelScanConsumerTimeoutMillis = mapStore.getProperties().getParallelScanConsumerTimeoutMillis();
         }
 
         @Override
         public Iterator<Element> iterator() {
+            final Iterator<Element> iterator = null != parallelScanPool ? parallelIterator() : sequentialIterator();
+            synchronized (openIterators) {
+                openIterators.add((Closeable) iterator);
+            }
+            return iterator;
+        }
+
+        // Closing the iterator closes the stream, which deletes any elements
+        // spilled to disk by query time aggregation.
+        private Iterator<Element> sequentialIterator() {
             Stream<Element> elements = mapImpl.getAllElements(getAllElements.getView().getGroups());
+            elements = applyFilters(elements, getAllElements.getView());
+            elements = GetElementsUtil.applyView(elements, schema, getAllElements.getView(), false, true, maxAggregatedInMemory);
+            elements = removeProperties(elements, getAllElements.getView());
+            return new StreamIterator<>(elements);
+        }
+
+        // Scans each segment of the maps on the parallel scan pool. All tasks
+        // share the view, as its filters and transformers create a new tuple
+        // for each element rather than keeping state between elements. If
+        // query time aggregation is required then it is applied to the merged
+        // results along with the rest of the view.
+        private Iterator<Element> parallelIterator() {
+            final View view = getAllElements.getView();
+            final boolean aggregationRequired = AggregatorUtil.isQueryAggregationRequired(schema, view);
+            final List<Stream<Element>> segments = mapImpl.getAllElementSegments(view.getGroups(),
+                    parallelScanPool.getParallelism() * SEGMENTS_PER_THREAD);
+            final ParallelScanIterator scan = new ParallelScanIterator(parallelScanPool, segments, () -> segment -> {
+                final Stream<Element> elements = GetElementsUtil.applyPreAggregationView(applyFilters(segment, view), schema, view);
+                if (aggregationRequired) {
+                    return elements;
+                }
+                return removeProperties(GetElementsUtil.applyPostAggregationView(elements, view), view);
+            }, parallelScanBufferSize, parallelScanConsumerTimeoutMillis);
+
+            if (!aggregationRequired) {
+                return scan;
+            }
+
+            Stream<Element> elements = Streams.toStream(AggregatorUtil.streamingQueryAggregate(() -> scan, schema, view, false, maxAggregatedInMemory));
+            elements = removeProperties(GetElementsUtil.applyPostAggregationView(elements, view), view);
+            return new StreamIterator<>(elements.onClose(scan::close));
+        }
+
+        @Override
+        public void close() {
+            synchronized (openIterators) {
+                for (final Closeable iterator : openIterators) {
+                    CloseableUtil.close(iterator);
+                }
+                openIterators.clear();
+            }
+        }
+
+        private Stream<Element> applyFilters(final Stream<Element> elements, final View view) {
+            Stream<Element> filtered = elements;
             if (this.supportsVisibility) {
-                elements = GetElementsUtil.applyVisibilityFilter(elements, schema, user);
+                filtered = GetElementsUtil.applyVisibilityFilter(filtered, schema, user);
             }
-            elements = GetElementsUtil.applyDirectedTypeFilter(elements, getAllElements.getView().hasEdges(), getAllElements.getDirectedType());
-            elements = elements.map(element -> mapImpl.cloneElement(element, schema));
-            elements = GetElementsUtil.applyView(elements, schema, getAllElements.getView());
-            elements = elements.map(element -> {
-                ViewUtil.removeProperties(getAllElements.getView(), element);
+            filtered = GetElementsUtil.applyDirectedTypeFilter(filtered, view.hasEdges(), getAllElements.getDirectedType());
+            return filtered.map(element -> mapImpl.cloneElement(element, schema));
+        }
+
+        private static Stream<Element> removeProperties(final Stream<Element> elements, final View view) {
+            return elements.map(element -> {
+                ViewUtil.removeProperties(view, element);
                 return element;
             });
-            return elements.iterator();
         }
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -69,6 +69,7 @@ public class GetElementsHandler implements OutputOperationHandler<GetElements, I
         private final Schema schema;
         private final User user;
         private final boolean supportsVisibility;
+        private final int maxAggregatedInMemory;
 
         ElementsIterable(final MapImpl mapImpl, final GetElements getElements, final MapStore mapStore, final User user) {
             this.mapImpl = mapImpl;
@@ -76,6 +77,7 @@ public class GetElementsHandler implements OutputOperationHandler<GetElements, I
             this.schema = mapStore.getSchema();
             this.user = user;
             this.supportsVisibility = mapStore.getTraits().contains(StoreTrait.VISIBILITY);
+            this.maxAggregatedInMemory = mapStore.getProperties().getQueryAggregationMaxInMemory();
         }
 
         @Override
@@ -88,7 +90,7 @@ public class GetElementsHandler implements OutputOperationHandler<GetElements, I
                 elements = GetElementsUtil.applyVisibilityFilter(elements, schema, user);
             }
             elements = elements.map(element -> mapImpl.cloneElement(element, schema));
-            elements = GetElementsUtil.applyView(elements, schema, getElements.getView());
+            elements = GetElementsUtil.applyView(elements, schema, getElements.getView(), false, true, maxAggregatedInMemory);
             elements = elements.map(element -> {
                 ViewUtil.removeProperties(getElements.getView(), element);
                 return element;
@@ -20,9 +20,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.Authorisations;
-import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.ElementVisibility;
-import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.VisibilityEvaluator;
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.CachingVisibilityEvaluator;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
@@ -38,6 +38,7 @@ import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+import uk.gov.gchq.gaffer.store.util.SpillingAggregator;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Collection;
@@ -45,9 +46,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  * Utility methods used by the handlers for the {@link uk.gov.gchq.gaffer.operation.impl.get.GetElements}
@@ -135,19 +134,19 @@ public final class GetElementsUtil {
                                                         final User user) {
         final Set<String> dataAuths = user.getDataAuths();
         final Authorisations authorisations = new Authorisations(dataAuths.toArray(new String[dataAuths.size()]));
-        return elements.filter(e -> isVisible(e, schema.getVisibilityProperty(), authorisations));
+        final CachingVisibilityEvaluator visibilityEvaluator = new CachingVisibilityEvaluator(authorisations);
+        return elements.filter(e -> isVisible(e, schema.getVisibilityProperty(), visibilityEvaluator));
     }
 
     private static boolean isVisible(final Element e, final String visibilityProperty,
-                                     final Authorisations authorisations) {
+                                     final CachingVisibilityEvaluator visibilityEvaluator) {
         if (e.getProperty(visibilityProperty) != null) {
-            final VisibilityEvaluator visibilityEvaluator = new VisibilityEvaluator(authorisations);
-            final ElementVisibility elementVisibility = new ElementVisibility((String) e.getProperty(visibilityProperty));
+            final String visibility = (String) e.getProperty(visibilityProperty);
             try {
-                return visibilityEvaluator.evaluate(elementVisibility);
+                return visibilityEvaluator.evaluate(visibility);
             } catch (final VisibilityParseException visibilityParseException) {
                 LOGGER.warn("Unable to parse element visibility: {}. Received exception: {}",
-                        elementVisibility,
+                        visibility,
                         visibilityParseException.getMessage());
                 return false;
             }
@@ -181,6 +180,46 @@ public final class GetElementsUtil {
                                             final Schema schema,
                                             final View view,
                                             final boolean includeMatchedVertex) {
+        return applyView(elementStream, schema, view, includeMatchedVertex, false, SpillingAggregator.DEFAULT_MAX_ELEMENTS_IN_MEMORY);
+    }
+
+    /**
+     * Lazily applies the filters, aggregation and transforms in a {@link View}
+     * to a stream of elements.
+     * <p>
+     * If query time aggregation cannot change any of the elements then it is
+     * skipped entirely. Otherwise elements are aggregated incrementally with
+     * at most maxAggregatedInMemory elements held in memory, any further
+     * elements are spilled to disk.
+     *
+     * @param elementStream         the elements
+     * @param schema                the schema
+     * @param view                  the view to apply
+     * @param includeMatchedVertex  whether aggregation groups should include the Edge Matched Vertex
+     * @param distinctIngestKeys    true if no two elements in the stream share the same ingest aggregation key
+     * @param maxAggregatedInMemory the maximum number of aggregated elements to hold in memory
+     * @return the elements with the view applied
+     */
+    public static Stream<Element> applyView(final Stream<Element> elementStream,
+                                            final Schema schema,
+                                            final View view,
+                                            final boolean includeMatchedVertex,
+                                            final boolean distinctIngestKeys,
+                                            final int maxAggregatedInMemory) {
+        Stream<Element> stream = applyPreAggregationView(elementStream, schema, view);
+
+        // Apply aggregation
+        if (!distinctIngestKeys || AggregatorUtil.isQueryAggregationRequired(schema, view)) {
+            final Iterable<Element> iterable = AggregatorUtil.streamingQueryAggregate(stream::iterator, schema, view, includeMatchedVertex, maxAggregatedInMemory);
+            stream = Streams.toStream(iterable);
+        }
+
+        return applyPostAggregationView(stream, view);
+    }
+
+    static Stream<Element> applyPreAggregationView(final Stream<Element> elementStream,
+                                                   final Schema schema,
+                                                   final View view) {
         final Set<String> viewGroups = view.getGroups();
         Stream<Element> stream = elementStream;
         // Check group is valid
@@ -190,17 +229,16 @@ public final class GetElementsUtil {
         }
 
         // Apply pre-aggregation filter
-        stream = stream.filter(e -> {
+        return stream.filter(e -> {
             final ViewElementDefinition ved = view.getElement(e.getGroup());
             return ved.getPreAggregationFilter() == null || ved.getPreAggregationFilter().test(e);
         });
+    }
 
-        // Apply aggregation
-        final Iterable<Element> iterable = AggregatorUtil.queryAggregate(stream.collect(Collectors.toList()), schema, view, includeMatchedVertex);
-        stream = StreamSupport.stream(iterable.spliterator(), false);
-
+    static Stream<Element> applyPostAggregationView(final Stream<Element> elementStream,
+                                                    final View view) {
         // Apply post-aggregation filter
-        stream = stream.filter(e -> {
+        Stream<Element> stream = elementStream.filter(e -> {
             final ViewElementDefinition ved = view.getElement(e.getGroup());
             return ved.getPostAggregationFilter() == null || ved.getPostAggregationFilter().test(e);
         });
@@ -216,11 +254,9 @@ public final class GetElementsUtil {
         });
 
         // Apply post transform filter
-        stream = stream.filter(e -> {
+        return stream.filter(e -> {
             final ViewElementDefinition ved = view.getElement(e.getGroup());
             return ved.getPostTransformFilter() == null || ved.getPostTransformFilter().test(e);
         });
-
-        return stream;
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,9 +18,13 @@ package uk.gov.gchq.gaffer.mapstore.impl;
 import uk.gov.gchq.gaffer.commonutil.iterable.RepeatItemIterable;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
 import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
@@ -31,14 +35,19 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Map data store implementation use by the Gaffer {@link uk.gov.gchq.gaffer.mapstore.MapStore}
@@ -55,12 +64,18 @@ import java.util.stream.Stream;
  * handlers for the {@link uk.gov.gchq.gaffer.mapstore.MapStore} to be placed in the
  * same package and get access to the maps, without exposing the internal state of
  * the MapStore to classes outside of this package.
+ * <p>
+ * If {@link MapStoreProperties#isConcurrent()} is set then the maps should be
+ * supplied by a thread safe {@link MapFactory}, such as the
+ * {@link uk.gov.gchq.gaffer.mapstore.factory.ConcurrentMapFactory}, and
+ * aggregated properties are replaced rather than updated in place.
  */
 public class MapImpl {
     public static final String AGG_ELEMENTS = "aggElements";
     public static final String NON_AGG_ELEMENTS = "nonAggElements";
     public static final String ENTITY_ID_TO_ELEMENTS = "entityIdToElements";
     public static final String EDGE_ID_TO_ELEMENTS = "edgeIdToElements";
+    private static final int MIN_SEGMENT_SIZE = 1024;
 
     /**
      * aggElements maps from an Element group to a map of Elements containing the group-by properties
@@ -91,13 +106,16 @@ public class MapImpl {
     private final List<String> aggregatedGroups;
     private final Schema schema;
     private final boolean maintainIndex;
+    private final boolean concurrent;
     private final AggregatorUtil.IngestPropertiesBinaryOperator propertyAggregator;
+    private final ThreadLocal<Map<String, ElementAggregator>> threadIngestAggregators = ThreadLocal.withInitial(HashMap::new);
 
     public MapImpl(final Schema schema, final MapStoreProperties mapStoreProperties) {
         this.schema = schema;
         propertyAggregator = new AggregatorUtil.IngestPropertiesBinaryOperator(schema);
         mapFactory = createMapFactory(schema, mapStoreProperties);
         maintainIndex = mapStoreProperties.getCreateIndex();
+        concurrent = mapStoreProperties.isConcurrent();
 
         for (final String group : schema.getGroups()) {
             aggElements.put(group, mapFactory.getMap(group + "|" + AGG_ELEMENTS, Element.class, GroupedProperties.class));
@@ -133,7 +151,7 @@ public class MapImpl {
     void addAggElement(final Element elementWithGroupByProperties, final GroupedProperties properties) {
         if (null != aggElements.get(elementWithGroupByProperties.getGroup())) {
             aggElements.get(elementWithGroupByProperties.getGroup())
-                    .merge(elementWithGroupByProperties, properties, propertyAggregator);
+                    .merge(elementWithGroupByProperties, properties, concurrent ? this::aggregateCopy : propertyAggregator);
         }
     }
 
@@ -183,12 +201,7 @@ public class MapImpl {
                 .filter(entry -> groups.contains(entry.getKey()))
                 .map(Map.Entry::getValue)
                 .flatMap(map -> map.entrySet().stream())
-                .map(x -> {
-                    final Element element = x.getKey().emptyClone();
-                    element.copyProperties(x.getKey().getProperties());
-                    element.copyProperties(x.getValue());
-                    return cloneElement(element, schema);
-                });
+                .map(this::toAggElement);
     }
 
     Stream<Element> getAllNonAggElements(final Set<String> groups) {
@@ -196,14 +209,75 @@ public class MapImpl {
                 .filter(entry -> groups.contains(entry.getKey()))
                 .map(Map.Entry::getValue)
                 .flatMap(map -> map.entrySet().stream())
-                .map(x -> new RepeatItemIterable<>(cloneElement(x.getKey(), schema), x.getValue()))
-                .flatMap(Streams::toStream);
+                .flatMap(this::toNonAggElements);
     }
 
     Stream<Element> getAllElements(final Set<String> groups) {
         return Stream.concat(getAllAggElements(groups), getAllNonAggElements(groups));
     }
 
+    /**
+     * Splits the elements in the provided groups into independent segments
+     * which can be scanned concurrently. Each group's maps are split into at
+     * most maxSegmentsPerMap segments, although maps that do not support
+     * splitting are returned as a single segment.
+     *
+     * @param groups            the groups to scan
+     * @param maxSegmentsPerMap the maximum number of segments to split each map into
+     * @return the segments, each of which is a lazily evaluated stream of elements
+     */
+    List<Stream<Element>> getAllElementSegments(final Set<String> groups, final int maxSegmentsPerMap) {
+        final List<Stream<Element>> segments = new ArrayList<>();
+        for (final String group : groups) {
+            final Map<Element, GroupedProperties> aggMap = aggElements.get(group);
+            if (null != aggMap) {
+                for (final Spliterator<Map.Entry<Element, GroupedProperties>> split : splitEntries(aggMap, maxSegmentsPerMap)) {
+                    segments.add(StreamSupport.stream(split, false).map(this::toAggElement));
+                }
+            }
+            final Map<Element, Long> nonAggMap = nonAggElements.get(group);
+            if (null != nonAggMap) {
+                for (final Spliterator<Map.Entry<Element, Long>> split : splitEntries(nonAggMap, maxSegmentsPerMap)) {
+                    segments.add(StreamSupport.stream(split, false).flatMap(this::toNonAggElements));
+                }
+            }
+        }
+        return segments;
+    }
+
+    private static <K, V> List<Spliterator<Map.Entry<K, V>>> splitEntries(final Map<K, V> map, final int maxSegments) {
+        final List<Spliterator<Map.Entry<K, V>>> splits = new ArrayList<>();
+        if (map.isEmpty()) {
+            return splits;
+        }
+
+        final long targetSize = Math.max(MIN_SEGMENT_SIZE, map.size() / Math.max(1, maxSegments));
+        final Deque<Spliterator<Map.Entry<K, V>>> toSplit = new ArrayDeque<>();
+        toSplit.push(map.entrySet().spliterator());
+        while (!toSplit.isEmpty()) {
+            final Spliterator<Map.Entry<K, V>> split = toSplit.pop();
+            final Spliterator<Map.Entry<K, V>> prefix = split.estimateSize() > targetSize ? split.trySplit() : null;
+            if (null == prefix) {
+                splits.add(split);
+            } else {
+                toSplit.push(prefix);
+                toSplit.push(split);
+            }
+        }
+        return splits;
+    }
+
+    private Element toAggElement(final Map.Entry<Element, GroupedProperties> entry) {
+        final Element element = entry.getKey().emptyClone();
+        element.copyProperties(entry.getKey().getProperties());
+        element.copyProperties(entry.getValue());
+        return cloneElement(element, schema);
+    }
+
+    private Stream<Element> toNonAggElements(final Map.Entry<Element, Long> entry) {
+        return Streams.toStream(new RepeatItemIterable<>(cloneElement(entry.getKey(), schema), entry.getValue()));
+    }
+
     void addIndex(final EntitySeed entitySeed, final Element element) {
         entityIdToElements.put(entitySeed, element);
     }
@@ -254,6 +328,34 @@ public class MapImpl {
         return totalCount;
     }
 
+    // Aggregates into a deep copy of the existing properties so that concurrent
+    // readers of the map never see a partially aggregated value, even for
+    // mutable property types. The schema ingest aggregator functions are not
+    // thread safe, so each thread uses its own copy of them.
+    private GroupedProperties aggregateCopy(final GroupedProperties existing, final GroupedProperties update) {
+        final GroupedProperties copy = cloneProperties(existing);
+        threadIngestAggregators.get()
+                .computeIfAbsent(existing.getGroup(), this::createIngestAggregator)
+                .apply(copy, update);
+        return copy;
+    }
+
+    private GroupedProperties cloneProperties(final GroupedProperties properties) {
+        final Element clone = mapFactory.cloneElement(new Entity(properties.getGroup(), null, properties), schema);
+        final GroupedProperties copy = new GroupedProperties(properties.getGroup());
+        copy.putAll(clone.getProperties());
+        return copy;
+    }
+
+    private ElementAggregator createIngestAggregator(final String group) {
+        final ElementAggregator aggregator = schema.getElement(group).getIngestAggregator();
+        try {
+            return JSONSerialiser.deserialise(JSONSerialiser.serialise(aggregator), ElementAggregator.class);
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to copy the ingest aggregator for group: " + group, e);
+        }
+    }
+
     private MapFactory createMapFactory(final Schema schema,
                                         final MapStoreProperties mapStoreProperties) {
         final MapFactory mapFactory;
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * An {@link Iterator} which scans segments of the {@link MapImpl} concurrently.
+ * <p>
+ * Each segment is processed by a separate task on the provided executor. The
+ * processing pipeline is created once per task, using the supplier provided,
+ * so any stateful functions it uses are not shared between threads. Processed
+ * elements are handed to the consumer through a bounded queue, so a slow
+ * consumer applies back pressure to the tasks.
+ * <p>
+ * Elements are returned in the order they are produced, so no ordering is
+ * guaranteed between or within segments. Closing the iterator, which happens
+ * automatically once it is exhausted, stops any outstanding tasks. If the
+ * consumer stops reading without closing the iterator then the tasks give up
+ * once nothing has been taken from the queue for the consumer timeout, and the
+ * iterator fails if it is read again. This also applies to a consumer which is
+ * still reading but pauses for longer than the timeout.
+ */
+final class ParallelScanIterator implements Iterator<Element>, Closeable {
+    private static final Object END = new Object();
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final BlockingQueue<Object> queue;
+    private final AtomicInteger remainingSegments;
+    private final long consumerTimeoutNanos;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean closed;
+    private Object next;
+    private boolean finished;
+
+    ParallelScanIterator(final ExecutorService executor,
+                         final List<Stream<Element>> segments,
+                         final Supplier<Function<Stream<Element>, Stream<Element>>> pipelineSupplier,
+                         final int bufferSize,
+                         final long consumerTimeoutMillis) {
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.consumerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(consumerTimeoutMillis);
+        this.remainingSegments = new AtomicInteger(segments.size());
+        if (segments.isEmpty()) {
+            finished = true;
+            closed = true;
+            return;
+        }
+
+        for (final Stream<Element> segment : segments) {
+            executor.execute(() -> scan(segment, pipelineSupplier));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (null != next) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+
+        final Object item;
+        try {
+            item = queue.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new IllegalStateException("Interrupted whilst waiting for elements from the parallel scan", e);
+        }
+
+        if (END == item) {
+            close();
+            final Throwable error = failure.get();
+            if (null != error) {
+                throw new IllegalStateException("Parallel scan of the MapStore failed: " + error.getMessage(), error);
+            }
+            return false;
+        }
+
+        next = item;
+        return true;
+    }
+
+    @Override
+    public Element next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final Element element = (Element) next;
+        next = null;
+        return element;
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        closed = true;
+        queue.clear();
+    }
+
+    private void scan(final Stream<Element> segment, final Supplier<Function<Stream<Element>, Stream<Element>>> pipelineSupplier) {
+        try {
+            final Iterator<Element> elements = pipelineSupplier.get().apply(segment).iterator();
+            while (!isStopped() && elements.hasNext()) {
+                offer(elements.next());
+            }
+        } catch (final RuntimeException | Error e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            if (0 == remainingSegments.decrementAndGet()) {
+                offer(END);
+            }
+        }
+    }
+
+    private boolean isStopped() {
+        return closed || null != failure.get();
+    }
+
+    // Offers to the queue until there is space or the scan is stopped. The
+    // end marker is still delivered if a task has failed. If the consumer
+    // has not made space within the timeout then the scan is cancelled and
+    // the buffered elements are dropped, so the end marker can be delivered.
+    private void offer(final Object item) {
+        final long start = System.nanoTime();
+        try {
+            while (!closed && (END == item || null == failure.get())) {
+                if (queue.offer(item, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+                if (System.nanoTime() - start >= consumerTimeoutNanos) {
+                    failure.compareAndSet(null, new IllegalStateException("Cancelled as no elements were consumed for "
+                            + TimeUnit.NANOSECONDS.toMillis(consumerTimeoutNanos) + " ms"));
+                    if (END == item) {
+                        queue.clear();
+                    }
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        }
+    }
+}
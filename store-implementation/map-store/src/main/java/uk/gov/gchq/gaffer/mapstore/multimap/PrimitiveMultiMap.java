@@ -0,0 +1,209 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * A compact {@link MultiMap} which interns keys and values to dense int ids
+ * and stores the values for each key as a sorted primitive int array, rather
+ * than as a {@link java.util.HashSet} of objects per key.
+ * <p>
+ * Each distinct key and value is held exactly once, so for an index where
+ * every value is referenced by several keys (e.g. an edge indexed by its
+ * source, destination and edge id) the per-entry overhead is a few bytes
+ * rather than a full hash set node. Value ids are allocated in insertion
+ * order, so appending a newly seen value keeps the arrays sorted and
+ * membership checks for previously seen values are a binary search.
+ * <p>
+ * Values are interned by equality. If values that are equal can still need to
+ * be distinguished (e.g. an {@link uk.gov.gchq.gaffer.data.element.Edge}
+ * indexed by its source and by its destination differs only in its matched
+ * vertex) supply an intern space function. Equal values are only shared
+ * within the same space, so those values are held separately without
+ * wrapping each value in a key object.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
+public class PrimitiveMultiMap<K, V> implements MultiMap<K, V> {
+    private static final int[] EMPTY = new int[0];
+    private static final int INITIAL_CAPACITY = 2;
+
+    private final Map<K, Integer> keyIds = new HashMap<>();
+    private final List<Map<V, Integer>> valueIds = new ArrayList<>();
+    private final List<V> values = new ArrayList<>();
+    private final ToIntFunction<? super V> internSpaceFunction;
+    private int[][] adjacency = new int[16][];
+    private int[] sizes = new int[16];
+
+    public PrimitiveMultiMap() {
+        this(value -> 0);
+    }
+
+    /**
+     * @param internSpaceFunction function returning the small, non-negative
+     *                            space a value is interned in - equal values
+     *                            only share a value id within the same space.
+     */
+    public PrimitiveMultiMap(final ToIntFunction<? super V> internSpaceFunction) {
+        this.internSpaceFunction = internSpaceFunction;
+    }
+
+    @Override
+    public boolean put(final K key, final V value) {
+        final int keyId = getOrCreateKeyId(key);
+        final Map<V, Integer> spaceValueIds = getValueIds(internSpaceFunction.applyAsInt(value));
+        final Integer existingValueId = spaceValueIds.get(value);
+        final int valueId;
+        if (null == existingValueId) {
+            valueId = values.size();
+            values.add(value);
+            spaceValueIds.put(value, valueId);
+        } else {
+            valueId = existingValueId;
+        }
+        return addValueId(keyId, valueId);
+    }
+
+    @Override
+    public void put(final K key, final Collection<V> values) {
+        for (final V value : values) {
+            put(key, value);
+        }
+    }
+
+    @Override
+    public Collection<V> get(final K key) {
+        final Integer keyId = keyIds.get(key);
+        if (null == keyId) {
+            return null;
+        }
+        return new ValueCollection(adjacency[keyId], sizes[keyId]);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return keyIds.keySet();
+    }
+
+    @Override
+    public void clear() {
+        keyIds.clear();
+        valueIds.clear();
+        values.clear();
+        adjacency = new int[16][];
+        sizes = new int[16];
+    }
+
+    private Map<V, Integer> getValueIds(final int space) {
+        while (valueIds.size() <= space) {
+            valueIds.add(new HashMap<>());
+        }
+        return valueIds.get(space);
+    }
+
+    private int getOrCreateKeyId(final K key) {
+        final Integer existingKeyId = keyIds.get(key);
+        if (null != existingKeyId) {
+            return existingKeyId;
+        }
+
+        final int keyId = keyIds.size();
+        if (keyId == adjacency.length) {
+            adjacency = Arrays.copyOf(adjacency, keyId * 2);
+            sizes = Arrays.copyOf(sizes, keyId * 2);
+        }
+        adjacency[keyId] = EMPTY;
+        keyIds.put(key, keyId);
+        return keyId;
+    }
+
+    private boolean addValueId(final int keyId, final int valueId) {
+        int[] ids = adjacency[keyId];
+        final int size = sizes[keyId];
+        final int pos;
+        if (0 == size || ids[size - 1] < valueId) {
+            pos = size;
+        } else {
+            final int searchResult = Arrays.binarySearch(ids, 0, size, valueId);
+            if (searchResult >= 0) {
+                return false;
+            }
+            pos = -(searchResult + 1);
+        }
+
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(INITIAL_CAPACITY, size + (size >> 1) + 1));
+            adjacency[keyId] = ids;
+        }
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        ids[pos] = valueId;
+        sizes[keyId] = size + 1;
+        return true;
+    }
+
+    /**
+     * Read only view of the values referenced by an array of value ids.
+     */
+    private final class ValueCollection extends AbstractCollection<V> {
+        private final int[] ids;
+        private final int size;
+
+        private ValueCollection(final int[] ids, final int size) {
+            this.ids = ids;
+            this.size = size;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<V>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                public V next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return values.get(ids[index++]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
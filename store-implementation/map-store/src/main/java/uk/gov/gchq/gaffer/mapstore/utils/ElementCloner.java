@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,13 +23,64 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 
 /**
  * Utility class to create a clone of an {@link Element}.
+ * <p>
+ * Properties of immutable types (e.g. {@link String}, {@link Long}) are shared
+ * between the element and its clone. Properties with a registered copy function
+ * (e.g. {@link Date}) are copied using that function. Any other property is
+ * deep copied by serialising and deserialising it with the serialiser from the
+ * schema.
  */
 public class ElementCloner {
     private static final Logger LOGGER = LoggerFactory.getLogger(ElementCloner.class);
 
+    private static final Set<Class<?>> IMMUTABLE_CLASSES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            String.class,
+            Boolean.class,
+            Character.class,
+            Byte.class,
+            Short.class,
+            Integer.class,
+            Long.class,
+            Float.class,
+            Double.class,
+            BigInteger.class,
+            BigDecimal.class,
+            Class.class)));
+
+    private final Map<Class<?>, UnaryOperator<Object>> copyFunctions = new ConcurrentHashMap<>();
+
+    public ElementCloner() {
+        registerCopyFunction(Date.class, date -> new Date(date.getTime()));
+    }
+
+    /**
+     * Register a function to use to copy properties of the given class,
+     * instead of serialising and deserialising them.
+     *
+     * @param clazz        the exact class of property the function copies
+     * @param copyFunction the function to create a copy of a property
+     * @param <T>          the type of property
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void registerCopyFunction(final Class<T> clazz, final UnaryOperator<T> copyFunction) {
+        copyFunctions.put(clazz, (UnaryOperator<Object>) copyFunction);
+    }
+
     /**
      * Clone an {@link Element}, based on a target {@link Schema}.
      *
@@ -41,17 +92,28 @@ public class ElementCloner {
         try {
             final Element clone = element.emptyClone();
             final SchemaElementDefinition sed = schema.getElement(clone.getGroup());
-            for (final String propertyName : element.getProperties().keySet()) {
-                final Object property = element.getProperty(propertyName);
-                if (null == sed.getPropertyTypeDef(propertyName) || null == sed.getPropertyTypeDef(propertyName).getSerialiser()) {
+            for (final Map.Entry<String, Object> entry : element.getProperties().entrySet()) {
+                final String propertyName = entry.getKey();
+                final Object property = entry.getValue();
+                if (null == property || isImmutable(property.getClass())) {
+                    clone.putProperty(propertyName, property);
+                    continue;
+                }
+
+                final UnaryOperator<Object> copyFunction = copyFunctions.get(property.getClass());
+                if (null != copyFunction) {
+                    clone.putProperty(propertyName, copyFunction.apply(property));
+                    continue;
+                }
+
+                final TypeDefinition typeDef = sed.getPropertyTypeDef(propertyName);
+                if (null == typeDef || null == typeDef.getSerialiser()) {
                     // This can happen if transient properties are derived - they will not have serialisers.
                     LOGGER.warn("Can't find Serialisation for {}, returning uncloned property", propertyName);
                     clone.putProperty(propertyName, property);
-                } else if (null != property) {
-                    final Serialiser serialiser = sed.getPropertyTypeDef(propertyName).getSerialiser();
-                    clone.putProperty(propertyName, serialiser.deserialise(serialiser.serialise(property)));
                 } else {
-                    clone.putProperty(propertyName, null);
+                    final Serialiser serialiser = typeDef.getSerialiser();
+                    clone.putProperty(propertyName, serialiser.deserialise(serialiser.serialise(property)));
                 }
             }
             return clone;
@@ -59,4 +121,8 @@ public class ElementCloner {
             throw new RuntimeException("SerialisationException converting elements", e);
         }
     }
+
+    private static boolean isImmutable(final Class<?> clazz) {
+        return IMMUTABLE_CLASSES.contains(clazz) || clazz.isEnum();
+    }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.multimap.PrimitiveMultiMap;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+
+public class PrimitiveIndexMapFactoryTest {
+    private static final String BASIC_EDGE1 = "BasicEdge";
+    private static final String PROPERTY1 = "property1";
+    private static final String COUNT = "count";
+
+    @Test
+    public void shouldCreatePrimitiveMultiMaps() {
+        // Given
+        final PrimitiveIndexMapFactory factory = new PrimitiveIndexMapFactory();
+        factory.initialise(mock(Schema.class), new MapStoreProperties());
+
+        // When
+        final MultiMap<Object, Object> multiMap1 = factory.getMultiMap("mapName1", Object.class, Object.class);
+        final MultiMap<Object, Object> multiMap2 = factory.getMultiMap("mapName2", Object.class, Object.class);
+
+        // Then
+        assertThat(multiMap1).isInstanceOf(PrimitiveMultiMap.class);
+        assertThat(multiMap1).isSameAs(factory.getMultiMap("mapName1", Object.class, Object.class));
+        assertThat(multiMap1).isNotSameAs(multiMap2);
+    }
+
+    @Test
+    public void shouldNotAllowConcurrentMapStore() {
+        // Given
+        final PrimitiveIndexMapFactory factory = new PrimitiveIndexMapFactory();
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setConcurrent(true);
+
+        // When / Then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> factory.initialise(mock(Schema.class), properties))
+                .withMessageContaining(MapStoreProperties.CONCURRENT);
+    }
+
+    @Test
+    public void shouldReturnSameResultsAsSimpleMapFactory() throws OperationException {
+        // Given
+        final Graph simpleGraph = getGraph(SimpleMapFactory.class);
+        final Graph primitiveGraph = getGraph(PrimitiveIndexMapFactory.class);
+        final List<Element> elements = GetAllElementsHandlerTest.getElements();
+        simpleGraph.execute(new AddElements.Builder().input(elements).build(), new User());
+        primitiveGraph.execute(new AddElements.Builder().input(elements).build(), new User());
+
+        for (final String seed : new String[]{"A", "B1", "X", "Y3", "0", "unknown"}) {
+            final GetElements getElements = new GetElements.Builder().input(new EntitySeed(seed)).build();
+
+            // When
+            final Set<Element> simpleResults = new HashSet<>();
+            simpleGraph.execute(getElements, new User()).forEach(simpleResults::add);
+            final Set<Element> primitiveResults = new HashSet<>();
+            primitiveGraph.execute(getElements, new User()).forEach(primitiveResults::add);
+
+            // Then
+            assertThat(primitiveResults).isEqualTo(simpleResults);
+        }
+    }
+
+    @Test
+    public void shouldReturnIncomingAndOutgoingEdgesByMatchedVertex() throws OperationException {
+        // Given
+        final Graph primitiveGraph = getGraph(PrimitiveIndexMapFactory.class);
+        final Edge incomingEdge = new Edge.Builder()
+                .group(BASIC_EDGE1)
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .property(PROPERTY1, "q")
+                .property(COUNT, 1)
+                .build();
+        final Edge outgoingEdge = new Edge.Builder()
+                .group(BASIC_EDGE1)
+                .source("B")
+                .dest("C")
+                .directed(true)
+                .property(PROPERTY1, "q")
+                .property(COUNT, 1)
+                .build();
+        primitiveGraph.execute(new AddElements.Builder().input(incomingEdge, outgoingEdge).build(), new User());
+
+        // When
+        final List<Element> incomingResults = getEdges(primitiveGraph, "B", IncludeIncomingOutgoingType.INCOMING);
+        final List<Element> outgoingResults = getEdges(primitiveGraph, "B", IncludeIncomingOutgoingType.OUTGOING);
+        final List<Element> sourceIncomingResults = getEdges(primitiveGraph, "A", IncludeIncomingOutgoingType.INCOMING);
+        final List<Element> sourceOutgoingResults = getEdges(primitiveGraph, "A", IncludeIncomingOutgoingType.OUTGOING);
+
+        // Then
+        assertThat(incomingResults).containsExactly(incomingEdge);
+        assertThat(outgoingResults).containsExactly(outgoingEdge);
+        assertThat(sourceIncomingResults).isEmpty();
+        assertThat(sourceOutgoingResults).containsExactly(incomingEdge);
+    }
+
+    private static List<Element> getEdges(final Graph graph, final String seed, final IncludeIncomingOutgoingType inOutType) throws OperationException {
+        final List<Element> results = new ArrayList<>();
+        graph.execute(new GetElements.Builder()
+                .input(new EntitySeed(seed))
+                .inOutType(inOutType)
+                .build(), new User()).forEach(results::add);
+        return results;
+    }
+
+    private static Graph getGraph(final Class<? extends MapFactory> mapFactory) {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setMapFactory(mapFactory);
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graph_" + mapFactory.getSimpleName())
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+    }
+}
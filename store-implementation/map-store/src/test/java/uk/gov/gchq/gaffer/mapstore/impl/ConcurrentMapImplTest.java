@@ -0,0 +1,241 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.factory.ConcurrentMapFactory;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.serialisation.FreqMapSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.types.FreqMap;
+import uk.gov.gchq.gaffer.types.function.FreqMapAggregator;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE1;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.COUNT;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.PROPERTY1;
+
+public class ConcurrentMapImplTest {
+    private static final int NUM_DESTINATIONS = 100;
+    private static final int BATCHES_PER_THREAD = 20;
+    private static final String FREQ_MAP_ENTITY = "FreqMapEntity";
+    private static final String FREQ_MAP = "freqMap";
+
+    @Test
+    public void shouldUseConcurrentMapFactoryWhenConcurrentModeEnabled() {
+        // Given
+        final MapStoreProperties properties = new MapStoreProperties();
+
+        // When
+        properties.setConcurrent(true);
+
+        // Then
+        assertThat(properties.getMapFactory()).isEqualTo(ConcurrentMapFactory.class.getName());
+    }
+
+    @Test
+    public void shouldAggregateAndIndexCorrectlyWhenAddingAndReadingConcurrently() throws Exception {
+        // Given
+        final int numThreads = 8;
+        final Graph graph = getConcurrentGraph();
+
+        // When
+        runConcurrently(graph, numThreads);
+
+        // Then
+        final List<Element> results = new ArrayList<>();
+        graph.execute(new GetAllElements(), new User()).forEach(results::add);
+        assertThat(results).hasSize(NUM_DESTINATIONS);
+        assertThat(results).allSatisfy(e -> assertThat(e.getProperty(COUNT)).isEqualTo(numThreads * BATCHES_PER_THREAD));
+
+        final List<Element> indexed = new ArrayList<>();
+        graph.execute(new GetElements.Builder().input(new EntitySeed("A")).build(), new User()).forEach(indexed::add);
+        assertThat(indexed).hasSize(NUM_DESTINATIONS);
+    }
+
+    @Test
+    public void shouldAggregateCorrectlyForEachThreadCount() throws Exception {
+        for (final int numThreads : new int[]{1, 2, 4, 8}) {
+            // Given
+            final Graph graph = getConcurrentGraph();
+
+            // When
+            runConcurrently(graph, numThreads);
+
+            // Then
+            final List<Element> results = new ArrayList<>();
+            graph.execute(new GetAllElements(), new User()).forEach(results::add);
+            assertThat(results).allSatisfy(e -> assertThat(e.getProperty(COUNT)).isEqualTo(numThreads * BATCHES_PER_THREAD));
+        }
+    }
+
+    @Test
+    public void shouldAggregateMutablePropertiesWithoutModifyingValuesBeingRead() throws Exception {
+        // Given
+        final int numThreads = 8;
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("concurrentFreqMapGraph")
+                        .build())
+                .addSchema(getFreqMapSchema())
+                .storeProperties(getConcurrentProperties())
+                .build();
+        final FreqMap input = new FreqMap();
+        input.upsert("key", 1L);
+        final Entity entity = new Entity.Builder()
+                .group(FREQ_MAP_ENTITY)
+                .vertex("vertex")
+                .property(FREQ_MAP, input)
+                .build();
+        graph.execute(new AddElements.Builder().input(entity).build(), new User());
+        final FreqMap firstRead = getFreqMap(graph);
+
+        // When
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < numThreads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int batch = 0; batch < BATCHES_PER_THREAD; batch++) {
+                        final FreqMap freqMap = new FreqMap();
+                        freqMap.upsert("key", 1L);
+                        graph.execute(new AddElements.Builder()
+                                .input(new Entity.Builder()
+                                        .group(FREQ_MAP_ENTITY)
+                                        .vertex("vertex")
+                                        .property(FREQ_MAP, freqMap)
+                                        .build())
+                                .build(), new User());
+                        assertThat(getFreqMap(graph).get("key")).isPositive();
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertThat(getFreqMap(graph).get("key")).isEqualTo(1L + numThreads * BATCHES_PER_THREAD);
+        assertThat(firstRead.get("key")).isEqualTo(1L);
+        assertThat(input.get("key")).isEqualTo(1L);
+    }
+
+    private static FreqMap getFreqMap(final Graph graph) throws OperationException {
+        final List<Element> results = new ArrayList<>();
+        graph.execute(new GetAllElements(), new User()).forEach(results::add);
+        assertThat(results).hasSize(1);
+        return (FreqMap) results.get(0).getProperty(FREQ_MAP);
+    }
+
+    private static Schema getFreqMapSchema() {
+        return new Schema.Builder()
+                .entity(FREQ_MAP_ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(FREQ_MAP, "freqMap")
+                        .build())
+                .type("string", String.class)
+                .type("freqMap", new TypeDefinition.Builder()
+                        .clazz(FreqMap.class)
+                        .aggregateFunction(new FreqMapAggregator())
+                        .serialiser(new FreqMapSerialiser())
+                        .build())
+                .build();
+    }
+
+    private void runConcurrently(final Graph graph, final int numThreads) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < numThreads; t++) {
+                futures.add(executor.submit(() -> {
+                    addAndQuery(graph);
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void addAndQuery(final Graph graph) throws OperationException {
+        for (int batch = 0; batch < BATCHES_PER_THREAD; batch++) {
+            graph.execute(new AddElements.Builder().input(getEdges()).build(), new User());
+            for (final Element element : graph.execute(new GetElements.Builder().input(new EntitySeed("A")).build(), new User())) {
+                assertThat(element.getProperty(COUNT)).isNotNull();
+            }
+        }
+    }
+
+    private static List<Element> getEdges() {
+        final List<Element> edges = new ArrayList<>(NUM_DESTINATIONS);
+        for (int i = 0; i < NUM_DESTINATIONS; i++) {
+            edges.add(new Edge.Builder()
+                    .group(BASIC_EDGE1)
+                    .source("A")
+                    .dest("B" + i)
+                    .directed(true)
+                    .property(PROPERTY1, "q")
+                    .property(COUNT, 1)
+                    .build());
+        }
+        return edges;
+    }
+
+    private static MapStoreProperties getConcurrentProperties() {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setConcurrent(true);
+        return storeProperties;
+    }
+
+    private static Graph getConcurrentGraph() {
+        final MapStoreProperties storeProperties = getConcurrentProperties();
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("concurrentGraph")
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+    }
+}
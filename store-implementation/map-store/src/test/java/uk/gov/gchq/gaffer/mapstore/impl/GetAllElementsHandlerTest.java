@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package uk.gov.gchq.gaffer.mapstore.impl;
 
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
@@ -30,7 +31,9 @@ import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.graph.GraphConfig;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.store.StoreException;
@@ -38,9 +41,15 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -137,6 +146,173 @@ public class GetAllElementsHandlerTest {
         assertThat(resultsSet).isEqualTo(expectedResults);
     }
 
+    @Test
+    public void testGetAllElementsWithViewGroupByWhenQueryAggregationSpillsToDisk() throws OperationException {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setQueryAggregationMaxInMemory(1);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphWithSpilling")
+                        .build())
+                .addSchema(getSchema())
+                .storeProperties(storeProperties)
+                .build();
+        graph.execute(new AddElements.Builder()
+                .input(getElementsForAggregation())
+                .build(), new User());
+
+        // When
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .edge(BASIC_EDGE2, new ViewElementDefinition.Builder()
+                                .groupBy()
+                                .build())
+                        .build())
+                .build();
+        final Iterable<? extends Element> results = graph.execute(getAllElements, new User());
+
+        // Then
+        final List<Element> resultsList = new ArrayList<>();
+        Streams.toStream(results).forEach(resultsList::add);
+        assertThat(resultsList).hasSize(1);
+        assertThat(resultsList.get(0).getProperty(COUNT)).isEqualTo(2 * 3 * (NUM_LOOPS / 2));
+    }
+
+    @Test
+    public void testGetAllElementsDeletesSpilledElementsWhenResultsAreClosed() throws OperationException, IOException {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setQueryAggregationMaxInMemory(1);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphWithSpilling")
+                        .build())
+                .addSchema(getSchema())
+                .storeProperties(storeProperties)
+                .build();
+        graph.execute(new AddElements.Builder()
+                .input(getElementsForAggregation())
+                .build(), new User());
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .edge(BASIC_EDGE2, new ViewElementDefinition.Builder()
+                                .groupBy()
+                                .build())
+                        .build())
+                .build();
+        final Set<Path> existingSpillFiles = getSpillFiles();
+        final Iterable<? extends Element> results = graph.execute(getAllElements, new User());
+        results.iterator().next();
+        final Set<Path> spillFiles = getSpillFiles();
+        spillFiles.removeAll(existingSpillFiles);
+        assertThat(spillFiles).isNotEmpty();
+
+        // When
+        CloseableUtil.close(results);
+
+        // Then
+        assertThat(spillFiles).noneMatch(Files::exists);
+    }
+
+    private static Set<Path> getSpillFiles() throws IOException {
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(System.getProperty("java.io.tmpdir")), "gaffer-aggregation-*.spill")) {
+            final Set<Path> spillFiles = new HashSet<>();
+            files.forEach(spillFiles::add);
+            return spillFiles;
+        }
+    }
+
+    @Test
+    public void testGetAllElementsWithParallelScanReturnsSameResultsAsSequentialScan() throws OperationException {
+        // Given
+        final Graph sequentialGraph = getGraph();
+        final Graph parallelGraph = getGraphWithParallelScan(4, 100);
+        final List<Element> elements = getManyEntities(5000);
+        sequentialGraph.execute(new AddElements.Builder().input(elements).build(), new User());
+        parallelGraph.execute(new AddElements.Builder().input(elements).build(), new User());
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(BASIC_ENTITY, new ViewElementDefinition.Builder()
+                                .preAggregationFilter(new ElementFilter.Builder()
+                                        .select(COUNT)
+                                        .execute(new IsMoreThan(1000))
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final Set<Element> sequentialResults = new HashSet<>();
+        Streams.toStream(sequentialGraph.execute(getAllElements, new User())).forEach(sequentialResults::add);
+        final List<Element> parallelResults = new ArrayList<>();
+        Streams.toStream(parallelGraph.execute(getAllElements, new User())).forEach(parallelResults::add);
+
+        // Then
+        assertThat(sequentialResults).hasSize(3999);
+        assertThat(parallelResults).hasSize(3999);
+        assertThat(new HashSet<>(parallelResults)).isEqualTo(sequentialResults);
+    }
+
+    @Test
+    public void testGetAllElementsWithParallelScanAndQueryAggregation() throws OperationException {
+        // Given
+        final Graph graph = getGraphWithParallelScan(4, 100);
+        graph.execute(new AddElements.Builder()
+                .input(getElementsForAggregation())
+                .build(), new User());
+
+        // When
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .edge(BASIC_EDGE2, new ViewElementDefinition.Builder()
+                                .groupBy()
+                                .build())
+                        .build())
+                .build();
+        final Iterable<? extends Element> results = graph.execute(getAllElements, new User());
+
+        // Then
+        final List<Element> resultsList = new ArrayList<>();
+        Streams.toStream(results).forEach(resultsList::add);
+        assertThat(resultsList).hasSize(1);
+        assertThat(resultsList.get(0).getProperty(COUNT)).isEqualTo(2 * 3 * (NUM_LOOPS / 2));
+    }
+
+    @Test
+    public void testGetAllElementsWithParallelScanStopsWhenResultsAreLimited() throws OperationException {
+        // Given
+        final Graph graph = getGraphWithParallelScan(4, 1);
+        graph.execute(new AddElements.Builder().input(getManyEntities(5000)).build(), new User());
+
+        // When
+        final Iterable<? extends Element> results = graph.execute(new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new Limit<>(10, true))
+                .build(), new User());
+
+        // Then
+        final List<Element> resultsList = new ArrayList<>();
+        Streams.toStream(results).forEach(resultsList::add);
+        assertThat(resultsList).hasSize(10);
+    }
+
+    @Test
+    public void testGetAllElementsWithParallelScanStopsWhenResultsAreClosed() throws OperationException {
+        // Given
+        final Graph graph = getGraphWithParallelScan(4, 1);
+        graph.execute(new AddElements.Builder().input(getManyEntities(5000)).build(), new User());
+        final Iterable<? extends Element> results = graph.execute(new GetAllElements(), new User());
+        final Iterator<? extends Element> iterator = results.iterator();
+        iterator.next();
+
+        // When
+        CloseableUtil.close(results);
+
+        // Then
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
     @Test
     public void testGetAllElementsWithViewRestrictedByGroup() throws OperationException {
         // Given
@@ -392,6 +568,32 @@ public class GetAllElementsHandlerTest {
                 .build();
     }
 
+    static Graph getGraphWithParallelScan(final int threads, final int bufferSize) {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setParallelScanThreads(threads);
+        storeProperties.setParallelScanBufferSize(bufferSize);
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphWithParallelScan")
+                        .build())
+                .addSchema(getSchema())
+                .storeProperties(storeProperties)
+                .build();
+    }
+
+    static List<Element> getManyEntities(final int numEntities) {
+        final List<Element> elements = new ArrayList<>(numEntities);
+        for (int i = 0; i < numEntities; i++) {
+            elements.add(new Entity.Builder()
+                    .group(BASIC_ENTITY)
+                    .vertex("vertex" + i)
+                    .property(PROPERTY1, "p")
+                    .property(COUNT, i)
+                    .build());
+        }
+        return elements;
+    }
+
     static Schema getSchemaNoAggregation() {
         return Schema.fromJson(StreamUtil.openStreams(GetAllElementsHandlerTest.class, "schema-no-aggregation"));
     }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class ParallelScanIteratorTest {
+    private static final int ELEMENTS_PER_SEGMENT = 1000;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldReturnAllElementsFromAllSegments() {
+        // Given
+        final ParallelScanIterator iterator = new ParallelScanIterator(executor, getSegments(), Function::identity, 10, 10000L);
+
+        // When
+        final List<Element> results = new ArrayList<>();
+        iterator.forEachRemaining(results::add);
+
+        // Then
+        assertThat(results).hasSize(2 * ELEMENTS_PER_SEGMENT);
+    }
+
+    @Test
+    void shouldStopTasksWhenClosedBeforeBeingExhausted() throws InterruptedException {
+        // Given
+        final ParallelScanIterator iterator = new ParallelScanIterator(executor, getSegments(), Function::identity, 1, 10000L);
+        iterator.next();
+
+        // When
+        iterator.close();
+
+        // Then
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldCancelTasksWhenAbandonedByTheConsumer() throws InterruptedException {
+        // Given
+        final ParallelScanIterator iterator = new ParallelScanIterator(executor, getSegments(), Function::identity, 1, 200L);
+        iterator.next();
+
+        // When - the iterator is never read again or closed
+        executor.shutdown();
+
+        // Then
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThatIllegalStateException()
+                .isThrownBy(iterator::hasNext)
+                .withMessageContaining("no elements were consumed for 200 ms");
+    }
+
+    private static List<Stream<Element>> getSegments() {
+        return Arrays.asList(getSegment(), getSegment());
+    }
+
+    private static Stream<Element> getSegment() {
+        return IntStream.range(0, ELEMENTS_PER_SEGMENT)
+                .mapToObj(i -> new Entity(TestGroups.ENTITY, "vertex" + i));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentMapOfSetsTest {
+
+    @Test
+    public void shouldPutValuesAndCollectionsOfValues() {
+        // Given
+        final ConcurrentMapOfSets<String, String> mapOfSets = new ConcurrentMapOfSets<>();
+
+        // When
+        mapOfSets.put("key1", "value1");
+        mapOfSets.put("key1", Arrays.asList("value2", "value3"));
+        mapOfSets.put("key2", Arrays.asList("value4"));
+
+        // Then
+        assertThat(mapOfSets.get("key1")).isEqualTo(Sets.newHashSet("value1", "value2", "value3"));
+        assertThat(mapOfSets.get("key2")).isEqualTo(Sets.newHashSet("value4"));
+        assertThat(mapOfSets.keySet()).containsExactlyInAnyOrder("key1", "key2");
+    }
+
+    @Test
+    public void shouldNotLoseValuesWhenPuttingConcurrently() {
+        // Given
+        final ConcurrentMapOfSets<Integer, Integer> mapOfSets = new ConcurrentMapOfSets<>();
+
+        // When
+        IntStream.range(0, 10000).parallel().forEach(i -> mapOfSets.put(i % 10, i));
+
+        // Then
+        assertThat(mapOfSets.keySet()).hasSize(10);
+        IntStream.range(0, 10).forEach(k -> assertThat(mapOfSets.get(k)).hasSize(1000));
+    }
+}
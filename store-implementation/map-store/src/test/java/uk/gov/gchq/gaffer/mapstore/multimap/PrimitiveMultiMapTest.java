@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrimitiveMultiMapTest {
+
+    @Test
+    public void shouldReturnNullForUnknownKey() {
+        // Given
+        final PrimitiveMultiMap<String, String> multiMap = new PrimitiveMultiMap<>();
+
+        // When / Then
+        assertThat(multiMap.get("unknown")).isNull();
+    }
+
+    @Test
+    public void shouldPutValuesWithSetSemantics() {
+        // Given
+        final PrimitiveMultiMap<String, String> multiMap = new PrimitiveMultiMap<>();
+
+        // When
+        final boolean firstPut = multiMap.put("key1", "value1");
+        final boolean duplicatePut = multiMap.put("key1", "value1");
+        multiMap.put("key1", Arrays.asList("value2", "value1", "value3"));
+        multiMap.put("key2", "value2");
+
+        // Then
+        assertThat(firstPut).isTrue();
+        assertThat(duplicatePut).isFalse();
+        assertThat(new HashSet<>(multiMap.get("key1"))).isEqualTo(Sets.newHashSet("value1", "value2", "value3"));
+        assertThat(multiMap.get("key1")).hasSize(3);
+        assertThat(multiMap.get("key2")).containsExactly("value2");
+        assertThat(multiMap.keySet()).containsExactlyInAnyOrder("key1", "key2");
+    }
+
+    @Test
+    public void shouldKeepValuesSortedWhenAddingPreviouslySeenValues() {
+        // Given
+        final PrimitiveMultiMap<Integer, Integer> multiMap = new PrimitiveMultiMap<>();
+        for (int i = 0; i < 100; i++) {
+            multiMap.put(0, i);
+        }
+
+        // When
+        for (int i = 99; i >= 0; i--) {
+            multiMap.put(1, i);
+            multiMap.put(1, i);
+        }
+
+        // Then
+        assertThat(multiMap.get(0)).hasSize(100);
+        assertThat(multiMap.get(1)).hasSize(100);
+        assertThat(new HashSet<>(multiMap.get(1))).isEqualTo(new HashSet<>(multiMap.get(0)));
+    }
+
+    @Test
+    public void shouldOnlyShareEqualValuesWithinTheSameInternSpace() {
+        // Given
+        final String value = "value";
+        final String equalValue = new String(value);
+        final PrimitiveMultiMap<String, String> multiMap = new PrimitiveMultiMap<>(v -> v == value ? 0 : 1);
+
+        // When
+        multiMap.put("key1", value);
+        multiMap.put("key1", equalValue);
+        multiMap.put("key2", equalValue);
+        multiMap.put("key3", value);
+
+        // Then
+        assertThat(multiMap.get("key1")).hasSize(2);
+        assertThat(multiMap.get("key2")).singleElement().isSameAs(equalValue);
+        assertThat(multiMap.get("key3")).singleElement().isSameAs(value);
+    }
+
+    @Test
+    public void shouldPutAllFromAnotherMultiMap() {
+        // Given
+        final MapOfSets<String, String> source = new MapOfSets<>(new HashMap<>());
+        source.put("key1", "value1");
+        source.put("key1", "value2");
+        final PrimitiveMultiMap<String, String> multiMap = new PrimitiveMultiMap<>();
+
+        // When
+        multiMap.putAll(source);
+
+        // Then
+        assertThat(new HashSet<>(multiMap.get("key1"))).isEqualTo(Sets.newHashSet("value1", "value2"));
+    }
+
+    @Test
+    public void shouldClear() {
+        // Given
+        final PrimitiveMultiMap<String, String> multiMap = new PrimitiveMultiMap<>();
+        multiMap.put("key1", "value1");
+
+        // When
+        multiMap.clear();
+
+        // Then
+        assertThat(multiMap.keySet()).isEmpty();
+        assertThat(multiMap.get("key1")).isNull();
+    }
+}
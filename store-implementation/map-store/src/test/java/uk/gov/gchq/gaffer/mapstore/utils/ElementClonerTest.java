@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 Crown Copyright
+ * Copyright 2017-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,11 +19,24 @@ import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedDateSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.types.FreqMap;
 
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class ElementClonerTest {
@@ -40,4 +53,82 @@ public class ElementClonerTest {
                 .map(element -> new Pair<>(element, cloner.cloneElement(element, mapStore.getSchema())))
                 .forEach(pair -> assertEquals(pair.getFirst(), pair.getSecond()));
     }
+
+    @Test
+    public void shouldShareImmutablePropertiesAndCopyMutableProperties() {
+        // Given
+        final ElementCloner cloner = new ElementCloner();
+        final String string = new String("value");
+        final Long count = 1234567L;
+        final Date date = new Date(1000L);
+        final FreqMap freqMap = new FreqMap();
+        freqMap.upsert("key", 2L);
+        final Element element = new Entity.Builder()
+                .group("entity")
+                .vertex("vertex")
+                .property("string", string)
+                .property("count", count)
+                .property("date", date)
+                .property("freqMap", freqMap)
+                .property("nullProperty", null)
+                .build();
+
+        // When
+        final Element clone = cloner.cloneElement(element, getSchema());
+
+        // Then
+        assertEquals(element, clone);
+        assertThat(clone.getProperty("string")).isSameAs(string);
+        assertThat(clone.getProperty("count")).isSameAs(count);
+        assertThat(clone.getProperty("date")).isEqualTo(date).isNotSameAs(date);
+        assertThat(clone.getProperty("freqMap")).isEqualTo(freqMap).isNotSameAs(freqMap);
+    }
+
+    @Test
+    public void shouldUseRegisteredCopyFunction() {
+        // Given
+        final ElementCloner cloner = new ElementCloner();
+        final FreqMap copy = new FreqMap();
+        cloner.registerCopyFunction(FreqMap.class, freqMap -> copy);
+        final Element element = new Entity.Builder()
+                .group("entity")
+                .vertex("vertex")
+                .property("freqMap", new FreqMap())
+                .build();
+
+        // When
+        final Element clone = cloner.cloneElement(element, getSchema());
+
+        // Then
+        assertThat(clone.getProperty("freqMap")).isSameAs(copy);
+    }
+
+    private Schema getSchema() {
+        return new Schema.Builder()
+                .entity("entity", new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property("string", "string")
+                        .property("count", "long")
+                        .property("date", "date")
+                        .property("freqMap", "freqMap")
+                        .property("nullProperty", "string")
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type("long", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .serialiser(new OrderedLongSerialiser())
+                        .build())
+                .type("date", new TypeDefinition.Builder()
+                        .clazz(Date.class)
+                        .serialiser(new OrderedDateSerialiser())
+                        .build())
+                .type("freqMap", new TypeDefinition.Builder()
+                        .clazz(FreqMap.class)
+                        .serialiser(new JavaSerialiser())
+                        .build())
+                .build();
+    }
 }
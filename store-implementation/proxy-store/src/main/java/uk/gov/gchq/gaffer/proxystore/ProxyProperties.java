@@ -36,12 +36,20 @@ public class ProxyProperties extends StoreProperties {
     public static final String GAFFER_CONTEXT_ROOT = "gaffer.context-root";
     public static final String CONNECT_TIMEOUT = "gaffer.connect-timeout";
     public static final String READ_TIMEOUT = "gaffer.read-timeout";
+    public static final String CONNECTION_REQUEST_TIMEOUT = "gaffer.connection-request-timeout";
+    public static final String CONNECTION_POOL_SIZE = "gaffer.connection-pool-size";
+    public static final String GZIP = "gaffer.gzip";
+    public static final String STREAM_RESULTS = "gaffer.stream-results";
 
     public static final String DEFAULT_GAFFER_HOST = "localhost";
     public static final String DEFAULT_GAFFER_CONTEXT_ROOT = "/rest";
     public static final int DEFAULT_GAFFER_PORT = 8080;
     public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
     public static final int DEFAULT_READ_TIMEOUT = 10000;
+    public static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT = 10000;
+    public static final int DEFAULT_CONNECTION_POOL_SIZE = 20;
+    public static final boolean DEFAULT_GZIP = true;
+    public static final boolean DEFAULT_STREAM_RESULTS = false;
 
 
     public ProxyProperties() {
@@ -94,6 +102,62 @@ public class ProxyProperties extends StoreProperties {
         set(READ_TIMEOUT, String.valueOf(timeout));
     }
 
+    /**
+     * @return the number of milliseconds to wait for a connection from the pool before a request fails
+     */
+    public int getConnectionRequestTimeout() {
+        final String timeout = get(CONNECTION_REQUEST_TIMEOUT, null);
+        try {
+            return null == timeout ? DEFAULT_CONNECTION_REQUEST_TIMEOUT : Integer.parseInt(timeout);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Unable to convert gaffer timeout into an integer", e);
+        }
+    }
+
+    public void setConnectionRequestTimeout(final int timeout) {
+        set(CONNECTION_REQUEST_TIMEOUT, String.valueOf(timeout));
+    }
+
+    public int getConnectionPoolSize() {
+        final String poolSize = get(CONNECTION_POOL_SIZE, null);
+        try {
+            return null == poolSize ? DEFAULT_CONNECTION_POOL_SIZE : Integer.parseInt(poolSize);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Unable to convert gaffer connection pool size into an integer", e);
+        }
+    }
+
+    public void setConnectionPoolSize(final int poolSize) {
+        set(CONNECTION_POOL_SIZE, String.valueOf(poolSize));
+    }
+
+    /**
+     * @return true if gzip compressed responses should be requested from the remote store
+     */
+    public boolean isGzip() {
+        return Boolean.parseBoolean(get(GZIP, String.valueOf(DEFAULT_GZIP)));
+    }
+
+    public void setGzip(final boolean gzip) {
+        set(GZIP, String.valueOf(gzip));
+    }
+
+    /**
+     * If true then operations which output an {@link Iterable} are executed
+     * using the chunked endpoint of the remote REST API, and their results are
+     * read lazily from the response. The results can then only be iterated
+     * over once.
+     *
+     * @return true if results should be streamed from the remote store
+     */
+    public boolean isStreamResults() {
+        return Boolean.parseBoolean(get(STREAM_RESULTS, String.valueOf(DEFAULT_STREAM_RESULTS)));
+    }
+
+    public void setStreamResults(final boolean streamResults) {
+        set(STREAM_RESULTS, String.valueOf(streamResults));
+    }
+
     public String getGafferHost() {
         return get(GAFFER_HOST, DEFAULT_GAFFER_HOST);
     }
@@ -18,7 +18,14 @@ package uk.gov.gchq.gaffer.proxystore;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
 import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.filter.EncodingFilter;
+import org.glassfish.jersey.message.GZipEncoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,6 +53,7 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
 import uk.gov.gchq.gaffer.proxystore.operation.handler.OperationChainHandler;
+import uk.gov.gchq.gaffer.proxystore.response.ChunkedResponseIterable;
 import uk.gov.gchq.gaffer.proxystore.response.deserialiser.ResponseDeserialiser;
 import uk.gov.gchq.gaffer.proxystore.response.deserialiser.impl.DefaultResponseDeserialiser;
 import uk.gov.gchq.gaffer.proxystore.response.deserialiser.impl.OperationsResponseDeserialiser;
@@ -70,6 +78,9 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status.Family;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
@@ -77,6 +88,7 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Set;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 /**
@@ -84,6 +96,14 @@ import static java.util.Objects.nonNull;
  * <p>
  * The ProxyStore is simply a Gaffer store which delegates all operations to a Gaffer
  * REST API.
+ * <p>
+ * Requests are made using a pool of keep-alive connections, and gzip compressed
+ * responses are requested unless disabled. A request fails if no connection
+ * becomes free in the pool within the connection request timeout. If streaming
+ * results is enabled then operations which output an {@link Iterable} use the
+ * chunked endpoint of the REST API and their results are read lazily, see
+ * {@link ChunkedResponseIterable}. The results hold a pooled connection until
+ * they have been read or closed.
  */
 public class ProxyStore extends Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProxyStore.class);
@@ -98,6 +118,9 @@ public class ProxyStore extends Store {
     @Override
     public void initialise(final String graphId, final Schema unusedSchema, final StoreProperties properties) throws StoreException {
         setProperties(properties);
+        if (nonNull(client)) {
+            client.close();
+        }
         client = createClient();
 
         super.initialise(graphId, new Schema(), getProperties());
@@ -232,16 +255,19 @@ public class ProxyStore extends Store {
             throw new OperationException("Unable to serialise operation chain into JSON.", e);
         }
 
-        final URL url = getProperties().getGafferUrl("graph/operations/execute");
         try {
             final ResponseDeserialiser<O> responseDeserialiser;
             final Operation lastOp = opChain.getOperations().get(opChain.getOperations().size() - 1);
             if (lastOp instanceof NamedOperation) {
                 responseDeserialiser = getResponseDeserialiserForNamedOperation((NamedOperation) lastOp, context);
             } else {
+                final Class<?> resultClass = getProperties().isStreamResults() ? getIterableResultClass(opChain.getOutputTypeReference()) : null;
+                if (nonNull(resultClass)) {
+                    return (O) doPostChunked(getProperties().getGafferUrl("graph/operations/execute/chunked"), opChainJson, resultClass, context);
+                }
                 responseDeserialiser = getResponseDeserialiserFor(opChain.getOutputTypeReference());
             }
-            return doPost(url, opChainJson, responseDeserialiser, context);
+            return doPost(getProperties().getGafferUrl("graph/operations/execute"), opChainJson, responseDeserialiser, context);
         } catch (final StoreException e) {
             throw new OperationException(e.getMessage(), e);
         }
@@ -274,6 +300,41 @@ public class ProxyStore extends Store {
         return handleResponse(response, responseDeserialiser);
     }
 
+    /**
+     * Posts the request to a chunked endpoint and returns an {@link Iterable}
+     * which lazily reads the results from the response.
+     *
+     * @param url         the url of the chunked endpoint
+     * @param jsonBody    the json body of the request
+     * @param resultClass the class of each result
+     * @param context     the context
+     * @param <T>         the type of each result
+     * @return the results, which can only be iterated over once
+     * @throws StoreException if the request fails
+     */
+    protected <T> ChunkedResponseIterable<T> doPostChunked(final URL url, final String jsonBody,
+                                                           final Class<T> resultClass,
+                                                           final Context context)
+            throws StoreException {
+        final Invocation.Builder request = createRequest(jsonBody, url, context);
+        final Response response;
+        try {
+            response = request.post(Entity.json(jsonBody));
+        } catch (final Exception e) {
+            throw new StoreException(String.format("Failed to execute post via the Gaffer URL %s", url.toExternalForm()), e);
+        }
+
+        if (Family.SUCCESSFUL != response.getStatusInfo().getFamily()) {
+            try {
+                handleErrorResponse(response, response.hasEntity() ? response.readEntity(String.class) : null);
+            } finally {
+                response.close();
+            }
+        }
+
+        return new ChunkedResponseIterable<>(response, resultClass);
+    }
+
     protected <O> O doGet(final URL url, final ResponseDeserialiser<O> responseDeserialiser, final Context context) throws StoreException {
         final Invocation.Builder request = createRequest(null, url, context);
         final Response response;
@@ -289,16 +350,16 @@ public class ProxyStore extends Store {
     protected <O> O handleResponse(final Response response,
                                    final ResponseDeserialiser<O> responseDeserialiser)
             throws StoreException {
-        final String outputJson = response.hasEntity() ? response.readEntity(String.class) : null;
-        if (Family.SUCCESSFUL != response.getStatusInfo().getFamily()) {
-            final Error error;
-            try {
-                error = JSONSerialiser.deserialise(StringUtil.toBytes(outputJson), Error.class);
-            } catch (final Exception e) {
-                LOGGER.warn("Gaffer bad status {}. Detail: {}", response.getStatus(), outputJson);
-                throw new StoreException(String.format("Delegate Gaffer store returned status: %s. Response content was: %s", response.getStatus(), outputJson), e);
-            }
-            throw new GafferWrappedErrorRuntimeException(error);
+        final Family family = response.getStatusInfo().getFamily();
+        final String outputJson;
+        try {
+            outputJson = response.hasEntity() ? response.readEntity(String.class) : null;
+        } finally {
+            // Releases the connection back to the pool
+            response.close();
+        }
+        if (Family.SUCCESSFUL != family) {
+            handleErrorResponse(response, outputJson);
         }
 
         O output = null;
@@ -313,6 +374,37 @@ public class ProxyStore extends Store {
         return output;
     }
 
+    private void handleErrorResponse(final Response response, final String outputJson) throws StoreException {
+        final Error error;
+        try {
+            error = JSONSerialiser.deserialise(StringUtil.toBytes(outputJson), Error.class);
+        } catch (final Exception e) {
+            LOGGER.warn("Gaffer bad status {}. Detail: {}", response.getStatus(), outputJson);
+            throw new StoreException(String.format("Delegate Gaffer store returned status: %s. Response content was: %s", response.getStatus(), outputJson), e);
+        }
+        throw new GafferWrappedErrorRuntimeException(error);
+    }
+
+    /**
+     * @param typeReference the output type of an operation
+     * @return the class of the items if the output is an {@link Iterable}, otherwise null
+     */
+    private static Class<?> getIterableResultClass(final TypeReference<?> typeReference) {
+        final Type type = isNull(typeReference) ? null : typeReference.getType();
+        if (!(type instanceof ParameterizedType) || !Iterable.class.equals(((ParameterizedType) type).getRawType())) {
+            return null;
+        }
+
+        Type itemType = ((ParameterizedType) type).getActualTypeArguments()[0];
+        if (itemType instanceof WildcardType) {
+            itemType = ((WildcardType) itemType).getUpperBounds()[0];
+        }
+        if (itemType instanceof ParameterizedType) {
+            itemType = ((ParameterizedType) itemType).getRawType();
+        }
+        return itemType instanceof Class ? (Class<?>) itemType : Object.class;
+    }
+
     protected Invocation.Builder createRequest(final String body, final URL url, final Context context) {
         final Invocation.Builder request = client.target(url.toString())
                 .request();
@@ -375,10 +467,24 @@ public class ProxyStore extends Store {
     }
 
     protected Client createClient() {
-        final Client client = ClientBuilder.newClient();
-        client.property(ClientProperties.CONNECT_TIMEOUT, getProperties().getConnectTimeout());
-        client.property(ClientProperties.READ_TIMEOUT, getProperties().getReadTimeout());
-        return client;
+        // All requests are to the same host, so the whole pool can be used for that route
+        final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(getProperties().getConnectionPoolSize());
+        connectionManager.setDefaultMaxPerRoute(getProperties().getConnectionPoolSize());
+
+        final ClientConfig clientConfig = new ClientConfig()
+                .connectorProvider(new ApacheConnectorProvider())
+                .property(ApacheClientProperties.CONNECTION_MANAGER, connectionManager)
+                .property(ApacheClientProperties.REQUEST_CONFIG, RequestConfig.custom()
+                        .setConnectionRequestTimeout(getProperties().getConnectionRequestTimeout())
+                        .build())
+                .property(ClientProperties.CONNECT_TIMEOUT, getProperties().getConnectTimeout())
+                .property(ClientProperties.READ_TIMEOUT, getProperties().getReadTimeout());
+        if (getProperties().isGzip()) {
+            clientConfig.register(GZipEncoder.class);
+            clientConfig.register(EncodingFilter.class);
+        }
+        return ClientBuilder.newClient(clientConfig);
     }
 
     @SuppressWarnings("rawtypes")
@@ -424,6 +530,26 @@ public class ProxyStore extends Store {
             return this;
         }
 
+        public Builder connectionRequestTimeout(final int timeout) {
+            properties.setConnectionRequestTimeout(timeout);
+            return this;
+        }
+
+        public Builder connectionPoolSize(final int poolSize) {
+            properties.setConnectionPoolSize(poolSize);
+            return this;
+        }
+
+        public Builder gzip(final boolean gzip) {
+            properties.setGzip(gzip);
+            return this;
+        }
+
+        public Builder streamResults(final boolean streamResults) {
+            properties.setStreamResults(streamResults);
+            return this;
+        }
+
         public Builder jsonSerialiser(final Class<? extends JSONSerialiser> serialiserClass) {
             properties.setJsonSerialiserClass(serialiserClass);
             return this;
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.proxystore.response;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import javax.ws.rs.core.Response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * A lazy {@link Iterable} over the results returned by the chunked execute
+ * endpoint of a Gaffer REST API.
+ * <p>
+ * Each result is parsed from the response's input stream as it is iterated
+ * over, so the whole response is never held in memory. As the response can
+ * only be read once this iterable can only be iterated over once. The
+ * response, and so its pooled connection, is closed once all the results have
+ * been read, if reading the results fails, or when this iterable is closed.
+ *
+ * @param <T> the type of the results
+ */
+public class ChunkedResponseIterable<T> implements Iterable<T>, Closeable {
+    private final Response response;
+    private final Class<T> resultClass;
+    private MappingIterator<T> results;
+    private boolean closed;
+
+    public ChunkedResponseIterable(final Response response, final Class<T> resultClass) {
+        this.response = response;
+        this.resultClass = resultClass;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        if (nonNull(results) || closed) {
+            throw new IllegalStateException("Chunked response can only be iterated over once");
+        }
+
+        try {
+            results = JSONSerialiser.getMapper()
+                    .readerFor(resultClass)
+                    .readValues(response.readEntity(InputStream.class));
+        } catch (final IOException | RuntimeException e) {
+            close();
+            throw new GafferRuntimeException("Unable to read chunked response", e);
+        }
+
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                if (closed) {
+                    return false;
+                }
+                try {
+                    final boolean hasNext = results.hasNextValue();
+                    if (!hasNext) {
+                        close();
+                    }
+                    return hasNext;
+                } catch (final IOException | RuntimeException e) {
+                    close();
+                    throw new GafferRuntimeException("Unable to read the next result from the chunked response", e);
+                }
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    return results.nextValue();
+                } catch (final IOException | RuntimeException e) {
+                    close();
+                    throw new GafferRuntimeException("Unable to read the next result from the chunked response", e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            CloseableUtil.close(results);
+            response.close();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 Crown Copyright
+ * Copyright 2021-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,7 +21,10 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.proxystore.response.deserialiser.ResponseDeserialiser;
 
+import java.util.regex.Pattern;
+
 public class DefaultResponseDeserialiser<O> implements ResponseDeserialiser<O> {
+    private static final Pattern NUMBER = Pattern.compile("^-?\\d*\\.?\\d*$");
 
     private final TypeReference<O> typeReference;
 
@@ -32,7 +35,7 @@ public class DefaultResponseDeserialiser<O> implements ResponseDeserialiser<O> {
     @Override
     public O deserialise(final String jsonString) throws SerialisationException {
         // Special handling for String values returned while using the ProxyStore
-        if (typeReference.getType().equals(Object.class) && !jsonString.matches("^(-?\\d*\\.?\\d*|false|true|null|\\[.*\\]|\\{.*\\})$")) {
+        if (typeReference.getType().equals(Object.class) && !isJsonValue(jsonString)) {
             // The input is likely a plain java.lang.String object, so return as-is
             return (O) jsonString;
         } else {
@@ -40,4 +43,27 @@ public class DefaultResponseDeserialiser<O> implements ResponseDeserialiser<O> {
             return JSONSerialiser.deserialise(encodeString(jsonString), typeReference);
         }
     }
+
+    /**
+     * Checks whether the string looks like a JSON value. Arrays and objects
+     * are only checked by their first and last characters, so large responses
+     * are not scanned.
+     *
+     * @param jsonString the string to check
+     * @return true if the string is likely to be a JSON value
+     */
+    private static boolean isJsonValue(final String jsonString) {
+        final String trimmed = jsonString.trim();
+        if (!trimmed.isEmpty()) {
+            final char first = trimmed.charAt(0);
+            final char last = trimmed.charAt(trimmed.length() - 1);
+            if ((first == '[' && last == ']') || (first == '{' && last == '}')) {
+                return true;
+            }
+        }
+        return "true".equals(jsonString)
+                || "false".equals(jsonString)
+                || "null".equals(jsonString)
+                || NUMBER.matcher(jsonString).matches();
+    }
 }
@@ -23,8 +23,14 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.gov.gchq.gaffer.proxystore.ProxyProperties.CONNECTION_POOL_SIZE;
+import static uk.gov.gchq.gaffer.proxystore.ProxyProperties.CONNECTION_REQUEST_TIMEOUT;
 import static uk.gov.gchq.gaffer.proxystore.ProxyProperties.CONNECT_TIMEOUT;
+import static uk.gov.gchq.gaffer.proxystore.ProxyProperties.DEFAULT_CONNECTION_POOL_SIZE;
+import static uk.gov.gchq.gaffer.proxystore.ProxyProperties.DEFAULT_CONNECTION_REQUEST_TIMEOUT;
 import static uk.gov.gchq.gaffer.proxystore.ProxyProperties.DEFAULT_CONNECT_TIMEOUT;
 import static uk.gov.gchq.gaffer.proxystore.ProxyProperties.DEFAULT_GAFFER_CONTEXT_ROOT;
 import static uk.gov.gchq.gaffer.proxystore.ProxyProperties.DEFAULT_GAFFER_PORT;
@@ -105,6 +111,24 @@ public class ProxyPropertiesTest {
         assertEquals("Unable to convert gaffer timeout into an integer", e.getMessage());
     }
 
+    @Test
+    public void shouldSetAndGetConnectionRequestTimeout() {
+        // Given
+        ProxyProperties defaultTimeoutProxy = new ProxyProperties();
+        ProxyProperties validTimeoutProxy = new ProxyProperties();
+        ProxyProperties invalidTimeoutProxy = new ProxyProperties();
+
+        // When
+        validTimeoutProxy.setConnectionRequestTimeout(30);
+        invalidTimeoutProxy.set(CONNECTION_REQUEST_TIMEOUT, "30 secs");
+
+        // Then
+        assertEquals(DEFAULT_CONNECTION_REQUEST_TIMEOUT, defaultTimeoutProxy.getConnectionRequestTimeout());
+        assertEquals(30, validTimeoutProxy.getConnectionRequestTimeout());
+        Exception e = assertThrows(IllegalArgumentException.class, invalidTimeoutProxy::getConnectionRequestTimeout);
+        assertEquals("Unable to convert gaffer timeout into an integer", e.getMessage());
+    }
+
     @Test
     public void shouldSetAndGetPort() {
         // Given
@@ -123,6 +147,41 @@ public class ProxyPropertiesTest {
         assertEquals("Unable to convert gaffer port into an integer", e.getMessage());
     }
 
+    @Test
+    public void shouldSetAndGetConnectionPoolSize() {
+        // Given
+        ProxyProperties defaultPoolSizeProxy = new ProxyProperties();
+        ProxyProperties validPoolSizeProxy = new ProxyProperties();
+        ProxyProperties invalidPoolSizeProxy = new ProxyProperties();
+
+        // When
+        validPoolSizeProxy.setConnectionPoolSize(50);
+        invalidPoolSizeProxy.set(CONNECTION_POOL_SIZE, "fifty");
+
+        // Then
+        assertEquals(DEFAULT_CONNECTION_POOL_SIZE, defaultPoolSizeProxy.getConnectionPoolSize());
+        assertEquals(50, validPoolSizeProxy.getConnectionPoolSize());
+        Exception e = assertThrows(IllegalArgumentException.class, invalidPoolSizeProxy::getConnectionPoolSize);
+        assertEquals("Unable to convert gaffer connection pool size into an integer", e.getMessage());
+    }
+
+    @Test
+    public void shouldGzipAndNotStreamResultsByDefault() {
+        // Given
+        ProxyProperties defaultProxy = new ProxyProperties();
+        ProxyProperties configuredProxy = new ProxyProperties();
+
+        // When
+        configuredProxy.setGzip(false);
+        configuredProxy.setStreamResults(true);
+
+        // Then
+        assertTrue(defaultProxy.isGzip());
+        assertFalse(defaultProxy.isStreamResults());
+        assertFalse(configuredProxy.isGzip());
+        assertTrue(configuredProxy.isStreamResults());
+    }
+
     @Test
     public void shouldGetURLWithSuffix() {
         // Given
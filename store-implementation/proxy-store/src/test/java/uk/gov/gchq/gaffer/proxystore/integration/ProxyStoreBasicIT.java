@@ -48,6 +48,7 @@ import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.output.ToList;
 import uk.gov.gchq.gaffer.proxystore.ProxyStore;
 import uk.gov.gchq.gaffer.proxystore.SingleUseMapProxyStore;
+import uk.gov.gchq.gaffer.proxystore.response.ChunkedResponseIterable;
 import uk.gov.gchq.gaffer.rest.RestApiTestClient;
 import uk.gov.gchq.gaffer.rest.service.v2.RestApiV2TestClient;
 import uk.gov.gchq.gaffer.store.Context;
@@ -147,6 +148,39 @@ public class ProxyStoreBasicIT {
         assertThat(results).asInstanceOf(InstanceOfAssertFactories.iterable(Element.class)).contains(DEFAULT_ELEMENTS);
     }
 
+    @Test
+    public void shouldStreamResultsFromChunkedEndpoint() throws Exception {
+        // Given
+        addDefaultElements();
+        final Graph streamingGraph = createStreamingGraph();
+
+        // When
+        final Iterable<? extends Element> results = streamingGraph.execute(new GetAllElements(), USER);
+
+        // Then
+        assertThat(results).isInstanceOf(ChunkedResponseIterable.class);
+        assertThat(results).asInstanceOf(InstanceOfAssertFactories.iterable(Element.class))
+                .containsExactlyInAnyOrder(DEFAULT_ELEMENTS);
+    }
+
+    @Test
+    public void shouldReleaseConnectionWhenStreamedResultsAreReadOrClosed() throws Exception {
+        // Given - a pool of one connection, so a leaked connection fails the next request
+        addDefaultElements();
+        final Graph streamingGraph = createStreamingGraph();
+
+        // When
+        final Iterable<? extends Element> readResults = streamingGraph.execute(new GetAllElements(), USER);
+        readResults.forEach(element -> { });
+        final Iterable<? extends Element> closedResults = streamingGraph.execute(new GetAllElements(), USER);
+        closedResults.iterator().next();
+        ((ChunkedResponseIterable<?>) closedResults).close();
+        final Iterable<? extends Element> results = streamingGraph.execute(new GetAllElements(), USER);
+
+        // Then
+        assertThat(results).hasSize(DEFAULT_ELEMENTS.length);
+    }
+
     @Test
     public void shouldAddElementsAndGetRelatedElements() throws Exception {
         // Given
@@ -230,6 +264,20 @@ public class ProxyStoreBasicIT {
         assertThat(storeTraits).isEqualTo(expectedTraits);
     }
 
+    private Graph createStreamingGraph() {
+        return new Graph.Builder()
+                .store(new ProxyStore.Builder()
+                        .graphId("graph1")
+                        .host("localhost")
+                        .port(8080)
+                        .contextRoot("rest/v2")
+                        .streamResults(true)
+                        .connectionPoolSize(1)
+                        .connectionRequestTimeout(1000)
+                        .build())
+                .build();
+    }
+
     private void addDefaultElements() throws OperationException {
         final AddElements add = new AddElements.Builder()
                 .input(DEFAULT_ELEMENTS)
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.proxystore.response;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ChunkedResponseIterableTest {
+    private static final String ENTITY_JSON = "{\"class\":\"uk.gov.gchq.gaffer.data.element.Entity\",\"group\":\"BasicEntity\",\"vertex\":\"A\",\"properties\":{}}";
+    private static final String EDGE_JSON = "{\"class\":\"uk.gov.gchq.gaffer.data.element.Edge\",\"group\":\"BasicEdge\",\"source\":\"A\",\"destination\":\"B\",\"directed\":true,\"properties\":{}}";
+
+    @Test
+    public void shouldLazilyReadEachChunkAndCloseTheResponseWhenFinished() {
+        // Given
+        final Response response = mockResponse(ENTITY_JSON + "\r\n" + EDGE_JSON + "\r\n");
+        final ChunkedResponseIterable<Element> results = new ChunkedResponseIterable<>(response, Element.class);
+
+        // When
+        final Iterator<Element> itr = results.iterator();
+        final Element first = itr.next();
+
+        // Then
+        assertThat(first).isEqualTo(new Entity.Builder().group("BasicEntity").vertex("A").build());
+        verify(response, never()).close();
+
+        // When
+        final Element second = itr.next();
+
+        // Then
+        assertThat(second).isEqualTo(new Edge.Builder().group("BasicEdge").source("A").dest("B").directed(true).build());
+        assertThat(itr.hasNext()).isFalse();
+        verify(response, times(1)).close();
+    }
+
+    @Test
+    public void shouldOnlyBeIterableOnce() {
+        // Given
+        final ChunkedResponseIterable<Element> results = new ChunkedResponseIterable<>(mockResponse(ENTITY_JSON + "\r\n"), Element.class);
+        results.iterator();
+
+        // When / Then
+        assertThatIllegalStateException()
+                .isThrownBy(results::iterator)
+                .withMessage("Chunked response can only be iterated over once");
+    }
+
+    @Test
+    public void shouldCloseResponseWhenClosedBeforeAllResultsAreRead() {
+        // Given
+        final Response response = mockResponse(ENTITY_JSON + "\r\n" + EDGE_JSON + "\r\n");
+        final ChunkedResponseIterable<Element> results = new ChunkedResponseIterable<>(response, Element.class);
+        final Iterator<Element> itr = results.iterator();
+        itr.next();
+
+        // When
+        results.close();
+        results.close();
+
+        // Then
+        assertThat(itr.hasNext()).isFalse();
+        verify(response, times(1)).close();
+    }
+
+    @Test
+    public void shouldThrowAndCloseResponseWhenChunkIsInvalid() {
+        // Given
+        final Response response = mockResponse("{\"class\":\"uk.gov.gchq.gaffer.data.element.Entity\",");
+        final Iterator<Element> itr = new ChunkedResponseIterable<>(response, Element.class).iterator();
+
+        // When / Then
+        assertThatExceptionOfType(GafferRuntimeException.class).isThrownBy(itr::next);
+        verify(response).close();
+    }
+
+    @Test
+    public void shouldThrowAndCloseResponseWhenResponseCannotBeRead() {
+        // Given
+        final Response response = mock(Response.class);
+        given(response.readEntity(InputStream.class)).willThrow(new ProcessingException("Connection reset"));
+        final ChunkedResponseIterable<Element> results = new ChunkedResponseIterable<>(response, Element.class);
+
+        // When / Then
+        assertThatExceptionOfType(GafferRuntimeException.class)
+                .isThrownBy(results::iterator)
+                .withMessage("Unable to read chunked response");
+        verify(response).close();
+    }
+
+    private static Response mockResponse(final String body) {
+        final Response response = mock(Response.class);
+        final InputStream inputStream = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        given(response.readEntity(InputStream.class)).willReturn(inputStream);
+        return response;
+    }
+}
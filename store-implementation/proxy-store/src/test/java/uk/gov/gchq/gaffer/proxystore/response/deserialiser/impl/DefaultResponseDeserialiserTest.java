@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 Crown Copyright
+ * Copyright 2021-2023 Crown Copyright
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -60,4 +60,16 @@ public class DefaultResponseDeserialiserTest {
 
         assertEquals(jsonString, result);
     }
+
+    @Test
+    public void shouldDeserialiseMultiLineJsonResponseForObjectTypeSuccessfully() throws SerialisationException {
+        final String jsonString = "[\n" +
+                "  1,\n" +
+                "  2\n" +
+                "]";
+
+        final Object result = new DefaultResponseDeserialiser<>(new TypeReferenceImpl.Object()).deserialise(jsonString);
+
+        assertEquals(asList(1, 2), result);
+    }
 }